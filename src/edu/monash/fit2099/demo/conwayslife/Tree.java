@@ -20,5 +20,7 @@ public class Tree extends Ground {
 			displayChar = 't';
 		if (age == 20)
 			displayChar = 'T';
+		if (age == 10 || age == 20)
+			location.markChanged();
 	}
 }
@@ -45,4 +45,21 @@ public abstract class Action implements ActionInterface{
 	public Action getNextAction() {
 		return null;
 	}
+
+	/**
+	 * Checks that this Action still makes sense just before it is executed.
+	 *
+	 * When a World decides Actions concurrently, every Actor chooses against the world as it was
+	 * at the start of the turn, and other Actors' Actions may have been executed since. An Action that
+	 * is no longer valid, e.g. a move into a Location someone else has just moved into, is replaced
+	 * by doing nothing. By default an Action is always valid.
+	 *
+	 * @param actor The actor performing the action.
+	 * @param map The map the actor is on.
+	 * @return true if the Action can still be executed
+	 * @see World#setConcurrentDecisions(boolean)
+	 */
+	public boolean isStillValid(Actor actor, GameMap map) {
+		return true;
+	}
 }
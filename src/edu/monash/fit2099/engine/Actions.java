@@ -130,6 +130,16 @@ public class Actions implements Iterable<Action> {
 		return actions.get(i);
 	}
 	
+	/**
+	 * Find where an Action is in the collection.
+	 * 
+	 * @param action the Action to look for
+	 * @return the index of its first occurrence, or -1 if it isn't in the collection
+	 */
+	public int indexOf(Action action) {
+		return actions.indexOf(action);
+	}
+
 	/**
 	 * Create and return an unmodifiable copy of the contents of the collection.
 	 * 
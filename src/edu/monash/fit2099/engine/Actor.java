@@ -1,12 +1,13 @@
 package edu.monash.fit2099.engine;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import edu.monash.fit2099.interfaces.ActorInterface;
 
-public abstract class Actor implements ActorInterface, Capable, Printable {
+public abstract class Actor implements ActorInterface, Capable, Printable, Saveable {
 
 	private Capabilities capabilities = new Capabilities();
 	protected String name;
@@ -14,6 +15,9 @@ public abstract class Actor implements ActorInterface, Capable, Printable {
 	protected List<Item> inventory = new ArrayList<Item>();
 	protected int maxHitPoints;
 	protected int hitPoints;
+	private RandomStream random = RandomService.newStream();
+	private int inventoryChanges = 0;
+	private volatile CapabilityMask capabilityMask;
 
 	/**
 	 * Constructor.
@@ -28,6 +32,18 @@ public abstract class Actor implements ActorInterface, Capable, Printable {
 		this.hitPoints = hitPoints;
 	}
 
+	/**
+	 * Returns this Actor's own source of random numbers.
+	 *
+	 * Only use it for things this Actor decides or does, so that each Actor's luck doesn't depend on
+	 * what the others are doing.
+	 *
+	 * @return the Actor's RandomStream
+	 */
+	public RandomStream getRandom() {
+		return random;
+	}
+
 	@Override
 	public char getDisplayChar() {
 		return displayChar;
@@ -44,6 +60,7 @@ public abstract class Actor implements ActorInterface, Capable, Printable {
 	 */
 	public void addItemToInventory(Item item) {
 		inventory.add(item);
+		inventoryChanges++;
 	}
 
 	/**
@@ -51,7 +68,8 @@ public abstract class Actor implements ActorInterface, Capable, Printable {
 	 * @param item The Item to remove.
 	 */
 	public void removeItemFromInventory(Item item) {
-		inventory.remove(item);
+		if (inventory.remove(item))
+			inventoryChanges++;
 	}
 
 	/**
@@ -73,6 +91,25 @@ public abstract class Actor implements ActorInterface, Capable, Printable {
 	 */
 	public abstract Action playTurn(Actions actions, Action lastAction, GameMap map, Display display);
 
+	/**
+	 * Do whatever this Actor does at the start of its turn that others can see, such as getting
+	 * hungrier or landing, before it decides what to do in playTurn().
+	 *
+	 * Sequentially this is just the first half of the turn. When the World lets Actors decide
+	 * concurrently, every Actor's prepareTurn() still runs one at a time, in turn order, before
+	 * anyone decides, so it may change the Actor itself, other Actors and the map.
+	 *
+	 * @param actions    collection of possible Actions for this Actor
+	 * @param lastAction The Action this Actor took last turn
+	 * @param map        the map containing the Actor
+	 * @param display    the I/O object to which messages may be written
+	 * @return an Action to perform without calling playTurn(), or null to call it as usual
+	 * @see World#setConcurrentDecisions(boolean)
+	 */
+	public Action prepareTurn(Actions actions, Action lastAction, GameMap map, Display display) {
+		return null;
+	}
+
 	/**
 	 * Returns a collection of the Actions that the otherActor can do to the current Actor.
 	 *
@@ -158,17 +195,37 @@ public abstract class Actor implements ActorInterface, Capable, Printable {
 	/**
 	 * Returns true if and only if the current Actor has the required capability.
 	 *
+	 * Capabilities of the Items in the inventory count as the Actor's own.
+	 *
 	 * @param capability the capability required
 	 * @return true if and only if the current Actor has the required capability
 	 */
 	public boolean hasCapability(Enum<?> capability) {
+		return capability != null && Capabilities.isSet(capabilityMask(), Capabilities.indexOf(capability));
+	}
 
-		for (Item item : inventory) {
-			if (item.hasCapability(capability)) {
-				return true;
-			}
-		}
-		return capabilities.hasCapability(capability);
+	/**
+	 * Returns the Actor's own capabilities combined with those of its inventory.
+	 *
+	 * The combined bitset is kept until the Actor's capabilities, its inventory or any Item's
+	 * capabilities change. Each one records what it was built from, so one built from
+	 * out of date capabilities on another thread is never used.
+	 *
+	 * @return the bits of every capability the Actor has
+	 */
+	private long[] capabilityMask() {
+		long[] own = capabilities.bits();
+		int itemChanges = Item.capabilityChanges();
+		CapabilityMask mask = capabilityMask;
+		if (mask != null && mask.own == own && mask.itemChanges == itemChanges
+				&& mask.inventoryChanges == inventoryChanges)
+			return mask.bits;
+
+		long[] bits = own;
+		for (Item item : inventory)
+			bits = Capabilities.union(bits, item.capabilities.bits());
+		capabilityMask = new CapabilityMask(bits, own, itemChanges, inventoryChanges);
+		return bits;
 	}
 
 	/**
@@ -187,4 +244,105 @@ public abstract class Actor implements ActorInterface, Capable, Printable {
 	public void removeCapability(Enum<?> capability) {
 		capabilities.removeCapability(capability);
 	}
+
+	/**
+	 * Write the Actor's name, hit points, capabilities, inventory and random number state.
+	 * Override this to save more, and call it first.
+	 *
+	 * @param out where to write
+	 * @throws IOException when file I/O fails
+	 */
+	@Override
+	public void save(SnapshotWriter out) throws IOException {
+		out.writeString(name);
+		out.writeChar(displayChar);
+		out.writeInt(hitPoints);
+		out.writeInt(maxHitPoints);
+		out.writeCapabilities(capabilities);
+		out.writeVarLong(inventory.size());
+		for (Item item : inventory)
+			out.writeObject(item);
+		out.writeLong(random.getState());
+	}
+
+	/**
+	 * Read back what save() wrote, replacing the capabilities and inventory the Actor was made with.
+	 *
+	 * @param in where to read from
+	 * @throws IOException when the snapshot can't be read
+	 */
+	@Override
+	public void restore(SnapshotReader in) throws IOException {
+		name = in.readString();
+		displayChar = in.readChar();
+		hitPoints = in.readInt();
+		maxHitPoints = in.readInt();
+		in.readCapabilities(capabilities);
+		inventory.clear();
+		int count = in.readCount();
+		for (int i = 0; i < count; i++)
+			inventory.add(in.readObject(Item.class));
+		inventoryChanges++;
+		random.setState(in.readLong());
+	}
+
+	/**
+	 * Write what the Actor remembers about other Actors, Items and places, such as who it has
+	 * attacked. The World calls this once every Actor and Item has been saved, so that
+	 * SnapshotWriter.writeActor(), writeItem() and writeLocation() can refer to any of them. The
+	 * default writes nothing.
+	 *
+	 * @param out where to write
+	 * @throws IOException when file I/O fails
+	 */
+	public void saveReferences(SnapshotWriter out) throws IOException {
+	}
+
+	/**
+	 * Read back what saveReferences() wrote.
+	 *
+	 * @param in where to read from
+	 * @throws IOException when the snapshot can't be read
+	 */
+	public void restoreReferences(SnapshotReader in) throws IOException {
+	}
+
+	/**
+	 * A combined capability bitset, and what it was built from.
+	 */
+	private static class CapabilityMask {
+		private final long[] bits;
+		private final long[] own;
+		private final int itemChanges;
+		private final int inventoryChanges;
+
+		private CapabilityMask(long[] bits, long[] own, int itemChanges, int inventoryChanges) {
+			this.bits = bits;
+			this.own = own;
+			this.itemChanges = itemChanges;
+			this.inventoryChanges = inventoryChanges;
+		}
+	}
+
+
+	/**
+	 * Add the Actor's kind, name, display character, hit points, capabilities, inventory and random
+	 * state to a hash of the World. Override this to add anything else that changes, and call it first.
+	 *
+	 * @param hash the hash to add to
+	 * @see World#hashState()
+	 */
+	@Override
+	public void hashState(StateHash hash) {
+		hash.add(getClass().getName());
+		hash.add(name);
+		hash.add(displayChar);
+		hash.add(hitPoints);
+		hash.add(maxHitPoints);
+		hash.add(capabilities.stableHash());
+		hash.add(inventory.size());
+		for (Item item : inventory)
+			item.hashState(hash);
+		hash.add(random.getState());
+	}
 }
@@ -7,19 +7,24 @@ import java.util.*;
  * per location rule. Has a nifty iterator that lets us modify the collection
  * while iterating it.
  *
+ * The Location to Actor direction is stored densely by each GameMap, in arrays
+ * of Actors indexed by Location (one per chunk, if the map is chunked), so asking
+ * whether a Location is occupied is a single array read rather than a hash lookup.
+ *
  */
 public class ActorLocations implements Iterable<Actor> {
 
-	private Map<Location, Actor> locationToActor;
 	private Map<Actor, Location> actorToLocation;
+	private Map<Actor, Long> placedOrder = new HashMap<Actor, Long>(); // Lets each GameMap keep its Actors in turn order.
+	private long placed = 0;
 	private Actor player;
 
 	/**
 	 * Default constructor.
 	 */
 	public ActorLocations() {
-		locationToActor = new HashMap<Location, Actor>();
-		actorToLocation = new HashMap<Actor, Location>();
+		// Insertion ordered, so that turn order is the same every run.
+		actorToLocation = new LinkedHashMap<Actor, Location>();
 	}
 
 	/**
@@ -30,6 +35,15 @@ public class ActorLocations implements Iterable<Actor> {
 	public void setPlayer(Actor player) {
 		this.player = player;
 	}
+
+	/**
+	 * Returns the Actor set by setPlayer().
+	 *
+	 * @return the player, or null if there isn't one
+	 */
+	Actor getPlayer() {
+		return player;
+	}
 			
 			
 	/**
@@ -42,11 +56,14 @@ public class ActorLocations implements Iterable<Actor> {
 	public void add(Actor actor, Location location) {
 		if(actorToLocation.containsKey(actor))
 			throw new IllegalArgumentException();
-		if(locationToActor.containsKey(location))
+		if(isAnActorAt(location))
 			throw new IllegalArgumentException();
 		
 		actorToLocation.put(actor, location);
-		locationToActor.put(location, actor);
+		placedOrder.put(actor, placed);
+		location.map().actorArrived(placed++, actor);
+		location.map().setOccupant(location, actor);
+		location.map().locationChanged(location);
 	}
 
 	/**
@@ -55,9 +72,12 @@ public class ActorLocations implements Iterable<Actor> {
 	 * @param actor the Actor to remove
 	 */
 	public void remove(Actor actor) {
-		Location location = actorToLocation.get(actor);
-		actorToLocation.remove(actor);
-		locationToActor.remove(location);
+		Location location = actorToLocation.remove(actor);
+		if (location != null) {
+			location.map().actorLeft(placedOrder.remove(actor));
+			location.map().setOccupant(location, null);
+			location.map().locationChanged(location);
+		}
 	}
 
 	/**
@@ -69,13 +89,41 @@ public class ActorLocations implements Iterable<Actor> {
 	 */
 	public void move(Actor actor, Location newLocation) {
 		if(!isAnActorAt(newLocation)) {
-			Location oldLocation = actorToLocation.get(actor);
-			actorToLocation.put(actor, newLocation);
-			locationToActor.remove(oldLocation);
-			locationToActor.put(newLocation, actor);
+			Location oldLocation = actorToLocation.put(actor, newLocation);
+			if (oldLocation == null) {
+				placedOrder.put(actor, placed);
+				newLocation.map().actorArrived(placed++, actor);
+			} else {
+				if (oldLocation.map() != newLocation.map()) {
+					long order = placedOrder.get(actor);
+					oldLocation.map().actorLeft(order);
+					newLocation.map().actorArrived(order, actor);
+				}
+				oldLocation.map().setOccupant(oldLocation, null);
+				oldLocation.map().locationChanged(oldLocation);
+			}
+			newLocation.map().setOccupant(newLocation, actor);
+			newLocation.map().locationChanged(newLocation);
 		}
 	}
 
+	/**
+	 * Take every Actor out of the system.
+	 */
+	void clear() {
+		for (Actor actor : new ArrayList<Actor>(actorToLocation.keySet()))
+			remove(actor);
+	}
+
+	/**
+	 * Returns every Actor in the system and where it is, in the order they were added.
+	 *
+	 * @return an unmodifiable view of the Actors and their Locations
+	 */
+	Map<Actor, Location> placements() {
+		return Collections.unmodifiableMap(actorToLocation);
+	}
+
 	/**
 	 * Returns true if actor exists in the system.
 	 *
@@ -93,7 +141,7 @@ public class ActorLocations implements Iterable<Actor> {
 	 * @return true if and only if an Actor is at the given Location.
 	 */
 	public boolean isAnActorAt(Location location) {
-		return locationToActor.containsKey(location);
+		return getActorAt(location) != null;
 	}
 
 	/**
@@ -103,7 +151,7 @@ public class ActorLocations implements Iterable<Actor> {
 	 * @return a reference to the Actor, or null if there isn't one 
 	 */
 	public Actor getActorAt(Location location) {
-		return locationToActor.get(location);
+		return location.map().occupantAt(location);
 	}
 
 	/**
@@ -118,10 +166,15 @@ public class ActorLocations implements Iterable<Actor> {
 	/**
 	 * Class to allow iterating over all Actors in the system, player first
 	 * This allows Actors to take turns in a known order.
+	 *
+	 * The turn order is copied into an array when the iterator is made, and a cursor
+	 * walks along it, skipping any Actor that has been removed since. Each Actor is
+	 * looked at once, so a whole turn is O(n) no matter how many are removed.
 	 */
 	class ActorIterator implements Iterator<Actor> {
-		Map<Actor, Location> actorLocations;
-		List<Actor> actors;
+		private Map<Actor, Location> actorLocations;
+		private Actor[] actors;
+		private int cursor = 0;
 
 		/**
 		 * Constructor.
@@ -130,12 +183,15 @@ public class ActorLocations implements Iterable<Actor> {
 		 */
 		public ActorIterator(Map<Actor, Location> actorLocations) {
 			this.actorLocations = actorLocations;
-			actors = new ArrayList<Actor>(actorLocations.keySet());
-			
+			actors = new Actor[actorLocations.size()];
+			int count = 0;
+
 			// Make sure the player is first. 
-			if(actors.contains(player)) {
-				actors.remove(player);
-				actors.add(0, player);
+			if (player != null && actorLocations.containsKey(player))
+				actors[count++] = player;
+			for (Actor actor : actorLocations.keySet()) {
+				if (actor != player)
+					actors[count++] = actor;
 			}
 		}
 
@@ -145,12 +201,10 @@ public class ActorLocations implements Iterable<Actor> {
 		 */
 		@Override
 		public boolean hasNext() {
-			for (Actor actor : actors) {
-				if (actorLocations.containsKey(actor))
-					return true;
-			}
+			while (cursor < actors.length && !actorLocations.containsKey(actors[cursor]))
+				cursor++;
 
-			return false;
+			return cursor < actors.length;
 		}
 
 		/**
@@ -158,13 +212,10 @@ public class ActorLocations implements Iterable<Actor> {
 		 */
 		@Override
 		public Actor next() {
-			while (!actors.isEmpty()) {
-				Actor actor = actors.remove(0);
-				if (actorLocations.containsKey(actor))
-					return actor;
-			}
+			if (!hasNext())
+				throw new NoSuchElementException();
 
-			throw new ConcurrentModificationException();
+			return actors[cursor++];
 		}
 	}
 
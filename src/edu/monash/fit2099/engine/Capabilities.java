@@ -1,7 +1,9 @@
 package edu.monash.fit2099.engine;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A collection of Capability objects.
@@ -15,19 +17,196 @@ import java.util.Set;
  * PURPLE, FLAT, HOUSE_RAVENCLAW, TEAM_HERBIVORE, etc.  
  * 
  * Any Enum type can be used to represent a Capability, so these classes can and should be defined in the game client.
+ *
+ * Capabilities are kept as a bitset. The first time an Enum type is used, it is given a block of bits,
+ * one per constant, so every capability has its own bit and checking for one is a single AND.
+ *
+ * The bitset is copied whenever it changes, so it is safe to check capabilities from another thread
+ * while they are being changed; Actors in a World that decides concurrently rely on this.
  */
 public class Capabilities implements Capable {
-	private Set<Object> capabilitySet = new HashSet<Object>();
+
+	private static final long[] NONE = new long[0];
+
+	private static int nextOffset = 0;
+
+	// Every Enum type given bits so far, and where its block starts.
+	private static final List<Class<?>> TYPES = new ArrayList<Class<?>>();
+	private static final List<Integer> TYPE_OFFSETS = new ArrayList<Integer>();
+
+	private static final ClassValue<Integer> OFFSETS = new ClassValue<Integer>() {
+		@Override
+		protected Integer computeValue(Class<?> type) {
+			synchronized (Capabilities.class) {
+				int offset = nextOffset;
+				nextOffset += type.getEnumConstants().length;
+				TYPES.add(type);
+				TYPE_OFFSETS.add(offset);
+				return offset;
+			}
+		}
+	};
+
+	private volatile long[] bits = NONE;
+	private final AtomicInteger changes;
+
+	// The bitset stableHash() last worked on, and what it came to.
+	private long[] hashedBits = NONE;
+	private long bitsHash;
+
+	/**
+	 * Constructor.
+	 */
+	public Capabilities() {
+		this(null);
+	}
+
+	/**
+	 * Constructor that counts every change made to the collection.
+	 *
+	 * @param changes counter to increment whenever a capability is added or removed, or null not to count
+	 */
+	Capabilities(AtomicInteger changes) {
+		this.changes = changes;
+	}
 
 	public boolean hasCapability(Enum<?> capability) {
-		return capabilitySet.contains(capability);
+		return capability != null && isSet(bits, indexOf(capability));
 	}
 
 	public void addCapability(Enum<?> capability) {
-		capabilitySet.add(capability);
+		if (capability == null)
+			return;
+		int index = indexOf(capability);
+		long[] current = bits;
+		if (!isSet(current, index)) {
+			long[] copy = Arrays.copyOf(current, Math.max(current.length, (index >>> 6) + 1));
+			copy[index >>> 6] |= 1L << index;
+			changed(copy);
+		}
 	}
 
 	public void removeCapability(Enum<?> capability) {
-		capabilitySet.remove(capability);
+		if (capability == null)
+			return;
+		int index = indexOf(capability);
+		long[] current = bits;
+		if (isSet(current, index)) {
+			long[] copy = current.clone();
+			copy[index >>> 6] &= ~(1L << index);
+			changed(copy);
+		}
+	}
+
+	/**
+	 * Remove every capability.
+	 */
+	void clear() {
+		if (bits.length != 0)
+			changed(NONE);
+	}
+
+	/**
+	 * Returns every capability held, in the order of their bits.
+	 *
+	 * @return a new list of the capabilities
+	 */
+	List<Enum<?>> toList() {
+		long[] current = bits;
+		List<Enum<?>> held = new ArrayList<Enum<?>>();
+		synchronized (Capabilities.class) {
+			for (int t = 0; t < TYPES.size(); t++) {
+				Object[] constants = TYPES.get(t).getEnumConstants();
+				int offset = TYPE_OFFSETS.get(t);
+				for (int i = 0; i < constants.length; i++) {
+					if (isSet(current, offset + i))
+						held.add((Enum<?>) constants[i]);
+				}
+			}
+		}
+		return held;
+	}
+
+	/**
+	 * Returns a hash of the capabilities held that is the same in every run of the game.
+	 *
+	 * Which bits an Enum type gets depends on the order the types are first used in, so the
+	 * bits themselves can't be hashed. Each capability is hashed by its type's name and its ordinal
+	 * instead. The result is kept until the capabilities next change.
+	 *
+	 * @return the hash
+	 */
+	long stableHash() {
+		long[] current = bits;
+		if (current == hashedBits)
+			return bitsHash;
+		long hash = 0;
+		synchronized (Capabilities.class) {
+			for (int t = 0; t < TYPES.size(); t++) {
+				Class<?> type = TYPES.get(t);
+				int offset = TYPE_OFFSETS.get(t);
+				int count = type.getEnumConstants().length;
+				for (int i = 0; i < count; i++) {
+					if (isSet(current, offset + i))
+						hash += RandomStream.mix(type.getName().hashCode() * 31L + i);
+				}
+			}
+		}
+		hashedBits = current;
+		bitsHash = hash;
+		return hash;
+	}
+
+	/**
+	 * Returns the current bitset. It is never modified after it is returned.
+	 *
+	 * @return the bits of the capabilities held
+	 */
+	long[] bits() {
+		return bits;
+	}
+
+	/**
+	 * Returns the bit used for a capability.
+	 *
+	 * @param capability the capability
+	 * @return the index of its bit
+	 */
+	static int indexOf(Enum<?> capability) {
+		return OFFSETS.get(capability.getDeclaringClass()) + capability.ordinal();
+	}
+
+	/**
+	 * Checks a bit in a bitset.
+	 *
+	 * @param bits  the bitset
+	 * @param index the bit to check
+	 * @return true if and only if the bit is set
+	 */
+	static boolean isSet(long[] bits, int index) {
+		int word = index >>> 6;
+		return word < bits.length && (bits[word] & (1L << index)) != 0;
+	}
+
+	/**
+	 * Combines two bitsets.
+	 *
+	 * @param a a bitset
+	 * @param b another bitset
+	 * @return a new bitset with every bit that is set in either
+	 */
+	static long[] union(long[] a, long[] b) {
+		if (a.length < b.length)
+			return union(b, a);
+		long[] result = a.clone();
+		for (int i = 0; i < b.length; i++)
+			result[i] |= b[i];
+		return result;
+	}
+
+	private void changed(long[] newBits) {
+		bits = newBits;
+		if (changes != null)
+			changes.incrementAndGet();
 	}
 }
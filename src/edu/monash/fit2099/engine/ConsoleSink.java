@@ -0,0 +1,25 @@
+package edu.monash.fit2099.engine;
+
+/**
+ * A DisplaySink that writes to standard output.
+ *
+ * This is what a Display uses unless it is given something else.
+ */
+public class ConsoleSink implements DisplaySink {
+
+	/**
+	 * @see DisplaySink#write(String)
+	 */
+	@Override
+	public void write(String text) {
+		System.out.print(text);
+	}
+
+	/**
+	 * @see DisplaySink#flush()
+	 */
+	@Override
+	public void flush() {
+		System.out.flush();
+	}
+}
@@ -0,0 +1,18 @@
+package edu.monash.fit2099.engine;
+
+/**
+ * Something that can be shown every coordinate on a GameMap.
+ *
+ * @see GameMap#forEachCoordinate(CoordinateVisitor)
+ */
+@FunctionalInterface
+public interface CoordinateVisitor {
+
+	/**
+	 * Visit one coordinate.
+	 *
+	 * @param x X coordinate
+	 * @param y Y coordinate
+	 */
+	void visit(int x, int y);
+}
@@ -0,0 +1,86 @@
+package edu.monash.fit2099.engine;
+
+/**
+ * The eight ways out of a Location to the Locations around it on the same map.
+ *
+ * Every Location shares these, so the Exits to a Location's neighbours are worked out from its
+ * coordinates when they're asked for instead of being stored.
+ */
+public enum Direction {
+	NORTH(0, -1, "North", "8"),
+	NORTH_EAST(1, -1, "North-East", "9"),
+	EAST(1, 0, "East", "6"),
+	SOUTH_EAST(1, 1, "South-East", "3"),
+	SOUTH(0, 1, "South", "2"),
+	SOUTH_WEST(-1, 1, "South-West", "1"),
+	WEST(-1, 0, "West", "4"),
+	NORTH_WEST(-1, -1, "North-West", "7");
+
+	// values() makes a new array every time.
+	static final Direction[] ALL = values();
+
+	private final int dx;
+	private final int dy;
+	private final String name;
+	private final String hotKey;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param dx     change in x coordinate going this way
+	 * @param dy     change in y coordinate going this way
+	 * @param name   name of the Exit going this way
+	 * @param hotKey the hotkey for moving this way
+	 */
+	Direction(int dx, int dy, String name, String hotKey) {
+		this.dx = dx;
+		this.dy = dy;
+		this.name = name;
+		this.hotKey = hotKey;
+	}
+
+	/**
+	 * Returns the Direction that goes one step by (dx, dy).
+	 *
+	 * @param dx change in x coordinate
+	 * @param dy change in y coordinate
+	 * @return the Direction, or null if (dx, dy) isn't one step to a neighbour
+	 */
+	public static Direction of(int dx, int dy) {
+		for (Direction direction : ALL) {
+			if (direction.dx == dx && direction.dy == dy)
+				return direction;
+		}
+		return null;
+	}
+
+	/**
+	 * @return change in x coordinate going this way
+	 */
+	public int getDx() {
+		return dx;
+	}
+
+	/**
+	 * @return change in y coordinate going this way
+	 */
+	public int getDy() {
+		return dy;
+	}
+
+	/**
+	 * The name used for an Exit going this way, e.g. "North-East".
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * The hotkey used for moving this way.
+	 * @return the hotkey
+	 */
+	public String getHotKey() {
+		return hotKey;
+	}
+}
@@ -1,13 +1,40 @@
 package edu.monash.fit2099.engine;
 
+import java.util.Objects;
 import java.util.Scanner;
 
 /**
  * Class that manages I/O for the system
+ *
+ * Output is collected in a buffer and passed on to a DisplaySink when the Display is flushed.
+ * The World flushes once per turn, and reading from the keyboard flushes first, so the player
+ * always sees everything printed before they are asked for input.
  */
 public class Display  {
 
-	private Scanner keyboard = new Scanner(System.in);
+	private Scanner keyboard;
+	private DisplaySink sink;
+	private StringBuilder buffer = new StringBuilder();
+	private StringBuilder keysRead; // Only kept while a TurnJournal is recording them.
+	private CharSequence replayKeys;
+	private int replayPosition;
+
+	/**
+	 * Constructor for a Display that writes to standard output.
+	 */
+	public Display() {
+		this(new ConsoleSink());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param sink where the output goes when the Display is flushed
+	 */
+	public Display(DisplaySink sink) {
+		Objects.requireNonNull(sink);
+		this.sink = sink;
+	}
 
 	/**
 	 * Display a displayable object.
@@ -15,7 +42,16 @@ public class Display  {
 	 * @param printable the object to display
 	 */
 	public void print(Printable printable) {
-		System.out.print(printable.getDisplayChar());
+		buffer.append(printable.getDisplayChar());
+	}
+
+	/**
+	 * Prints a String as it is, without terminating the line.
+	 *
+	 * @param s the string to print
+	 */
+	public void print(String s) {
+		buffer.append(s);
 	}
 
 	/**
@@ -23,14 +59,43 @@ public class Display  {
 	 * @param s the string to print
 	 */
 	public void println(String s) {
-		System.out.println(s);
+		buffer.append(s).append(System.lineSeparator());
 	}
 
 	/**
 	 * Terminates the line.
 	 */
 	public void endLine() {
-		System.out.println("");
+		buffer.append(System.lineSeparator());
+	}
+
+	/**
+	 * Move everything printed to another Display, but not yet flushed, to the end of this one.
+	 *
+	 * @param other the Display to take the output from
+	 */
+	void takeOutputFrom(Display other) {
+		buffer.append(other.buffer);
+		other.buffer.setLength(0);
+	}
+
+	/**
+	 * Send everything printed since the last flush to the sink.
+	 */
+	public void flush() {
+		if (buffer.length() > 0) {
+			sink.write(buffer.toString());
+			buffer.setLength(0);
+		}
+		sink.flush();
+	}
+
+	/**
+	 * Flush, then close the sink. Nothing should be printed after this.
+	 */
+	public void close() {
+		flush();
+		sink.close();
 	}
 
 	/**
@@ -39,7 +104,62 @@ public class Display  {
 	 * @return the first char of the next entered string.
 	 */
 	public char readChar() {
-		String s = keyboard.next();
-		return s.charAt(0);
+		flush();
+		char c;
+		if (replayKeys != null) {
+			if (replayPosition >= replayKeys.length())
+				throw new IllegalStateException("No more keys to replay");
+			c = replayKeys.charAt(replayPosition++);
+		} else {
+			if (keyboard == null)
+				keyboard = new Scanner(System.in);
+			String s = keyboard.next();
+			c = s.charAt(0);
+		}
+		if (keysRead != null)
+			keysRead.append(c);
+		return c;
+	}
+
+	/**
+	 * Start or stop keeping the keys read, for takeKeysRead().
+	 *
+	 * @param record true to keep them
+	 */
+	void recordKeys(boolean record) {
+		keysRead = record ? new StringBuilder() : null;
+	}
+
+	/**
+	 * Returns the keys read since this was last called, and forgets them.
+	 *
+	 * @return the keys, or an empty String if none were read or they aren't being kept
+	 */
+	String takeKeysRead() {
+		if (keysRead == null || keysRead.length() == 0)
+			return "";
+		String keys = keysRead.toString();
+		keysRead.setLength(0);
+		return keys;
+	}
+
+	/**
+	 * Read keys from a recording instead of the keyboard. Reading more keys than there are is an
+	 * error, rather than a wait for someone to type them.
+	 *
+	 * @param keys the keys to read, in order, or null to go back to the keyboard
+	 */
+	void replayKeys(CharSequence keys) {
+		replayKeys = keys;
+		replayPosition = 0;
+	}
+
+	/**
+	 * Returns how many of the keys being replayed have been read.
+	 *
+	 * @return the number read
+	 */
+	int getKeysReplayed() {
+		return replayPosition;
 	}
 }
@@ -0,0 +1,31 @@
+package edu.monash.fit2099.engine;
+
+/**
+ * Somewhere a Display sends its output.
+ *
+ * A Display collects everything printed during a turn and hands it to its sink in one piece,
+ * so a sink only sees a few large writes rather than one per message.
+ *
+ * @see Display#Display(DisplaySink)
+ */
+public interface DisplaySink {
+
+	/**
+	 * Accept some output.
+	 *
+	 * @param text the output, which may contain several lines
+	 */
+	void write(String text);
+
+	/**
+	 * Push anything held by the sink to wherever it is going.
+	 */
+	default void flush() {
+	}
+
+	/**
+	 * Release anything the sink holds on to. Nothing should be written after this.
+	 */
+	default void close() {
+	}
+}
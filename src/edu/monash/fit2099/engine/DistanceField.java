@@ -0,0 +1,183 @@
+package edu.monash.fit2099.engine;
+
+import java.util.Arrays;
+
+/**
+ * The number of steps from every Location on a map to the nearest target of one kind.
+ *
+ * It is worked out with one breadth-first search that starts from all the targets at once, and
+ * is kept until the turn is over. Every Actor heading for the same kind of target can then read
+ * how far it is, and which way to go, without searching for itself. Steps are the eight Directions,
+ * and a Location can be stepped through if its Ground lets in Actors that move like the one the
+ * field was made for; other Actors don't block it, as they'll have moved by the time anyone arrives.
+ *
+ * A field for a target that only changes with the Grounds is kept until a Ground is replaced.
+ * On a chunked map only the loaded chunks are covered.
+ */
+public class DistanceField {
+
+	/**
+	 * The distance from a Location that no target can be reached from.
+	 */
+	public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+	private static final int PAGE_SIZE = 64;
+
+	private final GameMap map;
+	private final DistanceTarget target;
+	private final int pagesAcross;
+	private final int[][] pages; // Distances, a 64 by 64 square at a time. Null where nothing is reachable.
+	private long updatedAt = -1;
+	private long groundVersion = -1; // The map's ground version when the field was last worked out.
+	private int[] queue = new int[64];
+
+	/**
+	 * Constructor.
+	 *
+	 * @param map    the map the field covers
+	 * @param target the kind of target the field measures the distance to
+	 */
+	DistanceField(GameMap map, DistanceTarget target) {
+		this.map = map;
+		this.target = target;
+		pagesAcross = (map.getWidth() + PAGE_SIZE - 1) / PAGE_SIZE;
+		int pagesDown = (map.getHeight() + PAGE_SIZE - 1) / PAGE_SIZE;
+		pages = new int[pagesAcross * pagesDown][];
+	}
+
+	/**
+	 * Work the field out again, unless that has already been done this turn.
+	 *
+	 * @param actor an Actor that moves like the ones who will use the field
+	 */
+	synchronized void update(Actor actor) {
+		long now = map.getTimingWheel().getTime();
+		if (updatedAt == now)
+			return;
+		long currentGroundVersion = map.getTerrainVersions().getGroundVersion();
+		if (target.changesOnlyWithGround() && groundVersion == currentGroundVersion) {
+			updatedAt = now;
+			return;
+		}
+
+		for (int[] page : pages) {
+			if (page != null)
+				Arrays.fill(page, UNREACHABLE);
+		}
+
+		int[] tail = {0};
+		map.forEachGroundWithCapability(target.getCapability(), location -> {
+			if (target.isTarget(location) && distanceAt(location.x(), location.y()) != 0) {
+				setDistance(location.x(), location.y(), 0);
+				tail[0] = enqueue(tail[0], location.y() * map.getWidth() + location.x());
+			}
+		});
+
+		int width = map.getWidth();
+		int height = map.getHeight();
+		boolean chunked = map.isChunked();
+		// Most neighbours share a flyweight Ground, so remember the last answer.
+		Ground lastGround = null;
+		boolean lastCanEnter = false;
+		for (int head = 0; head < tail[0]; head++) {
+			int x = queue[head] % width;
+			int y = queue[head] / width;
+			int next = distanceAt(x, y) + 1;
+			for (Direction direction : Direction.ALL) {
+				int nx = x + direction.getDx();
+				int ny = y + direction.getDy();
+				if (nx < 0 || nx >= width || ny < 0 || ny >= height || distanceAt(nx, ny) != UNREACHABLE)
+					continue;
+				if (chunked && !map.isLoaded(nx, ny))
+					continue;
+				Ground ground = map.groundAt(nx, ny);
+				if (ground != lastGround) {
+					lastGround = ground;
+					lastCanEnter = ground.canActorEnter(actor);
+				}
+				if (!lastCanEnter)
+					continue;
+				setDistance(nx, ny, next);
+				tail[0] = enqueue(tail[0], ny * width + nx);
+			}
+		}
+		updatedAt = now;
+		groundVersion = currentGroundVersion;
+	}
+
+	/**
+	 * Returns the number of steps from a Location to the nearest target.
+	 *
+	 * @param location the Location
+	 * @return the number of steps, 0 on a target, or UNREACHABLE
+	 */
+	public int distanceFrom(Location location) {
+		return distanceAt(location.x(), location.y());
+	}
+
+	/**
+	 * Works out where an Actor should step to get closer to the nearest target.
+	 *
+	 * @param here  where the Actor is
+	 * @param actor the Actor
+	 * @return the neighbouring Location, free for the Actor to enter, that is closest to a target,
+	 *         or null if no step gets any closer
+	 */
+	public Location nextStepFrom(Location here, Actor actor) {
+		Location best = null;
+		int bestDistance = distanceFrom(here);
+		for (Direction direction : Direction.ALL) {
+			Location there = here.getNeighbour(direction);
+			if (there == null)
+				continue;
+			int distance = distanceFrom(there);
+			if (distance < bestDistance && there.canActorEnter(actor)) {
+				best = there;
+				bestDistance = distance;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Look up a distance.
+	 *
+	 * @param x X coordinate
+	 * @param y Y coordinate
+	 * @return the distance, or UNREACHABLE
+	 */
+	private int distanceAt(int x, int y) {
+		int[] page = pages[(y / PAGE_SIZE) * pagesAcross + x / PAGE_SIZE];
+		return page == null ? UNREACHABLE : page[(y % PAGE_SIZE) * PAGE_SIZE + x % PAGE_SIZE];
+	}
+
+	/**
+	 * Record a distance, making its page if need be.
+	 *
+	 * @param x        X coordinate
+	 * @param y        Y coordinate
+	 * @param distance the distance
+	 */
+	private void setDistance(int x, int y, int distance) {
+		int index = (y / PAGE_SIZE) * pagesAcross + x / PAGE_SIZE;
+		if (pages[index] == null) {
+			pages[index] = new int[PAGE_SIZE * PAGE_SIZE];
+			Arrays.fill(pages[index], UNREACHABLE);
+		}
+		pages[index][(y % PAGE_SIZE) * PAGE_SIZE + x % PAGE_SIZE] = distance;
+	}
+
+	/**
+	 * Add a cell to the end of the search queue, growing it if it's full.
+	 *
+	 * @param tail the number of cells in the queue
+	 * @param cell the cell, as y * width + x
+	 * @return the new number of cells in the queue
+	 */
+	private int enqueue(int tail, int cell) {
+		if (tail == queue.length)
+			queue = Arrays.copyOf(queue, queue.length * 2);
+		queue[tail] = cell;
+		return tail + 1;
+	}
+}
@@ -0,0 +1,38 @@
+package edu.monash.fit2099.engine;
+
+/**
+ * Something that many Actors head for, such as water or food, that a DistanceField can measure
+ * the distance to.
+ *
+ * @see GameMap#getDistanceField(DistanceTarget, Enum, Actor)
+ */
+public interface DistanceTarget {
+
+	/**
+	 * Returns the Ground capability that every target has. Indexing it on the map keeps the
+	 * DistanceField from having to scan for targets.
+	 *
+	 * @return the Ground capability
+	 * @see GameMap#indexGroundCapability(Enum)
+	 */
+	Enum<?> getCapability();
+
+	/**
+	 * Returns true if a Location whose Ground has the capability counts as a target right now.
+	 *
+	 * @param location the Location
+	 * @return true if it is a target
+	 */
+	boolean isTarget(Location location);
+
+	/**
+	 * Returns true if isTarget() only changes its answer when a Ground is replaced. A DistanceField
+	 * for such a target is kept from turn to turn until the map's ground version moves on.
+	 *
+	 * @return true if the targets depend on nothing but the Grounds
+	 * @see TerrainVersions#getGroundVersion()
+	 */
+	default boolean changesOnlyWithGround() {
+		return false;
+	}
+}
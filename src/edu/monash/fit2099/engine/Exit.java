@@ -21,6 +21,16 @@ public class Exit {
 		this.hotKey = hotKey;
 	}
 
+	/**
+	 * Constructor for an Exit to a neighbouring Location.
+	 *
+	 * @param direction the way the exit goes
+	 * @param destination Location of the endpoint of the exit
+	 */
+	public Exit(Direction direction, Location destination) {
+		this(direction.getName(), destination, direction.getHotKey());
+	}
+
 	/**
 	 * The name of the exit. Might be a direction, or the name of the destination. e.g. "North", or "to Mars".
 	 * @return the name of the exit
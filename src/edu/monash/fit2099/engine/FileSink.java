@@ -0,0 +1,64 @@
+package edu.monash.fit2099.engine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * A DisplaySink that writes to a file, replacing anything already in it.
+ */
+public class FileSink implements DisplaySink {
+
+	private BufferedWriter writer;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param fileName name of the file to write to
+	 * @throws IOException when the file can't be opened
+	 */
+	public FileSink(String fileName) throws IOException {
+		writer = Files.newBufferedWriter(Paths.get(fileName));
+	}
+
+	/**
+	 * @see DisplaySink#write(String)
+	 * @throws UncheckedIOException when file I/O fails
+	 */
+	@Override
+	public void write(String text) {
+		try {
+			writer.write(text);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @see DisplaySink#flush()
+	 * @throws UncheckedIOException when file I/O fails
+	 */
+	@Override
+	public void flush() {
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @see DisplaySink#close()
+	 * @throws UncheckedIOException when file I/O fails
+	 */
+	@Override
+	public void close() {
+		try {
+			writer.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package edu.monash.fit2099.engine;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A GroundFactory that hands out shared instances wherever it can.
+ *
+ * Grounds without any per-Location state (bare dirt, walls, floors and so on) are registered as
+ * shared: every Location with that character gets the very same object, so filling a big map
+ * costs one array read per cell and no new objects. Grounds that keep state of their own, such as
+ * anything that grows or holds water, are registered with a Supplier instead and a new one is
+ * made for each Location, without going through reflection.
+ *
+ * A shared Ground must not change its own fields or capabilities after it is registered,
+ * because the change would show up on every Location at once.
+ */
+public class FlyweightGroundFactory implements GroundFactory {
+
+	// Characters below this are looked up in arrays; anything else falls back to a map.
+	private static final int TABLE_SIZE = 128;
+
+	private Ground[] shared = new Ground[TABLE_SIZE];
+	private Supplier<?>[] suppliers = new Supplier<?>[TABLE_SIZE];
+	private Map<Character, Ground> otherShared = new HashMap<Character, Ground>();
+	private Map<Character, Supplier<? extends Ground>> otherSuppliers = new HashMap<Character, Supplier<? extends Ground>>();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param sharedGrounds Grounds without per-Location state, each shared by every Location showing its character
+	 */
+	public FlyweightGroundFactory(Ground... sharedGrounds) {
+		for (Ground ground : sharedGrounds)
+			addShared(ground);
+	}
+
+	/**
+	 * Share a Ground between every Location that shows its character.
+	 *
+	 * @param ground a Ground without per-Location state
+	 * @return this factory, so that calls can be chained
+	 */
+	public FlyweightGroundFactory addShared(Ground ground) {
+		char displayChar = ground.getDisplayChar();
+		if (displayChar < TABLE_SIZE) {
+			shared[displayChar] = ground;
+			suppliers[displayChar] = null;
+		} else {
+			otherShared.put(displayChar, ground);
+			otherSuppliers.remove(displayChar);
+		}
+		return this;
+	}
+
+	/**
+	 * Make a new Ground for each Location that shows the given character.
+	 *
+	 * @param displayChar character that represents the Ground in the UI
+	 * @param supplier    makes a new instance of the Ground
+	 * @return this factory, so that calls can be chained
+	 */
+	public FlyweightGroundFactory addSupplier(char displayChar, Supplier<? extends Ground> supplier) {
+		Objects.requireNonNull(supplier);
+		if (displayChar < TABLE_SIZE) {
+			suppliers[displayChar] = supplier;
+			shared[displayChar] = null;
+		} else {
+			otherSuppliers.put(displayChar, supplier);
+			otherShared.remove(displayChar);
+		}
+		return this;
+	}
+
+	/**
+	 * Given a character, returns the Ground represented by it.
+	 *
+	 * @param displayChar character that represents this Ground in the UI
+	 * @return the shared instance, a new instance from the Supplier, or null if the character isn't registered
+	 */
+	@Override
+	public Ground newGround(char displayChar) {
+		if (displayChar < TABLE_SIZE) {
+			Ground ground = shared[displayChar];
+			if (ground != null)
+				return ground;
+			Supplier<?> supplier = suppliers[displayChar];
+			return supplier == null ? null : (Ground) supplier.get();
+		}
+
+		Ground ground = otherShared.get(displayChar);
+		if (ground != null)
+			return ground;
+		Supplier<? extends Ground> supplier = otherSuppliers.get(displayChar);
+		return supplier == null ? null : supplier.get();
+	}
+}
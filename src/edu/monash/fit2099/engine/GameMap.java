@@ -1,11 +1,19 @@
 package edu.monash.fit2099.engine;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Class representing one map within the system.
@@ -16,14 +24,46 @@ import java.util.Objects;
  * when the player leaves a map.
  * 
  * It's important to put the GameMap in the World before using it.
+ *
+ * A map can also be chunked, for worlds too big to make every Location up front. Its
+ * Locations are then made a chunk at a time, the first time one of them is needed, and chunks
+ * that haven't been needed for a while are put away again. Only loaded chunks have their turn
+ * in tick(), so parts of the map that nothing has been near stand still.
  */
-public class GameMap {
+public class GameMap implements Saveable {
 
 	protected NumberRange heights;
 	protected NumberRange widths;
 	protected Location[][] map;
 	protected ActorLocations actorLocations;
 	protected GroundFactory groundFactory;
+	protected Map<Enum<?>, LocationIndex> groundIndices = new HashMap<Enum<?>, LocationIndex>();
+	protected Map<Enum<?>, LocationIndex> itemIndices = new HashMap<Enum<?>, LocationIndex>();
+	protected List<LocationListener> locationListeners = new ArrayList<LocationListener>();
+	protected List<TerrainListener> terrainListeners = new ArrayList<TerrainListener>();
+	private TerrainVersions terrainVersions;
+	private final Map<List<Object>, DistanceField> distanceFields = new HashMap<List<Object>, DistanceField>();
+	private boolean parallelTick = false;
+	private long randomSeed = RandomService.newSeed();
+	private final TimingWheel timingWheel = new TimingWheel();
+	private final PathFinder pathFinder = new PathFinder(this);
+	private RandomStream random;
+	private Actor[] occupants; // Set by ActorLocations, indexed by Location slot, unless the map is chunked.
+	private final TreeMap<Long, Actor> actorsInOrder = new TreeMap<Long, Actor>(); // Set by ActorLocations, keyed by when each Actor was placed.
+
+	// Only used by chunked maps, which leave map null.
+	private MapChunk[] chunks;
+	private int chunkSize;
+	private int chunksAcross;
+	private int chunkIdleTurns = DEFAULT_CHUNK_IDLE_TURNS;
+
+	// Stripes of the map smaller than this many Locations aren't worth splitting up any further.
+	private static final int PARALLEL_TICK_CELLS = 4096;
+
+	/**
+	 * How many turns a chunk can go unused before a chunked map unloads it, unless told otherwise.
+	 */
+	public static final int DEFAULT_CHUNK_IDLE_TURNS = 100;
 
 	/**
 	 * Constructor.
@@ -34,17 +74,33 @@ public class GameMap {
 	 * @param height        height of the GameMap, in characters
 	 */
 	public GameMap(GroundFactory groundFactory, char groundChar, int width, int height) {
+		this(groundFactory, groundChar, width, height, 0);
+	}
+
+	/**
+	 * Constructor for a map that can be chunked.
+	 *
+	 * A chunked map is split into squares of chunkSize by chunkSize, and doesn't make the Locations in
+	 * a square until something asks for one of them. This is what lets a map be far bigger than
+	 * could fit in memory as Locations. See at() for the details.
+	 *
+	 * @param groundFactory Factory to create Ground objects
+	 * @param groundChar    Symbol that will represent empty Ground in this map
+	 * @param width         width of the GameMap, in characters
+	 * @param height        height of the GameMap, in characters
+	 * @param chunkSize     width and height of a chunk, or 0 to make every Location straight away
+	 */
+	public GameMap(GroundFactory groundFactory, char groundChar, int width, int height, int chunkSize) {
 		Objects.requireNonNull(groundFactory);
-		if (groundChar <= 0 || width <= 0 || height <= 0)
+		if (groundChar <= 0 || width <= 0 || height <= 0 || chunkSize < 0)
 			throw new IllegalArgumentException();
 
 		this.groundFactory = groundFactory;
-		initMap(width, height);
-
-		for (int x : widths) {
-			for (int y : heights) {
-				at(x, y).setGround(groundFactory.newGround(groundChar));
-			}
+		if (chunkSize > 0) {
+			initChunks(width, height, chunkSize, groundChar);
+		} else {
+			initMap(width, height);
+			forEachLocation(location -> location.setGround(groundFactory.newGround(groundChar)));
 		}
 	}
 
@@ -55,11 +111,28 @@ public class GameMap {
 	 * @param lines         List of Strings representing rows of the map
 	 */
 	public GameMap(GroundFactory groundFactory, List<String> lines) {
+		this(groundFactory, lines, 0);
+	}
+
+	/**
+	 * Constructor that creates a map, which can be chunked, from a sequence of ASCII strings.
+	 *
+	 * @param groundFactory Factory to create Ground objects
+	 * @param lines         List of Strings representing rows of the map
+	 * @param chunkSize     width and height of a chunk, or 0 to make every Location straight away
+	 * @see #GameMap(GroundFactory, char, int, int, int)
+	 */
+	public GameMap(GroundFactory groundFactory, List<String> lines, int chunkSize) {
 		Objects.requireNonNull(groundFactory);
 		Objects.requireNonNull(lines);
+		if (chunkSize < 0)
+			throw new IllegalArgumentException();
 
 		this.groundFactory = groundFactory;
-		createMapFromStrings(groundFactory, lines);
+		if (chunkSize > 0)
+			createChunksFromStrings(lines, chunkSize);
+		else
+			createMapFromStrings(groundFactory, lines);
 	}
 	
 	/**
@@ -71,7 +144,35 @@ public class GameMap {
 	 * @throws IOException when file I/O fails
 	 */
 	public GameMap(GroundFactory groundFactory, String mapFile) throws IOException {
-		this(groundFactory, Files.readAllLines(Paths.get(mapFile)));
+		this(groundFactory, Paths.get(mapFile), 0);
+	}
+
+	/**
+	 * Constructor that reads a map, which can be chunked, from a file a row at a time.
+	 *
+	 * The file can be text or run-length encoded; see MapFileReader. Its rows go straight into the
+	 * Locations, or into the chunks' Ground characters if the map is chunked, so the file is never
+	 * held in memory as a whole.
+	 *
+	 * @param groundFactory Factory to create Ground objects
+	 * @param mapFile       the map file
+	 * @param chunkSize     width and height of a chunk, or 0 to make every Location straight away
+	 * @throws IOException when file I/O fails, or the file isn't a map
+	 * @see #GameMap(GroundFactory, char, int, int, int)
+	 */
+	public GameMap(GroundFactory groundFactory, Path mapFile, int chunkSize) throws IOException {
+		Objects.requireNonNull(groundFactory);
+		Objects.requireNonNull(mapFile);
+		if (chunkSize < 0)
+			throw new IllegalArgumentException();
+
+		this.groundFactory = groundFactory;
+		try (MapFileReader in = new MapFileReader(mapFile)) {
+			if (chunkSize > 0)
+				createChunksFromFile(in, chunkSize);
+			else
+				createMapFromFile(in);
+		}
 	}
 
 	/**
@@ -85,10 +186,81 @@ public class GameMap {
 		int height = lines.size();
 		initMap(width, height);
 
-		for (int x : widths) {
-			for (int y : heights) {
-				char groundChar = lines.get(y).charAt(x);
-				at(x, y).setGround(groundFactory.newGround(groundChar));
+		for (int y = 0; y < height; y++) {
+			String line = lines.get(y);
+			for (int x = 0; x < width; x++) {
+				at(x, y).setGround(groundFactory.newGround(line.charAt(x)));
+			}
+		}
+	}
+
+	/**
+	 * Create a chunked map from a sequence of ASCII strings. Only the characters are kept.
+	 *
+	 * @param lines     List of Strings representing rows of the map
+	 * @param chunkSize width and height of a chunk
+	 */
+	private void createChunksFromStrings(List<String> lines, int chunkSize) {
+		int width = lines.get(0).length();
+		int height = lines.size();
+		initChunks(width, height, chunkSize, lines.get(0).charAt(0));
+
+		for (MapChunk chunk : chunks) {
+			char[] chars = new char[chunk.width * chunk.height];
+			for (int y = chunk.top; y < chunk.top + chunk.height; y++) {
+				lines.get(y).getChars(chunk.left, chunk.left + chunk.width, chars, chunk.indexOf(chunk.left, y));
+			}
+			chunk.setGroundChars(chars);
+		}
+	}
+
+	/**
+	 * Create a map from a file, a row at a time.
+	 *
+	 * @param in the map file
+	 * @throws IOException when file I/O fails, or a row is malformed
+	 */
+	private void createMapFromFile(MapFileReader in) throws IOException {
+		int width = in.getWidth();
+		int height = in.getHeight();
+		initMap(width, height);
+
+		char[] row = new char[width];
+		for (int y = 0; y < height; y++) {
+			in.readRow(row);
+			for (int x = 0; x < width; x++) {
+				map[x][y].setGround(groundFactory.newGround(row[x]));
+			}
+		}
+	}
+
+	/**
+	 * Create a chunked map from a file, a row at a time. Only the characters are kept, and only
+	 * one row of chunks is being filled in at a time.
+	 *
+	 * @param in        the map file
+	 * @param chunkSize width and height of a chunk
+	 * @throws IOException when file I/O fails, or a row is malformed
+	 */
+	private void createChunksFromFile(MapFileReader in, int chunkSize) throws IOException {
+		int width = in.getWidth();
+		int height = in.getHeight();
+		char[] row = new char[width];
+		in.readRow(row);
+		initChunks(width, height, chunkSize, row[0]);
+
+		char[][] band = new char[chunksAcross][];
+		for (int y = 0; y < height; y++) {
+			if (y > 0)
+				in.readRow(row);
+			int first = (y / chunkSize) * chunksAcross;
+			for (int i = 0; i < chunksAcross; i++) {
+				MapChunk chunk = chunks[first + i];
+				if (y == chunk.top)
+					band[i] = new char[chunk.width * chunk.height];
+				System.arraycopy(row, chunk.left, band[i], chunk.indexOf(chunk.left, y), chunk.width);
+				if (y == chunk.top + chunk.height - 1)
+					chunk.setGroundChars(band[i]);
 			}
 		}
 	}
@@ -96,47 +268,182 @@ public class GameMap {
 	/**
 	 * Initialize the map.
 	 *
+	 * Locations work out their Exits to their neighbours from the Directions, so none are made here.
+	 *
 	 * @param width  width of the map, in characters
 	 * @param height height of the map, in characters
 	 */
 	protected void initMap(int width, int height) {
 		widths = new NumberRange(0, width);
 		heights = new NumberRange(0, height);
+		terrainVersions = new TerrainVersions(width, height, TerrainVersions.REGION_SIZE);
 		map = new Location[width][height]; // Note the ordering. 0, 0 is the top left.
 											// First arg is across, second down
-		for (int x : widths) {
-			for (int y : heights) {
-				map[x][y] = makeNewLocation(x, y);
-			}
-		}
+		forEachCoordinate((x, y) -> map[x][y] = makeNewLocation(x, y));
+	}
 
-		for (int x : widths) {
-			for (int y : heights) {
-				Location here = this.at(x, y);
-				addExitFromHere(here, x, y - 1, "North", "8");
-				addExitFromHere(here, x + 1, y - 1, "North-East", "9");
-				addExitFromHere(here, x + 1, y, "East", "6");
-				addExitFromHere(here, x + 1, y + 1, "South-East", "3");
-				addExitFromHere(here, x, y + 1, "South", "2");
-				addExitFromHere(here, x - 1, y + 1, "South-West", "1");
-				addExitFromHere(here, x - 1, y, "West", "4");
-				addExitFromHere(here, x - 1, y - 1, "North-West", "7");
+	/**
+	 * Initialize a chunked map, with nothing loaded.
+	 *
+	 * @param width      width of the map, in characters
+	 * @param height     height of the map, in characters
+	 * @param chunkSize  width and height of a chunk
+	 * @param groundChar the Ground character every cell starts with
+	 */
+	private void initChunks(int width, int height, int chunkSize, char groundChar) {
+		widths = new NumberRange(0, width);
+		heights = new NumberRange(0, height);
+		this.chunkSize = chunkSize;
+		terrainVersions = new TerrainVersions(width, height, chunkSize);
+		chunksAcross = (width + chunkSize - 1) / chunkSize;
+		int chunksDown = (height + chunkSize - 1) / chunkSize;
+		chunks = new MapChunk[chunksAcross * chunksDown];
+		for (int j = 0; j < chunksDown; j++) {
+			for (int i = 0; i < chunksAcross; i++) {
+				int left = i * chunkSize;
+				int top = j * chunkSize;
+				chunks[j * chunksAcross + i] = new MapChunk(left, top, Math.min(chunkSize, width - left),
+						Math.min(chunkSize, height - top), groundChar);
 			}
 		}
 	}
 
 	/**
-	 * Builder method for making Exits.
-	 * @param here the current location
+	 * Works out the slot number of the Location at these coordinates.
+	 *
 	 * @param x X coordinate
 	 * @param y Y coordinate
-	 * @param name name of the Exit
-	 * @param hotKey the hotkey for the appropiate Action
+	 * @return the slot number, between 0 and (width * height) - 1
+	 */
+	int slotOf(int x, int y) {
+		return x * heights.size() + y;
+	}
+
+	/**
+	 * Returns the width of this map.
+	 *
+	 * @return the number of Locations across
+	 */
+	public int getWidth() {
+		return widths.size();
+	}
+
+	/**
+	 * Returns the height of this map.
+	 *
+	 * @return the number of Locations down
+	 */
+	public int getHeight() {
+		return heights.size();
+	}
+
+	/**
+	 * Visit every coordinate on the map, a row at a time from the top left.
+	 *
+	 * Nothing is allocated along the way, so this is the cheapest way to cover the whole map.
+	 *
+	 * @param visitor called once for each (x, y)
+	 */
+	public void forEachCoordinate(CoordinateVisitor visitor) {
+		int width = widths.size();
+		int height = heights.size();
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				visitor.visit(x, y);
+			}
+		}
+	}
+
+	/**
+	 * Visit every Location on the map, a row at a time from the top left.
+	 *
+	 * On a chunked map this loads every chunk, so think about using forEachLoadedLocation() instead.
+	 *
+	 * @param visitor called once for each Location
+	 * @see #forEachCoordinate(CoordinateVisitor)
+	 */
+	public void forEachLocation(Consumer<? super Location> visitor) {
+		int width = widths.size();
+		int height = heights.size();
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				visitor.accept(this.at(x, y));
+			}
+		}
+	}
+
+	/**
+	 * Visit every Location that has been made, a row at a time from the top left.
+	 *
+	 * That's every Location unless the map is chunked, in which case the chunks that aren't loaded
+	 * are skipped without loading them.
+	 *
+	 * @param visitor called once for each loaded Location
 	 */
-	protected void addExitFromHere(Location here, int x, int y, String name, String hotKey) {
-		if (widths.contains(x) && heights.contains(y)) {
-			here.addExit(new Exit(name, this.at(x, y), hotKey));
+	public void forEachLoadedLocation(Consumer<? super Location> visitor) {
+		if (chunks == null) {
+			forEachLocation(visitor);
+			return;
 		}
+
+		int height = heights.size();
+		for (int y = 0; y < height; y++) {
+			forEachLoadedLocationInRow(y, visitor);
+		}
+	}
+
+	/**
+	 * Visit the loaded Locations in one row of a chunked map, from left to right.
+	 *
+	 * @param y       the row
+	 * @param visitor called once for each loaded Location in the row
+	 */
+	private void forEachLoadedLocationInRow(int y, Consumer<? super Location> visitor) {
+		int first = (y / chunkSize) * chunksAcross;
+		for (int i = first; i < first + chunksAcross; i++) {
+			MapChunk chunk = chunks[i];
+			Location[] locations = chunk.locations;
+			if (locations == null)
+				continue;
+			int start = chunk.indexOf(chunk.left, y);
+			for (int j = start; j < start + chunk.width; j++) {
+				visitor.accept(locations[j]);
+			}
+		}
+	}
+
+	/**
+	 * Returns the map's own source of random numbers, for things that happen to the whole map.
+	 *
+	 * @return the map's RandomStream
+	 */
+	public RandomStream getRandom() {
+		if (random == null)
+			random = RandomStream.forKey(randomSeed, -1);
+		return random;
+	}
+
+	/**
+	 * Returns how many numbers the map's own source of random numbers has handed out, without
+	 * making it if it hasn't been made yet.
+	 *
+	 * @return the number of draws from getRandom() so far
+	 */
+	long getRandomDraws() {
+		return random == null ? 0 : random.drawsSince(RandomStream.forKey(randomSeed, -1).getState());
+	}
+
+	/**
+	 * Make the source of random numbers for one Location.
+	 *
+	 * It only depends on the map's seed and the Location's slot, so it doesn't matter which
+	 * thread asks first.
+	 *
+	 * @param location the Location
+	 * @return a new RandomStream for the Location
+	 */
+	RandomStream newLocationRandom(Location location) {
+		return RandomStream.forKey(randomSeed, location.slot());
 	}
 
 	/**
@@ -161,9 +468,12 @@ public class GameMap {
 	 * @param display Display that will draw the state of the game
 	 */
 	public void draw(Display display) {
-		for (int y : heights) {
-			for (int x : widths) {
-				display.print(this.at(x, y));
+		int width = widths.size();
+		int height = heights.size();
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				Location there = loadedAt(x, y);
+				display.print(there != null ? there : groundAt(x, y));
 			}
 			display.endLine();
 		}
@@ -171,12 +481,328 @@ public class GameMap {
 
 	/**
 	 * Returns the Location at these coordinates.
+	 *
+	 * On a chunked map, this loads the Location's chunk if it isn't loaded already. Each Ground in
+	 * the chunk is made by the GroundFactory from the character it started as, or was left as when
+	 * the chunk was last unloaded.
+	 *
 	 * @param x X coordinate
 	 * @param y Y coordinate
 	 * @return the Location at (x, y)
+	 * @throws ArrayIndexOutOfBoundsException if (x, y) isn't on the map
 	 */
 	public Location at(int x, int y) {
-		return map[x][y];
+		if (chunks == null)
+			return map[x][y];
+
+		MapChunk chunk = chunkAt(x, y);
+		Location[] locations = chunk.locations;
+		if (locations == null)
+			locations = loadChunk(chunk);
+		chunk.lastUsed = timingWheel.getTime();
+		return locations[chunk.indexOf(x, y)];
+	}
+
+	/**
+	 * Returns the Ground at these coordinates, without loading anything.
+	 *
+	 * If the chunk isn't loaded, this is a Ground fresh from the GroundFactory that isn't on the map,
+	 * so only look at it.
+	 *
+	 * @param x X coordinate
+	 * @param y Y coordinate
+	 * @return the Ground at (x, y)
+	 * @throws ArrayIndexOutOfBoundsException if (x, y) isn't on the map
+	 */
+	public Ground groundAt(int x, int y) {
+		if (chunks == null)
+			return map[x][y].getGround();
+
+		MapChunk chunk = chunkAt(x, y);
+		Location[] locations = chunk.locations;
+		if (locations != null)
+			return locations[chunk.indexOf(x, y)].getGround();
+		return groundFactory.newGround(chunk.groundCharAt(x, y));
+	}
+
+	/**
+	 * Returns the character that the Location at these coordinates shows, without loading anything.
+	 *
+	 * @param x X coordinate
+	 * @param y Y coordinate
+	 * @return the display character at (x, y)
+	 */
+	public char displayCharAt(int x, int y) {
+		Location there = loadedAt(x, y);
+		return there != null ? there.getDisplayChar() : groundAt(x, y).getDisplayChar();
+	}
+
+	/**
+	 * Returns true if the Location at these coordinates has been made.
+	 *
+	 * Always true unless the map is chunked.
+	 *
+	 * @param x X coordinate
+	 * @param y Y coordinate
+	 * @return true if at(x, y) won't have to load anything
+	 */
+	public boolean isLoaded(int x, int y) {
+		return chunks == null || chunkAt(x, y).isLoaded();
+	}
+
+	/**
+	 * Returns the Location at these coordinates if it has been made.
+	 *
+	 * @param x X coordinate
+	 * @param y Y coordinate
+	 * @return the Location at (x, y), or null if its chunk isn't loaded
+	 */
+	Location loadedAt(int x, int y) {
+		if (chunks == null)
+			return map[x][y];
+
+		MapChunk chunk = chunkAt(x, y);
+		Location[] locations = chunk.locations;
+		return locations == null ? null : locations[chunk.indexOf(x, y)];
+	}
+
+	/**
+	 * Returns true if this map is split into chunks that are loaded when they're needed.
+	 *
+	 * @return true if the map is chunked
+	 */
+	public boolean isChunked() {
+		return chunks != null;
+	}
+
+	/**
+	 * Returns the width and height of this map's chunks.
+	 *
+	 * @return the chunk size, or 0 if the map isn't chunked
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Set how many turns a chunk can go without anything asking for one of its Locations before it
+	 * is unloaded. Chunked maps check every that many turns.
+	 *
+	 * @param turns the number of turns, or 0 to never unload chunks
+	 * @see #unloadIdleChunks(int)
+	 */
+	public void setChunkIdleTurns(int turns) {
+		if (turns < 0)
+			throw new IllegalArgumentException();
+		chunkIdleTurns = turns;
+	}
+
+	/**
+	 * Returns the number of chunks that are loaded.
+	 *
+	 * @return the number of loaded chunks, or 0 if the map isn't chunked
+	 */
+	public int getLoadedChunkCount() {
+		int count = 0;
+		if (chunks != null) {
+			for (MapChunk chunk : chunks) {
+				if (chunk.isLoaded())
+					count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Finds the chunk that holds a cell.
+	 *
+	 * @param x X coordinate
+	 * @param y Y coordinate
+	 * @return the chunk
+	 * @throws ArrayIndexOutOfBoundsException if (x, y) isn't on the map
+	 */
+	private MapChunk chunkAt(int x, int y) {
+		if (!widths.contains(x) || !heights.contains(y))
+			throw new ArrayIndexOutOfBoundsException("(" + x + ", " + y + ") is not on the map");
+		return chunks[(y / chunkSize) * chunksAcross + x / chunkSize];
+	}
+
+	/**
+	 * Make the Locations of a chunk, and give them their Grounds.
+	 *
+	 * Only one chunk is loaded at a time, as the Grounds arriving update the indices and listeners.
+	 * The Locations are only handed out once they all have their Grounds.
+	 *
+	 * @param chunk the chunk to load
+	 * @return the chunk's Locations
+	 */
+	private Location[] loadChunk(MapChunk chunk) {
+		synchronized (chunks) {
+			Location[] locations = chunk.locations;
+			if (locations != null)
+				return locations;
+
+			locations = new Location[chunk.width * chunk.height];
+			for (int y = chunk.top; y < chunk.top + chunk.height; y++) {
+				for (int x = chunk.left; x < chunk.left + chunk.width; x++) {
+					Location location = makeNewLocation(x, y);
+					location.setGround(groundFactory.newGround(chunk.groundCharAt(x, y)));
+					locations[chunk.indexOf(x, y)] = location;
+				}
+			}
+			chunk.clearGroundChars();
+			chunk.lastUsed = timingWheel.getTime();
+			chunk.locations = locations;
+			return locations;
+		}
+	}
+
+	/**
+	 * Load the chunk holding a Location and the eight chunks around it.
+	 *
+	 * Loading a chunk changes the indices, so do this before anything looks around the Location from
+	 * another thread. Does nothing unless the map is chunked.
+	 *
+	 * @param location the Location
+	 */
+	public void loadChunksAround(Location location) {
+		if (chunks == null)
+			return;
+
+		for (int dy = -chunkSize; dy <= chunkSize; dy += chunkSize) {
+			for (int dx = -chunkSize; dx <= chunkSize; dx += chunkSize) {
+				int x = location.x() + dx;
+				int y = location.y() + dy;
+				if (widths.contains(x) && heights.contains(y))
+					at(x, y);
+			}
+		}
+	}
+
+	/**
+	 * Unload every chunk that nothing has asked for in the given number of turns, and that can be
+	 * made again exactly as it is.
+	 *
+	 * That means no Items, no Actors and no Exits added to or removed from any of its Locations, and
+	 * every Ground being the one the GroundFactory hands out for its display character every time.
+	 * Anything that keeps its own state, such as a Ground that grows, keeps the chunk loaded.
+	 *
+	 * @param idleTurns how long a chunk has to have gone unused
+	 * @return the number of chunks unloaded
+	 */
+	public int unloadIdleChunks(int idleTurns) {
+		if (chunks == null)
+			return 0;
+
+		int unloaded = 0;
+		long now = timingWheel.getTime();
+		for (MapChunk chunk : chunks) {
+			if (chunk.isLoaded() && now - chunk.lastUsed >= idleTurns && canUnload(chunk)) {
+				unloadChunk(chunk);
+				unloaded++;
+			}
+		}
+		return unloaded;
+	}
+
+	/**
+	 * Works out whether a chunk would come back the same after being unloaded.
+	 *
+	 * @param chunk a loaded chunk
+	 * @return true if it can be unloaded
+	 */
+	private boolean canUnload(MapChunk chunk) {
+		for (Location location : chunk.locations) {
+			if (location.hasCustomExits() || !location.getItems().isEmpty() || occupantAt(location) != null)
+				return false;
+			Ground ground = location.getGround();
+			if (groundFactory.newGround(ground.getDisplayChar()) != ground)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Turn a chunk back into Ground characters.
+	 *
+	 * @param chunk a chunk that canUnload() agreed to
+	 */
+	private void unloadChunk(MapChunk chunk) {
+		Location[] locations = chunk.locations;
+		char[] chars = new char[locations.length];
+		for (int i = 0; i < locations.length; i++) {
+			Ground ground = locations[i].getGround();
+			chars[i] = ground.getDisplayChar();
+			ground.removedFrom(locations[i]);
+			groundChanged(locations[i], ground, null);
+		}
+
+		synchronized (chunks) {
+			chunk.setGroundChars(chars);
+			chunk.locations = null;
+			chunk.occupants = null;
+		}
+	}
+
+	/**
+	 * Returns the Actor standing on a Location.
+	 *
+	 * Only looks at coordinates, so it works for a Location from before its chunk was last unloaded.
+	 *
+	 * @param location the Location
+	 * @return the Actor there, or null if there isn't one
+	 */
+	Actor occupantAt(Location location) {
+		// Reading never allocates, so lookups are safe from several threads at once.
+		Actor[] actors;
+		int index;
+		if (chunks == null) {
+			actors = occupants;
+			index = location.slot();
+		} else {
+			MapChunk chunk = chunkAt(location.x(), location.y());
+			actors = chunk.occupants;
+			index = chunk.indexOf(location.x(), location.y());
+		}
+		return actors == null ? null : actors[index];
+	}
+
+	/**
+	 * Record which Actor is standing on a Location. Only ActorLocations should call this.
+	 *
+	 * @param location the Location
+	 * @param actor    the Actor there now, or null if it has been left empty
+	 */
+	void setOccupant(Location location, Actor actor) {
+		if (chunks == null) {
+			if (occupants == null)
+				occupants = new Actor[widths.size() * heights.size()];
+			occupants[location.slot()] = actor;
+		} else {
+			MapChunk chunk = chunkAt(location.x(), location.y());
+			if (chunk.occupants == null)
+				chunk.occupants = new Actor[chunk.width * chunk.height];
+			chunk.occupants[chunk.indexOf(location.x(), location.y())] = actor;
+		}
+	}
+
+	/**
+	 * Record that an Actor has come onto this map. Only ActorLocations should call this.
+	 *
+	 * @param order when the Actor was placed, which decides where it comes in the turn order
+	 * @param actor the Actor
+	 */
+	void actorArrived(long order, Actor actor) {
+		actorsInOrder.put(order, actor);
+	}
+
+	/**
+	 * Record that an Actor has left this map. Only ActorLocations should call this.
+	 *
+	 * @param order when the Actor was placed
+	 */
+	void actorLeft(long order) {
+		actorsInOrder.remove(order);
 	}
 
 	/**
@@ -217,7 +843,7 @@ public class GameMap {
 	 */
 	public void tick() {
 		// Tick over all the items in inventories.
-		for (Actor actor : actorLocations) {
+		for (Actor actor : getActors()) {
 			if (this.contains(actor)) {
 				for (Item item : new ArrayList<Item>(actor.getInventory())) { // Copy the list in case the item wants to leave
 					item.tick(actorLocations.locationOf(actor), actor);
@@ -225,11 +851,630 @@ public class GameMap {
 			}
 		}
 
-		for (int y : heights) {
-			for (int x : widths) {
-				this.at(x, y).tick();
+		// Everyone decides what will happen to them before anything changes.
+		if (parallelTick)
+			ForkJoinPool.commonPool().invoke(new PrepareTickTask(0, heights.size()));
+		else
+			prepareTickRows(0, heights.size());
+		afterPrepareTick();
+
+		forEachLoadedLocation(Location::tick);
+		timingWheel.advance();
+
+		if (chunks != null && chunkIdleTurns > 0 && timingWheel.getTime() % chunkIdleTurns == 0)
+			unloadIdleChunks(chunkIdleTurns);
+	}
+
+	/**
+	 * Returns the TimingWheel that runs this map's timed events.
+	 *
+	 * It moves on one turn at the end of every tick(), once every Location has had its turn.
+	 *
+	 * @return the map's TimingWheel
+	 */
+	public TimingWheel getTimingWheel() {
+		return timingWheel;
+	}
+
+	/**
+	 * Write everything on this map into a World snapshot: its Grounds, Items, timers and sources of
+	 * random numbers. The Actors are saved by the World, and Exits added by hand are not saved at
+	 * all, as they are made again when the map is built.
+	 *
+	 * A chunked map writes the Ground characters of a chunk that isn't loaded straight out, so a
+	 * huge map that is mostly put away is quick to save and to load.
+	 *
+	 * @param out where to write
+	 * @throws IOException when file I/O fails
+	 */
+	@Override
+	public void save(SnapshotWriter out) throws IOException {
+		out.writeInt(getWidth());
+		out.writeInt(getHeight());
+		out.writeInt(chunkSize);
+		out.writeLong(randomSeed);
+		out.writeBoolean(random != null);
+		if (random != null)
+			out.writeLong(random.getState());
+		long now = timingWheel.getTime();
+		out.writeLong(now);
+
+		GroundPalette palette = new GroundPalette(groundFactory);
+		if (chunks == null) {
+			int width = widths.size();
+			int height = heights.size();
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					saveLocation(out, map[x][y], palette);
+				}
+			}
+			return;
+		}
+
+		for (MapChunk chunk : chunks) {
+			Location[] locations = chunk.locations;
+			out.writeBoolean(locations != null);
+			if (locations != null) {
+				out.writeVarLong(now - chunk.lastUsed);
+				for (Location location : locations) {
+					saveLocation(out, location, palette);
+				}
+			} else {
+				char[] chars = new char[chunk.width * chunk.height];
+				for (int y = chunk.top; y < chunk.top + chunk.height; y++) {
+					for (int x = chunk.left; x < chunk.left + chunk.width; x++) {
+						chars[chunk.indexOf(x, y)] = chunk.groundCharAt(x, y);
+					}
+				}
+				out.writeChars(chars, 0, chars.length);
+			}
+		}
+	}
+
+	/**
+	 * Replace everything on this map with what save() wrote. The map must be the same size, and
+	 * chunked the same way, as the one that was saved, and have no Actors on it.
+	 *
+	 * Timers that were pending are dropped, and the Grounds and Items that set them set them again
+	 * as they are put back.
+	 *
+	 * @param in where to read from
+	 * @throws IOException when the snapshot can't be read, or is of a different map
+	 */
+	@Override
+	public void restore(SnapshotReader in) throws IOException {
+		if (in.readInt() != getWidth() || in.readInt() != getHeight() || in.readInt() != chunkSize)
+			throw new IOException("The snapshot is of a map of a different size");
+		randomSeed = in.readLong();
+		random = in.readBoolean() ? new RandomStream(in.readLong()) : null;
+		long now = in.readLong();
+		timingWheel.reset(now);
+		synchronized (distanceFields) {
+			distanceFields.clear();
+		}
+		forEachLoadedLocation(location -> {
+			for (Item item : new ArrayList<Item>(location.getItems())) {
+				location.removeItem(item);
+			}
+		});
+
+		GroundPalette palette = new GroundPalette(groundFactory);
+		if (chunks == null) {
+			int width = widths.size();
+			int height = heights.size();
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					restoreLocation(in, map[x][y], palette);
+				}
+			}
+			return;
+		}
+
+		for (MapChunk chunk : chunks) {
+			if (in.readBoolean()) {
+				long idle = in.readVarLong();
+				Location[] locations = chunk.locations != null ? chunk.locations : loadChunk(chunk);
+				for (Location location : locations) {
+					restoreLocation(in, location, palette);
+				}
+				chunk.lastUsed = now - idle;
+				continue;
+			}
+
+			char[] chars = new char[chunk.width * chunk.height];
+			in.readChars(chars, 0, chars.length);
+			Location[] locations = chunk.locations;
+			if (locations != null && !hasCustomExits(locations)) {
+				unloadChunk(chunk);
+				locations = null;
+			}
+			if (locations == null) {
+				chunk.setGroundChars(chars);
+				continue;
+			}
+			// Exits added by hand would be lost if the chunk were put away, so it stays loaded.
+			for (int i = 0; i < locations.length; i++) {
+				Ground ground = groundFactory.newGround(chars[i]);
+				if (ground != locations[i].getGround())
+					locations[i].setGround(ground);
+				locations[i].restoreRandomDraws(0);
+			}
+		}
+	}
+
+	/**
+	 * Add the state of this map to a hash of the World: its timers, its sources of random numbers,
+	 * and the Grounds and Items of every loaded Location. Chunks that aren't loaded are left out, as
+	 * nothing on them can change until they are loaded again. Override this to add anything else a
+	 * map keeps, and call it first.
+	 *
+	 * @param hash the hash to add to
+	 * @see World#hashState()
+	 */
+	@Override
+	public void hashState(StateHash hash) {
+		hash.add(getWidth());
+		hash.add(getHeight());
+		hash.add(timingWheel.getTime());
+		hash.add(getRandomDraws());
+		forEachLoadedLocation(location -> location.hashState(hash));
+	}
+
+	/**
+	 * Write one Location: its Ground, how far its random numbers have got, and its Items.
+	 *
+	 * @param out      where to write
+	 * @param location the Location
+	 * @param palette  the Grounds written so far
+	 * @throws IOException when file I/O fails
+	 */
+	private void saveLocation(SnapshotWriter out, Location location, GroundPalette palette) throws IOException {
+		palette.write(out, location.getGround());
+		out.writeVarLong(location.getRandomDraws());
+		List<Item> items = location.getItems();
+		out.writeVarLong(items.size());
+		for (Item item : items) {
+			out.writeObject(item);
+		}
+	}
+
+	/**
+	 * Read back one Location written by saveLocation().
+	 *
+	 * @param in       where to read from
+	 * @param location the Location
+	 * @param palette  the Grounds read so far
+	 * @throws IOException when the snapshot can't be read
+	 */
+	private void restoreLocation(SnapshotReader in, Location location, GroundPalette palette) throws IOException {
+		Ground ground = palette.read(in);
+		if (ground != location.getGround())
+			location.setGround(ground);
+		location.restoreRandomDraws(in.readVarLong());
+		int count = in.readCount();
+		for (int i = 0; i < count; i++) {
+			location.addItem(in.readObject(Item.class));
+		}
+	}
+
+	/**
+	 * Returns true if any of some Locations have had Exits added or removed by hand.
+	 *
+	 * @param locations the Locations
+	 * @return true if one of them has custom Exits
+	 */
+	private static boolean hasCustomExits(Location[] locations) {
+		for (Location location : locations) {
+			if (location.hasCustomExits())
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the PathFinder that finds routes across this map.
+	 *
+	 * @return the map's PathFinder
+	 */
+	public PathFinder getPathFinder() {
+		return pathFinder;
+	}
+
+	/**
+	 * Called in the middle of tick(), once every Location has been prepared and before any has its tick().
+	 *
+	 * Override this to apply, all at once, things that Locations worked out in prepareTick(). It always
+	 * runs on the thread that called tick().
+	 */
+	protected void afterPrepareTick() {
+	}
+
+	/**
+	 * Choose whether the first half of each tick runs on several threads.
+	 *
+	 * Every Location's prepareTick() is always run before any Location's tick(), so the result is the
+	 * same either way; this only decides whether the map is split into stripes that are prepared
+	 * in parallel on the common ForkJoinPool. The second half always runs on the calling thread,
+	 * in order, so changes that reach outside a Location happen in a fixed order.
+	 *
+	 * @param parallelTick true to prepare Locations in parallel
+	 * @see Location#prepareTick()
+	 */
+	public void setParallelTick(boolean parallelTick) {
+		this.parallelTick = parallelTick;
+	}
+
+	/**
+	 * Returns true if the first half of each tick runs on several threads.
+	 *
+	 * @return true if Locations are prepared in parallel
+	 */
+	public boolean isParallelTick() {
+		return parallelTick;
+	}
+
+	/**
+	 * Run prepareTick() for every Location in a horizontal stripe of the map.
+	 *
+	 * @param startY first row of the stripe
+	 * @param endY   row after the last row of the stripe
+	 */
+	private void prepareTickRows(int startY, int endY) {
+		if (chunks != null) {
+			for (int y = startY; y < endY; y++) {
+				forEachLoadedLocationInRow(y, Location::prepareTick);
+			}
+			return;
+		}
+
+		int width = widths.size();
+		for (int y = startY; y < endY; y++) {
+			for (int x = 0; x < width; x++) {
+				this.at(x, y).prepareTick();
+			}
+		}
+	}
+
+	/**
+	 * Prepares a stripe of the map, splitting it in half until the pieces are small enough.
+	 */
+	private class PrepareTickTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private int startY;
+		private int endY;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param startY first row of the stripe
+		 * @param endY   row after the last row of the stripe
+		 */
+		PrepareTickTask(int startY, int endY) {
+			this.startY = startY;
+			this.endY = endY;
+		}
+
+		/**
+		 * @see RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			int rows = endY - startY;
+			if (rows <= 1 || rows * widths.size() <= PARALLEL_TICK_CELLS) {
+				prepareTickRows(startY, endY);
+			} else {
+				int middle = startY + rows / 2;
+				invokeAll(new PrepareTickTask(startY, middle), new PrepareTickTask(middle, endY));
+			}
+		}
+	}
+
+	/**
+	 * Start keeping a spatial index of every Location whose Ground has the given capability.
+	 *
+	 * The index is kept up to date by Location.setGround(), so capabilities that are indexed
+	 * should not be added to or removed from a Ground after it has been placed on the map.
+	 *
+	 * @param capability the Ground capability to index
+	 */
+	public void indexGroundCapability(Enum<?> capability) {
+		if (groundIndices.containsKey(capability))
+			return;
+
+		LocationIndex index = new LocationIndex(widths.size(), heights.size());
+		forEachLoadedLocation(location -> {
+			if (location.getGround().hasCapability(capability))
+				index.add(location);
+		});
+		groundIndices.put(capability, index);
+	}
+
+	/**
+	 * Called by a Location when its Ground is replaced, to keep the Ground indices current.
+	 *
+	 * @param location  the Location whose Ground changed
+	 * @param oldGround the Ground that was there before, or null if there wasn't one
+	 * @param newGround the Ground that is there now
+	 */
+	protected void groundChanged(Location location, Ground oldGround, Ground newGround) {
+		for (Map.Entry<Enum<?>, LocationIndex> entry : groundIndices.entrySet()) {
+			if (oldGround != null && oldGround.hasCapability(entry.getKey()))
+				entry.getValue().remove(location);
+			if (newGround != null && newGround.hasCapability(entry.getKey()))
+				entry.getValue().add(location);
+		}
+		long version = terrainVersions.groundChanged(location, oldGround, newGround);
+		for (TerrainListener listener : terrainListeners) {
+			listener.groundChanged(location, version);
+		}
+		locationChanged(location);
+	}
+
+	/**
+	 * Find the closest Location (by Manhattan distance) whose Ground has the given capability.
+	 *
+	 * Uses the spatial index if the capability has been indexed, and scans the whole map if not.
+	 * A chunked map only scans its loaded chunks.
+	 *
+	 * @param from       the Location to measure distance from
+	 * @param capability the Ground capability to look for
+	 * @param filter     extra condition the Location must meet, or null for none
+	 * @return the closest matching Location, or null if there isn't one
+	 * @see #indexGroundCapability(Enum)
+	 */
+	public Location nearestGroundWithCapability(Location from, Enum<?> capability, Predicate<Location> filter) {
+		LocationIndex index = groundIndices.get(capability);
+		if (index != null)
+			return index.nearest(from.x(), from.y(), filter);
+
+		Location closest = null;
+		int closestDistance = Integer.MAX_VALUE;
+		int width = widths.size();
+		int height = heights.size();
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				Location there = loadedAt(x, y);
+				if (there != null && there.getGround().hasCapability(capability)) {
+					int distance = Math.abs(from.x() - x) + Math.abs(from.y() - y);
+					if (distance < closestDistance && (filter == null || filter.test(there))) {
+						closestDistance = distance;
+						closest = there;
+					}
+				}
+			}
+		}
+		return closest;
+	}
+
+	/**
+	 * Visit every Location whose Ground has the given capability.
+	 *
+	 * Uses the spatial index if the capability has been indexed, and scans the whole map (its loaded
+	 * chunks, if it is chunked) if not.
+	 *
+	 * @param capability the Ground capability to look for
+	 * @param visitor    called once for each matching Location
+	 */
+	void forEachGroundWithCapability(Enum<?> capability, Consumer<? super Location> visitor) {
+		LocationIndex index = groundIndices.get(capability);
+		if (index != null) {
+			index.forEach(visitor);
+			return;
+		}
+		forEachLoadedLocation(location -> {
+			if (location.getGround().hasCapability(capability))
+				visitor.accept(location);
+		});
+	}
+
+	/**
+	 * Returns the distances from every Location on this map to the nearest of a kind of target,
+	 * for Actors that move a certain way.
+	 *
+	 * There is one DistanceField for each target and mobility, worked out the first time it is
+	 * asked for in a turn and shared by everyone who asks after that, from any thread.
+	 *
+	 * @param target   the kind of target
+	 * @param mobility how the Actor moves, e.g. a capability saying whether it flies
+	 * @param actor    the Actor asking, which the field is worked out for if it needs to be
+	 * @return the DistanceField, up to date for this turn
+	 */
+	public DistanceField getDistanceField(DistanceTarget target, Enum<?> mobility, Actor actor) {
+		DistanceField field;
+		synchronized (distanceFields) {
+			field = distanceFields.computeIfAbsent(Arrays.<Object>asList(target, mobility),
+					key -> new DistanceField(this, target));
+		}
+		field.update(actor);
+		return field;
+	}
+
+	/**
+	 * Start keeping a spatial index of every Location holding an Item with the given capability.
+	 *
+	 * A Location is indexed once for each matching Item on it. The index is kept up to date by
+	 * Location.addItem() and Location.removeItem(), so capabilities that are indexed should not be
+	 * added to or removed from an Item while it is lying on the map.
+	 *
+	 * @param capability the Item capability to index
+	 */
+	public void indexItemCapability(Enum<?> capability) {
+		if (itemIndices.containsKey(capability))
+			return;
+
+		LocationIndex index = new LocationIndex(widths.size(), heights.size());
+		forEachLoadedLocation(location -> {
+			for (Item item : location.getItems()) {
+				if (item.hasCapability(capability))
+					index.add(location);
 			}
+		});
+		itemIndices.put(capability, index);
+	}
+
+	/**
+	 * Called by a Location when an Item is put down on it, to keep the Item indices current.
+	 *
+	 * @param location the Location the Item was added to
+	 * @param item     the Item that was added
+	 */
+	protected void itemAdded(Location location, Item item) {
+		for (Map.Entry<Enum<?>, LocationIndex> entry : itemIndices.entrySet()) {
+			if (item.hasCapability(entry.getKey()))
+				entry.getValue().add(location);
+		}
+		itemsChanged(location, item);
+		locationChanged(location);
+	}
+
+	/**
+	 * Called by a Location when an Item is taken off it, to keep the Item indices current.
+	 *
+	 * @param location the Location the Item was removed from
+	 * @param item     the Item that was removed
+	 */
+	protected void itemRemoved(Location location, Item item) {
+		for (Map.Entry<Enum<?>, LocationIndex> entry : itemIndices.entrySet()) {
+			if (item.hasCapability(entry.getKey()))
+				entry.getValue().remove(location);
+		}
+		itemsChanged(location, item);
+		locationChanged(location);
+	}
+
+	/**
+	 * Stamp an Item arriving at or leaving a Location, and tell the TerrainListeners.
+	 *
+	 * @param location the Location
+	 * @param item     the Item
+	 */
+	private void itemsChanged(Location location, Item item) {
+		long version = terrainVersions.itemChanged(location, item);
+		for (TerrainListener listener : terrainListeners) {
+			listener.itemsChanged(location, version);
+		}
+	}
+
+	/**
+	 * Find the closest Location (by Manhattan distance) holding an Item with the given capability.
+	 *
+	 * Uses the spatial index if the capability has been indexed, and scans the whole map if not.
+	 * A chunked map only scans its loaded chunks.
+	 *
+	 * @param from       the Location to measure distance from
+	 * @param capability the Item capability to look for
+	 * @param filter     extra condition the Location must meet, or null for none
+	 * @return the closest matching Location, or null if there isn't one
+	 * @see #indexItemCapability(Enum)
+	 */
+	public Location nearestItemWithCapability(Location from, Enum<?> capability, Predicate<Location> filter) {
+		LocationIndex index = itemIndices.get(capability);
+		if (index != null)
+			return index.nearest(from.x(), from.y(), filter);
+
+		Location closest = null;
+		int closestDistance = Integer.MAX_VALUE;
+		int width = widths.size();
+		int height = heights.size();
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				Location there = loadedAt(x, y);
+				if (there == null)
+					continue;
+				for (Item item : there.getItems()) {
+					if (item.hasCapability(capability)) {
+						int distance = Math.abs(from.x() - x) + Math.abs(from.y() - y);
+						if (distance < closestDistance && (filter == null || filter.test(there))) {
+							closestDistance = distance;
+							closest = there;
+						}
+						break;
+					}
+				}
+			}
+		}
+		return closest;
+	}
+
+	/**
+	 * Start telling a LocationListener whenever a Location on this map changes.
+	 *
+	 * @param listener the listener to add
+	 */
+	public void addLocationListener(LocationListener listener) {
+		Objects.requireNonNull(listener);
+		locationListeners.add(listener);
+	}
+
+	/**
+	 * Stop telling a LocationListener about changes.
+	 *
+	 * @param listener the listener to remove
+	 */
+	public void removeLocationListener(LocationListener listener) {
+		locationListeners.remove(listener);
+	}
+
+	/**
+	 * Returns the version stamps of this map's terrain, for checking whether something cached about
+	 * it is still good.
+	 *
+	 * @return the TerrainVersions
+	 */
+	public TerrainVersions getTerrainVersions() {
+		return terrainVersions;
+	}
+
+	/**
+	 * Start telling a TerrainListener whenever a Ground on this map is replaced, or an Item is
+	 * added or taken away.
+	 *
+	 * @param listener the listener to add
+	 */
+	public void addTerrainListener(TerrainListener listener) {
+		Objects.requireNonNull(listener);
+		terrainListeners.add(listener);
+	}
+
+	/**
+	 * Stop telling a TerrainListener about changes.
+	 *
+	 * @param listener the listener to remove
+	 */
+	public void removeTerrainListener(TerrainListener listener) {
+		terrainListeners.remove(listener);
+	}
+
+	/**
+	 * Called when something at a Location on this map has changed: its Ground, its Items, or the
+	 * Actor standing there. Passes the news on to the LocationListeners.
+	 *
+	 * @param location the Location that changed
+	 */
+	protected void locationChanged(Location location) {
+		for (LocationListener listener : locationListeners) {
+			listener.locationChanged(location);
+		}
+	}
+
+	/**
+	 * Returns the Actors that are currently on this GameMap, in turn order.
+	 *
+	 * The map keeps its own Actors, so this only costs as much as there are Actors on it.
+	 *
+	 * @return a new list of the Actors on this map
+	 */
+	public List<Actor> getActors() {
+		List<Actor> actors = new ArrayList<Actor>(actorsInOrder.size());
+		Actor player = actorLocations.getPlayer();
+		if (player != null && contains(player))
+			actors.add(player);
+		for (Actor actor : actorsInOrder.values()) {
+			if (actor != player)
+				actors.add(actor);
 		}
+		return actors;
 	}
 
 	/**
@@ -1,11 +1,13 @@
 package edu.monash.fit2099.engine;
 
+import java.io.IOException;
+
 import edu.monash.fit2099.interfaces.GroundInterface;
 
 /**
  * Class representing terrain type
  */
-public abstract class Ground implements GroundInterface, Capable, Printable {
+public abstract class Ground implements GroundInterface, Capable, Printable, Saveable {
 
 	private Capabilities capabilities = new Capabilities();
 	protected char displayChar;
@@ -45,6 +47,25 @@ public abstract class Ground implements GroundInterface, Capable, Printable {
 		return true;
 	}
 
+	/**
+	 * Called when this Ground is placed on a Location.
+	 *
+	 * A Ground that is shared between Locations is told about each of them.
+	 *
+	 * @param location the Location the Ground was placed on
+	 * @see GameMap#getTimingWheel()
+	 */
+	public void addedTo(Location location) {
+	}
+
+	/**
+	 * Called when this Ground is replaced on a Location.
+	 *
+	 * @param location the Location the Ground was taken off
+	 */
+	public void removedFrom(Location location) {
+	}
+
 	/**
 	 * Ground can also experience the joy of time.
 	 * @param location The location of the Ground 
@@ -52,6 +73,19 @@ public abstract class Ground implements GroundInterface, Capable, Printable {
 	public void tick(Location location) {
 	}
 	
+	/**
+	 * First half of a Ground's turn, run before any Ground on the map has its tick().
+	 *
+	 * This may look at anything on the map, but may only change this Ground's own fields. It must not
+	 * change Locations, Items, Actors or anything shared, because GameMap may run it on several threads
+	 * at once. Work out what is going to happen here, keep the answer, and apply it in tick().
+	 *
+	 * @param location The location of the Ground
+	 * @see GameMap#setParallelTick(boolean)
+	 */
+	public void prepareTick(Location location) {
+	}
+
 	/**
 	 * Override this to implement terrain that blocks thrown objects but not movement, or vice versa
 	 * @return true
@@ -87,4 +121,45 @@ public abstract class Ground implements GroundInterface, Capable, Printable {
 	public void removeCapability(Enum<?> capability) {
 		capabilities.removeCapability(capability);
 	}
+
+	/**
+	 * Write the Ground's display character and capabilities. Grounds shared by a GroundFactory are
+	 * never saved like this, only the character that the factory makes them from. Override this to
+	 * save more, and call it first.
+	 *
+	 * @param out where to write
+	 * @throws IOException when file I/O fails
+	 */
+	@Override
+	public void save(SnapshotWriter out) throws IOException {
+		out.writeChar(displayChar);
+		out.writeCapabilities(capabilities);
+	}
+
+	/**
+	 * Read back what save() wrote. This happens before the Ground is put on the map.
+	 *
+	 * @param in where to read from
+	 * @throws IOException when the snapshot can't be read
+	 */
+	@Override
+	public void restore(SnapshotReader in) throws IOException {
+		displayChar = in.readChar();
+		in.readCapabilities(capabilities);
+	}
+
+
+	/**
+	 * Add the Ground's kind, display character and capabilities to a hash of the World.
+	 * Override this to add anything else that changes, and call it first.
+	 *
+	 * @param hash the hash to add to
+	 * @see World#hashState()
+	 */
+	@Override
+	public void hashState(StateHash hash) {
+		hash.add(getClass().getName());
+		hash.add(displayChar);
+		hash.add(capabilities.stableHash());
+	}
 }
@@ -0,0 +1,107 @@
+package edu.monash.fit2099.engine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes and reads the Grounds of a map in a snapshot.
+ *
+ * A Ground that the GroundFactory shares between Locations has no state of its own, so it is
+ * written as a number standing for its character: the first time the character comes up it
+ * follows the number, and after that the number is enough. Any other Ground is written as an
+ * object, after a 0. Most of a map is usually shared Ground, so most cells take one byte.
+ */
+class GroundPalette {
+
+	private static final int TABLE_SIZE = 128;
+
+	private final GroundFactory factory;
+
+	// What the factory makes for each character, or null if it hasn't been asked yet.
+	private final Ground[] made = new Ground[TABLE_SIZE];
+	private final Map<Character, Ground> otherMade = new HashMap<Character, Ground>();
+
+	private final int[] numbers = new int[TABLE_SIZE]; // 0 until the character has been written.
+	private final Map<Character, Integer> otherNumbers = new HashMap<Character, Integer>();
+	private final List<Ground> read = new ArrayList<Ground>();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param factory the GroundFactory of the map
+	 */
+	GroundPalette(GroundFactory factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Write a Ground.
+	 *
+	 * @param out    where to write
+	 * @param ground the Ground
+	 * @throws IOException when file I/O fails
+	 */
+	void write(SnapshotWriter out, Ground ground) throws IOException {
+		char displayChar = ground.getDisplayChar();
+		if (madeFor(displayChar) != ground) {
+			out.writeVarLong(0);
+			out.writeObject(ground);
+			return;
+		}
+
+		int number = displayChar < TABLE_SIZE ? numbers[displayChar] : otherNumbers.getOrDefault(displayChar, 0);
+		if (number != 0) {
+			out.writeVarLong(number);
+			return;
+		}
+		number = read.size() + 1;
+		read.add(ground);
+		if (displayChar < TABLE_SIZE)
+			numbers[displayChar] = number;
+		else
+			otherNumbers.put(displayChar, number);
+		out.writeVarLong(number);
+		out.writeChar(displayChar);
+	}
+
+	/**
+	 * Read a Ground written by write().
+	 *
+	 * @param in where to read from
+	 * @return the shared Ground, or a new one restored from the snapshot
+	 * @throws IOException when the snapshot can't be read, or the factory doesn't share that Ground any more
+	 */
+	Ground read(SnapshotReader in) throws IOException {
+		int number = in.readCount();
+		if (number == 0)
+			return in.readObject(Ground.class);
+		if (number == read.size() + 1) {
+			char displayChar = in.readChar();
+			Ground ground = factory.newGround(displayChar);
+			if (ground == null || factory.newGround(displayChar) != ground)
+				throw new IOException("The GroundFactory doesn't share a Ground for '" + displayChar + "'");
+			read.add(ground);
+		} else if (number > read.size()) {
+			throw new IOException("Bad Ground in snapshot");
+		}
+		return read.get(number - 1);
+	}
+
+	/**
+	 * Ask the factory for the Ground of a character, once.
+	 *
+	 * @param displayChar the character
+	 * @return whatever the factory made the first time, which is only ever on the map if it's shared
+	 */
+	private Ground madeFor(char displayChar) {
+		if (displayChar < TABLE_SIZE) {
+			if (made[displayChar] == null)
+				made[displayChar] = factory.newGround(displayChar);
+			return made[displayChar];
+		}
+		return otherMade.computeIfAbsent(displayChar, factory::newGround);
+	}
+}
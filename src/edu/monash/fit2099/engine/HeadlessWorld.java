@@ -0,0 +1,97 @@
+package edu.monash.fit2099.engine;
+
+/**
+ * A World that simulates a fixed number of turns without drawing anything or reading the keyboard.
+ *
+ * The player is driven by a TurnPolicy instead of its own playTurn(), so nothing ever blocks
+ * waiting for input. By default the player does nothing every turn. When the run finishes, the
+ * number of turns simulated per second is reported, along with the random seed needed to repeat the run.
+ */
+public class HeadlessWorld extends World {
+
+	private int turnLimit;
+	private int turnsPlayed = 0;
+	private long elapsedNanos = 0;
+	private TurnPolicy playerPolicy = (actor, actions, lastAction, map) -> new DoNothingAction();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param display   the Display that messages will be written to
+	 * @param turnLimit the number of turns to simulate
+	 * @throws IllegalArgumentException if turnLimit is negative
+	 */
+	public HeadlessWorld(Display display, int turnLimit) {
+		super(display);
+		if (turnLimit < 0)
+			throw new IllegalArgumentException();
+		this.turnLimit = turnLimit;
+	}
+
+	/**
+	 * Set the policy used to choose the player's Actions.
+	 *
+	 * @param playerPolicy the policy to use
+	 */
+	public void setPlayerPolicy(TurnPolicy playerPolicy) {
+		this.playerPolicy = playerPolicy;
+	}
+
+	/**
+	 * Run the simulation.
+	 *
+	 * Stops after the turn limit, or earlier if the player leaves the game.
+	 *
+	 * @throws IllegalStateException if the player doesn't exist
+	 */
+	@Override
+	public void run() {
+		if (player == null)
+			throw new IllegalStateException();
+
+		initialiseLastActions();
+
+		long start = System.nanoTime();
+		while (stillRunning() && turnsPlayed < turnLimit) {
+			processTurn();
+			display.flush();
+			turnsPlayed++;
+		}
+		elapsedNanos = System.nanoTime() - start;
+
+		display.println(String.format("Simulated %d turns in %.3f s (%.1f turns/s), seed %d", turnsPlayed,
+				elapsedNanos / 1e9, getTurnsPerSecond(), RandomService.getSeed()));
+		display.println(endGameMessage());
+		display.flush();
+	}
+
+	/**
+	 * Uses the player policy for the player, and playTurn() for everyone else.
+	 */
+	@Override
+	protected Action chooseAction(Actor actor, Actions actions, GameMap map, Display display) {
+		if (actor == player)
+			return playerPolicy.chooseAction(actor, actions, lastActionMap.get(actor), map);
+		return super.chooseAction(actor, actions, map, display);
+	}
+
+	/**
+	 * Returns the number of turns simulated by the last run.
+	 *
+	 * @return the number of turns
+	 */
+	public int getTurnsPlayed() {
+		return turnsPlayed;
+	}
+
+	/**
+	 * Returns the simulation speed of the last run.
+	 *
+	 * @return turns simulated per second, or 0 if nothing has been run
+	 */
+	public double getTurnsPerSecond() {
+		if (elapsedNanos == 0)
+			return 0;
+		return turnsPlayed / (elapsedNanos / 1e9);
+	}
+}
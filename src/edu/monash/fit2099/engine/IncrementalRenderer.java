@@ -0,0 +1,114 @@
+package edu.monash.fit2099.engine;
+
+import java.util.BitSet;
+
+/**
+ * A MapRenderer for ANSI terminals that only redraws the Locations that have changed.
+ *
+ * The first frame of a map clears the screen and draws all of it at the top. After that, the
+ * renderer listens to the map for changed Locations and each frame just moves the cursor to
+ * those cells and rewrites them. Messages scroll in the area below the map, so they never push
+ * the map off the screen. Each frame is written to the Display in one go.
+ */
+public class IncrementalRenderer implements MapRenderer, LocationListener {
+
+	private static final String CSI = "\u001b[";
+	private static final String SAVE_CURSOR = "\u001b7";
+	private static final String RESTORE_CURSOR = "\u001b8";
+
+	private GameMap currentMap;
+	private int width;
+	private int height;
+	private BitSet changed = new BitSet(); // Row by row, the same order the cells are written in.
+
+	/**
+	 * Draw the map, or just the parts of it that have changed since the last frame.
+	 *
+	 * @param map     the GameMap to draw
+	 * @param display the Display to draw it on
+	 */
+	@Override
+	public void draw(GameMap map, Display display) {
+		StringBuilder frame = new StringBuilder();
+		if (map != currentMap) {
+			follow(map);
+			frame.append(CSI).append('r').append(CSI).append("2J");
+			for (int y = 0; y < height; y++) {
+				moveCursor(frame, 0, y);
+				for (int x = 0; x < width; x++) {
+					frame.append(map.displayCharAt(x, y));
+				}
+			}
+			// Messages scroll underneath the map, leaving a blank line between them.
+			frame.append(CSI).append(height + 2).append('r');
+			moveCursor(frame, 0, height + 1);
+		} else if (!changed.isEmpty()) {
+			frame.append(SAVE_CURSOR);
+			int previous = -2;
+			for (int cell = changed.nextSetBit(0); cell >= 0; cell = changed.nextSetBit(cell + 1)) {
+				int x = cell % width;
+				int y = cell / width;
+				// The cursor is already in the right place for the next cell along the same row.
+				if (cell != previous + 1 || x == 0)
+					moveCursor(frame, x, y);
+				frame.append(map.displayCharAt(x, y));
+				previous = cell;
+			}
+			frame.append(RESTORE_CURSOR);
+		}
+		changed.clear();
+
+		if (frame.length() > 0)
+			display.print(frame.toString());
+	}
+
+	/**
+	 * Let the messages scroll over the whole screen again.
+	 *
+	 * @param display the Display that was drawn on
+	 */
+	@Override
+	public void close(Display display) {
+		if (currentMap != null) {
+			currentMap.removeLocationListener(this);
+			currentMap = null;
+			display.print(SAVE_CURSOR + CSI + "r" + RESTORE_CURSOR);
+		}
+	}
+
+	/**
+	 * Remember that a Location needs redrawing.
+	 *
+	 * @param location the Location that changed
+	 */
+	@Override
+	public void locationChanged(Location location) {
+		if (location.map() == currentMap)
+			changed.set(location.y() * width + location.x());
+	}
+
+	/**
+	 * Stop listening to the old map, and start listening to a new one.
+	 *
+	 * @param map the map that is now being drawn
+	 */
+	private void follow(GameMap map) {
+		if (currentMap != null)
+			currentMap.removeLocationListener(this);
+		currentMap = map;
+		width = map.getWidth();
+		height = map.getHeight();
+		map.addLocationListener(this);
+	}
+
+	/**
+	 * Append the escape sequence that moves the cursor to a cell.
+	 *
+	 * @param frame the frame being built
+	 * @param x     X coordinate, from 0
+	 * @param y     Y coordinate, from 0
+	 */
+	private static void moveCursor(StringBuilder frame, int x, int y) {
+		frame.append(CSI).append(y + 1).append(';').append(x + 1).append('H');
+	}
+}
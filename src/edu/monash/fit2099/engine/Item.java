@@ -1,6 +1,8 @@
 package edu.monash.fit2099.engine;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import edu.monash.fit2099.interfaces.ItemInterface;
 
@@ -8,13 +10,19 @@ import edu.monash.fit2099.interfaces.ItemInterface;
  * Abstract base class representing a physical object in the game world.
  *
  */
-public abstract class Item implements ItemInterface, Printable, Capable {
+public abstract class Item implements ItemInterface, Printable, Capable, Saveable {
 
 	protected boolean portable;
 	protected String name;
 	protected char displayChar;
 	protected Actions allowableActions;
-	protected Capabilities capabilities = new Capabilities();
+	protected Capabilities capabilities = new Capabilities(CAPABILITY_CHANGES);
+
+	/**
+	 * Counts every change to any Item's capabilities, so that Actors know when the
+	 * capabilities they get from their inventories need adding up again.
+	 */
+	private static final AtomicInteger CAPABILITY_CHANGES = new AtomicInteger();
 
 	/***
 	 * Constructor.
@@ -30,6 +38,26 @@ public abstract class Item implements ItemInterface, Printable, Capable {
 		allowableActions = new Actions();
 	}
 
+	/**
+	 * Called when this Item is put down on a Location.
+	 *
+	 * Items that are waiting for something to happen a number of turns from now can schedule it
+	 * on the map's TimingWheel here, instead of counting turns in tick().
+	 *
+	 * @param location the Location the Item was added to
+	 * @see GameMap#getTimingWheel()
+	 */
+	public void addedTo(Location location) {
+	}
+
+	/**
+	 * Called when this Item is taken off a Location.
+	 *
+	 * @param location the Location the Item was removed from
+	 */
+	public void removedFrom(Location location) {
+	}
+
     /**
      * Inform a carried Item of the passage of time.
      * 
@@ -104,6 +132,15 @@ public abstract class Item implements ItemInterface, Printable, Capable {
 		return this instanceof Weapon ? (Weapon) this : null;
 	}
 
+	/**
+	 * Returns how many times any Item's capabilities have changed.
+	 *
+	 * @return the number of changes so far
+	 */
+	static int capabilityChanges() {
+		return CAPABILITY_CHANGES.get();
+	}
+
 	/**
 	 * Does this Item have the given Capability?
 	 * 
@@ -130,4 +167,50 @@ public abstract class Item implements ItemInterface, Printable, Capable {
 	public void removeCapability(Enum<?> capability) {
 		capabilities.removeCapability(capability);
 	}
+
+	/**
+	 * Write the Item's name, display character, portability and capabilities. Override this to
+	 * save more, such as timers, and call it first.
+	 *
+	 * @param out where to write
+	 * @throws IOException when file I/O fails
+	 */
+	@Override
+	public void save(SnapshotWriter out) throws IOException {
+		out.writeString(name);
+		out.writeChar(displayChar);
+		out.writeBoolean(portable);
+		out.writeCapabilities(capabilities);
+	}
+
+	/**
+	 * Read back what save() wrote. This happens before the Item is put anywhere.
+	 *
+	 * @param in where to read from
+	 * @throws IOException when the snapshot can't be read
+	 */
+	@Override
+	public void restore(SnapshotReader in) throws IOException {
+		name = in.readString();
+		displayChar = in.readChar();
+		portable = in.readBoolean();
+		in.readCapabilities(capabilities);
+	}
+
+
+	/**
+	 * Add the Item's kind, name, display character, portability and capabilities to a hash of the
+	 * World. Override this to add anything else that changes, and call it first.
+	 *
+	 * @param hash the hash to add to
+	 * @see World#hashState()
+	 */
+	@Override
+	public void hashState(StateHash hash) {
+		hash.add(getClass().getName());
+		hash.add(name);
+		hash.add(displayChar);
+		hash.add(portable);
+		hash.add(capabilities.stableHash());
+	}
 }
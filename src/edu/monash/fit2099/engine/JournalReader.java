@@ -0,0 +1,305 @@
+package edu.monash.fit2099.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Reads the records of a journal written by a TurnJournal, oldest first.
+ *
+ * Reading stops at the end of the file, or at the first record that is cut short or fails its
+ * CRC, as that is where the game stopped. The file is memory-mapped, and has to be smaller than 2GB.
+ *
+ * @see TurnJournal
+ */
+public class JournalReader implements Closeable {
+
+	/**
+	 * One record: a turn, a gap where turns were dropped, or the start of a game's log.
+	 */
+	public static class Entry {
+		private final byte kind;
+		private long turn;
+		private long gapLength;
+		private String keys = "";
+		private int playerChoice = -1;
+		private long rootDraws;
+		private long[] mapDraws = new long[0];
+		private boolean hashed;
+		private long stateHash;
+		private final List<String> actions = new ArrayList<String>();
+		private final List<Integer> actorNumbers = new ArrayList<Integer>();
+		private final List<Long> actorDraws = new ArrayList<Long>();
+
+		/**
+		 * Constructor.
+		 *
+		 * @param kind the kind of record
+		 */
+		private Entry(byte kind) {
+			this.kind = kind;
+		}
+
+		/**
+		 * @return TurnJournal.TURN, GAP or START
+		 */
+		public byte getKind() {
+			return kind;
+		}
+
+		/**
+		 * @return the number of the turn, or of the first turn missing from a gap
+		 */
+		public long getTurn() {
+			return turn;
+		}
+
+		/**
+		 * @return the number of turns missing, for a gap
+		 */
+		public long getGapLength() {
+			return gapLength;
+		}
+
+		/**
+		 * @return the keys read from the Display during the turn
+		 */
+		public String getKeys() {
+			return keys;
+		}
+
+		/**
+		 * @return where the player's Action was in the Actions it was offered, or -1
+		 */
+		public int getPlayerChoice() {
+			return playerChoice;
+		}
+
+		/**
+		 * @return the random numbers drawn from the root stream during the turn
+		 */
+		public long getRootDraws() {
+			return rootDraws;
+		}
+
+		/**
+		 * @return the random numbers drawn from each map's own stream during the turn
+		 */
+		public long[] getMapDraws() {
+			return mapDraws.clone();
+		}
+
+		/**
+		 * @return true if the hash of the World after the turn was logged
+		 */
+		public boolean hasStateHash() {
+			return hashed;
+		}
+
+		/**
+		 * @return the hash of the World after the turn, if it was logged
+		 * @see World#hashState()
+		 */
+		public long getStateHash() {
+			return stateHash;
+		}
+
+		/**
+		 * @return the class names of the Actions executed during the turn, in order
+		 */
+		public List<String> getActions() {
+			return Collections.unmodifiableList(actions);
+		}
+
+		/**
+		 * @return the journal's numbers for the Actors that executed them, counting from the last START
+		 */
+		public List<Integer> getActorNumbers() {
+			return Collections.unmodifiableList(actorNumbers);
+		}
+
+		/**
+		 * @return the random numbers each of those Actors drew
+		 */
+		public List<Long> getActorDraws() {
+			return Collections.unmodifiableList(actorDraws);
+		}
+	}
+
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final long seed;
+	private final CRC32 crc = new CRC32();
+	private final List<String> symbols = new ArrayList<String>();
+	private long validLength;
+
+	/**
+	 * Constructor. Checks that the file is a journal that this version can read.
+	 *
+	 * @param file the file to read
+	 * @throws IOException when the file can't be opened, or isn't a journal
+	 */
+	public JournalReader(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.remaining() < TurnJournal.HEADER_SIZE || buffer.getInt() != TurnJournal.MAGIC)
+				throw new IOException(file + " is not a journal");
+			int version = buffer.getInt();
+			if (version != TurnJournal.VERSION)
+				throw new IOException(file + " is a version " + version + " journal");
+			seed = buffer.getLong();
+			validLength = buffer.position();
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the random seed of the game the journal is of.
+	 *
+	 * @return the seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Returns how much of the file has been read and found good.
+	 *
+	 * @return the length in bytes
+	 */
+	public long getValidLength() {
+		return validLength;
+	}
+
+	/**
+	 * Read the next record.
+	 *
+	 * @return the record, or null at the end of the good records
+	 */
+	public Entry next() {
+		if (buffer.remaining() < 4)
+			return null;
+		int start = buffer.position();
+		int length = buffer.getInt(start);
+		if (length <= 0 || length > buffer.remaining() - 8)
+			return null;
+
+		ByteBuffer payload = buffer.duplicate();
+		payload.position(start + 4).limit(start + 4 + length);
+		crc.reset();
+		crc.update(payload.duplicate());
+		if ((int) crc.getValue() != buffer.getInt(start + 4 + length))
+			return null;
+
+		Entry entry;
+		try {
+			entry = decode(payload);
+		} catch (RuntimeException e) {
+			// Passed its CRC but makes no sense, so it isn't one of ours.
+			return null;
+		}
+		buffer.position(start + 8 + length);
+		validLength = buffer.position();
+		return entry;
+	}
+
+	/**
+	 * Close the file.
+	 *
+	 * @throws IOException when file I/O fails
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Make sense of a record that has passed its CRC.
+	 *
+	 * @param in the record's bytes
+	 * @return the record
+	 */
+	private Entry decode(ByteBuffer in) {
+		Entry entry = new Entry(in.get());
+		switch (entry.kind) {
+		case TurnJournal.START:
+			symbols.clear();
+			break;
+		case TurnJournal.GAP:
+			entry.turn = getVarLong(in);
+			entry.gapLength = getVarLong(in);
+			break;
+		case TurnJournal.TURN:
+			entry.turn = getVarLong(in);
+			byte[] keys = new byte[(int) getVarLong(in)];
+			in.get(keys);
+			entry.keys = new String(keys, StandardCharsets.UTF_8);
+			entry.playerChoice = (int) getVarLong(in) - 1;
+			entry.rootDraws = getVarLong(in);
+			entry.mapDraws = new long[(int) getVarLong(in)];
+			for (int i = 0; i < entry.mapDraws.length; i++) {
+				entry.mapDraws[i] = getVarLong(in);
+			}
+			long actions = getVarLong(in);
+			for (long i = 0; i < actions; i++) {
+				entry.actorNumbers.add((int) getVarLong(in));
+				entry.actions.add(getSymbol(in));
+				entry.actorDraws.add(getVarLong(in));
+			}
+			entry.hashed = in.get() != 0;
+			if (entry.hashed)
+				entry.stateHash = in.getLong();
+			break;
+		default:
+			throw new IllegalStateException("Unknown record kind " + entry.kind);
+		}
+		if (in.hasRemaining())
+			throw new IllegalStateException("Record too long");
+		return entry;
+	}
+
+	/**
+	 * Read a name written by TurnJournal, which is only written out in full the first time.
+	 *
+	 * @param in where to read from
+	 * @return the name
+	 */
+	private String getSymbol(ByteBuffer in) {
+		int number = (int) getVarLong(in);
+		if (number == symbols.size() + 1) {
+			byte[] bytes = new byte[(int) getVarLong(in)];
+			in.get(bytes);
+			symbols.add(new String(bytes, StandardCharsets.UTF_8));
+		}
+		return symbols.get(number - 1);
+	}
+
+	/**
+	 * Read a number of 7 bits a byte.
+	 *
+	 * @param in where to read from
+	 * @return the number
+	 */
+	private static long getVarLong(ByteBuffer in) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = in.get();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IllegalStateException("Bad number");
+	}
+}
@@ -0,0 +1,198 @@
+package edu.monash.fit2099.engine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Plays a game logged by a TurnJournal over again, checking it against the log as it goes.
+ *
+ * Only the player's keys are fed back in. Everything else has to come out the same by itself, so
+ * a replay that matches the log turn by turn shows that the game is deterministic: that it doesn't
+ * depend on timing, hash codes or anything else that changes from run to run. Replaying a journal
+ * logged one way in a World set up another way, for instance with concurrent decisions or a
+ * parallel tick, shows that both ways play the game identically.
+ *
+ * The World's hash is checked after every turn that has one logged, which by default is every
+ * turn, so the first turn to come out differently is the first one whose hash doesn't match. A
+ * journal that only logged a hash every few turns catches it at the first hash after it instead.
+ *
+ * @see TurnJournal
+ * @see World#hashState()
+ */
+public class JournalReplay {
+
+	/**
+	 * How a replay went.
+	 */
+	public static class Result {
+		private final long firstTurn;
+		private final long lastTurn;
+		private final long divergentTurn;
+		private final long expectedHash;
+		private final long actualHash;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param firstTurn     the turn the World was at before the replay
+		 * @param lastTurn      the last turn that was replayed and known to match
+		 * @param divergentTurn the first turn found not to match, or -1
+		 * @param expectedHash  the logged hash of that turn
+		 * @param actualHash    the replayed hash of that turn
+		 */
+		private Result(long firstTurn, long lastTurn, long divergentTurn, long expectedHash, long actualHash) {
+			this.firstTurn = firstTurn;
+			this.lastTurn = lastTurn;
+			this.divergentTurn = divergentTurn;
+			this.expectedHash = expectedHash;
+			this.actualHash = actualHash;
+		}
+
+		/**
+		 * @return how many turns were replayed and known to match the log
+		 */
+		public long getTurnsReplayed() {
+			return lastTurn - firstTurn;
+		}
+
+		/**
+		 * Returns the last turn known to match the log. If the replay went wrong, that is the last
+		 * turn whose hash matched, even if turns after it with no hash logged were played too. If
+		 * it didn't, it is the last turn replayed, though any after the last hash logged couldn't
+		 * be checked.
+		 *
+		 * @return the number of the last turn that was replayed and known to match the log
+		 */
+		public long getLastTurn() {
+			return lastTurn;
+		}
+
+		/**
+		 * @return true if every turn replayed matched the log
+		 */
+		public boolean isIdentical() {
+			return divergentTurn < 0;
+		}
+
+		/**
+		 * Returns the first turn found to come out differently. If the journal only logged a hash
+		 * every few turns, it went wrong on this turn or one of the unhashed ones before it, after
+		 * getLastTurn().
+		 *
+		 * @return the first turn found not to match, or -1 if none was
+		 */
+		public long getDivergentTurn() {
+			return divergentTurn;
+		}
+
+		/**
+		 * @return the hash logged for the first turn found not to match
+		 */
+		public long getExpectedHash() {
+			return expectedHash;
+		}
+
+		/**
+		 * @return the hash the replay got for that turn, or 0 if the turn asked for more keys than
+		 * were logged and couldn't be finished
+		 */
+		public long getActualHash() {
+			return actualHash;
+		}
+
+		@Override
+		public String toString() {
+			if (isIdentical())
+				return "Replayed " + getTurnsReplayed() + " turns identically";
+			if (divergentTurn == lastTurn + 1)
+				return String.format("Replayed %d turns identically, then turn %d came out differently (logged %016x, got %016x)",
+						getTurnsReplayed(), divergentTurn, expectedHash, actualHash);
+			return String.format("Replayed %d turns identically, then one of turns %d to %d came out differently (logged %016x, got %016x)",
+					getTurnsReplayed(), lastTurn + 1, divergentTurn, expectedHash, actualHash);
+		}
+	}
+
+	/**
+	 * Not meant to be made.
+	 */
+	private JournalReplay() {
+	}
+
+	/**
+	 * Replay the turns logged in a journal after the World's current turn, checking the World's
+	 * hash after each one, until one doesn't match, the log runs out or there is a gap in it. The
+	 * World must be newly built, the same way and with the same random seed as the one that was
+	 * logged, or restored from a snapshot the journal carries on from.
+	 *
+	 * @param world       the World
+	 * @param journalFile the journal
+	 * @return how the replay went
+	 * @throws IOException when the journal can't be read, or is of another game
+	 */
+	public static Result replay(World world, Path journalFile) throws IOException {
+		return replay(world, journalFile, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Replay the turns logged in a journal, as replay() does, but stop after a given turn.
+	 *
+	 * @param world       the World
+	 * @param journalFile the journal
+	 * @param lastTurn    the last turn to replay
+	 * @return how the replay went
+	 * @throws IOException when the journal can't be read, or is of another game
+	 */
+	static Result replay(World world, Path journalFile, long lastTurn) throws IOException {
+		long first = world.getTurnNumber();
+		long turn = first;
+		if (!Files.exists(journalFile))
+			return new Result(first, turn, -1, 0, 0);
+
+		// Later records replace earlier ones for the same turn, and gaps forget them.
+		Map<Long, JournalReader.Entry> turns = new HashMap<Long, JournalReader.Entry>();
+		try (JournalReader in = new JournalReader(journalFile)) {
+			if (in.getSeed() != RandomService.getSeed())
+				throw new IOException("The journal is of a game with random seed " + in.getSeed());
+			JournalReader.Entry entry;
+			while ((entry = in.next()) != null) {
+				if (entry.getKind() == TurnJournal.GAP) {
+					for (long t = entry.getTurn(); t < entry.getTurn() + entry.getGapLength(); t++) {
+						turns.remove(t);
+					}
+				} else if (entry.getKind() == TurnJournal.TURN && entry.getTurn() > turn) {
+					turns.put(entry.getTurn(), entry);
+				}
+			}
+		}
+
+		Display display = world.display;
+		long checked = first; // The last turn known to match.
+		try {
+			world.initialiseLastActions();
+			while (turn < lastTurn && turns.containsKey(turn + 1) && world.stillRunning()) {
+				JournalReader.Entry entry = turns.get(turn + 1);
+				Display replay = new Display(new NullSink());
+				replay.replayKeys(entry.getKeys());
+				world.display = replay;
+				try {
+					world.processTurn();
+				} catch (IllegalStateException e) {
+					return new Result(first, checked, turn + 1, entry.getStateHash(), 0);
+				}
+				if (entry.hasStateHash()) {
+					long hash = world.hashState();
+					if (hash != entry.getStateHash())
+						return new Result(first, checked, turn + 1, entry.getStateHash(), hash);
+					checked = turn + 1;
+				}
+				turn = world.getTurnNumber();
+			}
+		} finally {
+			world.display = display;
+		}
+		return new Result(first, turn, -1, 0, 0);
+	}
+}
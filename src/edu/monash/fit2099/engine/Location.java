@@ -12,10 +12,13 @@ public class Location implements Printable {
 	private GameMap map;
 	private int x;
 	private int y;
+	private int slot;
+	private RandomStream random;
 
 	private List<Item> items = new ArrayList<>();
 	private Ground ground;
-	private List<Exit> exits = new ArrayList<>();
+	private List<Exit> extraExits; // Only for Exits added by hand, e.g. to another map.
+	private int removedDirections; // Bit set for each neighbour that isn't an Exit any more.
 
 	/**
 	 * Constructor.
@@ -30,6 +33,7 @@ public class Location implements Printable {
 		this.map = map;
 		this.x = x;
 		this.y = y;
+		this.slot = map.slotOf(x, y);
 	}
 
 	/**
@@ -59,6 +63,62 @@ public class Location implements Printable {
 		return y;
 	}
 
+	/**
+	 * Accessor for the slot number.
+	 *
+	 * Every Location in a map has a different slot, numbered from 0, so per-map data can be kept
+	 * in arrays instead of in maps keyed by Location.
+	 *
+	 * @return the slot of this Location within its map
+	 */
+	int slot() {
+		return slot;
+	}
+
+	/**
+	 * Tell the map that this Location looks different.
+	 *
+	 * Changing the Ground, the Items, or the Actor here already does this. Call it when something
+	 * here changes its display character in place.
+	 */
+	public void markChanged() {
+		map.locationChanged(this);
+	}
+
+	/**
+	 * Returns this Location's own source of random numbers.
+	 *
+	 * Use it for things that happen here, such as Ground growing, so that they come out the same
+	 * whichever thread ticks this Location.
+	 *
+	 * @return the Location's RandomStream
+	 */
+	public RandomStream getRandom() {
+		if (random == null)
+			random = map.newLocationRandom(this);
+		return random;
+	}
+
+	/**
+	 * Returns how many random numbers have been drawn here, which is all a snapshot needs to know.
+	 *
+	 * @return the number of draws from getRandom() so far
+	 */
+	long getRandomDraws() {
+		return random == null ? 0 : random.drawsSince(map.newLocationRandom(this).getState());
+	}
+
+	/**
+	 * Put the source of random numbers back to where a snapshot left it.
+	 *
+	 * @param draws the number of draws returned by getRandomDraws()
+	 */
+	void restoreRandomDraws(long draws) {
+		random = null;
+		if (draws != 0)
+			getRandom().skip(draws);
+	}
+
 	/**
 	 * Returns a list of items at this location.
 	 *
@@ -77,6 +137,8 @@ public class Location implements Printable {
 	public void addItem(Item item) {
 		Objects.requireNonNull(item);
 		items.add(item);
+		map.itemAdded(this, item);
+		item.addedTo(this);
 	}
 
 	/**
@@ -86,7 +148,10 @@ public class Location implements Printable {
 	 */
 	public void removeItem(Item item) {
 		Objects.requireNonNull(item);
-		items.remove(item);
+		if (items.remove(item)) {
+			map.itemRemoved(this, item);
+			item.removedFrom(this);
+		}
 	}
 
 	/**
@@ -103,7 +168,12 @@ public class Location implements Printable {
 	 * @param ground Ground type to set
 	 */
 	public void setGround(Ground ground) {
+		Ground oldGround = this.ground;
 		this.ground = ground;
+		if (oldGround != null)
+			oldGround.removedFrom(this);
+		map.groundChanged(this, oldGround, ground);
+		ground.addedTo(this);
 	}
 	
 	/**
@@ -117,6 +187,40 @@ public class Location implements Printable {
 		}
 	}
 
+	/**
+	 * First half of a Location's turn, run for every Location in the map before any of them has its tick().
+	 *
+	 * Decisions made here see the whole map as it was at the start of the turn, so one Location
+	 * changing can't affect what its neighbours decide in the same turn. The same rules apply as for
+	 * Ground.prepareTick(): only this Location's and its Ground's own fields may be changed.
+	 *
+	 * @see Ground#prepareTick(Location)
+	 */
+	public void prepareTick() {
+		ground.prepareTick(this);
+	}
+
+	/**
+	 * Returns true if there is an Exit from this Location to the other one.
+	 *
+	 * @param other the Location to check
+	 * @return true if other can be reached from here in one step
+	 */
+	public boolean isNextTo(Location other) {
+		if (other.map() == map) {
+			Direction direction = Direction.of(other.x() - x, other.y() - y);
+			if (direction != null && !isRemoved(direction))
+				return true;
+		}
+		if (extraExits != null) {
+			for (Exit exit : extraExits) {
+				if (exit.getDestination().equals(other))
+					return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Accessor to determine whether there is an Actor at this location.
 	 *
@@ -228,31 +332,103 @@ public class Location implements Printable {
 	}
 
 	/**
-	 * Returns an unmodifiable list of exits.
+	 * Returns the Location one step away in the given Direction.
 	 *
-	 * @return an unmodifiable list of exits
+	 * This doesn't make any Exits, so it is the cheapest way to look around.
+	 *
+	 * @param direction the way to look
+	 * @return the neighbouring Location on this map, or null if that's off the edge or the Exit
+	 *         that way has been removed
+	 */
+	public Location getNeighbour(Direction direction) {
+		int nx = x + direction.getDx();
+		int ny = y + direction.getDy();
+		if (isRemoved(direction) || !map.getXRange().contains(nx) || !map.getYRange().contains(ny))
+			return null;
+		return map.at(nx, ny);
+	}
+
+	/**
+	 * Returns a list of exits.
+	 *
+	 * The Exits to the neighbouring Locations aren't stored. They are made from the Directions each
+	 * time, so the list is new every time and changing it doesn't change this Location.
+	 *
+	 * @return a new list of exits, neighbours first
 	 */
 	public List<Exit> getExits() {
-		return Collections.unmodifiableList(exits);
+		List<Exit> exits = new ArrayList<>(extraExits == null ? 8 : 8 + extraExits.size());
+		for (Direction direction : Direction.ALL) {
+			Location there = getNeighbour(direction);
+			if (there != null)
+				exits.add(new Exit(direction, there));
+		}
+		if (extraExits != null)
+			exits.addAll(extraExits);
+		return exits;
 	}
 
 	/**
 	 * Add an exit to this Location.
 	 *
-	 * This method is used in GameMap to initialize the Location's exits.
+	 * The Exits to the neighbouring Locations are always there. Only use this for anything else,
+	 * such as a way onto another map.
 	 * @param exit the exit to add
 	 */
 	public void addExit(Exit exit) {
-		exits.add(exit);
+		if (extraExits == null)
+			extraExits = new ArrayList<>(1);
+		extraExits.add(exit);
 	}
 	
 	/**
 	 * Remove an exit from this Location.
 	 *
-	 * This method is used in GameMap to initialize the Location's exits.
 	 * @param exit the exit to remove
 	 */
 	public void removeExit(Exit exit) {
-		exits.remove(exit);
+		if (extraExits != null && extraExits.remove(exit))
+			return;
+
+		Location there = exit.getDestination();
+		if (there.map() == map) {
+			Direction direction = Direction.of(there.x() - x, there.y() - y);
+			if (direction != null)
+				removedDirections |= 1 << direction.ordinal();
+		}
+	}
+
+	/**
+	 * Returns true if the Exit in a Direction has been removed.
+	 *
+	 * @param direction the Direction
+	 * @return true if removeExit() has taken it away
+	 */
+	private boolean isRemoved(Direction direction) {
+		return (removedDirections & (1 << direction.ordinal())) != 0;
+	}
+
+	/**
+	 * Returns true if Exits have been added to or removed from this Location.
+	 *
+	 * @return true if the Exits aren't just the ones to the neighbouring Locations
+	 */
+	boolean hasCustomExits() {
+		return extraExits != null || removedDirections != 0;
+	}
+
+
+	/**
+	 * Add this Location's coordinates, Ground, random numbers drawn and Items to a hash of the World.
+	 *
+	 * @param hash the hash to add to
+	 */
+	void hashState(StateHash hash) {
+		hash.add(((long) x << 32) | y);
+		ground.hashState(hash);
+		hash.add(getRandomDraws());
+		hash.add(items.size());
+		for (Item item : items)
+			item.hashState(hash);
 	}
 }
@@ -0,0 +1,161 @@
+package edu.monash.fit2099.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A spatial index over the Locations of one GameMap.
+ *
+ * Locations are kept in square buckets, so a "nearest Location to (x, y)" query only has to look
+ * at the buckets around (x, y) instead of every cell in the map. A Location can be added more than
+ * once (e.g. once per matching Item on it), and has to be removed the same number of times.
+ */
+public class LocationIndex {
+
+	private static final int BUCKET_SIZE = 8;
+
+	private int bucketsAcross;
+	private int bucketsDown;
+	private List<List<Location>> buckets;
+	private int size = 0;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param width  width of the indexed GameMap, in characters
+	 * @param height height of the indexed GameMap, in characters
+	 */
+	public LocationIndex(int width, int height) {
+		bucketsAcross = (width + BUCKET_SIZE - 1) / BUCKET_SIZE;
+		bucketsDown = (height + BUCKET_SIZE - 1) / BUCKET_SIZE;
+		buckets = new ArrayList<List<Location>>(bucketsAcross * bucketsDown);
+		for (int i = 0; i < bucketsAcross * bucketsDown; i++) {
+			buckets.add(null);
+		}
+	}
+
+	/**
+	 * Add a Location to the index.
+	 *
+	 * @param location the Location to add
+	 */
+	public void add(Location location) {
+		int bucket = bucketOf(location.x(), location.y());
+		List<Location> contents = buckets.get(bucket);
+		if (contents == null) {
+			contents = new ArrayList<Location>(4);
+			buckets.set(bucket, contents);
+		}
+		contents.add(location);
+		size++;
+	}
+
+	/**
+	 * Remove one occurrence of a Location from the index, if it is there.
+	 *
+	 * @param location the Location to remove
+	 */
+	public void remove(Location location) {
+		List<Location> contents = buckets.get(bucketOf(location.x(), location.y()));
+		if (contents != null && contents.remove(location))
+			size--;
+	}
+
+	/**
+	 * Returns the number of entries in the index.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Visit every entry in the index, a bucket at a time.
+	 *
+	 * @param visitor called once for each entry
+	 */
+	public void forEach(Consumer<? super Location> visitor) {
+		for (List<Location> contents : buckets) {
+			if (contents != null)
+				contents.forEach(visitor);
+		}
+	}
+
+	/**
+	 * Find the indexed Location closest to (x, y) that passes the filter.
+	 *
+	 * Distance is Manhattan distance. Buckets are searched in rings moving outwards from the bucket
+	 * containing (x, y), and the search stops as soon as no unsearched bucket could hold anything closer.
+	 * Of two that are just as close, the one that comes first reading the map row by row wins, as it
+	 * would scanning the whole map, so the answer doesn't depend on the order Locations were added in.
+	 *
+	 * @param x      X coordinate to search from
+	 * @param y      Y coordinate to search from
+	 * @param filter extra condition a Location must meet, or null to accept any indexed Location
+	 * @return the closest matching Location, or null if there isn't one
+	 */
+	public Location nearest(int x, int y, Predicate<Location> filter) {
+		if (size == 0)
+			return null;
+
+		int bx = Math.min(Math.max(x / BUCKET_SIZE, 0), bucketsAcross - 1);
+		int by = Math.min(Math.max(y / BUCKET_SIZE, 0), bucketsDown - 1);
+		int maxRing = Math.max(Math.max(bx, bucketsAcross - 1 - bx), Math.max(by, bucketsDown - 1 - by));
+
+		Location closest = null;
+		int closestDistance = Integer.MAX_VALUE;
+		for (int ring = 0; ring <= maxRing; ring++) {
+			// Everything in this ring is at least this far away along one axis.
+			if (ring > 0 && closestDistance <= (ring - 1) * BUCKET_SIZE)
+				break;
+
+			for (int j = by - ring; j <= by + ring; j++) {
+				if (j < 0 || j >= bucketsDown)
+					continue;
+				boolean edgeRow = (j == by - ring || j == by + ring);
+				int step = edgeRow ? 1 : Math.max(2 * ring, 1);
+				for (int i = bx - ring; i <= bx + ring; i += step) {
+					if (i < 0 || i >= bucketsAcross)
+						continue;
+					List<Location> contents = buckets.get(j * bucketsAcross + i);
+					if (contents == null)
+						continue;
+					for (Location location : contents) {
+						int distance = Math.abs(location.x() - x) + Math.abs(location.y() - y);
+						if ((distance < closestDistance || distance == closestDistance && readsBefore(location, closest))
+								&& (filter == null || filter.test(location))) {
+							closestDistance = distance;
+							closest = location;
+						}
+					}
+				}
+			}
+		}
+		return closest;
+	}
+
+	/**
+	 * Does one Location come before another, reading the map row by row?
+	 *
+	 * @param location the Location
+	 * @param other    the other Location, or null
+	 * @return true if location comes first, or other is null
+	 */
+	private static boolean readsBefore(Location location, Location other) {
+		return other == null || location.y() < other.y() || location.y() == other.y() && location.x() < other.x();
+	}
+
+	/**
+	 * Works out which bucket a cell belongs in.
+	 *
+	 * @param x X coordinate
+	 * @param y Y coordinate
+	 * @return index into the bucket list
+	 */
+	private int bucketOf(int x, int y) {
+		return (y / BUCKET_SIZE) * bucketsAcross + x / BUCKET_SIZE;
+	}
+}
@@ -0,0 +1,19 @@
+package edu.monash.fit2099.engine;
+
+/**
+ * Something that wants to be told when a Location on a GameMap changes.
+ *
+ * A Location has changed when its Ground is replaced, an Item is added to or removed from it,
+ * an Actor arrives or leaves, or something there calls Location.markChanged().
+ *
+ * @see GameMap#addLocationListener(LocationListener)
+ */
+public interface LocationListener {
+
+	/**
+	 * Called after something at a Location has changed.
+	 *
+	 * @param location the Location that changed
+	 */
+	void locationChanged(Location location);
+}
@@ -0,0 +1,98 @@
+package edu.monash.fit2099.engine;
+
+import java.util.Arrays;
+
+/**
+ * A rectangular piece of a chunked GameMap.
+ *
+ * Until something needs one of its Locations, a chunk only remembers which Ground goes in each
+ * cell, as the character the GroundFactory makes it from. Loading it makes the Locations, and
+ * unloading it goes back to the characters.
+ */
+class MapChunk {
+
+	final int left;
+	final int top;
+	final int width;
+	final int height;
+
+	private char fill;
+	private char[] grounds; // Row by row, or null if every cell is fill.
+
+	volatile Location[] locations; // Null until the chunk is loaded.
+	Actor[] occupants; // Indexed like locations. Null until an Actor stands here.
+	long lastUsed;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param left   X coordinate of the chunk's left column
+	 * @param top    Y coordinate of the chunk's top row
+	 * @param width  width of the chunk, in characters
+	 * @param height height of the chunk, in characters
+	 * @param fill   the Ground character for every cell
+	 */
+	MapChunk(int left, int top, int width, int height, char fill) {
+		this.left = left;
+		this.top = top;
+		this.width = width;
+		this.height = height;
+		this.fill = fill;
+	}
+
+	/**
+	 * Works out where a cell of the chunk is kept.
+	 *
+	 * @param x X coordinate on the map
+	 * @param y Y coordinate on the map
+	 * @return index into locations, occupants and the Ground characters
+	 */
+	int indexOf(int x, int y) {
+		return (y - top) * width + (x - left);
+	}
+
+	/**
+	 * Returns the character of the Ground in a cell, while the chunk isn't loaded.
+	 *
+	 * @param x X coordinate on the map
+	 * @param y Y coordinate on the map
+	 * @return the Ground character
+	 */
+	char groundCharAt(int x, int y) {
+		return grounds == null ? fill : grounds[indexOf(x, y)];
+	}
+
+	/**
+	 * Set the Ground characters of every cell, row by row.
+	 *
+	 * A chunk where they're all the same only keeps one.
+	 *
+	 * @param chars one character per cell, in the order of indexOf()
+	 */
+	void setGroundChars(char[] chars) {
+		for (char c : chars) {
+			if (c != chars[0]) {
+				grounds = Arrays.copyOf(chars, chars.length);
+				return;
+			}
+		}
+		fill = chars[0];
+		grounds = null;
+	}
+
+	/**
+	 * Forget the Ground characters, once the Locations hold the real Grounds.
+	 */
+	void clearGroundChars() {
+		grounds = null;
+	}
+
+	/**
+	 * Returns true if the chunk's Locations have been made.
+	 *
+	 * @return true if the chunk is loaded
+	 */
+	boolean isLoaded() {
+		return locations != null;
+	}
+}
@@ -0,0 +1,348 @@
+package edu.monash.fit2099.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a map file a row at a time, so that a huge map never has to be in memory as text.
+ *
+ * Two formats are understood. A text map has one line per row and one byte per Ground character,
+ * so it must be ASCII; blank lines at the end are ignored. A run-length encoded map starts with
+ * the bytes "JPRL", then the format version, the width and the height as big-endian ints. Each
+ * row follows as runs of a count and a Ground character, both as numbers of 7 bits a byte, with
+ * the counts of a row adding up to the width. writeRunLengthEncoded() makes one from a text map.
+ *
+ * The file is read through a small buffer. A text map is read twice, once to find its size and
+ * once for the rows, as the map has to know its size before the first row can be used.
+ *
+ * @see GameMap#GameMap(GroundFactory, Path, int)
+ */
+public class MapFileReader implements Closeable {
+
+	/**
+	 * The first four bytes of a run-length encoded map, "JPRL".
+	 */
+	public static final int MAGIC = 0x4A50524C;
+
+	/**
+	 * The version of the run-length encoded format that this class reads and writes.
+	 */
+	public static final int VERSION = 1;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+	private final boolean runLengthEncoded;
+	private final int width;
+	private final int height;
+	private int rowsRead = 0;
+
+	/**
+	 * Constructor. Works out the format and size of the map.
+	 *
+	 * @param file the map file
+	 * @throws IOException when the file can't be read, or isn't a map
+	 */
+	public MapFileReader(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			buffer.limit(0);
+			runLengthEncoded = channel.size() >= 16 && readInt() == MAGIC;
+			if (runLengthEncoded) {
+				int version = readInt();
+				if (version != VERSION)
+					throw new IOException(file + " is a version " + version + " map");
+				width = readInt();
+				height = readInt();
+			} else {
+				rewind();
+				long[] size = measureText();
+				if (size[0] > Integer.MAX_VALUE || size[1] > Integer.MAX_VALUE)
+					throw new IOException(file + " is too big to be a map");
+				width = (int) size[0];
+				height = (int) size[1];
+				rewind();
+			}
+			if (width <= 0 || height <= 0)
+				throw new IOException(file + " is not a map");
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return true if the file is run-length encoded, false if it is text
+	 */
+	public boolean isRunLengthEncoded() {
+		return runLengthEncoded;
+	}
+
+	/**
+	 * @return the width of the map, in characters
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return the height of the map, in characters
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Read the next row of the map, from left to right.
+	 *
+	 * @param row where to put the Ground characters; only the first getWidth() are set
+	 * @throws IOException              when the file can't be read, or the row is the wrong length
+	 * @throws EOFException             when every row has been read already
+	 * @throws IllegalArgumentException if row is shorter than the map is wide
+	 */
+	public void readRow(char[] row) throws IOException {
+		if (row.length < width)
+			throw new IllegalArgumentException();
+		if (rowsRead == height)
+			throw new EOFException("The map only has " + height + " rows");
+		if (runLengthEncoded)
+			readEncodedRow(row);
+		else
+			readTextRow(row);
+		rowsRead++;
+	}
+
+	/**
+	 * Close the file.
+	 *
+	 * @throws IOException when file I/O fails
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Write a run-length encoded copy of a map file. Terrain with long stretches of the same
+	 * Ground, such as open plains or the sea, shrinks to a few bytes a row.
+	 *
+	 * @param mapFile the map to copy, in either format
+	 * @param rleFile the file to write
+	 * @throws IOException when a file can't be read or written, or the map is malformed
+	 */
+	public static void writeRunLengthEncoded(Path mapFile, Path rleFile) throws IOException {
+		try (MapFileReader in = new MapFileReader(mapFile);
+			 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(rleFile), BUFFER_SIZE))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(in.getWidth());
+			out.writeInt(in.getHeight());
+			char[] row = new char[in.getWidth()];
+			for (int y = 0; y < in.getHeight(); y++) {
+				in.readRow(row);
+				int start = 0;
+				for (int x = 1; x <= row.length; x++) {
+					if (x == row.length || row[x] != row[start]) {
+						writeVarLong(out, x - start);
+						writeVarLong(out, row[start]);
+						start = x;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Find the width of the first line of a text map, and how many lines there are up to the last
+	 * one that isn't blank.
+	 *
+	 * @return the width and the height
+	 * @throws IOException when file I/O fails
+	 */
+	private long[] measureText() throws IOException {
+		long firstWidth = -1;
+		long lines = 0;
+		long lastNonBlank = 0;
+		long length = 0;
+		while (buffer.hasRemaining() || fill()) {
+			byte[] bytes = buffer.array();
+			int limit = buffer.limit();
+			for (int i = buffer.position(); i < limit; i++) {
+				byte b = bytes[i];
+				if (b == '\n') {
+					if (firstWidth < 0)
+						firstWidth = length;
+					lines++;
+					if (length > 0)
+						lastNonBlank = lines;
+					length = 0;
+				} else if (b != '\r') {
+					length++;
+				}
+			}
+			buffer.position(limit);
+		}
+		if (length > 0) {
+			if (firstWidth < 0)
+				firstWidth = length;
+			lastNonBlank = lines + 1;
+		}
+		return new long[] {Math.max(firstWidth, 0), lastNonBlank};
+	}
+
+	/**
+	 * Read one line of a text map.
+	 *
+	 * @param row where to put the Ground characters
+	 * @throws IOException when file I/O fails, or the line isn't as long as the map is wide
+	 */
+	private void readTextRow(char[] row) throws IOException {
+		int length = 0;
+		boolean ended = false;
+		while (!ended && (buffer.hasRemaining() || fill())) {
+			byte[] bytes = buffer.array();
+			int i = buffer.position();
+			int limit = buffer.limit();
+			for (; i < limit; i++) {
+				byte b = bytes[i];
+				if (b == '\n') {
+					ended = true;
+					i++;
+					break;
+				}
+				if (b == '\r')
+					continue;
+				if (length == width)
+					throw new IOException("Row " + rowsRead + " of the map is longer than " + width + " characters");
+				row[length++] = (char) (b & 0xFF);
+			}
+			buffer.position(i);
+		}
+		if (length != width)
+			throw new IOException("Row " + rowsRead + " of the map is " + length + " characters, not " + width);
+	}
+
+	/**
+	 * Read the runs of one row of a run-length encoded map.
+	 *
+	 * @param row where to put the Ground characters
+	 * @throws IOException when file I/O fails, or the runs don't add up to the width of the map
+	 */
+	private void readEncodedRow(char[] row) throws IOException {
+		int x = 0;
+		while (x < width) {
+			long count = readVarLong();
+			long c = readVarLong();
+			if (count <= 0 || count > width - x || c <= 0 || c > Character.MAX_VALUE)
+				throw new IOException("Row " + rowsRead + " of the map is malformed");
+			int end = x + (int) count;
+			for (; x < end; x++)
+				row[x] = (char) c;
+		}
+	}
+
+	/**
+	 * Go back to the start of the file.
+	 *
+	 * @throws IOException when file I/O fails
+	 */
+	private void rewind() throws IOException {
+		channel.position(0);
+		buffer.limit(0);
+	}
+
+	/**
+	 * Read the next byte of the file.
+	 *
+	 * @return the byte, from 0 to 255, or -1 at the end of the file
+	 * @throws IOException when file I/O fails
+	 */
+	private int readByte() throws IOException {
+		if (!buffer.hasRemaining() && !fill())
+			return -1;
+		return buffer.get() & 0xFF;
+	}
+
+	/**
+	 * Read the next part of the file into the empty buffer.
+	 *
+	 * @return false at the end of the file
+	 * @throws IOException when file I/O fails
+	 */
+	private boolean fill() throws IOException {
+		buffer.clear();
+		int read;
+		do {
+			read = channel.read(buffer);
+		} while (read == 0);
+		buffer.flip();
+		return read > 0;
+	}
+
+	/**
+	 * Read a big-endian int.
+	 *
+	 * @return the int
+	 * @throws IOException when file I/O fails, or the file ends first
+	 */
+	private int readInt() throws IOException {
+		int value = 0;
+		for (int i = 0; i < 4; i++)
+			value = (value << 8) | readRequiredByte();
+		return value;
+	}
+
+	/**
+	 * Read a number of 7 bits a byte, as SnapshotWriter.writeVarLong() writes them.
+	 *
+	 * @return the number
+	 * @throws IOException when file I/O fails, the file ends first, or the number is too long
+	 */
+	private long readVarLong() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = readRequiredByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Bad number in row " + rowsRead + " of the map");
+	}
+
+	/**
+	 * Read the next byte of the file, which has to be there.
+	 *
+	 * @return the byte, from 0 to 255
+	 * @throws IOException when file I/O fails, or the file ends
+	 */
+	private int readRequiredByte() throws IOException {
+		int b = readByte();
+		if (b < 0)
+			throw new EOFException("The map file ends too soon");
+		return b;
+	}
+
+	/**
+	 * Write a number of 7 bits a byte.
+	 *
+	 * @param out   where to write
+	 * @param value the number, which mustn't be negative
+	 * @throws IOException when file I/O fails
+	 */
+	private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+}
@@ -0,0 +1,27 @@
+package edu.monash.fit2099.engine;
+
+/**
+ * Something that can draw a GameMap.
+ *
+ * The World uses one of these to show the player's map at the start of each turn.
+ *
+ * @see World#setRenderer(MapRenderer)
+ */
+public interface MapRenderer {
+
+	/**
+	 * Draw the current state of a GameMap.
+	 *
+	 * @param map     the GameMap to draw
+	 * @param display the Display to draw it on
+	 */
+	void draw(GameMap map, Display display);
+
+	/**
+	 * Called once when the game is over, so the renderer can put the display back the way it found it.
+	 *
+	 * @param display the Display that was drawn on
+	 */
+	default void close(Display display) {
+	}
+}
@@ -58,6 +58,19 @@ public class MoveActorAction extends Action {
 		return menuDescription(actor);
 	}
 
+	/**
+	 * A move is only valid if nobody has got to the destination first.
+	 *
+	 * @see Action#isStillValid(Actor, GameMap)
+	 * @param actor The actor performing the action.
+	 * @param map The map the actor is on.
+	 * @return true if the Actor can still enter the destination
+	 */
+	@Override
+	public boolean isStillValid(Actor actor, GameMap map) {
+		return moveToLocation.canActorEnter(actor);
+	}
+
 	/**
 	 * Returns a description of this movement suitable to display in the menu.
 	 *
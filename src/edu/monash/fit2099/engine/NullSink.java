@@ -0,0 +1,16 @@
+package edu.monash.fit2099.engine;
+
+/**
+ * A DisplaySink that throws everything away.
+ *
+ * Useful for simulations where the messages aren't wanted.
+ */
+public class NullSink implements DisplaySink {
+
+	/**
+	 * @see DisplaySink#write(String)
+	 */
+	@Override
+	public void write(String text) {
+	}
+}
@@ -1,10 +1,8 @@
 package edu.monash.fit2099.engine;
 
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 
 /**
  * A class that represents an array of sequential numbers.
@@ -12,24 +10,47 @@ import java.util.List;
  * Counted for loops can cause off by one errors, and using this class can
  * let you use enhanced for loops instead.  Python programmers should be familiar
  * with this idiom.
+ *
+ * Only the start and the count are stored, so a range takes the same space and
+ * answers contains() just as quickly no matter how big it is. Use intIterator()
+ * to walk it without boxing.
  */
 public class NumberRange implements Iterable<Integer> {
 
-	private List<Integer> list;
+	private final int start;
+	private final int count;
 
 	public NumberRange(int start, int count) {
-		// Iterators can be used to remove elements. Who knew?
-		List<Integer> innerList = new ArrayList<Integer>();
-		list = Collections.unmodifiableList(innerList);
-
-		for (int i = start; i < start + count; i++) {
-			innerList.add(i);
-		}
+		this.start = start;
+		this.count = Math.max(count, 0);
 	}
 
 	@Override
-	public Iterator<Integer> iterator() {
-		return list.iterator();
+	public PrimitiveIterator.OfInt iterator() {
+		return intIterator();
+	}
+
+	/**
+	 * Returns an iterator over the range that hands out ints rather than Integers.
+	 *
+	 * @return an iterator from min() to max()
+	 */
+	public PrimitiveIterator.OfInt intIterator() {
+		return new PrimitiveIterator.OfInt() {
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < count;
+			}
+
+			@Override
+			public int nextInt() {
+				if (next >= count)
+					throw new NoSuchElementException();
+				return start + next++;
+			}
+		};
 	}
 
 	/**
@@ -37,7 +58,7 @@ public class NumberRange implements Iterable<Integer> {
 	 * @return the smallest int in the range.
 	 */
 	public int min() {
-		return list.get(0);
+		return start;
 	}
 
 	/**
@@ -45,7 +66,15 @@ public class NumberRange implements Iterable<Integer> {
 	 * @return the largest int in the range.
 	 */
 	public int max() {
-		return list.get(list.size() - 1);
+		return start + count - 1;
+	}
+
+	/**
+	 * Return how many ints are in the range.
+	 * @return max() - min() + 1, or 0 if the range is empty.
+	 */
+	public int size() {
+		return count;
 	}
 
 	/**
@@ -55,7 +84,7 @@ public class NumberRange implements Iterable<Integer> {
 	 * @return true if i lies between min and max, false otherwise.
 	 */
 	public boolean contains(int i) {
-		return list.contains(i);
+		return i >= start && i - start < count;
 	}
 
 }
@@ -0,0 +1,240 @@
+package edu.monash.fit2099.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Finds routes across one GameMap with A* search.
+ *
+ * Actors move in eight directions, so a straight step costs 10, a diagonal step costs 14, and the
+ * estimate of the distance left is the octile distance. A Location can be stepped on if
+ * canActorEnter() says so, except for the goal, which is always allowed. Get the one for a map
+ * from GameMap.getPathFinder(); it keeps nothing between searches, so it can be used from several
+ * threads at once.
+ */
+public class PathFinder {
+
+	/**
+	 * Cost of a step north, south, east or west.
+	 */
+	public static final int STRAIGHT_COST = 10;
+
+	/**
+	 * Cost of a diagonal step, roughly STRAIGHT_COST times the square root of 2.
+	 */
+	public static final int DIAGONAL_COST = 14;
+
+	/**
+	 * How many Locations a search looks at, unless told otherwise, before it settles for getting
+	 * as close as it can.
+	 */
+	public static final int DEFAULT_MAX_EXPANDED = 4096;
+
+	private final GameMap map;
+	private int maxExpanded = DEFAULT_MAX_EXPANDED;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param map the map to find routes across
+	 */
+	PathFinder(GameMap map) {
+		this.map = map;
+	}
+
+	/**
+	 * Set how many Locations a search can look at before giving up on reaching the goal.
+	 *
+	 * @param maxExpanded the most Locations to expand in one search
+	 */
+	public void setMaxExpanded(int maxExpanded) {
+		if (maxExpanded <= 0)
+			throw new IllegalArgumentException();
+		this.maxExpanded = maxExpanded;
+	}
+
+	/**
+	 * Find the cheapest route for an Actor from one Location to another.
+	 *
+	 * If the goal can't be reached, or the search runs out before finding it, the Route leads to the
+	 * Location it got to that is closest to the goal, and isComplete() is false.
+	 *
+	 * @param actor          the Actor who will be moving
+	 * @param from           where the Actor is starting
+	 * @param to             the goal
+	 * @param nextToIsEnough true to stop on any Location next to the goal, e.g. when it is another Actor
+	 * @return the Route, or null if the Locations aren't both on this map or there's nowhere closer to go
+	 */
+	public Route findPath(Actor actor, Location from, Location to, boolean nextToIsEnough) {
+		if (from.map() != map || to.map() != map)
+			return null;
+
+		int width = map.getWidth();
+		int goalX = to.x();
+		int goalY = to.y();
+		Map<Integer, Node> best = new HashMap<Integer, Node>();
+		PriorityQueue<Node> open = new PriorityQueue<Node>();
+
+		Node start = new Node(from.x(), from.y(), 0, estimate(from.x(), from.y(), goalX, goalY, nextToIsEnough), null, 0);
+		best.put(from.y() * width + from.x(), start);
+		open.add(start);
+		Node closest = start;
+		int order = 1;
+		int expanded = 0;
+
+		while (!open.isEmpty()) {
+			Node node = open.poll();
+			if (node.closed || best.get(node.y * width + node.x) != node)
+				continue;
+			node.closed = true;
+
+			if (isGoal(node.x, node.y, goalX, goalY, nextToIsEnough))
+				return makePath(from, node, true);
+			if (node.h < closest.h)
+				closest = node;
+			if (++expanded > maxExpanded)
+				break;
+
+			for (Direction direction : Direction.ALL) {
+				int x = node.x + direction.getDx();
+				int y = node.y + direction.getDy();
+				if (!map.getXRange().contains(x) || !map.getYRange().contains(y))
+					continue;
+				boolean goal = x == goalX && y == goalY;
+				if (!goal && !canEnter(actor, x, y))
+					continue;
+
+				int g = node.g + (direction.getDx() != 0 && direction.getDy() != 0 ? DIAGONAL_COST : STRAIGHT_COST);
+				Node previous = best.get(y * width + x);
+				if (previous != null && (previous.closed || previous.g <= g))
+					continue;
+
+				Node next = new Node(x, y, g, estimate(x, y, goalX, goalY, nextToIsEnough), node, order++);
+				best.put(y * width + x, next);
+				open.add(next);
+			}
+		}
+
+		return closest == start ? null : makePath(from, closest, false);
+	}
+
+	/**
+	 * Returns true if an Actor could step onto a cell, without loading any part of the map.
+	 *
+	 * @param actor the Actor
+	 * @param x     X coordinate
+	 * @param y     Y coordinate
+	 * @return true if the cell can be entered
+	 */
+	private boolean canEnter(Actor actor, int x, int y) {
+		if (map.isLoaded(x, y))
+			return map.at(x, y).canActorEnter(actor);
+		// Nobody can be standing in a chunk that isn't loaded.
+		return map.groundAt(x, y).canActorEnter(actor);
+	}
+
+	/**
+	 * Works out whether a search has arrived.
+	 *
+	 * @param x              X coordinate
+	 * @param y              Y coordinate
+	 * @param goalX          X coordinate of the goal
+	 * @param goalY          Y coordinate of the goal
+	 * @param nextToIsEnough true if being next to the goal will do
+	 * @return true if (x, y) is the end of the search
+	 */
+	private static boolean isGoal(int x, int y, int goalX, int goalY, boolean nextToIsEnough) {
+		int limit = nextToIsEnough ? 1 : 0;
+		return Math.abs(x - goalX) <= limit && Math.abs(y - goalY) <= limit;
+	}
+
+	/**
+	 * The octile distance left to the goal, which never overestimates.
+	 *
+	 * @param x              X coordinate
+	 * @param y              Y coordinate
+	 * @param goalX          X coordinate of the goal
+	 * @param goalY          Y coordinate of the goal
+	 * @param nextToIsEnough true if being next to the goal will do
+	 * @return the estimated cost
+	 */
+	private static int estimate(int x, int y, int goalX, int goalY, boolean nextToIsEnough) {
+		int slack = nextToIsEnough ? 1 : 0;
+		int dx = Math.max(Math.abs(x - goalX) - slack, 0);
+		int dy = Math.max(Math.abs(y - goalY) - slack, 0);
+		return STRAIGHT_COST * Math.max(dx, dy) + (DIAGONAL_COST - STRAIGHT_COST) * Math.min(dx, dy);
+	}
+
+	/**
+	 * Follow the parent links back to the start.
+	 *
+	 * @param from     where the search started
+	 * @param end      the last step
+	 * @param complete true if end is the goal
+	 * @return the Route from the start to end
+	 */
+	private Route makePath(Location from, Node end, boolean complete) {
+		List<Node> steps = new ArrayList<Node>();
+		for (Node node = end; node.parent != null; node = node.parent) {
+			steps.add(node);
+		}
+		Collections.reverse(steps);
+
+		int[] xs = new int[steps.size()];
+		int[] ys = new int[steps.size()];
+		for (int i = 0; i < xs.length; i++) {
+			xs[i] = steps.get(i).x;
+			ys[i] = steps.get(i).y;
+		}
+		return new Route(map, from.x(), from.y(), xs, ys, complete);
+	}
+
+	/**
+	 * One cell reached by a search.
+	 */
+	private static class Node implements Comparable<Node> {
+		private final int x;
+		private final int y;
+		private final int g;
+		private final int h;
+		private final Node parent;
+		private final int order;
+		private boolean closed = false;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param x      X coordinate
+		 * @param y      Y coordinate
+		 * @param g      cost of getting here from the start
+		 * @param h      estimated cost from here to the goal
+		 * @param parent the cell before this one
+		 * @param order  when the cell was reached, so that ties always break the same way
+		 */
+		Node(int x, int y, int g, int h, Node parent, int order) {
+			this.x = x;
+			this.y = y;
+			this.g = g;
+			this.h = h;
+			this.parent = parent;
+			this.order = order;
+		}
+
+		/**
+		 * Cheapest total first, then closest to the goal, then first reached.
+		 */
+		@Override
+		public int compareTo(Node other) {
+			int compare = Integer.compare(g + h, other.g + other.h);
+			if (compare == 0)
+				compare = Integer.compare(h, other.h);
+			if (compare == 0)
+				compare = Integer.compare(order, other.order);
+			return compare;
+		}
+	}
+}
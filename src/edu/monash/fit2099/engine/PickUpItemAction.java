@@ -31,6 +31,19 @@ public class PickUpItemAction extends Action {
 		return menuDescription(actor);
 	}
 
+	/**
+	 * The item can only be picked up if it is still where the Actor is.
+	 *
+	 * @see Action#isStillValid(Actor, GameMap)
+	 * @param actor The actor performing the action.
+	 * @param map The map the actor is on.
+	 * @return true if the item is still on the ground here
+	 */
+	@Override
+	public boolean isStillValid(Actor actor, GameMap map) {
+		return map.locationOf(actor).getItems().contains(item);
+	}
+
 	/**
 	 * Describe the action in a format suitable for displaying in the menu.
 	 *
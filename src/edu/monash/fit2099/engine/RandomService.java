@@ -0,0 +1,98 @@
+package edu.monash.fit2099.engine;
+
+/**
+ * Where all the randomness in a game comes from.
+ *
+ * Every GameMap, Location and Actor has its own RandomStream, and all of them are derived from one
+ * seed. Set the seed before building the maps and Actors, and the same game happens every time, even
+ * when the map is ticked on several threads. The seed can be given on the command line with
+ * -Djurassicpark.seed=...; otherwise a different one is picked every run. Either way, getSeed() says
+ * what it was, so a run can be repeated.
+ *
+ * @see RandomStream
+ * @see GameMap#getRandom()
+ * @see Location#getRandom()
+ * @see Actor#getRandom()
+ */
+public class RandomService {
+
+	private static long seed;
+	private static RandomStream root;
+
+	static {
+		Long configured = Long.getLong("jurassicpark.seed");
+		setSeed(configured != null ? configured : System.nanoTime() ^ System.currentTimeMillis());
+	}
+
+	/**
+	 * Start again from a seed.
+	 *
+	 * Only streams handed out after this call are affected, so call it before creating anything.
+	 *
+	 * @param newSeed the seed
+	 */
+	public static synchronized void setSeed(long newSeed) {
+		seed = newSeed;
+		root = new RandomStream(newSeed);
+	}
+
+	/**
+	 * Returns the seed of the current run.
+	 *
+	 * @return the seed
+	 */
+	public static synchronized long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Hand out a new stream, independent of all the others.
+	 *
+	 * The streams handed out depend on the order in which they are asked for, so this should only be
+	 * called from one thread at a time in a predictable order, e.g. when building maps and Actors.
+	 *
+	 * @return a new stream
+	 */
+	public static synchronized RandomStream newStream() {
+		return root.split();
+	}
+
+	/**
+	 * Hand out a new seed, for a family of streams made with RandomStream.forKey().
+	 *
+	 * @return a new seed
+	 */
+	public static synchronized long newSeed() {
+		return root.nextLong();
+	}
+
+	/**
+	 * Returns where the stream that everything else is made from has got to, for a snapshot.
+	 *
+	 * @return the state of the root stream
+	 */
+	static synchronized long getState() {
+		return root.getState();
+	}
+
+	/**
+	 * Returns how many numbers the root stream has handed out since it was in a state.
+	 *
+	 * @param state a state returned by getState()
+	 * @return the number of draws since then
+	 */
+	static synchronized long drawsSince(long state) {
+		return root.drawsSince(state);
+	}
+
+	/**
+	 * Carry on from a snapshot, as if getSeed() and getState() had returned these.
+	 *
+	 * @param newSeed the seed
+	 * @param state   the state of the root stream
+	 */
+	static synchronized void restore(long newSeed, long state) {
+		seed = newSeed;
+		root = new RandomStream(state);
+	}
+}
@@ -0,0 +1,165 @@
+package edu.monash.fit2099.engine;
+
+/**
+ * A small, fast stream of pseudo-random numbers.
+ *
+ * This is the SplitMix64 generator, the same one behind java.util.SplittableRandom. Unlike that class,
+ * the whole state is a single long that can be read and restored, so a game can be saved and loaded
+ * without changing what happens next. A stream is not thread-safe: give each thread, Location or
+ * Actor its own, using split() or RandomService.
+ *
+ * @see RandomService
+ */
+public class RandomStream {
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	private static final long GOLDEN_GAMMA_INVERSE = inverse(GOLDEN_GAMMA);
+
+	private long state;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param seed the starting state. Streams made with the same seed produce the same numbers.
+	 */
+	public RandomStream(long seed) {
+		state = seed;
+	}
+
+	/**
+	 * Make a stream for one member of a family, e.g. one Location of a map.
+	 *
+	 * Streams with the same seed but different keys are independent of each other, and don't
+	 * depend on the order in which they are made.
+	 *
+	 * @param seed the seed of the family
+	 * @param key  which member of the family
+	 * @return a new stream
+	 */
+	public static RandomStream forKey(long seed, long key) {
+		return new RandomStream(mix(seed + (key + 1) * GOLDEN_GAMMA));
+	}
+
+	/**
+	 * Returns the next pseudo-random long.
+	 *
+	 * @return any long value
+	 */
+	public long nextLong() {
+		state += GOLDEN_GAMMA;
+		return mix(state);
+	}
+
+	/**
+	 * Returns a pseudo-random int between 0 (inclusive) and bound (exclusive).
+	 *
+	 * @param bound the upper limit
+	 * @return an int from 0 to bound - 1
+	 * @throws IllegalArgumentException if bound is not positive
+	 */
+	public int nextInt(int bound) {
+		if (bound <= 0)
+			throw new IllegalArgumentException();
+
+		// Throw away the top of the range that would make small values more likely.
+		int bits = (int) (nextLong() >>> 33);
+		int value = bits % bound;
+		while (bits - value + (bound - 1) < 0) {
+			bits = (int) (nextLong() >>> 33);
+			value = bits % bound;
+		}
+		return value;
+	}
+
+	/**
+	 * Returns a pseudo-random double between 0.0 (inclusive) and 1.0 (exclusive), like Math.random().
+	 *
+	 * @return a double in [0, 1)
+	 */
+	public double nextDouble() {
+		return (nextLong() >>> 11) * 0x1.0p-53;
+	}
+
+	/**
+	 * Returns a pseudo-random boolean.
+	 *
+	 * @return true or false, equally likely
+	 */
+	public boolean nextBoolean() {
+		return nextLong() < 0;
+	}
+
+	/**
+	 * Make a new stream that is independent of this one. This stream moves on as a result.
+	 *
+	 * @return a new stream
+	 */
+	public RandomStream split() {
+		return new RandomStream(mix(nextLong()));
+	}
+
+	/**
+	 * Returns the current state, e.g. to save it.
+	 *
+	 * @return the state
+	 */
+	public long getState() {
+		return state;
+	}
+
+	/**
+	 * Puts the stream back into a state returned by getState().
+	 *
+	 * @param state the state to restore
+	 */
+	public void setState(long state) {
+		this.state = state;
+	}
+
+	/**
+	 * Works out how many numbers have been drawn since the stream was in another state.
+	 *
+	 * Every draw moves the state on by the same odd step, so this is exact however many there were,
+	 * and a snapshot only needs this count instead of the whole state.
+	 *
+	 * @param startState the earlier state
+	 * @return the number of draws since then
+	 */
+	long drawsSince(long startState) {
+		return (state - startState) * GOLDEN_GAMMA_INVERSE;
+	}
+
+	/**
+	 * Move the stream on as if some numbers had been drawn from it.
+	 *
+	 * @param draws how many numbers to skip
+	 */
+	void skip(long draws) {
+		state += draws * GOLDEN_GAMMA;
+	}
+
+	/**
+	 * The multiplicative inverse of an odd number, modulo 2 to the 64, by Newton's method.
+	 *
+	 * @param odd an odd number
+	 * @return the number that odd multiplies with to give 1
+	 */
+	private static long inverse(long odd) {
+		long inverse = odd; // Right in the lowest 3 bits, and each step doubles that.
+		for (int i = 0; i < 5; i++)
+			inverse *= 2 - odd * inverse;
+		return inverse;
+	}
+
+	/**
+	 * Scrambles the bits of a long. The SplitMix64 finaliser.
+	 *
+	 * @param z the long to scramble
+	 * @return the scrambled long
+	 */
+	static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
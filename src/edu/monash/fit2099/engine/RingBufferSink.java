@@ -0,0 +1,71 @@
+package edu.monash.fit2099.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A DisplaySink that keeps the most recent lines of output in memory.
+ *
+ * Older lines are thrown away once the buffer is full, so it can be left running for as long as
+ * the game lasts. Handy for tests, and for showing recent messages after a headless run.
+ */
+public class RingBufferSink implements DisplaySink {
+
+	private int capacity;
+	private Deque<String> lines;
+	private StringBuilder partialLine = new StringBuilder();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param capacity the number of lines to keep
+	 * @throws IllegalArgumentException if capacity is not positive
+	 */
+	public RingBufferSink(int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException();
+		this.capacity = capacity;
+		lines = new ArrayDeque<String>(capacity);
+	}
+
+	/**
+	 * @see DisplaySink#write(String)
+	 */
+	@Override
+	public void write(String text) {
+		int start = 0;
+		int end;
+		while ((end = text.indexOf('\n', start)) >= 0) {
+			partialLine.append(text, start, end);
+			int length = partialLine.length();
+			if (length > 0 && partialLine.charAt(length - 1) == '\r')
+				partialLine.setLength(length - 1);
+			addLine(partialLine.toString());
+			partialLine.setLength(0);
+			start = end + 1;
+		}
+		partialLine.append(text, start, text.length());
+	}
+
+	/**
+	 * Returns the lines kept so far, oldest first. A final line that hasn't been ended yet is not included.
+	 *
+	 * @return a new list of the lines
+	 */
+	public List<String> getLines() {
+		return new ArrayList<String>(lines);
+	}
+
+	/**
+	 * Keep a complete line, making room for it if necessary.
+	 *
+	 * @param line the line, without its line terminator
+	 */
+	private void addLine(String line) {
+		if (lines.size() == capacity)
+			lines.removeFirst();
+		lines.addLast(line);
+	}
+}
@@ -0,0 +1,123 @@
+package edu.monash.fit2099.engine;
+
+import java.io.IOException;
+
+/**
+ * A route across one GameMap, found by its PathFinder.
+ *
+ * A Route remembers how far along it the Actor has got, so it can be kept from one turn to the
+ * next and only found again when something gets in the way.
+ */
+public class Route {
+
+	private final GameMap map;
+	private final int startX;
+	private final int startY;
+	private final int[] xs;
+	private final int[] ys;
+	private final boolean complete;
+	private int cursor = 0; // The next step to take.
+
+	/**
+	 * Constructor.
+	 *
+	 * @param map      the map the Route is on
+	 * @param startX   X coordinate the Route starts from
+	 * @param startY   Y coordinate the Route starts from
+	 * @param xs       X coordinates of each step, not counting the start
+	 * @param ys       Y coordinates of each step, not counting the start
+	 * @param complete true if the Route reaches the goal, false if it only gets as close as it could
+	 */
+	Route(GameMap map, int startX, int startY, int[] xs, int[] ys, boolean complete) {
+		this.map = map;
+		this.startX = startX;
+		this.startY = startY;
+		this.xs = xs;
+		this.ys = ys;
+		this.complete = complete;
+	}
+
+	/**
+	 * Returns true if following the Route gets all the way to the goal.
+	 *
+	 * @return false if the goal couldn't be reached, and the Route only leads as close to it as possible
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * Returns the number of steps that haven't been taken yet.
+	 *
+	 * @return the steps left
+	 */
+	public int getStepsLeft() {
+		return xs.length - cursor;
+	}
+
+	/**
+	 * Works out where to go next from a Location.
+	 *
+	 * If the Location is the next step along, the step counts as taken. Then, if the Location is
+	 * where the Route expects the Actor to be, the step after is returned.
+	 *
+	 * @param here where the Actor is now
+	 * @return the next Location to move to, or null if the Route is finished or here isn't on it
+	 */
+	public Location nextStepFrom(Location here) {
+		if (here.map() != map)
+			return null;
+		if (cursor < xs.length && here.x() == xs[cursor] && here.y() == ys[cursor])
+			cursor++;
+
+		int expectedX = cursor == 0 ? startX : xs[cursor - 1];
+		int expectedY = cursor == 0 ? startY : ys[cursor - 1];
+		if (here.x() != expectedX || here.y() != expectedY || cursor == xs.length)
+			return null;
+		return map.at(xs[cursor], ys[cursor]);
+	}
+
+	/**
+	 * Write this Route for SnapshotWriter.writeRoute().
+	 *
+	 * @param out where to write
+	 * @throws IOException when file I/O fails, or the map isn't in the World
+	 */
+	void save(SnapshotWriter out) throws IOException {
+		out.writeGameMap(map);
+		out.writeInt(startX);
+		out.writeInt(startY);
+		out.writeVarLong(xs.length);
+		for (int i = 0; i < xs.length; i++) {
+			out.writeInt(xs[i]);
+			out.writeInt(ys[i]);
+		}
+		out.writeBoolean(complete);
+		out.writeVarLong(cursor);
+	}
+
+	/**
+	 * Read back a Route written by save().
+	 *
+	 * @param in where to read from
+	 * @return the Route
+	 * @throws IOException when the snapshot can't be read
+	 */
+	static Route restore(SnapshotReader in) throws IOException {
+		GameMap map = in.readGameMap();
+		int startX = in.readInt();
+		int startY = in.readInt();
+		int length = in.readCount();
+		int[] xs = new int[length];
+		int[] ys = new int[length];
+		for (int i = 0; i < length; i++) {
+			xs[i] = in.readInt();
+			ys[i] = in.readInt();
+		}
+		Route route = new Route(map, startX, startY, xs, ys, in.readBoolean());
+		route.cursor = in.readCount();
+		if (map == null || route.cursor > length)
+			throw new IOException("Bad route in snapshot");
+		return route;
+	}
+}
@@ -0,0 +1,43 @@
+package edu.monash.fit2099.engine;
+
+import java.io.IOException;
+
+/**
+ * Something whose state can be written into a World snapshot and read back again.
+ *
+ * restore() must read exactly what save() wrote, in the same order. An object is made before it
+ * is restored, by its public no-argument constructor unless a creator has been registered for its
+ * class; a creator can read anything that save() wrote first.
+ *
+ * @see World#saveSnapshot(java.nio.file.Path)
+ * @see World#addSnapshotType(Class, SnapshotReader.Creator)
+ */
+public interface Saveable {
+
+	/**
+	 * Write this object's state.
+	 *
+	 * @param out where to write it
+	 * @throws IOException when file I/O fails
+	 */
+	void save(SnapshotWriter out) throws IOException;
+
+	/**
+	 * Read back the state that save() wrote.
+	 *
+	 * @param in where to read it from
+	 * @throws IOException when the snapshot can't be read
+	 */
+	void restore(SnapshotReader in) throws IOException;
+
+	/**
+	 * Add this object's state to a hash of the World, so that two runs of a game can be compared.
+	 * Anything that save() writes and that can change during the game should be added. The default
+	 * adds nothing, which suits state that never changes.
+	 *
+	 * @param hash the hash to add to
+	 * @see World#hashState()
+	 */
+	default void hashState(StateHash hash) {
+	}
+}
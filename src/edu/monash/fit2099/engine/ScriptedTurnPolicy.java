@@ -0,0 +1,35 @@
+package edu.monash.fit2099.engine;
+
+/**
+ * A TurnPolicy that replays a fixed sequence of menu hotkeys.
+ *
+ * Each turn uses the next hotkey in the script. If no available Action has that hotkey,
+ * or the script has run out, the Actor does nothing.
+ */
+public class ScriptedTurnPolicy implements TurnPolicy {
+
+	private String script;
+	private int position = 0;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param script the hotkeys to use, one character per turn, e.g. "8886662"
+	 */
+	public ScriptedTurnPolicy(String script) {
+		this.script = script;
+	}
+
+	@Override
+	public Action chooseAction(Actor actor, Actions actions, Action lastAction, GameMap map) {
+		if (position >= script.length())
+			return new DoNothingAction();
+
+		String key = String.valueOf(script.charAt(position++));
+		for (Action action : actions) {
+			if (key.equals(action.hotkey()))
+				return action;
+		}
+		return new DoNothingAction();
+	}
+}
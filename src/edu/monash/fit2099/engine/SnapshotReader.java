@@ -0,0 +1,414 @@
+package edu.monash.fit2099.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a World snapshot written by a SnapshotWriter.
+ *
+ * The whole file is memory-mapped, so reading it is mostly copying out of the page cache. Files
+ * have to be smaller than 2GB.
+ *
+ * @see SnapshotWriter
+ */
+public class SnapshotReader implements Closeable {
+
+	/**
+	 * Makes an object for readObject() to restore.
+	 */
+	@FunctionalInterface
+	public interface Creator {
+
+		/**
+		 * Make a new object of a class, ready to be restored. The creator may read whatever the
+		 * object's save() wrote before anything else.
+		 *
+		 * @param type the class of the object that was saved
+		 * @param in   where to read from
+		 * @return the new object
+		 * @throws IOException                 when the snapshot can't be read
+		 * @throws ReflectiveOperationException when the class can't be made
+		 */
+		Object create(Class<?> type, SnapshotReader in) throws IOException, ReflectiveOperationException;
+	}
+
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final Map<Class<?>, Creator> creators;
+	private final List<String> symbols = new ArrayList<String>();
+	private final List<Saveable> references = new ArrayList<Saveable>();
+	private List<GameMap> maps = Collections.emptyList();
+
+	/**
+	 * Constructor. Checks that the file is a snapshot that this version can read.
+	 *
+	 * @param file     the file to read
+	 * @param creators how to make objects of each class, and its subclasses, that need more than a
+	 *                 public no-argument constructor
+	 * @throws IOException when the file can't be opened, or isn't a snapshot
+	 */
+	public SnapshotReader(Path file, Map<Class<?>, Creator> creators) throws IOException {
+		this.creators = creators == null ? Collections.<Class<?>, Creator>emptyMap() : creators;
+		channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (readInt() != SnapshotWriter.MAGIC)
+				throw new IOException(file + " is not a snapshot");
+			int version = readInt();
+			if (version != SnapshotWriter.VERSION)
+				throw new IOException(file + " is a version " + version + " snapshot");
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the next byte
+	 * @throws IOException when the snapshot ends too soon
+	 */
+	public int readByte() throws IOException {
+		try {
+			return buffer.get();
+		} catch (BufferUnderflowException e) {
+			throw truncated();
+		}
+	}
+
+	/**
+	 * @return the next boolean
+	 * @throws IOException when the snapshot ends too soon
+	 */
+	public boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	/**
+	 * @return the next char
+	 * @throws IOException when the snapshot ends too soon
+	 */
+	public char readChar() throws IOException {
+		try {
+			return buffer.getChar();
+		} catch (BufferUnderflowException e) {
+			throw truncated();
+		}
+	}
+
+	/**
+	 * @return the next int
+	 * @throws IOException when the snapshot ends too soon
+	 */
+	public int readInt() throws IOException {
+		try {
+			return buffer.getInt();
+		} catch (BufferUnderflowException e) {
+			throw truncated();
+		}
+	}
+
+	/**
+	 * @return the next long
+	 * @throws IOException when the snapshot ends too soon
+	 */
+	public long readLong() throws IOException {
+		try {
+			return buffer.getLong();
+		} catch (BufferUnderflowException e) {
+			throw truncated();
+		}
+	}
+
+	/**
+	 * @return the next number written by SnapshotWriter.writeVarLong()
+	 * @throws IOException when the snapshot ends too soon
+	 */
+	public long readVarLong() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Bad number in snapshot");
+	}
+
+	/**
+	 * Read a count written by SnapshotWriter.writeVarLong().
+	 *
+	 * @return the count
+	 * @throws IOException when the snapshot ends too soon, or the count is too big
+	 */
+	public int readCount() throws IOException {
+		long count = readVarLong();
+		if (count > Integer.MAX_VALUE)
+			throw new IOException("Bad count in snapshot");
+		return (int) count;
+	}
+
+	/**
+	 * @return the next String, or null
+	 * @throws IOException when the snapshot ends too soon
+	 */
+	public String readString() throws IOException {
+		int length = readCount();
+		if (length == 0)
+			return null;
+		byte[] bytes = new byte[length - 1];
+		try {
+			buffer.get(bytes);
+		} catch (BufferUnderflowException e) {
+			throw truncated();
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Read a run of chars written by SnapshotWriter.writeChars().
+	 *
+	 * @param chars  where to put them
+	 * @param offset where in chars to start
+	 * @param length how many to read
+	 * @throws IOException when the snapshot ends too soon
+	 */
+	public void readChars(char[] chars, int offset, int length) throws IOException {
+		boolean ascii = readBoolean();
+		if (ascii) {
+			byte[] bytes = new byte[length];
+			try {
+				buffer.get(bytes);
+			} catch (BufferUnderflowException e) {
+				throw truncated();
+			}
+			for (int i = 0; i < length; i++)
+				chars[offset + i] = (char) bytes[i];
+		} else {
+			for (int i = offset; i < offset + length; i++)
+				chars[i] = readChar();
+		}
+	}
+
+	/**
+	 * @return the next enum constant, or null
+	 * @throws IOException when the snapshot ends too soon, or the enum no longer exists
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public Enum<?> readEnum() throws IOException {
+		String className = readSymbol();
+		if (className == null)
+			return null;
+		String name = readSymbol();
+		try {
+			return Enum.valueOf((Class) Class.forName(className), name);
+		} catch (ClassNotFoundException | IllegalArgumentException | ClassCastException e) {
+			throw new IOException("No such capability as " + className + "." + name, e);
+		}
+	}
+
+	/**
+	 * Read an object written by SnapshotWriter.writeObject(): make one of the class that was
+	 * saved, and restore it.
+	 *
+	 * @param <T>  the type expected
+	 * @param type the type expected
+	 * @return the object, or null
+	 * @throws IOException when the snapshot can't be read, or the object isn't the type expected
+	 */
+	public <T> T readObject(Class<T> type) throws IOException {
+		String className = readSymbol();
+		if (className == null)
+			return null;
+
+		Object object;
+		try {
+			Class<?> objectClass = Class.forName(className);
+			Creator creator = creatorFor(objectClass);
+			object = creator != null ? creator.create(objectClass, this) : objectClass.getConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new IOException("Can't make a " + className, e);
+		}
+		if (!type.isInstance(object) || !(object instanceof Saveable))
+			throw new IOException("Expected a " + type.getName() + " but found a " + className);
+		((Saveable) object).restore(this);
+		if (object instanceof Actor || object instanceof Item)
+			references.add((Saveable) object);
+		return type.cast(object);
+	}
+
+	/**
+	 * Read a reference written by SnapshotWriter.writeActor().
+	 *
+	 * @return the Actor, or null
+	 * @throws IOException when the snapshot can't be read, or the reference isn't to an Actor
+	 */
+	public Actor readActor() throws IOException {
+		return readReference(Actor.class);
+	}
+
+	/**
+	 * Read a reference written by SnapshotWriter.writeItem().
+	 *
+	 * @return the Item, or null
+	 * @throws IOException when the snapshot can't be read, or the reference isn't to an Item
+	 */
+	public Item readItem() throws IOException {
+		return readReference(Item.class);
+	}
+
+	/**
+	 * Read a reference written by SnapshotWriter.writeGameMap().
+	 *
+	 * @return the GameMap, or null
+	 * @throws IOException when the snapshot can't be read, or the World has no such map
+	 */
+	public GameMap readGameMap() throws IOException {
+		int number = readCount();
+		if (number == 0)
+			return null;
+		if (number > maps.size())
+			throw new IOException("Bad map in snapshot");
+		return maps.get(number - 1);
+	}
+
+	/**
+	 * Read a reference written by SnapshotWriter.writeLocation().
+	 *
+	 * @return the Location, or null
+	 * @throws IOException when the snapshot can't be read, or the Location isn't on its map
+	 */
+	public Location readLocation() throws IOException {
+		GameMap map = readGameMap();
+		if (map == null)
+			return null;
+		int x = readInt();
+		int y = readInt();
+		if (!map.getXRange().contains(x) || !map.getYRange().contains(y))
+			throw new IOException("Bad location in snapshot");
+		// Looking up a loaded Location doesn't count as using its chunk, so it is left as it was saved.
+		Location location = map.loadedAt(x, y);
+		return location != null ? location : map.at(x, y);
+	}
+
+	/**
+	 * Read a Route written by SnapshotWriter.writeRoute().
+	 *
+	 * @return the Route, or null
+	 * @throws IOException when the snapshot can't be read
+	 */
+	public Route readRoute() throws IOException {
+		return readBoolean() ? Route.restore(this) : null;
+	}
+
+	/**
+	 * Read capabilities written by SnapshotWriter.writeCapabilities(), replacing those held.
+	 *
+	 * @param capabilities the collection to fill
+	 * @throws IOException when the snapshot can't be read
+	 */
+	void readCapabilities(Capabilities capabilities) throws IOException {
+		capabilities.clear();
+		int count = readCount();
+		for (int i = 0; i < count; i++)
+			capabilities.addCapability(readEnum());
+	}
+
+	/**
+	 * Say which maps readGameMap() and readLocation() refer to, by their place in the list.
+	 *
+	 * @param maps the World's maps
+	 */
+	void setGameMaps(List<GameMap> maps) {
+		this.maps = maps;
+	}
+
+	/**
+	 * Returns true if everything in the snapshot has been read.
+	 *
+	 * @return true at the end of the file
+	 */
+	public boolean isAtEnd() {
+		return !buffer.hasRemaining();
+	}
+
+	/**
+	 * Close the file.
+	 *
+	 * @throws IOException when file I/O fails
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Find the creator for a class, or the closest of its superclasses that has one.
+	 *
+	 * @param type the class
+	 * @return the creator, or null to use the no-argument constructor
+	 */
+	private Creator creatorFor(Class<?> type) {
+		for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+			Creator creator = creators.get(c);
+			if (creator != null)
+				return creator;
+		}
+		return null;
+	}
+
+	/**
+	 * Read a name written by SnapshotWriter.writeSymbol().
+	 *
+	 * @return the name, or null
+	 * @throws IOException when the snapshot can't be read
+	 */
+	private String readSymbol() throws IOException {
+		int number = readCount();
+		if (number == 0)
+			return null;
+		if (number == symbols.size() + 1)
+			symbols.add(readString());
+		else if (number > symbols.size())
+			throw new IOException("Bad symbol in snapshot");
+		return symbols.get(number - 1);
+	}
+
+	/**
+	 * Read a reference written by SnapshotWriter.writeReference().
+	 *
+	 * @param <T>  the type expected
+	 * @param type the type expected
+	 * @return the object, or null
+	 * @throws IOException when the snapshot can't be read, or the object isn't the type expected
+	 */
+	private <T> T readReference(Class<T> type) throws IOException {
+		int number = readCount();
+		if (number == 0)
+			return null;
+		if (number == references.size() + 1)
+			return readObject(type);
+		if (number > references.size())
+			throw new IOException("Bad reference in snapshot");
+		Saveable object = references.get(number - 1);
+		if (!type.isInstance(object))
+			throw new IOException("Expected a " + type.getName() + " but found a " + object.getClass().getName());
+		return type.cast(object);
+	}
+
+	/**
+	 * @return the exception for a snapshot that ends too soon
+	 */
+	private IOException truncated() {
+		return new IOException("Snapshot ends too soon");
+	}
+}
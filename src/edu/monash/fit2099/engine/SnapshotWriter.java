@@ -0,0 +1,408 @@
+package edu.monash.fit2099.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a World snapshot to a file, through a FileChannel.
+ *
+ * Numbers are written big-endian, and counts as variable-length numbers of 7 bits a byte. Class
+ * and enum names are symbols: each is written out the first time it is used, and after that only
+ * its number is. Actors and Items are numbered as they are written too, so that anything written
+ * after them can refer to them with writeActor() and writeItem().
+ *
+ * @see SnapshotReader
+ */
+public class SnapshotWriter implements Closeable {
+
+	/**
+	 * The first four bytes of every snapshot, "JPSS".
+	 */
+	public static final int MAGIC = 0x4A505353;
+
+	/**
+	 * The version of the snapshot format that this class writes.
+	 */
+	public static final int VERSION = 4;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private final Map<String, Integer> symbols = new HashMap<String, Integer>();
+	private final Map<Saveable, Integer> references = new IdentityHashMap<Saveable, Integer>();
+	private int referenceCount = 0;
+	private List<GameMap> maps = Collections.emptyList();
+
+	/**
+	 * Constructor. Replaces anything already in the file.
+	 *
+	 * @param file the file to write
+	 * @throws IOException when the file can't be opened
+	 */
+	public SnapshotWriter(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE);
+		writeInt(MAGIC);
+		writeInt(VERSION);
+	}
+
+	/**
+	 * Write a byte.
+	 *
+	 * @param value the byte
+	 * @throws IOException when file I/O fails
+	 */
+	public void writeByte(int value) throws IOException {
+		ensure(1);
+		buffer.put((byte) value);
+	}
+
+	/**
+	 * Write a boolean, as one byte.
+	 *
+	 * @param value the boolean
+	 * @throws IOException when file I/O fails
+	 */
+	public void writeBoolean(boolean value) throws IOException {
+		writeByte(value ? 1 : 0);
+	}
+
+	/**
+	 * Write a char.
+	 *
+	 * @param value the char
+	 * @throws IOException when file I/O fails
+	 */
+	public void writeChar(char value) throws IOException {
+		ensure(2);
+		buffer.putChar(value);
+	}
+
+	/**
+	 * Write an int.
+	 *
+	 * @param value the int
+	 * @throws IOException when file I/O fails
+	 */
+	public void writeInt(int value) throws IOException {
+		ensure(4);
+		buffer.putInt(value);
+	}
+
+	/**
+	 * Write a long.
+	 *
+	 * @param value the long
+	 * @throws IOException when file I/O fails
+	 */
+	public void writeLong(long value) throws IOException {
+		ensure(8);
+		buffer.putLong(value);
+	}
+
+	/**
+	 * Write a count or other number that is usually small, in as few bytes as it needs.
+	 *
+	 * @param value the number, treated as unsigned
+	 * @throws IOException when file I/O fails
+	 */
+	public void writeVarLong(long value) throws IOException {
+		ensure(10);
+		while ((value & ~0x7FL) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	/**
+	 * Write a String, which may be null.
+	 *
+	 * @param value the String
+	 * @throws IOException when file I/O fails
+	 */
+	public void writeString(String value) throws IOException {
+		if (value == null) {
+			writeVarLong(0);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarLong(bytes.length + 1L);
+		writeBytes(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Write a run of chars, e.g. the Ground characters of part of a map. If they are all ASCII, as
+	 * they usually are, each one only takes a byte.
+	 *
+	 * @param chars  the chars
+	 * @param offset where in chars to start
+	 * @param length how many to write
+	 * @throws IOException when file I/O fails
+	 */
+	public void writeChars(char[] chars, int offset, int length) throws IOException {
+		boolean ascii = true;
+		for (int i = offset; i < offset + length && ascii; i++)
+			ascii = chars[i] < 0x80;
+		writeBoolean(ascii);
+		if (ascii) {
+			byte[] bytes = new byte[length];
+			for (int i = 0; i < length; i++)
+				bytes[i] = (byte) chars[offset + i];
+			writeBytes(bytes, 0, length);
+		} else {
+			for (int i = offset; i < offset + length; i++)
+				writeChar(chars[i]);
+		}
+	}
+
+	/**
+	 * Write a capability or other enum constant, which may be null, by its class and name.
+	 *
+	 * @param value the enum constant
+	 * @throws IOException when file I/O fails
+	 */
+	public void writeEnum(Enum<?> value) throws IOException {
+		if (value == null) {
+			writeSymbol(null);
+			return;
+		}
+		writeSymbol(value.getDeclaringClass().getName());
+		writeSymbol(value.name());
+	}
+
+	/**
+	 * Write an object, which may be null, by its class and whatever its save() writes.
+	 *
+	 * @param value the object
+	 * @throws IOException when file I/O fails
+	 * @see SnapshotReader#readObject(Class)
+	 */
+	public void writeObject(Saveable value) throws IOException {
+		if (value == null) {
+			writeSymbol(null);
+			return;
+		}
+		writeSymbol(value.getClass().getName());
+		value.save(this);
+		// Numbered once written, as SnapshotReader can only number it once it has been restored. One
+		// written twice, like the baby in an egg that has hatched, is read twice, so it takes up two
+		// numbers, but references are to the first.
+		if (value instanceof Actor || value instanceof Item)
+			references.putIfAbsent(value, ++referenceCount);
+	}
+
+	/**
+	 * Write an object if it is Saveable, or null if it isn't. Suits things that are only sometimes
+	 * worth carrying on with, such as the Action an Actor is part way through.
+	 *
+	 * @param value the object
+	 * @throws IOException when file I/O fails
+	 */
+	public void writeObjectIfSaveable(Object value) throws IOException {
+		writeObject(value instanceof Saveable ? (Saveable) value : null);
+	}
+
+	/**
+	 * Write a reference to an Actor, which may be null. One that has been written already is
+	 * written by its number. One that hasn't, such as an Actor that has left the game but that
+	 * another still remembers, is written in full.
+	 *
+	 * @param actor the Actor
+	 * @throws IOException when file I/O fails
+	 * @see SnapshotReader#readActor()
+	 */
+	public void writeActor(Actor actor) throws IOException {
+		writeReference(actor);
+	}
+
+	/**
+	 * Write a reference to an Item, which may be null, in the same way as writeActor().
+	 *
+	 * @param item the Item
+	 * @throws IOException when file I/O fails
+	 * @see SnapshotReader#readItem()
+	 */
+	public void writeItem(Item item) throws IOException {
+		writeReference(item);
+	}
+
+	/**
+	 * Write a reference to a GameMap of the World, which may be null.
+	 *
+	 * @param map the GameMap
+	 * @throws IOException when file I/O fails, or the map isn't in the World
+	 */
+	public void writeGameMap(GameMap map) throws IOException {
+		if (map == null) {
+			writeVarLong(0);
+			return;
+		}
+		int index = maps.indexOf(map);
+		if (index < 0)
+			throw new IOException("Can't refer to a map that isn't in the World");
+		writeVarLong(index + 1);
+	}
+
+	/**
+	 * Write a reference to a Location, which may be null, by its map and coordinates.
+	 *
+	 * @param location the Location
+	 * @throws IOException when file I/O fails, or its map isn't in the World
+	 */
+	public void writeLocation(Location location) throws IOException {
+		if (location == null) {
+			writeGameMap(null);
+			return;
+		}
+		writeGameMap(location.map());
+		writeInt(location.x());
+		writeInt(location.y());
+	}
+
+	/**
+	 * Write a Route, which may be null, along with how far along it the Actor has got.
+	 *
+	 * @param route the Route
+	 * @throws IOException when file I/O fails, or its map isn't in the World
+	 */
+	public void writeRoute(Route route) throws IOException {
+		writeBoolean(route != null);
+		if (route != null)
+			route.save(this);
+	}
+
+	/**
+	 * Write every capability in a collection.
+	 *
+	 * @param capabilities the capabilities
+	 * @throws IOException when file I/O fails
+	 */
+	void writeCapabilities(Capabilities capabilities) throws IOException {
+		List<Enum<?>> held = capabilities.toList();
+		writeVarLong(held.size());
+		for (Enum<?> capability : held)
+			writeEnum(capability);
+	}
+
+	/**
+	 * Say which maps writeGameMap() and writeLocation() can refer to, by their place in the list.
+	 *
+	 * @param maps the World's maps
+	 */
+	void setGameMaps(List<GameMap> maps) {
+		this.maps = maps;
+	}
+
+	/**
+	 * Write everything out, make sure it has reached the disk, and close the file.
+	 *
+	 * @throws IOException when file I/O fails
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+			channel.force(false);
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Write a name, or just its number if it has been written before.
+	 *
+	 * @param symbol the name, or null
+	 * @throws IOException when file I/O fails
+	 */
+	private void writeSymbol(String symbol) throws IOException {
+		if (symbol == null) {
+			writeVarLong(0);
+			return;
+		}
+		Integer number = symbols.get(symbol);
+		if (number != null) {
+			writeVarLong(number);
+			return;
+		}
+		// A number one past the last one says a new name follows.
+		number = symbols.size() + 1;
+		symbols.put(symbol, number);
+		writeVarLong(number);
+		writeString(symbol);
+	}
+
+	/**
+	 * Write the number of an Actor or Item written already, or the object in full if it hasn't been.
+	 *
+	 * @param value the Actor or Item, or null
+	 * @throws IOException when file I/O fails
+	 */
+	private void writeReference(Saveable value) throws IOException {
+		if (value == null) {
+			writeVarLong(0);
+			return;
+		}
+		Integer number = references.get(value);
+		if (number != null) {
+			writeVarLong(number);
+			return;
+		}
+		// A number one past the last one says the object follows.
+		writeVarLong(referenceCount + 1);
+		writeObject(value);
+	}
+
+	/**
+	 * Write some bytes, a buffer-full at a time.
+	 *
+	 * @param bytes  the bytes
+	 * @param offset where in bytes to start
+	 * @param length how many to write
+	 * @throws IOException when file I/O fails
+	 */
+	private void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+		while (length > 0) {
+			if (!buffer.hasRemaining())
+				flush();
+			int count = Math.min(length, buffer.remaining());
+			buffer.put(bytes, offset, count);
+			offset += count;
+			length -= count;
+		}
+	}
+
+	/**
+	 * Make room in the buffer.
+	 *
+	 * @param bytes how many bytes are about to be put in it
+	 * @throws IOException when file I/O fails
+	 */
+	private void ensure(int bytes) throws IOException {
+		if (buffer.remaining() < bytes)
+			flush();
+	}
+
+	/**
+	 * Write the buffer to the channel and empty it.
+	 *
+	 * @throws IOException when file I/O fails
+	 */
+	private void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+}
@@ -0,0 +1,51 @@
+package edu.monash.fit2099.engine;
+
+/**
+ * Adds up the state of a World into one number, so that two runs of a game can be checked
+ * against each other turn by turn.
+ *
+ * It is not a cryptographic hash: it only has to be cheap, and to change when anything in the
+ * World does. Values are mixed in one at a time, in an order that matters.
+ *
+ * @see World#hashState()
+ */
+public class StateHash {
+
+	private long hash = 0x243F6A8885A308D3L;
+
+	/**
+	 * Mix a value into the hash.
+	 *
+	 * @param value the value
+	 */
+	public void add(long value) {
+		hash = Long.rotateLeft(hash ^ value, 29) * 0x9E3779B97F4A7C15L;
+	}
+
+	/**
+	 * Mix a flag into the hash.
+	 *
+	 * @param value the flag
+	 */
+	public void add(boolean value) {
+		add(value ? 1 : 0);
+	}
+
+	/**
+	 * Mix a string into the hash. Null is allowed.
+	 *
+	 * @param value the string
+	 */
+	public void add(String value) {
+		add(value == null ? 0 : value.hashCode());
+	}
+
+	/**
+	 * Returns the hash of everything added so far.
+	 *
+	 * @return the hash
+	 */
+	public long get() {
+		return RandomStream.mix(hash);
+	}
+}
@@ -0,0 +1,31 @@
+package edu.monash.fit2099.engine;
+
+/**
+ * Something that wants to be told when the terrain of a GameMap changes, with the new version stamp.
+ *
+ * Unlike a LocationListener, it isn't told about Actors moving about. Both methods may be called
+ * from the threads that tick the map, so implementations should be thread-safe.
+ *
+ * @see GameMap#addTerrainListener(TerrainListener)
+ * @see TerrainVersions
+ */
+public interface TerrainListener {
+
+	/**
+	 * Called after the Ground at a Location has been replaced.
+	 *
+	 * @param location the Location
+	 * @param version  the stamp the change was given
+	 */
+	default void groundChanged(Location location, long version) {
+	}
+
+	/**
+	 * Called after an Item has been added to or taken off a Location.
+	 *
+	 * @param location the Location
+	 * @param version  the stamp the change was given
+	 */
+	default void itemsChanged(Location location, long version) {
+	}
+}
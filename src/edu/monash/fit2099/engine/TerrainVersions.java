@@ -0,0 +1,171 @@
+package edu.monash.fit2099.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Version stamps that tell anything caching what a GameMap looks like when its cache has gone stale.
+ *
+ * Every time a Ground is replaced, or an Item is added to or taken off a Location, the map's
+ * clock ticks on, and the new time is stamped on the map, on the region of the map the Location
+ * is in, and on each tracked capability the Ground or Item has. Stamps only ever go up, so a
+ * cache just remembers the stamp it was made at and compares.
+ *
+ * A region is a chunk on a chunked map, and a square of REGION_SIZE by REGION_SIZE otherwise.
+ * Actors moving about don't change any stamp.
+ *
+ * @see GameMap#getTerrainVersions()
+ * @see TerrainListener
+ */
+public class TerrainVersions {
+
+	/**
+	 * Width and height of a region on a map that isn't chunked.
+	 */
+	public static final int REGION_SIZE = 64;
+
+	private final AtomicLong clock = new AtomicLong();
+	private final AtomicLong groundVersion = new AtomicLong();
+	private final AtomicLong itemVersion = new AtomicLong();
+	private final AtomicLongArray regionVersions;
+	private final ConcurrentHashMap<Enum<?>, AtomicLong> capabilityVersions = new ConcurrentHashMap<Enum<?>, AtomicLong>();
+	private final int regionSize;
+	private final int regionsAcross;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param width      width of the map, in characters
+	 * @param height     height of the map, in characters
+	 * @param regionSize width and height of a region
+	 */
+	TerrainVersions(int width, int height, int regionSize) {
+		this.regionSize = regionSize;
+		regionsAcross = (width + regionSize - 1) / regionSize;
+		int regionsDown = (height + regionSize - 1) / regionSize;
+		regionVersions = new AtomicLongArray(regionsAcross * regionsDown);
+	}
+
+	/**
+	 * Returns the stamp of the latest change of any kind to the map.
+	 *
+	 * @return the latest stamp, or 0 if nothing has changed yet
+	 */
+	public long getVersion() {
+		return clock.get();
+	}
+
+	/**
+	 * Returns the stamp of the latest Ground to be replaced anywhere on the map. This includes the
+	 * Grounds laid when a chunk is loaded or unloaded.
+	 *
+	 * @return the stamp
+	 */
+	public long getGroundVersion() {
+		return groundVersion.get();
+	}
+
+	/**
+	 * Returns the stamp of the latest Item to be added to or taken off any Location on the map.
+	 *
+	 * @return the stamp
+	 */
+	public long getItemVersion() {
+		return itemVersion.get();
+	}
+
+	/**
+	 * Returns the stamp of the latest change in the region holding some coordinates.
+	 *
+	 * @param x X coordinate
+	 * @param y Y coordinate
+	 * @return the stamp
+	 * @throws ArrayIndexOutOfBoundsException if (x, y) isn't on the map
+	 */
+	public long getRegionVersion(int x, int y) {
+		return regionVersions.get(regionOf(x, y));
+	}
+
+	/**
+	 * Returns the stamp of the latest Ground or Item with a capability to arrive or leave.
+	 *
+	 * Capabilities are only tracked once something has asked about them, so the first call returns
+	 * the current time, which is as good as any for a cache that has only just been made.
+	 *
+	 * @param capability the capability
+	 * @return the stamp
+	 */
+	public long getCapabilityVersion(Enum<?> capability) {
+		return capabilityVersions.computeIfAbsent(capability, key -> new AtomicLong(clock.get())).get();
+	}
+
+	/**
+	 * Stamp a Ground being replaced.
+	 *
+	 * @param location  the Location whose Ground changed
+	 * @param oldGround the Ground that was there, or null
+	 * @param newGround the Ground that is there now, or null if the Location is being unloaded
+	 * @return the new stamp
+	 */
+	long groundChanged(Location location, Ground oldGround, Ground newGround) {
+		long stamp = clock.incrementAndGet();
+		raise(groundVersion, stamp);
+		stamp(location, oldGround, newGround, stamp);
+		return stamp;
+	}
+
+	/**
+	 * Stamp an Item being added to or taken off a Location.
+	 *
+	 * @param location the Location
+	 * @param item     the Item
+	 * @return the new stamp
+	 */
+	long itemChanged(Location location, Item item) {
+		long stamp = clock.incrementAndGet();
+		raise(itemVersion, stamp);
+		stamp(location, item, null, stamp);
+		return stamp;
+	}
+
+	/**
+	 * Put a stamp on the region and the capabilities of whatever changed.
+	 *
+	 * @param location the Location that changed
+	 * @param before   what was there, or null
+	 * @param after    what is there now, or null
+	 * @param stamp    the stamp
+	 */
+	private void stamp(Location location, Capable before, Capable after, long stamp) {
+		int region = regionOf(location.x(), location.y());
+		regionVersions.accumulateAndGet(region, stamp, Math::max);
+		for (Map.Entry<Enum<?>, AtomicLong> entry : capabilityVersions.entrySet()) {
+			Enum<?> capability = entry.getKey();
+			if ((before != null && before.hasCapability(capability)) || (after != null && after.hasCapability(capability)))
+				raise(entry.getValue(), stamp);
+		}
+	}
+
+	/**
+	 * Raise a stamp, unless another thread has already raised it further.
+	 *
+	 * @param version the stamp to raise
+	 * @param stamp   the new value
+	 */
+	private static void raise(AtomicLong version, long stamp) {
+		version.accumulateAndGet(stamp, Math::max);
+	}
+
+	/**
+	 * Works out which region some coordinates are in.
+	 *
+	 * @param x X coordinate
+	 * @param y Y coordinate
+	 * @return the region's index
+	 */
+	private int regionOf(int x, int y) {
+		return (y / regionSize) * regionsAcross + x / regionSize;
+	}
+}
@@ -0,0 +1,292 @@
+package edu.monash.fit2099.engine;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Runs actions at a given turn, without looking at them on the turns in between.
+ *
+ * This is a hierarchical timing wheel. The first wheel has a slot for each of the next 64 turns,
+ * the next wheel a slot for each of the 64 spans of 64 turns after that, and so on. A timer sits
+ * in the slot of the coarsest wheel that still tells its turn apart, and drops into a finer
+ * wheel as its turn gets closer. Scheduling and cancelling are O(1), and advancing a turn only
+ * touches the timers that are due, plus the occasional slot being moved down a wheel.
+ *
+ * Timers that are due on the same turn run in the order they were scheduled in. That order can be
+ * saved, as a timer's sequence number, and a timer put back in its place with it. A wheel is not
+ * thread-safe, so only use it from the thread that ticks its map.
+ *
+ * @see GameMap#getTimingWheel()
+ */
+public class TimingWheel {
+
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+
+	private long time = 0;
+	private int size = 0;
+	private long nextSequence = 0;
+	private final Bucket[][] wheels = new Bucket[LEVELS][SLOTS];
+	// Timers too far away for even the coarsest wheel.
+	private final Bucket overflow = new Bucket();
+
+	/**
+	 * Constructor.
+	 */
+	public TimingWheel() {
+		for (Bucket[] wheel : wheels) {
+			for (int slot = 0; slot < SLOTS; slot++)
+				wheel[slot] = new Bucket();
+		}
+	}
+
+	/**
+	 * Returns the current turn: the number of times advance() has been called.
+	 *
+	 * @return the current turn
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Returns the number of timers waiting to run.
+	 *
+	 * @return the number of pending timers
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Run an action a number of turns from now.
+	 *
+	 * @param delay  how many calls to advance() to wait. Anything less than 1 runs on the next one
+	 * @param action the action to run
+	 * @return a Timer that can be used to cancel the action
+	 */
+	public Timer schedule(long delay, Runnable action) {
+		return schedule(delay, nextSequence, action);
+	}
+
+	/**
+	 * Run an action a number of turns from now, in the place among the others due on that turn
+	 * that a sequence number says, e.g. to put back a timer saved in a snapshot.
+	 *
+	 * @param delay    how many calls to advance() to wait. Anything less than 1 runs on the next one
+	 * @param sequence where the timer comes among the others due on its turn, as Timer.getSequence() said
+	 * @param action   the action to run
+	 * @return a Timer that can be used to cancel the action
+	 */
+	public Timer schedule(long delay, long sequence, Runnable action) {
+		Timer timer = new Timer(time + Math.max(delay, 1), sequence, action);
+		nextSequence = Math.max(nextSequence, sequence + 1);
+		insert(timer);
+		size++;
+		return timer;
+	}
+
+	/**
+	 * Drop every pending action without running it, and set the clock, e.g. to carry on from a
+	 * snapshot. Timers that were pending are no longer, so cancelling them does nothing.
+	 *
+	 * @param newTime the turn to carry on from
+	 */
+	public void reset(long newTime) {
+		for (Bucket[] wheel : wheels) {
+			for (Bucket bucket : wheel) {
+				while (bucket.poll() != null)
+					size--;
+			}
+		}
+		while (overflow.poll() != null)
+			size--;
+		time = newTime;
+	}
+
+	/**
+	 * Move on one turn, and run every action that is due.
+	 */
+	public void advance() {
+		time++;
+		if ((time & MASK) == 0)
+			cascade(1);
+
+		Bucket due = wheels[0][(int) (time & MASK)];
+		due.sortBySequence();
+		Timer timer;
+		while ((timer = due.poll()) != null) {
+			size--;
+			timer.action.run();
+		}
+	}
+
+	/**
+	 * Move the timers in the current slot of a wheel down into finer wheels.
+	 *
+	 * @param level the wheel to move timers out of
+	 */
+	private void cascade(int level) {
+		int slot = (int) ((time >>> (SLOT_BITS * level)) & MASK);
+		if (slot == 0) {
+			if (level + 1 < LEVELS)
+				cascade(level + 1);
+			else
+				reinsertAll(overflow);
+		}
+		reinsertAll(wheels[level][slot]);
+	}
+
+	private void reinsertAll(Bucket bucket) {
+		Timer timer;
+		Bucket pending = new Bucket();
+		while ((timer = bucket.poll()) != null)
+			pending.add(timer);
+		while ((timer = pending.poll()) != null)
+			insert(timer);
+	}
+
+	private void insert(Timer timer) {
+		long delta = timer.dueTime - time;
+		for (int level = 0; level < LEVELS; level++) {
+			if (delta < 1L << (SLOT_BITS * (level + 1))) {
+				wheels[level][(int) ((timer.dueTime >>> (SLOT_BITS * level)) & MASK)].add(timer);
+				return;
+			}
+		}
+		overflow.add(timer);
+	}
+
+	/**
+	 * An action waiting in a TimingWheel.
+	 */
+	public class Timer {
+		private final long dueTime;
+		private final long sequence;
+		private final Runnable action;
+		private Bucket bucket;
+		private Timer previous;
+		private Timer next;
+
+		private Timer(long dueTime, long sequence, Runnable action) {
+			this.dueTime = dueTime;
+			this.sequence = sequence;
+			this.action = action;
+		}
+
+		/**
+		 * Returns the turn this timer runs on.
+		 *
+		 * @return the turn, as counted by getTime()
+		 */
+		public long getDueTime() {
+			return dueTime;
+		}
+
+		/**
+		 * Returns where this timer comes among the others due on its turn. Timers scheduled later
+		 * have bigger numbers.
+		 *
+		 * @return the sequence number
+		 */
+		public long getSequence() {
+			return sequence;
+		}
+
+		/**
+		 * Returns how many turns are left before this timer runs.
+		 *
+		 * @return the turns left, counting the one it runs on
+		 */
+		public long getTurnsLeft() {
+			return dueTime - time;
+		}
+
+		/**
+		 * Returns true if this timer hasn't run or been cancelled yet.
+		 *
+		 * @return true if the action is still waiting to run
+		 */
+		public boolean isPending() {
+			return bucket != null;
+		}
+
+		/**
+		 * Stop the action from running, if it hasn't already.
+		 *
+		 * @return true if the timer was pending
+		 */
+		public boolean cancel() {
+			if (bucket == null)
+				return false;
+			bucket.remove(this);
+			size--;
+			return true;
+		}
+	}
+
+	/**
+	 * A first-in first-out list of timers.
+	 */
+	private static class Bucket {
+		private Timer head;
+		private Timer tail;
+
+		void add(Timer timer) {
+			timer.bucket = this;
+			timer.previous = tail;
+			timer.next = null;
+			if (tail == null)
+				head = timer;
+			else
+				tail.next = timer;
+			tail = timer;
+		}
+
+		void remove(Timer timer) {
+			if (timer.previous == null)
+				head = timer.next;
+			else
+				timer.previous.next = timer.next;
+			if (timer.next == null)
+				tail = timer.previous;
+			else
+				timer.next.previous = timer.previous;
+			timer.bucket = null;
+			timer.previous = null;
+			timer.next = null;
+		}
+
+		Timer poll() {
+			Timer timer = head;
+			if (timer != null)
+				remove(timer);
+			return timer;
+		}
+
+		/**
+		 * Put the timers in order of their sequence numbers. Usually they already are, unless some
+		 * came down from a coarser wheel or were put back from a snapshot.
+		 */
+		void sortBySequence() {
+			int count = 0;
+			boolean sorted = true;
+			for (Timer timer = head; timer != null; timer = timer.next) {
+				count++;
+				if (timer.next != null && timer.next.sequence < timer.sequence)
+					sorted = false;
+			}
+			if (sorted)
+				return;
+
+			Timer[] timers = new Timer[count];
+			for (int i = 0; i < count; i++)
+				timers[i] = poll();
+			Arrays.sort(timers, Comparator.comparingLong(timer -> timer.sequence));
+			for (Timer timer : timers)
+				add(timer);
+		}
+	}
+}
@@ -0,0 +1,610 @@
+package edu.monash.fit2099.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of every turn played, so that a game that stops without warning can be
+ * recovered with recover().
+ *
+ * Each turn is logged as the keys the player pressed, which of its Actions the player took, what
+ * every Actor did, how many random numbers were drawn, and a hash of the whole World once the turn
+ * was over. Everything but the keys is there to check a replay against.
+ *
+ * Turns are handed to a thread of the journal's own through a bounded queue, so the game never
+ * waits for the disk. If the queue is full the turn is dropped, and a gap is logged in its place.
+ * Replaying stops at a gap, so the Display is told, and if snapshots are being saved one is saved
+ * at the first turn logged after it. The thread writes turns out as they come, and makes sure they
+ * have reached the disk every few turns or milliseconds, whichever comes first. Every record has
+ * a CRC32, so a record torn by a crash is spotted and thrown away.
+ *
+ * The journal can also save a snapshot of the World every so many turns. Once a snapshot is safely
+ * saved, everything logged before it is of no more use, and the log starts again.
+ *
+ * @see World#setJournal(TurnJournal)
+ * @see JournalReader
+ */
+public class TurnJournal implements Closeable {
+
+	/**
+	 * The first four bytes of every journal, "JPTJ".
+	 */
+	public static final int MAGIC = 0x4A50544A;
+
+	/**
+	 * The version of the journal format that this class writes.
+	 */
+	public static final int VERSION = 2;
+
+	/**
+	 * Record kinds.
+	 */
+	static final byte TURN = 1;
+	static final byte GAP = 2;
+	static final byte START = 3;
+
+	/**
+	 * Bytes in the header: the magic number, the version and the random seed.
+	 */
+	static final int HEADER_SIZE = 16;
+
+	private static final int DEFAULT_QUEUE_SIZE = 1024;
+	private static final int DEFAULT_SYNC_TURNS = 32;
+	private static final long DEFAULT_SYNC_MILLIS = 200;
+
+	// Not turns: ask the writer to start the log again, or to stop.
+	private static final Record RESTART = new Record();
+	private static final Record STOP = new Record();
+
+	private final FileChannel channel;
+	private final BlockingQueue<Record> queue;
+	private final int syncTurns;
+	private final long syncMillis;
+	private final Thread writer;
+
+	// Only used by the thread playing the game.
+	private final Map<Actor, Integer> actorNumbers = new WeakHashMap<Actor, Integer>();
+	private int nextActorNumber = 0;
+	private Record current = new Record();
+	private long rootState = RandomService.getState();
+	private long[] mapDraws = new long[0];
+	private long droppedSince = 0;
+	private Path snapshotFile;
+	private int snapshotTurns;
+	private int hashTurns = 1;
+	private boolean closed = false;
+
+	// Only used by the writer thread.
+	private final Map<String, Integer> symbols = new HashMap<String, Integer>();
+	private ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+	private final CRC32 crc = new CRC32();
+	private int recordStart; // Where the record being encoded starts in the buffer.
+	private boolean started = false;
+
+	private volatile long committedTurn = 0;
+	private volatile long droppedTurns = 0;
+	private volatile IOException error;
+
+	/**
+	 * Constructor, with a queue of 1024 turns that are made safe every 32 turns or 200 ms.
+	 *
+	 * @param file the file to log to
+	 * @throws IOException when the file can't be opened
+	 * @see #TurnJournal(Path, int, int, long)
+	 */
+	public TurnJournal(Path file) throws IOException {
+		this(file, DEFAULT_QUEUE_SIZE, DEFAULT_SYNC_TURNS, DEFAULT_SYNC_MILLIS);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * If the file is already a journal of a game with the same random seed, turns are added to
+	 * the end of it, after anything a crash left half written is cut off. Otherwise it is started
+	 * afresh.
+	 *
+	 * @param file       the file to log to
+	 * @param queueSize  how many turns can be waiting to be written before turns are dropped
+	 * @param syncTurns  how many turns can be written before they are made safe on the disk
+	 * @param syncMillis how long a written turn can wait to be made safe on the disk
+	 * @throws IOException              when the file can't be opened
+	 * @throws IllegalArgumentException if queueSize or syncTurns isn't positive
+	 */
+	public TurnJournal(Path file, int queueSize, int syncTurns, long syncMillis) throws IOException {
+		if (queueSize <= 0 || syncTurns <= 0)
+			throw new IllegalArgumentException();
+		this.syncTurns = syncTurns;
+		this.syncMillis = Math.max(1, syncMillis);
+		queue = new ArrayBlockingQueue<Record>(queueSize);
+
+		long keep = 0;
+		if (Files.exists(file) && Files.size(file) > 0) {
+			try (JournalReader in = new JournalReader(file)) {
+				if (in.getSeed() == RandomService.getSeed()) {
+					while (in.next() != null) {
+						// Just finding where the good records end.
+					}
+					keep = in.getValidLength();
+				}
+			} catch (IOException e) {
+				// Not a journal this version can read, so it is started afresh.
+			}
+		}
+
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			if (keep == 0)
+				writeHeader();
+			else
+				channel.truncate(keep).position(keep);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+
+		writer = new Thread(this::writeRecords, "turn-journal");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Save a snapshot of the World every so many turns, after which the log starts again, and at
+	 * the first turn logged after any that were dropped. Snapshots are saved by the thread playing
+	 * the game, as the World can't change while it is being saved.
+	 *
+	 * @param file  the file to save snapshots to, or null to stop saving them
+	 * @param turns how many turns apart to save them
+	 * @throws IllegalArgumentException if turns isn't positive
+	 */
+	public void setSnapshots(Path file, int turns) {
+		if (file != null && turns <= 0)
+			throw new IllegalArgumentException();
+		snapshotFile = file;
+		snapshotTurns = turns;
+	}
+
+	/**
+	 * Log a hash of the World every so many turns, for JournalReplay and recover() to check a
+	 * replay against. By default it is every turn, so a replay that goes wrong is caught on the
+	 * turn it happens. Working a hash out walks every loaded Location and every Actor, which takes
+	 * about a tenth as long as playing a turn; hashing less often saves some of that, but a replay
+	 * that goes wrong is then only caught at the next hash.
+	 *
+	 * @param turns how many turns apart to log a hash, or 0 not to
+	 * @throws IllegalArgumentException if turns is negative
+	 * @see World#hashState()
+	 */
+	public void setStateHashing(int turns) {
+		if (turns < 0)
+			throw new IllegalArgumentException();
+		hashTurns = turns;
+	}
+
+	/**
+	 * Returns the last turn known to have reached the disk.
+	 *
+	 * @return the turn number, or 0 if none has yet
+	 */
+	public long getCommittedTurn() {
+		return committedTurn;
+	}
+
+	/**
+	 * Returns how many turns have been dropped because the queue was full.
+	 *
+	 * @return the number dropped
+	 */
+	public long getDroppedTurns() {
+		return droppedTurns;
+	}
+
+	/**
+	 * Returns what went wrong writing the log, if anything did. Nothing more is written after that.
+	 *
+	 * @return the exception, or null
+	 */
+	public IOException getError() {
+		return error;
+	}
+
+	/**
+	 * Log an Action that an Actor has just executed.
+	 *
+	 * @param actor       the Actor
+	 * @param action      the Action
+	 * @param choice      where the Action was in the Actions the Actor was offered, or -1
+	 * @param randomState the state of the Actor's RandomStream before its turn
+	 */
+	void actionTaken(Actor actor, Action action, int choice, long randomState) {
+		Integer number = actorNumbers.get(actor);
+		if (number == null) {
+			number = nextActorNumber++;
+			actorNumbers.put(actor, number);
+		}
+		current.addAction(number, action.getClass(), actor.getRandom().drawsSince(randomState));
+		if (choice >= 0)
+			current.playerChoice = choice;
+	}
+
+	/**
+	 * Hand the turn that has just finished to the writer, and save a snapshot if one is due.
+	 *
+	 * @param world the World
+	 */
+	void endTurn(World world) {
+		Record record = current;
+		current = new Record();
+
+		record.turn = world.getTurnNumber();
+		record.keys = world.display.takeKeysRead();
+		long state = RandomService.getState();
+		record.rootDraws = RandomService.drawsSince(rootState);
+		rootState = state;
+		List<GameMap> maps = world.gameMaps;
+		if (mapDraws.length != maps.size()) {
+			long[] grown = new long[maps.size()];
+			System.arraycopy(mapDraws, 0, grown, 0, Math.min(mapDraws.length, grown.length));
+			mapDraws = grown;
+		}
+		record.mapDraws = new long[maps.size()];
+		for (int i = 0; i < maps.size(); i++) {
+			long draws = maps.get(i).getRandomDraws();
+			record.mapDraws[i] = draws - mapDraws[i];
+			mapDraws[i] = draws;
+		}
+		record.hashed = hashTurns > 0 && record.turn % hashTurns == 0;
+		if (record.hashed)
+			record.stateHash = world.hashState();
+
+		record.droppedBefore = droppedSince;
+		boolean afterGap = false;
+		if (!closed && queue.offer(record)) {
+			afterGap = droppedSince > 0;
+			droppedSince = 0;
+		} else {
+			if (droppedSince == 0 && !closed)
+				world.display.println("The journal is falling behind, so turn " + record.turn + " wasn't logged"
+						+ (snapshotFile != null ? "" : ", and the game can't be recovered past it"));
+			droppedSince++;
+			droppedTurns++;
+		}
+
+		// A snapshot straight after a gap lets the game be recovered past it.
+		if (snapshotFile != null && !closed && (record.turn % snapshotTurns == 0 || afterGap)) {
+			try {
+				world.saveSnapshot(snapshotFile);
+				// If this is dropped, the log just carries on from where it was.
+				queue.offer(RESTART);
+			} catch (IOException e) {
+				world.display.println("Could not save a snapshot: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Write out every turn still in the queue, make sure it has all reached the disk, and close
+	 * the file.
+	 *
+	 * @throws IOException when the writer failed, or closing the file fails
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed)
+			return;
+		closed = true;
+		try {
+			queue.put(STOP);
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while closing the journal");
+		} finally {
+			channel.close();
+		}
+		if (error != null)
+			throw error;
+	}
+
+	/**
+	 * Carry on a game that stopped without warning: restore the latest snapshot, if there is one,
+	 * and replay the turns logged after it, up to the last turn that reached the disk or the first
+	 * gap. Call this before the World is given a journal.
+	 *
+	 * Without a snapshot the World must be newly built, the same way and with the same random seed
+	 * as the one that was logged; JournalReader.getSeed() says what that was. Only the player's keys
+	 * are replayed, so the World's hash is checked after every turn that has one logged. If one
+	 * doesn't match, the turns replayed already have played out differently, so the World is put
+	 * back where it started and replayed again only up to the last turn that did match.
+	 *
+	 * @param world        the World
+	 * @param snapshotFile the snapshot to start from, or null
+	 * @param journalFile  the journal
+	 * @return how the replay went; the World is left at its last turn
+	 * @throws IOException when a file can't be read, or doesn't fit the game
+	 */
+	public static JournalReplay.Result recover(World world, Path snapshotFile, Path journalFile) throws IOException {
+		boolean fromSnapshot = snapshotFile != null && Files.exists(snapshotFile);
+		// Without a snapshot, one of the newly built World is kept to go back to.
+		Path start = fromSnapshot ? snapshotFile : Files.createTempFile("turn-journal", ".snapshot");
+		try {
+			if (fromSnapshot)
+				world.restoreSnapshot(start);
+			else
+				world.saveSnapshot(start);
+			JournalReplay.Result result = JournalReplay.replay(world, journalFile);
+			if (!result.isIdentical()) {
+				world.restoreSnapshot(start);
+				JournalReplay.replay(world, journalFile, result.getLastTurn());
+			}
+			return result;
+		} finally {
+			if (!fromSnapshot)
+				Files.deleteIfExists(start);
+		}
+	}
+
+	/**
+	 * The writer thread: write turns as they come, and make them safe every so often.
+	 */
+	private void writeRecords() {
+		List<Record> batch = new ArrayList<Record>();
+		long unsyncedTurn = 0;
+		int unsynced = 0;
+		long lastSync = System.nanoTime();
+		boolean stopping = false;
+		while (!stopping) {
+			try {
+				Record first = queue.poll(syncMillis, TimeUnit.MILLISECONDS);
+				if (first != null) {
+					batch.add(first);
+					queue.drainTo(batch);
+				}
+			} catch (InterruptedException e) {
+				// Nothing interrupts this thread but close(), which stops it with STOP instead.
+				continue;
+			}
+
+			try {
+				for (Record record : batch) {
+					if (record == STOP) {
+						stopping = true;
+					} else if (error != null) {
+						// Keep the queue moving, so the game never waits, but don't write anything more.
+					} else if (record == RESTART) {
+						// The snapshot just saved covers every turn so far.
+						writeOut();
+						channel.truncate(0).position(0);
+						started = false;
+						writeHeader();
+						if (unsynced > 0)
+							committedTurn = unsyncedTurn;
+						unsynced = 0;
+					} else {
+						encode(record);
+						unsyncedTurn = record.turn;
+						unsynced++;
+					}
+				}
+				batch.clear();
+
+				long now = System.nanoTime();
+				if (error == null && (unsynced >= syncTurns || stopping || now - lastSync >= syncMillis * 1000000)) {
+					writeOut();
+					channel.force(false);
+					if (unsynced > 0)
+						committedTurn = unsyncedTurn;
+					unsynced = 0;
+					lastSync = now;
+				}
+			} catch (IOException e) {
+				error = e;
+				batch.clear();
+			}
+		}
+	}
+
+	/**
+	 * Write the header, and make sure it has reached the disk. Only used when nothing else can be
+	 * writing to the file.
+	 *
+	 * @throws IOException when file I/O fails
+	 */
+	private void writeHeader() throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(MAGIC).putInt(VERSION).putLong(RandomService.getSeed()).flip();
+		while (header.hasRemaining())
+			channel.write(header);
+		channel.force(false);
+	}
+
+	/**
+	 * Add a turn, and the gap before it if turns were dropped, to the buffer.
+	 *
+	 * @param record the turn
+	 * @throws IOException when the buffer has to be written out and file I/O fails
+	 */
+	private void encode(Record record) throws IOException {
+		if (!started) {
+			// Symbols are numbered afresh from each START record.
+			started = true;
+			symbols.clear();
+			beginRecord(START);
+			endRecord();
+		}
+		if (record.droppedBefore > 0) {
+			beginRecord(GAP);
+			putVarLong(record.turn - record.droppedBefore);
+			putVarLong(record.droppedBefore);
+			endRecord();
+		}
+
+		beginRecord(TURN);
+		putVarLong(record.turn);
+		byte[] keys = record.keys.getBytes(StandardCharsets.UTF_8);
+		putVarLong(keys.length);
+		ensure(keys.length);
+		buffer.put(keys);
+		putVarLong(record.playerChoice + 1L);
+		putVarLong(record.rootDraws);
+		putVarLong(record.mapDraws.length);
+		for (long draws : record.mapDraws) {
+			putVarLong(draws);
+		}
+		putVarLong(record.actions);
+		for (int i = 0; i < record.actions; i++) {
+			putVarLong(record.actorNumbers[i]);
+			putSymbol(record.actionClasses[i].getName());
+			putVarLong(record.actorDraws[i]);
+		}
+		ensure(9);
+		buffer.put((byte) (record.hashed ? 1 : 0));
+		if (record.hashed)
+			buffer.putLong(record.stateHash);
+		endRecord();
+	}
+
+	/**
+	 * Start a record, leaving room for its length.
+	 *
+	 * @param kind the kind of record
+	 * @throws IOException when the buffer has to be written out and file I/O fails
+	 */
+	private void beginRecord(byte kind) throws IOException {
+		if (buffer.position() > buffer.capacity() / 2)
+			writeOut();
+		ensure(5);
+		recordStart = buffer.position();
+		buffer.putInt(0);
+		buffer.put(kind);
+	}
+
+	/**
+	 * Finish a record: fill in its length, and add its CRC.
+	 */
+	private void endRecord() {
+		int length = buffer.position() - recordStart - 4;
+		buffer.putInt(recordStart, length);
+		crc.reset();
+		ByteBuffer payload = buffer.duplicate();
+		payload.position(recordStart + 4).limit(recordStart + 4 + length);
+		crc.update(payload);
+		ensure(4);
+		buffer.putInt((int) crc.getValue());
+	}
+
+	/**
+	 * Add a number of 7 bits a byte to the buffer, as SnapshotWriter.writeVarLong() does.
+	 *
+	 * @param value the number, treated as unsigned
+	 */
+	private void putVarLong(long value) {
+		ensure(10);
+		while ((value & ~0x7FL) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	/**
+	 * Add a name to the buffer, or just its number if it has come up before since the log started.
+	 *
+	 * @param symbol the name
+	 */
+	private void putSymbol(String symbol) {
+		Integer number = symbols.get(symbol);
+		if (number != null) {
+			putVarLong(number);
+			return;
+		}
+		// A number one past the last one says a new name follows.
+		number = symbols.size() + 1;
+		symbols.put(symbol, number);
+		putVarLong(number);
+		byte[] bytes = symbol.getBytes(StandardCharsets.UTF_8);
+		putVarLong(bytes.length);
+		ensure(bytes.length);
+		buffer.put(bytes);
+	}
+
+	/**
+	 * Make room in the buffer, growing it, as a record has to be in the buffer all at once.
+	 *
+	 * @param bytes how many bytes are about to be put in it
+	 */
+	private void ensure(int bytes) {
+		if (buffer.remaining() < bytes) {
+			ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+			buffer.flip();
+			grown.put(buffer);
+			buffer = grown;
+		}
+	}
+
+	/**
+	 * Write the buffer to the file and empty it.
+	 *
+	 * @throws IOException when file I/O fails
+	 */
+	private void writeOut() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+
+	/**
+	 * One turn, on its way from the game to the writer.
+	 */
+	private static class Record {
+		long turn;
+		String keys = "";
+		int playerChoice = -1;
+		long rootDraws;
+		long[] mapDraws;
+		boolean hashed;
+		long stateHash;
+		long droppedBefore;
+		int actions = 0;
+		int[] actorNumbers = new int[16];
+		Class<?>[] actionClasses = new Class<?>[16];
+		long[] actorDraws = new long[16];
+
+		/**
+		 * Add what one Actor did.
+		 *
+		 * @param actorNumber the Actor's number in the journal
+		 * @param actionClass the class of the Action it executed
+		 * @param draws       how many random numbers it drew
+		 */
+		void addAction(int actorNumber, Class<?> actionClass, long draws) {
+			if (actions == actorNumbers.length) {
+				int size = actions * 2;
+				actorNumbers = Arrays.copyOf(actorNumbers, size);
+				actionClasses = Arrays.copyOf(actionClasses, size);
+				actorDraws = Arrays.copyOf(actorDraws, size);
+			}
+			actorNumbers[actions] = actorNumber;
+			actionClasses[actions] = actionClass;
+			actorDraws[actions] = draws;
+			actions++;
+		}
+	}
+}
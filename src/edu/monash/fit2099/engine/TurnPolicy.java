@@ -0,0 +1,20 @@
+package edu.monash.fit2099.engine;
+
+/**
+ * Something that can pick an Action on behalf of an Actor.
+ *
+ * Used by HeadlessWorld to drive the player without a keyboard.
+ */
+public interface TurnPolicy {
+
+	/**
+	 * Select the Action the Actor will perform this turn.
+	 *
+	 * @param actor      the Actor whose turn it is
+	 * @param actions    collection of possible Actions for this Actor
+	 * @param lastAction the Action this Actor took last turn
+	 * @param map        the map containing the Actor
+	 * @return the Action to be performed
+	 */
+	Action chooseAction(Actor actor, Actions actions, Action lastAction, GameMap map);
+}
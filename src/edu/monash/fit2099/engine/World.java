@@ -1,9 +1,15 @@
 package edu.monash.fit2099.engine;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.IntStream;
 
 /**
  * Class representing the game world, including the locations of all Actors, the
@@ -15,6 +21,13 @@ public class World {
 	protected ActorLocations actorLocations = new ActorLocations();
 	protected Actor player; // We only draw the particular map this actor is on.
 	protected Map<Actor, Action> lastActionMap = new HashMap<Actor, Action>();
+	protected MapRenderer renderer = (map, display) -> map.draw(display);
+	private boolean concurrentDecisions = false;
+	private final Map<Class<?>, SnapshotReader.Creator> snapshotCreators = new HashMap<Class<?>, SnapshotReader.Creator>();
+	private final List<Saveable> snapshotParts = new ArrayList<Saveable>();
+	private Path requestedSnapshot;
+	private long turnNumber = 0;
+	private TurnJournal journal;
 
 	/**
 	 * Constructor.
@@ -36,6 +49,41 @@ public class World {
 		gameMap.actorLocations = actorLocations;
 	}
 
+	/**
+	 * Choose how the player's map is drawn each turn.
+	 *
+	 * By default the whole map is drawn with GameMap.draw().
+	 *
+	 * @param renderer the MapRenderer to use
+	 */
+	public void setRenderer(MapRenderer renderer) {
+		Objects.requireNonNull(renderer);
+		this.renderer = renderer;
+	}
+
+	/**
+	 * Choose whether the Actors other than the player decide what to do at the same time.
+	 *
+	 * When this is on, the player has its turn first as usual. Then every other Actor's playTurn()
+	 * runs in parallel, all looking at the world as the player left it, and the chosen Actions are
+	 * executed one at a time in the usual turn order. An Action that has stopped making sense by the
+	 * time it is executed (see Action.isStillValid()) is replaced by doing nothing. Messages an Actor
+	 * prints while deciding are kept back and shown just before its Action is executed.
+	 *
+	 * Before anyone decides, every Actor's prepareTurn() runs one at a time in turn order, so that is
+	 * where an Actor changes anything others can see, or decides outright if deciding changes such
+	 * things. playTurn() must then only change the Actor's own private state: anything that affects
+	 * the map or other Actors has to happen in prepareTurn() or Action.execute(). Otherwise whether
+	 * others see the change before or after they decide is down to timing, and the game stops playing
+	 * out the same way from run to run. Replaying a journal with JournalReplay, or comparing
+	 * hashState() between runs, shows where it first does.
+	 *
+	 * @param concurrentDecisions true to let Actors decide in parallel
+	 */
+	public void setConcurrentDecisions(boolean concurrentDecisions) {
+		this.concurrentDecisions = concurrentDecisions;
+	}
+
 	/**
 	 * Set an actor as the player. The map is drawn just before this Actor's turn
 	 * 
@@ -48,11 +96,227 @@ public class World {
 		actorLocations.setPlayer(player);
 	}
 
+	/**
+	 * Returns the player.
+	 *
+	 * @return the Actor set by addPlayer(), or restored from a snapshot
+	 */
+	public Actor getPlayer() {
+		return player;
+	}
+
+	/**
+	 * Returns how many turns have been played, counting those played before a snapshot was restored.
+	 *
+	 * @return the number of turns finished
+	 */
+	public long getTurnNumber() {
+		return turnNumber;
+	}
+
+	/**
+	 * Record every turn from now on in a journal, so that the game can be recovered if it stops
+	 * without warning.
+	 *
+	 * @param journal the journal, or null to stop recording
+	 * @see TurnJournal#recover(World, Path, Path)
+	 */
+	public void setJournal(TurnJournal journal) {
+		this.journal = journal;
+		display.recordKeys(journal != null);
+	}
+
+	/**
+	 * Say how to make objects of a class, and its subclasses, when restoring a snapshot. Only
+	 * needed for classes without a public no-argument constructor, or where that constructor
+	 * doesn't make the right kind of object.
+	 *
+	 * @param type    the class
+	 * @param creator makes a new object of the class, or a subclass, ready to be restored
+	 */
+	public void addSnapshotType(Class<?> type, SnapshotReader.Creator creator) {
+		Objects.requireNonNull(type);
+		Objects.requireNonNull(creator);
+		snapshotCreators.put(type, creator);
+	}
+
+	/**
+	 * Add some state that isn't on any map, such as a score, to every snapshot of this World.
+	 * Parts are saved and restored in the order they were added.
+	 *
+	 * @param part the state
+	 */
+	public void addSnapshotPart(Saveable part) {
+		Objects.requireNonNull(part);
+		snapshotParts.add(part);
+	}
+
+	/**
+	 * Write the whole state of the game to a file, so that it can be carried on later with
+	 * restoreSnapshot().
+	 *
+	 * That is every map, every Actor and where it is, what each Actor remembers about the others
+	 * and the Action it took last if that is Saveable, the snapshot parts, and where all the sources
+	 * of random numbers have got to. It is written to a temporary file first and then moved into
+	 * place, so a snapshot that was there before is never left half overwritten.
+	 *
+	 * @param file the file to write
+	 * @throws IOException when file I/O fails
+	 */
+	public void saveSnapshot(Path file) throws IOException {
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		try (SnapshotWriter out = new SnapshotWriter(temporary)) {
+			out.setGameMaps(gameMaps);
+			out.writeLong(RandomService.getSeed());
+			out.writeLong(RandomService.getState());
+			out.writeVarLong(turnNumber);
+			out.writeVarLong(gameMaps.size());
+			for (GameMap gameMap : gameMaps) {
+				gameMap.save(out);
+			}
+
+			Map<Actor, Location> placements = actorLocations.placements();
+			out.writeVarLong(placements.size());
+			for (Map.Entry<Actor, Location> placement : placements.entrySet()) {
+				Location location = placement.getValue();
+				out.writeVarLong(gameMaps.indexOf(location.map()));
+				out.writeInt(location.x());
+				out.writeInt(location.y());
+				out.writeBoolean(placement.getKey() == player);
+				out.writeObject(placement.getKey());
+			}
+			// What the Actors are part way through comes after all of them, so it can refer to any of them.
+			for (Actor actor : placements.keySet()) {
+				actor.saveReferences(out);
+				out.writeObjectIfSaveable(lastActionMap.get(actor));
+			}
+
+			for (Saveable part : snapshotParts) {
+				part.save(out);
+			}
+		}
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Work out a hash of the whole state of the game: the turn number, the root source of random
+	 * numbers, every map, every Actor and where it is, and the snapshot parts.
+	 *
+	 * Two runs of a game that hash the same after a turn almost certainly played it the same way,
+	 * so this is a cheap way to check that a replay, or a faster way of running the game, changes
+	 * nothing. It is only meaningful between turns, and walks every loaded Location and every
+	 * Actor, so it costs about a tenth of a turn. What Actors remember about each other and
+	 * their last Actions are left out, as they can't be hashed by value; a difference there shows
+	 * up in the turns after.
+	 *
+	 * @return the hash
+	 * @see JournalReplay
+	 */
+	public long hashState() {
+		StateHash hash = new StateHash();
+		hash.add(turnNumber);
+		hash.add(RandomService.getState());
+		hash.add(gameMaps.size());
+		for (GameMap gameMap : gameMaps) {
+			gameMap.hashState(hash);
+		}
+
+		Map<Actor, Location> placements = actorLocations.placements();
+		hash.add(placements.size());
+		for (Map.Entry<Actor, Location> placement : placements.entrySet()) {
+			Location location = placement.getValue();
+			hash.add(gameMaps.indexOf(location.map()));
+			hash.add(((long) location.x() << 32) | location.y());
+			hash.add(placement.getKey() == player);
+			placement.getKey().hashState(hash);
+		}
+
+		for (Saveable part : snapshotParts) {
+			part.hashState(hash);
+		}
+		return hash.get();
+	}
+
+	/**
+	 * Save a snapshot once the current turn is over, so that carrying on from it starts a fresh
+	 * turn. This is how an Action should save the game.
+	 *
+	 * @param file the file to write
+	 */
+	public void requestSnapshot(Path file) {
+		requestedSnapshot = Objects.requireNonNull(file);
+	}
+
+	/**
+	 * Carry on a game from a snapshot written by saveSnapshot().
+	 *
+	 * The World must have been built the same way as the one that was saved: the same maps, the same
+	 * sizes, in the same order, with the same snapshot parts. Everything on the maps is then replaced,
+	 * and the Actors, player included, are replaced by the ones saved. An Actor carries on with the
+	 * Action it took last if that was saved, so anything part way through, such as following a
+	 * route, goes on as it would have. Otherwise its last Action is taken to be doing nothing.
+	 * If restoring fails part of the way, the World should be thrown away.
+	 *
+	 * @param file the file to read
+	 * @throws IOException when the snapshot can't be read, or doesn't fit this World
+	 */
+	public void restoreSnapshot(Path file) throws IOException {
+		try (SnapshotReader in = new SnapshotReader(file, snapshotCreators)) {
+			in.setGameMaps(gameMaps);
+			long seed = in.readLong();
+			long state = in.readLong();
+			long turn = in.readVarLong();
+			if (in.readCount() != gameMaps.size())
+				throw new IOException("The snapshot has a different number of maps");
+
+			actorLocations.clear();
+			lastActionMap.clear();
+			for (GameMap gameMap : gameMaps) {
+				gameMap.restore(in);
+			}
+
+			player = null;
+			List<Actor> actors = new ArrayList<Actor>();
+			int count = in.readCount();
+			for (int i = 0; i < count; i++) {
+				int mapIndex = in.readCount();
+				if (mapIndex >= gameMaps.size())
+					throw new IOException("Bad map in snapshot");
+				// Actors keep their chunks loaded, so looking them up doesn't need to touch any chunk.
+				Location location = gameMaps.get(mapIndex).loadedAt(in.readInt(), in.readInt());
+				if (location == null)
+					throw new IOException("Actor in a part of the map that wasn't saved");
+				boolean isPlayer = in.readBoolean();
+				Actor actor = in.readObject(Actor.class);
+				actorLocations.add(actor, location);
+				actors.add(actor);
+				if (isPlayer)
+					player = actor;
+			}
+			actorLocations.setPlayer(player);
+			for (Actor actor : actors) {
+				actor.restoreReferences(in);
+				Action lastAction = in.readObject(Action.class);
+				if (lastAction != null)
+					lastActionMap.put(actor, lastAction);
+			}
+
+			for (Saveable part : snapshotParts) {
+				part.restore(in);
+			}
+			// Making the Actors and Items drew from the root stream, so put it back last.
+			RandomService.restore(seed, state);
+			turnNumber = turn;
+			initialiseLastActions();
+		}
+	}
+
 	/**
 	 * Run the game.
 	 *
 	 * On each iteration the gameloop does the following: - displays the player's
 	 * map - processes the actions of every Actor in the game, regardless of map
+	 * - flushes everything printed during the turn to the Display's sink
 	 *
 	 * We could either only process the actors on the current map, which would make
 	 * time stop on the other maps, or we could process all the actors. We chose to
@@ -64,29 +328,65 @@ public class World {
 		if (player == null)
 			throw new IllegalStateException();
 
-		// initialize the last action map to nothing actions;
-		for (Actor actor : actorLocations) {
-			lastActionMap.put(actor, new DoNothingAction());
-		}
+		initialiseLastActions();
 
 		// This loop is basically the whole game
 		while (stillRunning()) {
 			GameMap playersMap = actorLocations.locationOf(player).map();
-			playersMap.draw(display);
+			renderer.draw(playersMap, display);
+
+			processTurn();
+			display.flush();
+		}
+		renderer.close(display);
+		display.println(endGameMessage());
+		display.flush();
+	}
+
+	/**
+	 * Initialize the last action map to nothing actions, for Actors that haven't had a turn yet.
+	 */
+	protected void initialiseLastActions() {
+		for (Actor actor : actorLocations) {
+			lastActionMap.putIfAbsent(actor, new DoNothingAction());
+		}
+	}
 
-			// Process all the actors.
+	/**
+	 * Runs a single turn of the game, without drawing anything.
+	 *
+	 * Every Actor gets its turn, then every GameMap is ticked.
+	 */
+	protected void processTurn() {
+		// Process all the actors.
+		if (concurrentDecisions) {
+			processActorTurnsConcurrently();
+		} else {
 			for (Actor actor : actorLocations) {
 				if (stillRunning())
 					processActorTurn(actor);
 			}
+		}
 
-			// Tick over all the maps. For the map stuff.
-			for (GameMap gameMap : gameMaps) {
-				gameMap.tick();
-			}
+		// Tick over all the maps. For the map stuff.
+		for (GameMap gameMap : gameMaps) {
+			gameMap.tick();
+		}
+		turnNumber++;
 
+		if (journal != null)
+			journal.endTurn(this);
+
+		if (requestedSnapshot != null) {
+			Path file = requestedSnapshot;
+			requestedSnapshot = null;
+			try {
+				saveSnapshot(file);
+				display.println("Game saved to " + file);
+			} catch (IOException e) {
+				display.println("Could not save the game: " + e.getMessage());
+			}
 		}
-		display.println(endGameMessage());
 	}
 
 	/**
@@ -107,6 +407,100 @@ public class World {
 		Location here = actorLocations.locationOf(actor);
 		GameMap map = here.map();
 
+		long randomState = actor.getRandom().getState();
+		Actions actions = getAllowableActions(actor, here);
+		Action action = actor.prepareTurn(actions, lastActionMap.get(actor), map, display);
+		if (action == null)
+			action = chooseAction(actor, actions, map, display);
+		lastActionMap.put(actor, action);
+		
+		String result = action.execute(actor, map);
+		display.println(result);
+		if (journal != null)
+			journal.actionTaken(actor, action, actor == player ? actions.indexOf(action) : -1, randomState);
+	}
+
+	/**
+	 * Gives every Actor its turn, with everyone but the player deciding in parallel.
+	 *
+	 * @see #setConcurrentDecisions(boolean)
+	 */
+	protected void processActorTurnsConcurrently() {
+		List<Actor> actors = new ArrayList<Actor>();
+		for (Actor actor : actorLocations) {
+			actors.add(actor);
+			// Nothing can be loaded once everyone is deciding at the same time.
+			Location here = actorLocations.locationOf(actor);
+			here.map().loadChunksAround(here);
+		}
+
+		// The player goes first, and needs the keyboard to itself.
+		int first = 0;
+		if (!actors.isEmpty() && actors.get(0) == player) {
+			if (stillRunning())
+				processActorTurn(player);
+			first = 1;
+		}
+
+		// Everyone gets ready in turn, as that can change what the others see.
+		long[] randomStates = new long[actors.size()];
+		Actions[] allowed = new Actions[actors.size()];
+		Action[] decisions = new Action[actors.size()];
+		Display[] messages = new Display[actors.size()];
+		for (int i = first; i < actors.size(); i++) {
+			Actor actor = actors.get(i);
+			if (actorLocations.contains(actor)) {
+				randomStates[i] = actor.getRandom().getState();
+				Location here = actorLocations.locationOf(actor);
+				allowed[i] = getAllowableActions(actor, here);
+				messages[i] = new Display(new NullSink());
+				decisions[i] = actor.prepareTurn(allowed[i], lastActionMap.get(actor), here.map(), messages[i]);
+			}
+		}
+
+		// Nothing moves while everyone else makes up their minds.
+		IntStream.range(first, actors.size()).parallel().forEach(i -> {
+			Actor actor = actors.get(i);
+			if (allowed[i] != null && decisions[i] == null && actorLocations.contains(actor)) {
+				Location here = actorLocations.locationOf(actor);
+				decisions[i] = chooseAction(actor, allowed[i], here.map(), messages[i]);
+			}
+		});
+
+		for (int i = first; i < actors.size(); i++) {
+			Actor actor = actors.get(i);
+			if (!stillRunning())
+				break;
+			// Skip anyone who has left the game since they decided.
+			if (decisions[i] == null || !actorLocations.contains(actor))
+				continue;
+
+			display.takeOutputFrom(messages[i]);
+			GameMap map = actorLocations.locationOf(actor).map();
+			Action action = decisions[i];
+			if (!action.isStillValid(actor, map))
+				action = new DoNothingAction();
+			lastActionMap.put(actor, action);
+
+			String result = action.execute(actor, map);
+			display.println(result);
+			if (journal != null)
+				journal.actionTaken(actor, action, -1, randomStates[i]);
+		}
+	}
+
+	/**
+	 * Works out everything an Actor could do this turn.
+	 *
+	 * This only looks at the world, so it is safe to call for several Actors at once.
+	 *
+	 * @param actor the Actor whose turn it is
+	 * @param here  the Location of the Actor
+	 * @return the Actions available to the Actor
+	 */
+	protected Actions getAllowableActions(Actor actor, Location here) {
+		GameMap map = here.map();
+
 		Actions actions = new Actions();
 		for (Item item : actor.getInventory()) {
 			actions.add(item.getAllowableActions());
@@ -133,12 +527,22 @@ public class World {
 			actions.add(item.getPickUpAction());
 		}
 		actions.add(new DoNothingAction());
+		return actions;
+	}
 
-		Action action = actor.playTurn(actions, lastActionMap.get(actor), map, display);
-		lastActionMap.put(actor, action);
-		
-		String result = action.execute(actor, map);
-		display.println(result);
+	/**
+	 * Asks an Actor which of the available Actions it wants to perform this turn.
+	 *
+	 * Override this to drive some Actors by something other than their own playTurn().
+	 *
+	 * @param actor   the Actor whose turn it is
+	 * @param actions the Actions available to the Actor
+	 * @param map     the map containing the Actor
+	 * @param display the Display the Actor's messages should go to
+	 * @return the Action to be performed
+	 */
+	protected Action chooseAction(Actor actor, Actions actions, GameMap map, Display display) {
+		return actor.playTurn(actions, lastActionMap.get(actor), map, display);
 	}
 
 	/**
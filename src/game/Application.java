@@ -1,10 +1,15 @@
 package game;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 
 import edu.monash.fit2099.engine.*;
+import game.action.SaveGameAction;
 import game.dinosaur.Brachiosaur;
 import game.dinosaur.Gender;
 import game.dinosaur.Stegosaur;
@@ -81,11 +86,43 @@ public class Application {
                 modeBoolean = true;
             }
 
+            // Run with -Djurassicpark.snapshot=<file> to carry on from that file, and to be able to save to it.
+            // Add -Djurassicpark.journal=<file> to log every turn, and recover up to the last one logged.
+            // Run with -Djurassicpark.replay=<file> instead to play a logged game over and check it turn by turn.
+            String replay = System.getProperty("jurassicpark.replay");
+            String snapshot = System.getProperty("jurassicpark.snapshot");
+            String journal = System.getProperty("jurassicpark.journal");
+            Path snapshotFile = snapshot != null ? Paths.get(snapshot) : null;
+            Path journalFile = journal != null ? Paths.get(journal) : null;
+
+            // A journal replayed from the start, with no snapshot before it, is of a park built with the
+            // random seed in its header, so this one has to be built with it too
+            Path seedFile = replay != null ? Paths.get(replay)
+                    : snapshotFile == null || !Files.exists(snapshotFile) ? journalFile : null;
+            if (seedFile != null && Files.exists(seedFile)) {
+                try (JournalReader in = new JournalReader(seedFile)) {
+                    RandomService.setSeed(in.getSeed());
+                } catch (IOException e) {
+                    System.out.println("Could not read " + seedFile + ": " + e.getMessage());
+                }
+            }
+
             // Init game
             World world = new World(new Display());
+            // Run with -Djurassicpark.ansi=true on an ANSI terminal to only redraw what changed
+            if (Boolean.getBoolean("jurassicpark.ansi")) {
+                world.setRenderer(new IncrementalRenderer());
+            }
+            // Run with -Djurassicpark.concurrent=true to let the dinosaurs decide in parallel. Replaying a
+            // journal logged that way with the same setting checks that the game still plays out the same.
+            world.setConcurrentDecisions(Boolean.getBoolean("jurassicpark.concurrent"));
 
-            FancyGroundFactory groundFactory = new FancyGroundFactory(new Dirt(), new Wall(), new Floor(), new Tree(),
-                    new VendingMachine(), new Bush(), new Lake());
+            // Dirt, walls, floors and vending machines have no state of their own, so every tile shares one
+            FlyweightGroundFactory groundFactory = new FlyweightGroundFactory(new Dirt(), new Wall(), new Floor(),
+                    new VendingMachine())
+                    .addSupplier('+', Tree::new)
+                    .addSupplier('w', Bush::new)
+                    .addSupplier('~', Lake::new);
 
             // first map
             List<String> map1 = Arrays.asList(
@@ -161,7 +198,64 @@ public class Application {
             gameMap1.at(20, 12).addActor(new Brachiosaur(Gender.MALE));
             gameMap1.at(19, 12).addActor(new Brachiosaur(Gender.FEMALE));
 
+            if (replay != null) {
+                JurassicParkSnapshot.prepare(world);
+                try {
+                    System.out.println(JournalReplay.replay(world, Paths.get(replay)));
+                } catch (IOException e) {
+                    System.out.println("Could not replay " + replay + ": " + e.getMessage());
+                }
+                continue;
+            }
+            if (snapshotFile != null || journalFile != null) {
+                JurassicParkSnapshot.prepare(world);
+                try {
+                    if (journalFile != null) {
+                        JournalReplay.Result recovered = TurnJournal.recover(world, snapshotFile, journalFile);
+                        if (!recovered.isIdentical()) {
+                            System.out.println("Recovered up to turn " + recovered.getLastTurn()
+                                    + ", the last one to play out as it was logged: " + recovered);
+                        }
+                    } else if (Files.exists(snapshotFile)) {
+                        world.restoreSnapshot(snapshotFile);
+                    }
+                } catch (IOException e) {
+                    System.out.println("Could not carry on the saved game: " + e.getMessage());
+                    continue;
+                }
+            }
+            if (snapshotFile != null) {
+                ((Player) world.getPlayer()).setSaveAction(new SaveGameAction(world, snapshotFile));
+            }
+            TurnJournal turnJournal = null;
+            if (journalFile != null) {
+                try {
+                    turnJournal = new TurnJournal(journalFile);
+                } catch (IOException e) {
+                    System.out.println("Could not open " + journalFile + ": " + e.getMessage());
+                    continue;
+                }
+                if (snapshotFile != null) {
+                    turnJournal.setSnapshots(snapshotFile, Integer.getInteger("jurassicpark.snapshotTurns", 100));
+                }
+                // Add -Djurassicpark.hashTurns=<n> to log a hash of the park every n turns instead of every turn,
+                // which saves some of the time hashing takes but finds a replay going wrong later. 0 turns it off.
+                Integer hashTurns = Integer.getInteger("jurassicpark.hashTurns");
+                if (hashTurns != null) {
+                    turnJournal.setStateHashing(hashTurns);
+                }
+                world.setJournal(turnJournal);
+            }
+
             world.run();
+
+            if (turnJournal != null) {
+                try {
+                    turnJournal.close();
+                } catch (IOException e) {
+                    System.out.println("Could not finish " + journalFile + ": " + e.getMessage());
+                }
+            }
         }
 
     }
@@ -0,0 +1,183 @@
+package game;
+
+import edu.monash.fit2099.engine.*;
+import game.dinosaur.Allosaur;
+import game.dinosaur.Brachiosaur;
+import game.dinosaur.Dinosaur;
+import game.dinosaur.Gender;
+import game.dinosaur.Pterodactyl;
+import game.dinosaur.Stegosaur;
+import game.growable.Bush;
+import game.growable.Tree;
+import game.watertile.Lake;
+import game.watertile.WaterTile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks that the game plays out the same way every time, by comparing the hash of the World
+ * after every turn.
+ * <p>
+ * A random park is played with a TurnJournal logging the hashes, and a newly built copy of the
+ * park replays the log. That shows nothing depends on timing, or on anything else that changes
+ * from run to run. Then the park is played again, saving snapshots as it goes. Another copy is
+ * restored from the last snapshot and replays the turns after it. That shows a restored game
+ * carries on exactly as the one that was saved did.
+ * <p>
+ * The arguments are, in order, with their defaults:
+ * <ul>
+ * <li>how many turns to play (200)</li>
+ * <li>how many turns apart to save snapshots (30)</li>
+ * <li>the width and height of the park (60 and 40)</li>
+ * <li>how many dinosaurs to put in it (120)</li>
+ * </ul>
+ * Run with -Djurassicpark.concurrent=true to check the game with concurrent decisions, and with
+ * -Djurassicpark.seed to check a particular park. The exit status is 1 if a check fails.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see JournalReplay
+ * @see World#hashState()
+ * @since 18/10/2026
+ */
+public class DeterminismCheck {
+
+    private final int turns;
+    private final int width;
+    private final int height;
+    private final int dinosaurCount;
+    private final long seed = RandomService.getSeed();
+
+    /**
+     * Constructor.
+     *
+     * @param turns         how many turns to play
+     * @param width         width of the park
+     * @param height        height of the park
+     * @param dinosaurCount how many dinosaurs to put in it
+     */
+    private DeterminismCheck(int turns, int width, int height, int dinosaurCount) {
+        this.turns = turns;
+        this.width = width;
+        this.height = height;
+        this.dinosaurCount = dinosaurCount;
+    }
+
+    /**
+     * Run the checks.
+     *
+     * @param args the number of turns, how far apart snapshots are, the width and height, and the number of dinosaurs
+     * @throws IOException when the journal or snapshot can't be written or read
+     */
+    public static void main(String[] args) throws IOException {
+        int turns = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int snapshotTurns = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int width = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int height = args.length > 3 ? Integer.parseInt(args[3]) : 40;
+        int dinosaurCount = args.length > 4 ? Integer.parseInt(args[4]) : 120;
+        DeterminismCheck check = new DeterminismCheck(turns, width, height, dinosaurCount);
+        System.out.println("Checking " + turns + " turns of a " + width + "x" + height + " park with seed " + check.seed);
+
+        Path journal = Files.createTempFile("jurassicpark", ".journal");
+        Path snapshot = Files.createTempFile("jurassicpark", ".snapshot");
+        try {
+            check.play(journal, null, 0);
+            JournalReplay.Result replayed = JournalReplay.replay(check.build(), journal);
+            System.out.println("Played again: " + replayed);
+
+            check.play(journal, snapshot, snapshotTurns);
+            World restored = check.build();
+            restored.restoreSnapshot(snapshot);
+            long restoredTurn = restored.getTurnNumber();
+            JournalReplay.Result carriedOn = JournalReplay.replay(restored, journal);
+            System.out.println("Restored at turn " + restoredTurn + ": " + carriedOn);
+
+            if (!replayed.isIdentical() || !carriedOn.isIdentical()) {
+                System.exit(1);
+            }
+        } finally {
+            Files.deleteIfExists(journal);
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    /**
+     * Build the park and play it, logging every turn.
+     *
+     * @param journalFile   the journal to log to, which is started afresh
+     * @param snapshotFile  where to save snapshots, or null not to
+     * @param snapshotTurns how many turns apart to save them
+     * @throws IOException when a file can't be written
+     */
+    private void play(Path journalFile, Path snapshotFile, int snapshotTurns) throws IOException {
+        World world = build();
+        Files.deleteIfExists(journalFile);
+        TurnJournal journal = new TurnJournal(journalFile);
+        if (snapshotFile != null) {
+            journal.setSnapshots(snapshotFile, snapshotTurns);
+        }
+        world.setJournal(journal);
+        world.run();
+        journal.close();
+    }
+
+    /**
+     * Build the park afresh, exactly as it was built the first time.
+     *
+     * @return a World ready to run
+     */
+    private World build() {
+        RandomService.setSeed(seed);
+        VendingMachine.increaseEcoPoint(-VendingMachine.getEcoPoint());
+        RandomStream random = RandomService.newStream();
+
+        HeadlessWorld world = new HeadlessWorld(new Display(new NullSink()), turns);
+        world.setConcurrentDecisions(Boolean.getBoolean("jurassicpark.concurrent"));
+        GroundFactory groundFactory = new FlyweightGroundFactory(new Dirt(), new Wall(), new Floor(), new VendingMachine())
+                .addSupplier('+', Tree::new)
+                .addSupplier('w', Bush::new)
+                .addSupplier('~', Lake::new);
+        List<String> lines = new ArrayList<>(height);
+        for (int y = 0; y < height; y++) {
+            StringBuilder row = new StringBuilder(width);
+            for (int x = 0; x < width; x++) {
+                int roll = random.nextInt(20);
+                row.append(roll == 0 ? '+' : roll == 1 ? '~' : roll == 2 ? 'w' : '.');
+            }
+            lines.add(row.toString());
+        }
+        JurassicParkGameMap map = new JurassicParkGameMap(groundFactory, lines);
+        world.addGameMap(map);
+        world.addPlayer(new Player("Player", '@', 100), map.at(0, 0));
+
+        for (int i = 0; i < dinosaurCount; i++) {
+            Location location = map.at(random.nextInt(width), random.nextInt(height));
+            if (location.containsAnActor() || location.getGround() instanceof WaterTile) {
+                continue;
+            }
+            // Each kind gets both genders, so they breed
+            Gender gender = (i / 4) % 2 == 0 ? Gender.MALE : Gender.FEMALE;
+            Dinosaur dinosaur;
+            switch (i % 4) {
+                case 0:
+                    dinosaur = new Stegosaur(gender);
+                    break;
+                case 1:
+                    dinosaur = new Brachiosaur(gender);
+                    break;
+                case 2:
+                    dinosaur = new Allosaur(gender);
+                    break;
+                default:
+                    dinosaur = new Pterodactyl(gender);
+            }
+            location.addActor(dinosaur);
+        }
+        JurassicParkSnapshot.prepare(world);
+        return world;
+    }
+}
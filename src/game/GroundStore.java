@@ -0,0 +1,284 @@
+package game;
+
+import edu.monash.fit2099.engine.Location;
+
+/**
+ * The counters of every Growable and WaterTile on one map, kept in arrays indexed by cell.
+ * <p>
+ * Grounds decide in their prepareTick() whether a fruit or a fish grows, or how much rain
+ * they catch, and note it here. The map then applies every one of those in a single pass over
+ * the arrays, rather than visiting each Ground object in turn.
+ * <p>
+ * The map is split into square pages, and a page's arrays are only made once a counter in it
+ * is set, so a huge map that is mostly dirt doesn't need arrays the size of the whole map.
+ * Cells are numbered a page at a time, and a row at a time within each page. Pages on the
+ * right and bottom edges are cut down to the part of them that is on the map.
+ * Cells without a Growable or WaterTile hold zeros, so the passes don't need to skip them.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see StoredGround
+ * @see JurassicParkGameMap
+ * @since 18/10/2026
+ */
+public class GroundStore {
+
+    /**
+     * Width and height of a page, in tiles.
+     */
+    public static final int PAGE_SIZE = 64;
+
+    private static final int PAGE_CELLS = PAGE_SIZE * PAGE_SIZE;
+
+    private final int width;
+    private final int height;
+    private final int pagesAcross;
+    private final Page[] pages;
+
+    /**
+     * The counters of one page.
+     */
+    private static class Page {
+        // Growables
+        private final int[] ripeFruit;
+        private final int[] fruitGrowing;
+        private final int[] ecoPointsPerFruit;
+
+        // Water tiles
+        private final int[] sipCapacity;
+        private final int[] sipGain;
+        private final int[] fishCount;
+        private final int[] fishGrowing;
+        private final int[] maxFishCount;
+
+        /**
+         * Constructor.
+         *
+         * @param cells the number of cells on the page
+         */
+        private Page(int cells) {
+            ripeFruit = new int[cells];
+            fruitGrowing = new int[cells];
+            ecoPointsPerFruit = new int[cells];
+            sipCapacity = new int[cells];
+            sipGain = new int[cells];
+            fishCount = new int[cells];
+            fishGrowing = new int[cells];
+            maxFishCount = new int[cells];
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param width  width of the map, in tiles
+     * @param height height of the map, in tiles
+     */
+    public GroundStore(int width, int height) {
+        this.width = width;
+        this.height = height;
+        pagesAcross = (width + PAGE_SIZE - 1) / PAGE_SIZE;
+        int pagesDown = (height + PAGE_SIZE - 1) / PAGE_SIZE;
+        pages = new Page[pagesAcross * pagesDown];
+    }
+
+    /**
+     * Works out which cell a Location is.
+     *
+     * @param location a Location on this store's map
+     * @return the index of its cell
+     */
+    public int cellOf(Location location) {
+        int left = location.x() - location.x() % PAGE_SIZE;
+        int page = (location.y() / PAGE_SIZE) * pagesAcross + location.x() / PAGE_SIZE;
+        int pageWidth = Math.min(PAGE_SIZE, width - left);
+        return page * PAGE_CELLS + (location.y() % PAGE_SIZE) * pageWidth + location.x() - left;
+    }
+
+    /**
+     * Grow every fruit that was noted as growing, all in one pass.
+     *
+     * @return the eco points earned by the fruit that grew
+     */
+    public int applyFruitGrowth() {
+        int ecoPoints = 0;
+        for (Page page : pages) {
+            if (page == null) {
+                continue;
+            }
+            for (int cell = 0; cell < page.ripeFruit.length; cell++) {
+                int growing = page.fruitGrowing[cell];
+                page.ripeFruit[cell] += growing;
+                ecoPoints += growing * page.ecoPointsPerFruit[cell];
+                page.fruitGrowing[cell] = 0;
+            }
+        }
+        return ecoPoints;
+    }
+
+    /**
+     * Add every sip of rain and every fish that was noted, all in one pass.
+     * Fish never go over a tile's maximum.
+     */
+    public void applyWaterGrowth() {
+        for (Page page : pages) {
+            if (page == null) {
+                continue;
+            }
+            for (int cell = 0; cell < page.sipCapacity.length; cell++) {
+                page.sipCapacity[cell] += page.sipGain[cell];
+                page.sipGain[cell] = 0;
+            }
+            for (int cell = 0; cell < page.fishCount.length; cell++) {
+                page.fishCount[cell] = Math.min(page.fishCount[cell] + page.fishGrowing[cell], page.maxFishCount[cell]);
+                page.fishGrowing[cell] = 0;
+            }
+        }
+    }
+
+    /**
+     * Sets every counter in a cell back to zero.
+     *
+     * @param cell the cell to clear
+     */
+    public void clear(int cell) {
+        Page page = pageOf(cell);
+        if (page == null) {
+            return;
+        }
+        int i = cell % PAGE_CELLS;
+        page.ripeFruit[i] = 0;
+        page.fruitGrowing[i] = 0;
+        page.ecoPointsPerFruit[i] = 0;
+        page.sipCapacity[i] = 0;
+        page.sipGain[i] = 0;
+        page.fishCount[i] = 0;
+        page.fishGrowing[i] = 0;
+        page.maxFishCount[i] = 0;
+    }
+
+    /**
+     * @param cell the cell
+     * @return the page holding the cell, or null if nothing in it has been set
+     */
+    private Page pageOf(int cell) {
+        return pages[cell / PAGE_CELLS];
+    }
+
+    /**
+     * @param cell the cell
+     * @return the page holding the cell, made if it wasn't there
+     */
+    private Page pageToSet(int cell) {
+        int index = cell / PAGE_CELLS;
+        Page page = pages[index];
+        if (page == null) {
+            int left = (index % pagesAcross) * PAGE_SIZE;
+            int top = (index / pagesAcross) * PAGE_SIZE;
+            page = new Page(Math.min(PAGE_SIZE, width - left) * Math.min(PAGE_SIZE, height - top));
+            pages[index] = page;
+        }
+        return page;
+    }
+
+    /**
+     * @param cell the cell
+     * @return the number of ripe fruit in the cell
+     */
+    public int getRipeFruit(int cell) {
+        Page page = pageOf(cell);
+        return page == null ? 0 : page.ripeFruit[cell % PAGE_CELLS];
+    }
+
+    /**
+     * @param cell  the cell
+     * @param count the number of ripe fruit in the cell
+     */
+    public void setRipeFruit(int cell, int count) {
+        pageToSet(cell).ripeFruit[cell % PAGE_CELLS] = count;
+    }
+
+    /**
+     * @param cell the cell
+     * @return true if a fruit will grow in the cell this turn
+     */
+    public boolean isFruitGrowing(int cell) {
+        Page page = pageOf(cell);
+        return page != null && page.fruitGrowing[cell % PAGE_CELLS] != 0;
+    }
+
+    /**
+     * @param cell    the cell
+     * @param growing whether a fruit will grow in the cell this turn
+     */
+    public void setFruitGrowing(int cell, boolean growing) {
+        pageToSet(cell).fruitGrowing[cell % PAGE_CELLS] = growing ? 1 : 0;
+    }
+
+    /**
+     * @param cell   the cell
+     * @param points eco points earned for each fruit that grows in the cell
+     */
+    public void setEcoPointsPerFruit(int cell, int points) {
+        pageToSet(cell).ecoPointsPerFruit[cell % PAGE_CELLS] = points;
+    }
+
+    /**
+     * @param cell the cell
+     * @return the sips of water in the cell
+     */
+    public int getSipCapacity(int cell) {
+        Page page = pageOf(cell);
+        return page == null ? 0 : page.sipCapacity[cell % PAGE_CELLS];
+    }
+
+    /**
+     * @param cell the cell
+     * @param sips the sips of water in the cell
+     */
+    public void setSipCapacity(int cell, int sips) {
+        pageToSet(cell).sipCapacity[cell % PAGE_CELLS] = sips;
+    }
+
+    /**
+     * @param cell the cell
+     * @param sips sips of rain to add to the cell this turn
+     */
+    public void addSipGain(int cell, int sips) {
+        pageToSet(cell).sipGain[cell % PAGE_CELLS] += sips;
+    }
+
+    /**
+     * @param cell the cell
+     * @return the number of fish in the cell
+     */
+    public int getFishCount(int cell) {
+        Page page = pageOf(cell);
+        return page == null ? 0 : page.fishCount[cell % PAGE_CELLS];
+    }
+
+    /**
+     * @param cell  the cell
+     * @param count the number of fish in the cell
+     */
+    public void setFishCount(int cell, int count) {
+        pageToSet(cell).fishCount[cell % PAGE_CELLS] = count;
+    }
+
+    /**
+     * Note that a fish will grow in the cell this turn.
+     *
+     * @param cell the cell
+     */
+    public void setFishGrowing(int cell) {
+        pageToSet(cell).fishGrowing[cell % PAGE_CELLS] = 1;
+    }
+
+    /**
+     * @param cell  the cell
+     * @param count the most fish the cell can hold
+     */
+    public void setMaxFishCount(int cell, int count) {
+        pageToSet(cell).maxFishCount[cell % PAGE_CELLS] = count;
+    }
+}
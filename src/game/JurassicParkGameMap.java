@@ -2,13 +2,20 @@ package game;
 
 import edu.monash.fit2099.engine.Exit;
 import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Ground;
 import edu.monash.fit2099.engine.GroundFactory;
 import edu.monash.fit2099.engine.Location;
+import edu.monash.fit2099.engine.SnapshotReader;
+import edu.monash.fit2099.engine.SnapshotWriter;
+import edu.monash.fit2099.engine.StateHash;
 import game.dinosaur.Dinosaur;
 import game.growable.GrowableStatus;
+import game.items.ItemStats;
 import game.watertile.WaterTileStatus;
+import game.weather.Weather;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -23,8 +30,25 @@ import java.util.List;
  */
 public class JurassicParkGameMap extends GameMap {
 
-//    private boolean rain;
+    /**
+     * Width and height of a weather cell. Maps smaller than this share one cell,
+     * so it rains everywhere or nowhere.
+     */
+    public static final int WEATHER_CELL_SIZE = 100;
+
+    /**
+     * The character the GroundFactory makes Dirt from.
+     */
+    public static final char DIRT_CHAR = '.';
+
     private int turnElapsed;
+    private Weather weather;
+    private GroundStore groundStore;
+
+    /**
+     * The Dirt shared by every tile of this map, made by the map's GroundFactory.
+     */
+    private Ground dirt;
 
     /**
      * Constructor.
@@ -36,7 +60,22 @@ public class JurassicParkGameMap extends GameMap {
      */
     public JurassicParkGameMap(GroundFactory groundFactory, char groundChar, int width, int height) {
         super(groundFactory, groundChar, width, height);
-        initialBushGrowth();
+        initJurassicPark();
+    }
+
+    /**
+     * Constructor for a map that can be chunked.
+     *
+     * @param groundFactory Factory to create Ground objects
+     * @param groundChar    Symbol that will represent empty Ground in this map
+     * @param width         width of the GameMap, in characters
+     * @param height        height of the GameMap, in characters
+     * @param chunkSize     width and height of a chunk, or 0 to make every Location straight away
+     * @see GameMap#GameMap(GroundFactory, char, int, int, int)
+     */
+    public JurassicParkGameMap(GroundFactory groundFactory, char groundChar, int width, int height, int chunkSize) {
+        super(groundFactory, groundChar, width, height, chunkSize);
+        initJurassicPark();
     }
 
     /**
@@ -47,7 +86,19 @@ public class JurassicParkGameMap extends GameMap {
      */
     public JurassicParkGameMap(GroundFactory groundFactory, List<String> lines) {
         super(groundFactory, lines);
-        initialBushGrowth();
+        initJurassicPark();
+    }
+
+    /**
+     * Constructor that creates a map, which can be chunked, from a sequence of ASCII strings.
+     *
+     * @param groundFactory Factory to create Ground objects
+     * @param lines         List of Strings representing rows of the map
+     * @param chunkSize     width and height of a chunk, or 0 to make every Location straight away
+     */
+    public JurassicParkGameMap(GroundFactory groundFactory, List<String> lines, int chunkSize) {
+        super(groundFactory, lines, chunkSize);
+        initJurassicPark();
     }
 
     /**
@@ -60,9 +111,45 @@ public class JurassicParkGameMap extends GameMap {
      */
     public JurassicParkGameMap(GroundFactory groundFactory, String mapFile) throws IOException {
         super(groundFactory, mapFile);
+        initJurassicPark();
+    }
+
+    /**
+     * Constructor that reads a map, which can be chunked, from a text or run-length encoded file.
+     *
+     * @param groundFactory Factory to create Ground objects
+     * @param mapFile       the map file
+     * @param chunkSize     width and height of a chunk, or 0 to make every Location straight away
+     * @throws IOException when file I/O fails, or the file isn't a map
+     * @see GameMap#GameMap(GroundFactory, Path, int)
+     */
+    public JurassicParkGameMap(GroundFactory groundFactory, Path mapFile, int chunkSize) throws IOException {
+        super(groundFactory, mapFile, chunkSize);
+        initJurassicPark();
+    }
+
+    /**
+     * Sets up everything the JurassicPark adds to a map, once the Locations have been made.
+     * On a chunked map, chunks loaded later set themselves up as their Grounds arrive.
+     */
+    private void initJurassicPark() {
+        dirt = groundFactory.newGround(DIRT_CHAR);
+        attachGroundStore();
+        buildIndices();
+        weather = new Weather(getWidth(), getHeight(), WEATHER_CELL_SIZE);
         initialBushGrowth();
     }
 
+    /**
+     * Returns the Dirt that tiles turn into, such as when a bush dies. With a FlyweightGroundFactory
+     * it is the one every dirt tile shares, so turning a tile into dirt allocates nothing.
+     *
+     * @return the map's Dirt
+     */
+    public Ground getDirt() {
+        return dirt;
+    }
+
     /**
      * Creates a new Location.
      * <p>
@@ -78,57 +165,153 @@ public class JurassicParkGameMap extends GameMap {
     }
 
     /**
-     * Used to grow all the bushes at the start
+     * Moves the counters of every Growable and WaterTile on the map into one GroundStore.
+     * Grounds placed later are attached as they arrive.
      */
-    private void initialBushGrowth() {
-        for (int y : heights) {
-            for (int x : widths) {
-                JurassicParkLocation location = (JurassicParkLocation) this.at(x, y);
-                if (location.getGround().hasCapability(GrowableStatus.DIRT)) {
-                    location.checkBushGrowth();
-                }
+    private void attachGroundStore() {
+        groundStore = new GroundStore(getWidth(), getHeight());
+        forEachLoadedLocation(location -> {
+            if (location.getGround() instanceof StoredGround) {
+                ((StoredGround) location.getGround()).attach(groundStore, groundStore.cellOf(location));
+            }
+        });
+    }
+
+    /**
+     * Keeps the GroundStore up to date when a Ground is replaced.
+     *
+     * @param location  the Location whose Ground changed
+     * @param oldGround the Ground that was there before, or null if there wasn't one
+     * @param newGround the Ground that is there now
+     */
+    @Override
+    protected void groundChanged(Location location, Ground oldGround, Ground newGround) {
+        // Grounds placed while the map is being built are attached once it is finished.
+        if (groundStore != null) {
+            if (oldGround instanceof StoredGround) {
+                ((StoredGround) oldGround).detach();
+            }
+            if (newGround instanceof StoredGround) {
+                ((StoredGround) newGround).attach(groundStore, groundStore.cellOf(location));
             }
         }
+        super.groundChanged(location, oldGround, newGround);
+    }
+
+    /**
+     * Grows the fruit, fish and water that every Ground rolled for this turn, in one pass over the store.
+     */
+    @Override
+    protected void afterPrepareTick() {
+        int ecoPoints = groundStore.applyFruitGrowth();
+        if (ecoPoints > 0) {
+            VendingMachine.increaseEcoPoint(ecoPoints);
+        }
+        groundStore.applyWaterGrowth();
+    }
+
+    /**
+     * @return the store holding the counters of the Growables and WaterTiles on this map
+     */
+    public GroundStore getGroundStore() {
+        return groundStore;
+    }
+
+    /**
+     * Indexes the grounds and items that behaviours search the whole map for,
+     * so that they don't have to scan every tile to find the closest one.
+     */
+    private void buildIndices() {
+        indexGroundCapability(GrowableStatus.TALL);
+        indexGroundCapability(GrowableStatus.SHORT);
+        indexGroundCapability(WaterTileStatus.WATER_TRAVERSE);
+        indexItemCapability(ItemStats.CARNIVORE_CAN_EAT);
+        indexItemCapability(ItemStats.HERBIVORE_CAN_EAT);
+    }
+
+    /**
+     * Used to grow all the bushes at the start.
+     * Chunks of a chunked map that aren't loaded yet start with none.
+     */
+    private void initialBushGrowth() {
+        forEachLoadedLocation(location -> {
+            if (location.getGround().hasCapability(GrowableStatus.DIRT)) {
+                ((JurassicParkLocation) location).checkBushGrowth();
+            }
+        });
     }
 
     /**
      * Called once per turn, so that maps can experience the passage of time.
+     * <p>
+     * Rain only lasts for one turn. Every 10 turns, each weather cell has a 20% chance of rain.
      */
     @Override
     public void tick() {
-        removeRainEnum();
+        weather.clear();
         turnElapsed++;
         if (turnElapsed % 10 == 0){
-            double chance = Math.random();
-            if (chance < 0.2){
-                addRainEnum();
+            for (int cell = 0; cell < weather.getCellCount(); cell++) {
+                double chance = getRandom().nextDouble();
+                if (chance < 0.2){
+                    weather.setCell(cell, true);
+                }
             }
         }
         super.tick();
     }
 
     /**
-     * Adds rain enum to all grounds.
+     * Also writes how many turns have passed, and where it is raining.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
      */
-    private void addRainEnum(){
-        for (int y : heights) {
-            for (int x : widths) {
-                this.at(x, y).getGround().addCapability(WaterTileStatus.RAIN);
-            }
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        super.save(out);
+        out.writeInt(turnElapsed);
+        for (int cell = 0; cell < weather.getCellCount(); cell++) {
+            out.writeBoolean(weather.isCellRaining(cell));
         }
     }
 
     /**
-     * Removes rain enum to all grounds.
+     * Also adds the turns elapsed and where it is raining.
+     *
+     * @param hash the hash to add to
      */
-    private void removeRainEnum(){
-        for (int y : heights) {
-            for (int x : widths) {
-                this.at(x, y).getGround().removeCapability(WaterTileStatus.RAIN);
-            }
+    @Override
+    public void hashState(StateHash hash) {
+        super.hashState(hash);
+        hash.add(turnElapsed);
+        for (int cell = 0; cell < weather.getCellCount(); cell++) {
+            hash.add(weather.isCellRaining(cell));
         }
     }
 
+    /**
+     * Reads back how many turns have passed, and where it is raining.
+     *
+     * @param in where to read from
+     * @throws IOException when the snapshot can't be read
+     */
+    @Override
+    public void restore(SnapshotReader in) throws IOException {
+        super.restore(in);
+        turnElapsed = in.readInt();
+        for (int cell = 0; cell < weather.getCellCount(); cell++) {
+            weather.setCell(cell, in.readBoolean());
+        }
+    }
+
+    /**
+     * @return the weather over this map
+     */
+    public Weather getWeather() {
+        return weather;
+    }
+
     /**
      *  This is probably not going to be used, but is here regardless.
      *
@@ -186,7 +369,7 @@ public class JurassicParkGameMap extends GameMap {
                 hereGoThere = 4;
                 thereGoHere = 8;
             }
-            for(int x:getXRange()){
+            for (int x = 0; x < getWidth(); x++) {
                 if (otherMap.getXRange().contains(x)){
                     Location here = at(x,yAxisHere);
                     Location there = otherMap.at(x, yAxisThere);
@@ -206,7 +389,7 @@ public class JurassicParkGameMap extends GameMap {
                 hereGoThere = 6;
                 thereGoHere = 4;
             }
-            for(int y:getYRange()){
+            for (int y = 0; y < getHeight(); y++) {
                 if (otherMap.getXRange().contains(y)){
                     Location here = at(xAxisHere,y);
                     Location there = otherMap.at(xAxisThere, y);
@@ -31,21 +31,44 @@ public class JurassicParkLocation extends Location {
         super(map, x, y);
     }
 
+    /**
+     * The Ground this location will change to at the end of the turn, decided in prepareTick().
+     * Null if it isn't changing.
+     */
+    private Ground nextGround;
+
     /**
      * Used to check if a bush can grow in the current location.
      */
     protected void checkBushGrowth() {
+        if (rollBushGrowth()) {
+            setGround(new Bush());
+        }
+    }
+
+    /**
+     * Works out whether a bush will grow in the current location, without growing it.
+     *
+     * @return true if a bush grows, else false
+     */
+    protected boolean rollBushGrowth() {
         double chance;
         int badGrowthNumber = 0;
         int goodGrowthNumber = 0;
-        // Get all 8 tiles and note down the number of trees and bushes
-        for (Exit exit : getExits()) {
-            Location there = exit.getDestination();
-            Ground ground = there.getGround();
-            if (ground.hasCapability(GrowableStatus.OBSTRUCT_GROWTH)) {
-                badGrowthNumber++;
-            } else if (ground.hasCapability(GrowableStatus.ENCOURAGE_GROWTH)) {
-                goodGrowthNumber++;
+        // Get all 8 tiles and note down the number of trees and bushes.
+        // Only the grounds are looked at, so no chunk of the map gets loaded just for this.
+        GameMap map = map();
+        for (int y = y() - 1; y <= y() + 1; y++) {
+            for (int x = x() - 1; x <= x() + 1; x++) {
+                if ((x == x() && y == y()) || !map.getXRange().contains(x) || !map.getYRange().contains(y)) {
+                    continue;
+                }
+                Ground ground = map.groundAt(x, y);
+                if (ground.hasCapability(GrowableStatus.OBSTRUCT_GROWTH)) {
+                    badGrowthNumber++;
+                } else if (ground.hasCapability(GrowableStatus.ENCOURAGE_GROWTH)) {
+                    goodGrowthNumber++;
+                }
             }
         }
 
@@ -59,43 +82,63 @@ public class JurassicParkLocation extends Location {
         }
 
         // Run RNGesus
-        double randomChance = Math.random();
-        if (randomChance < chance) {
-            setGround(new Bush());
-        }
+        double randomChance = getRandom().nextDouble();
+        return randomChance < chance;
     }
 
     /**
      * Used to check if a bush will die.
+     *
+     * @param ground the Ground that will be here this turn
+     * @return true if the bush is stomped to death, else false
      */
-    private void checkBushDeath() {
+    private boolean rollBushDeath(Ground ground) {
         double chanceBushDeath = 0.5; // Chance of stomping the bush to death
         // Check if bush in the first place
-        if (getGround().hasCapability(GrowableStatus.FRAGILE)) {
+        if (ground.hasCapability(GrowableStatus.FRAGILE)) {
             // Check if the dinosaur has the ability to kill a bush
             Actor dinosaur = getActor();
             if (dinosaur != null && dinosaur.hasCapability(DinosaurStatus.STOMP_BUSH)) {
                 // Run RNGesus
-                double chance = Math.random();
-                if (chance < chanceBushDeath) {
-                    setGround(new Dirt());
-                }
+                double chance = getRandom().nextDouble();
+                return chance < chanceBushDeath;
             }
         }
+        return false;
+    }
+
+    /**
+     * First half of the turn.
+     * In this JurassicPark version of location, we will check if there's a chance
+     * for a bush to grow, or chance of Brachiosaur killing a bush. Both only look at
+     * the map as it was at the start of the turn, so a bush growing here can't
+     * encourage its neighbours to grow in the same turn.
+     */
+    @Override
+    public void prepareTick() {
+        nextGround = null;
+        if (getGround().hasCapability(GrowableStatus.DIRT) && rollBushGrowth()) {
+            nextGround = new Bush();
+        }
+        Ground ground = nextGround != null ? nextGround : getGround();
+        if (rollBushDeath(ground)) {
+            nextGround = map() instanceof JurassicParkGameMap ? ((JurassicParkGameMap) map()).getDirt() : new Dirt();
+            ground = nextGround;
+        }
+        ground.prepareTick(this);
     }
 
     /**
      * Called every turn to give the location and anything on it to inform them
      * the passage of time.
-     * In this JurassicPark version of location, we will check if there's a chance
-     * for a bush to grow, or chance of Brachiosaur killing a bush.
+     * Applies any change of Ground decided in prepareTick().
      */
     @Override
     public void tick() {
-        if (getGround().hasCapability(GrowableStatus.DIRT)) {
-            checkBushGrowth();
+        if (nextGround != null) {
+            setGround(nextGround);
+            nextGround = null;
         }
-        checkBushDeath();
         super.tick();
     }
 }
@@ -0,0 +1,97 @@
+package game;
+
+import edu.monash.fit2099.engine.Action;
+import edu.monash.fit2099.engine.DoNothingAction;
+import edu.monash.fit2099.engine.Saveable;
+import edu.monash.fit2099.engine.SnapshotReader;
+import edu.monash.fit2099.engine.SnapshotWriter;
+import edu.monash.fit2099.engine.StateHash;
+import edu.monash.fit2099.engine.World;
+import game.action.BreedAction;
+import game.action.EatItemAction;
+import game.action.EatPreyAction;
+import game.action.MatingCallAction;
+import game.behaviour.Behaviour;
+import game.behaviour.ContinuingAction;
+import game.behaviour.FollowBehaviour;
+import game.behaviour.GoToLocation;
+import game.behaviour.SmallBeakFeedingBehaviour;
+import game.dinosaur.Dinosaur;
+import game.items.Corpse;
+import game.items.Egg;
+
+import java.io.IOException;
+
+/**
+ * Tells a World how to save and restore the parts of the Jurassic Park that the engine doesn't know about.
+ * <p>
+ * Dinosaurs, eggs, corpses and the player have no no-argument constructor, so they are made here
+ * before they are restored. So are the Actions and Behaviours a dinosaur can be part way through,
+ * such as following another dinosaur, so that it carries on with them. The EcoPoints in the vending
+ * machines are saved alongside the maps.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see World#saveSnapshot(java.nio.file.Path)
+ * @see World#restoreSnapshot(java.nio.file.Path)
+ * @since 18/10/2026
+ */
+public class JurassicParkSnapshot {
+
+    /**
+     * Not meant to be made.
+     */
+    private JurassicParkSnapshot() {
+    }
+
+    /**
+     * Gets a World ready to save and restore Jurassic Park snapshots.
+     * Call this once, after the maps have been added.
+     *
+     * @param world the World
+     */
+    public static void prepare(World world) {
+        // Dinosaur.save() writes whether it hatched and its gender first, so the right constructor can be picked.
+        world.addSnapshotType(Dinosaur.class, (type, in) -> {
+            boolean hatched = in.readBoolean();
+            Enum<?> gender = in.readEnum();
+            if (hatched) {
+                return type.getConstructor().newInstance();
+            }
+            return type.getConstructor(Enum.class).newInstance(gender);
+        });
+        world.addSnapshotType(Egg.class, (type, in) -> new Egg(in.readObject(Dinosaur.class)));
+        world.addSnapshotType(Corpse.class, (type, in) -> new Corpse("", 0, 0));
+        world.addSnapshotType(Player.class, (type, in) -> new Player(false, 0, 0));
+
+        // What a dinosaur is part way through. Each save() writes what its constructor needs first.
+        world.addSnapshotType(ContinuingAction.class, (type, in) -> {
+            Action action = in.readObject(Action.class);
+            return new ContinuingAction(action != null ? action : new DoNothingAction(),
+                    in.readObject(Behaviour.class), in.readActor(), in.readGameMap());
+        });
+        world.addSnapshotType(FollowBehaviour.class, (type, in) -> new FollowBehaviour(in.readActor(), in.readObject(Action.class)));
+        world.addSnapshotType(GoToLocation.class, (type, in) -> new GoToLocation(in.readLocation(), in.readObject(Action.class)));
+        world.addSnapshotType(SmallBeakFeedingBehaviour.class, (type, in) -> new SmallBeakFeedingBehaviour(in.readItem()));
+        world.addSnapshotType(EatPreyAction.class, (type, in) -> new EatPreyAction(in.readActor()));
+        world.addSnapshotType(BreedAction.class, (type, in) -> new BreedAction(in.readActor()));
+        world.addSnapshotType(EatItemAction.class, (type, in) -> new EatItemAction(in.readItem()));
+        world.addSnapshotType(MatingCallAction.class, (type, in) -> new MatingCallAction(in.readActor(), in.readObject(Action.class)));
+        world.addSnapshotPart(new Saveable() {
+            @Override
+            public void save(SnapshotWriter out) throws IOException {
+                out.writeInt(VendingMachine.getEcoPoint());
+            }
+
+            @Override
+            public void restore(SnapshotReader in) throws IOException {
+                VendingMachine.increaseEcoPoint(in.readInt() - VendingMachine.getEcoPoint());
+            }
+
+            @Override
+            public void hashState(StateHash hash) {
+                hash.add(VendingMachine.getEcoPoint());
+            }
+        });
+    }
+}
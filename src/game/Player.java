@@ -6,10 +6,15 @@ import edu.monash.fit2099.engine.Actor;
 import edu.monash.fit2099.engine.Display;
 import edu.monash.fit2099.engine.GameMap;
 import edu.monash.fit2099.engine.Menu;
+import edu.monash.fit2099.engine.SnapshotReader;
+import edu.monash.fit2099.engine.SnapshotWriter;
+import edu.monash.fit2099.engine.StateHash;
 import game.action.PickFruitAction;
 import game.action.QuitGameAction;
 import game.growable.Growable;
 
+import java.io.IOException;
+
 /**
  * Class representing the Player.
  *
@@ -37,6 +42,11 @@ public class Player extends Actor {
     private boolean challengeMode = false;
     private int turnTimer = 0;
 
+    /**
+     * Action that saves the game, offered every turn, or null if the game can't be saved.
+     */
+    private Action saveAction;
+
     /**
      * Constructor.
      *
@@ -62,6 +72,15 @@ public class Player extends Actor {
         this.challengeMode = mode;
     }
 
+    /**
+     * Offers the player a way to save the game every turn.
+     *
+     * @param saveAction the Action that saves the game, or null to stop offering one
+     */
+    public void setSaveAction(Action saveAction) {
+        this.saveAction = saveAction;
+    }
+
     /**
      * Let the player have its turn
      *
@@ -76,6 +95,9 @@ public class Player extends Actor {
         // Turn related stuff
         turnTimer++;
         actions.add(new QuitGameAction());
+        if (saveAction != null) {
+            actions.add(saveAction);
+        }
         display.println(String.format("Turn %s", turnTimer));
         display.println(String.format("Current EcoPoints: %s", VendingMachine.getEcoPoint()));
         // Challenge mode check
@@ -106,4 +128,48 @@ public class Player extends Actor {
         // Show menu
         return menu.showMenu(this, actions, display);
     }
+
+    /**
+     * Also writes the challenge and how many turns the player has had.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        super.save(out);
+        out.writeBoolean(challengeMode);
+        out.writeInt(targetTurn);
+        out.writeInt(targetPoint);
+        out.writeInt(turnTimer);
+    }
+
+    /**
+     * Also adds the challenge and how many turns have been played.
+     *
+     * @param hash the hash to add to
+     */
+    @Override
+    public void hashState(StateHash hash) {
+        super.hashState(hash);
+        hash.add(challengeMode);
+        hash.add(targetTurn);
+        hash.add(targetPoint);
+        hash.add(turnTimer);
+    }
+
+    /**
+     * Reads back the challenge and how many turns the player has had.
+     *
+     * @param in where to read from
+     * @throws IOException when the snapshot can't be read
+     */
+    @Override
+    public void restore(SnapshotReader in) throws IOException {
+        super.restore(in);
+        challengeMode = in.readBoolean();
+        targetTurn = in.readInt();
+        targetPoint = in.readInt();
+        turnTimer = in.readInt();
+    }
 }
@@ -0,0 +1,28 @@
+package game;
+
+/**
+ * A Ground whose counters live in its map's GroundStore while it is on the map.
+ * <p>
+ * JurassicParkGameMap attaches the Ground when it is placed on a Location, and detaches it
+ * when it is replaced. While detached, the Ground keeps its counters in its own fields.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see GroundStore
+ * @since 18/10/2026
+ */
+public interface StoredGround {
+
+    /**
+     * Move this Ground's counters into a cell of the store, and use them from there.
+     *
+     * @param store the store of the map the Ground has been placed on
+     * @param cell  the cell of the Location it has been placed on
+     */
+    void attach(GroundStore store, int cell);
+
+    /**
+     * Move this Ground's counters back out of the store, and clear its cell.
+     */
+    void detach();
+}
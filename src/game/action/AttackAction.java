@@ -1,7 +1,5 @@
 package game.action;
 
-import java.util.Random;
-
 import edu.monash.fit2099.engine.Action;
 import edu.monash.fit2099.engine.Actions;
 import edu.monash.fit2099.engine.Actor;
@@ -20,10 +18,6 @@ public class AttackAction extends Action {
 	 * The Actor that is to be attacked
 	 */
 	protected Actor target;
-	/**
-	 * Random number generator
-	 */
-	protected Random rand = new Random();
 
 	/**
 	 * Constructor.
@@ -39,7 +33,7 @@ public class AttackAction extends Action {
 
 		Weapon weapon = actor.getWeapon();
 
-		if (rand.nextBoolean()) {
+		if (actor.getRandom().nextBoolean()) {
 			return actor + " misses " + target + ".";
 		}
 
@@ -65,6 +59,18 @@ public class AttackAction extends Action {
 		return result;
 	}
 
+	/**
+	 * The target has to still be alive, and within reach.
+	 *
+	 * @param actor The actor performing the action.
+	 * @param map The map the actor is on.
+	 * @return true if the target is on the map next to the actor
+	 */
+	@Override
+	public boolean isStillValid(Actor actor, GameMap map) {
+		return map.contains(target) && map.locationOf(actor).isNextTo(map.locationOf(target));
+	}
+
 	@Override
 	public String menuDescription(Actor actor) {
 		return actor + " attacks " + target;
@@ -3,10 +3,15 @@ package game.action;
 import edu.monash.fit2099.engine.Action;
 import edu.monash.fit2099.engine.Actor;
 import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Saveable;
+import edu.monash.fit2099.engine.SnapshotReader;
+import edu.monash.fit2099.engine.SnapshotWriter;
 import game.behaviour.LandBreedBehaviour;
 import game.dinosaur.DinosaurStatus;
 import game.dinosaur.Gender;
 
+import java.io.IOException;
+
 /**
  * Special Action breeds with an Actor
  *
@@ -20,7 +25,7 @@ import game.dinosaur.Gender;
  * @since 03/05/2021
  */
 
-public class  BreedAction extends Action {
+public class  BreedAction extends Action implements Saveable {
 
     /**
      * Target to breed with.
@@ -84,6 +89,18 @@ public class  BreedAction extends Action {
     }
 
 
+    /**
+     * The partner has to still be alive, and next to the actor.
+     *
+     * @param actor The actor performing the action.
+     * @param map The map the actor is on.
+     * @return true if the target is on the map next to the actor
+     */
+    @Override
+    public boolean isStillValid(Actor actor, GameMap map) {
+        return map.contains(target) && map.locationOf(actor).isNextTo(map.locationOf(target));
+    }
+
     /**
      * indicates that actor is mating on log
      * @param actor The actor performing the action.
@@ -93,4 +110,24 @@ public class  BreedAction extends Action {
     public String menuDescription(Actor actor) {
         return actor + " mates with " + target;
     }
+
+    /**
+     * Writes the partner, which JurassicParkSnapshot reads back to make one.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeActor(target);
+    }
+
+    /**
+     * Everything was read when it was made.
+     *
+     * @param in where to read from
+     */
+    @Override
+    public void restore(SnapshotReader in) {
+    }
 }
@@ -71,6 +71,18 @@ public class EatFromGrowableAction extends Action {
         return result + " and heals for " + healPoints + " hitpoints.";
     }
 
+    /**
+     * Someone else may have eaten the last fruit first.
+     *
+     * @param actor The actor performing the action.
+     * @param map The map the actor is on.
+     * @return true if the growable still has fruit
+     */
+    @Override
+    public boolean isStillValid(Actor actor, GameMap map) {
+        return growable.getNumberOfRipeFruit() > 0;
+    }
+
     /**
      *
      * @param actor The actor performing the action.
@@ -3,6 +3,8 @@ package game.action;
 import edu.monash.fit2099.engine.*;
 import game.items.EdibleItem;
 
+import java.io.IOException;
+
 /**
  * Action that allows a Dinosaur to eat an Item from the Ground and heals a certain amount of hitpoints
  *
@@ -14,7 +16,7 @@ import game.items.EdibleItem;
  * @since 03/05/2021
  */
 
-public class EatItemAction extends Action {
+public class EatItemAction extends Action implements Saveable {
 
     /**
      * the edible item to be eaten
@@ -52,6 +54,27 @@ public class EatItemAction extends Action {
         return result;
     }
 
+    /**
+     * The item has to still be lying where the actor is, or next to it.
+     *
+     * @param actor The actor performing the action.
+     * @param map The map the actor is on.
+     * @return true if someone else hasn't already eaten it up
+     */
+    @Override
+    public boolean isStillValid(Actor actor, GameMap map) {
+        Location here = map.locationOf(actor);
+        if (here.getItems().contains(edibleItem)) {
+            return true;
+        }
+        for (Exit exit : here.getExits()) {
+            if (exit.getDestination().getItems().contains(edibleItem)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      *
      * @param actor The actor performing the action.
@@ -61,4 +84,24 @@ public class EatItemAction extends Action {
     public String menuDescription(Actor actor) {
         return actor + " eats " + edibleItem;
     }
+
+    /**
+     * Writes the item, which JurassicParkSnapshot reads back to make one.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeItem(edibleItem);
+    }
+
+    /**
+     * Everything was read when it was made.
+     *
+     * @param in where to read from
+     */
+    @Override
+    public void restore(SnapshotReader in) {
+    }
 }
@@ -3,6 +3,8 @@ package game.action;
 import edu.monash.fit2099.engine.*;
 import game.dinosaur.*;
 
+import java.io.IOException;
+
 /**
  * Special Action that attacks an Actor, and heals the attacker Actor
  *
@@ -16,7 +18,7 @@ import game.dinosaur.*;
  * @since 03/05/2021
  */
 
-public class EatPreyAction extends AttackAction {
+public class EatPreyAction extends AttackAction implements Saveable {
 
     /**
      * Constructor.
@@ -76,4 +78,24 @@ public class EatPreyAction extends AttackAction {
 
         return result;
     }
+
+    /**
+     * Writes the prey, which JurassicParkSnapshot reads back to make one.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeActor(target);
+    }
+
+    /**
+     * Everything was read when it was made.
+     *
+     * @param in where to read from
+     */
+    @Override
+    public void restore(SnapshotReader in) {
+    }
 }
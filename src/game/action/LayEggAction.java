@@ -4,6 +4,9 @@ import edu.monash.fit2099.engine.Action;
 import edu.monash.fit2099.engine.Actor;
 import edu.monash.fit2099.engine.GameMap;
 import edu.monash.fit2099.engine.Location;
+import edu.monash.fit2099.engine.Saveable;
+import edu.monash.fit2099.engine.SnapshotReader;
+import edu.monash.fit2099.engine.SnapshotWriter;
 import game.PortableItem;
 import game.dinosaur.Dinosaur;
 import game.dinosaur.DinosaurStatus;
@@ -23,7 +26,7 @@ import game.items.Egg;
  * @since 03/05/2021
  */
 
-public class LayEggAction extends Action {
+public class LayEggAction extends Action implements Saveable {
 
     /**
      * Creates an Egg of that Dinosaur type and removes PREGNANT enum from Dinosaur
@@ -57,4 +60,22 @@ public class LayEggAction extends Action {
     public String menuDescription(Actor actor) {
         return actor + " lays an egg.";
     }
+
+    /**
+     * Nothing to write, as laying an egg needs nothing but the actor.
+     *
+     * @param out where to write
+     */
+    @Override
+    public void save(SnapshotWriter out) {
+    }
+
+    /**
+     * Nothing to read.
+     *
+     * @param in where to read from
+     */
+    @Override
+    public void restore(SnapshotReader in) {
+    }
 }
@@ -0,0 +1,120 @@
+package game.action;
+
+import edu.monash.fit2099.engine.Action;
+import edu.monash.fit2099.engine.Actor;
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Saveable;
+import edu.monash.fit2099.engine.SnapshotReader;
+import edu.monash.fit2099.engine.SnapshotWriter;
+import game.behaviour.FlyingBreedBehaviour;
+import game.dinosaur.DinosaurStatus;
+
+import java.io.IOException;
+
+/**
+ * Action that makes a mating call to a partner, then carries on with another Action.
+ * The partner will stay in position and wait to breed.
+ * <p>
+ * The call is made when the Action is executed rather than when it is chosen, so that
+ * choosing an Action never changes another Actor.
+ *
+ * @author NgYuKang
+ * @see FlyingBreedBehaviour
+ * @see BreedAction
+ * @see DinosaurStatus
+ * @since 18/10/2026
+ */
+public class MatingCallAction extends Action implements Saveable {
+
+    /**
+     * The partner being called.
+     */
+    private Actor partner;
+
+    /**
+     * What the actor does after calling, usually heading towards the partner.
+     */
+    private Action action;
+
+    /**
+     * Constructor.
+     *
+     * @param partner the partner being called
+     * @param action  what the actor does after calling
+     */
+    public MatingCallAction(Actor partner, Action action) {
+        this.partner = partner;
+        this.action = action;
+    }
+
+    /**
+     * Tells the partner to wait, then does the other Action.
+     *
+     * @param actor The actor performing the action.
+     * @param map The map the actor is on.
+     * @return description of the other Action
+     */
+    @Override
+    public String execute(Actor actor, GameMap map) {
+        partner.addCapability(DinosaurStatus.WANTS_TO_BREED);
+        return action.execute(actor, map);
+    }
+
+    /**
+     * @param actor The actor performing the action.
+     * @return description of the other Action
+     */
+    @Override
+    public String menuDescription(Actor actor) {
+        return action.menuDescription(actor);
+    }
+
+    /**
+     * @return hotkey of the other Action
+     */
+    @Override
+    public String hotkey() {
+        return action.hotkey();
+    }
+
+    /**
+     * @return the Action after the other Action
+     */
+    @Override
+    public Action getNextAction() {
+        return action.getNextAction();
+    }
+
+    /**
+     * Only worth calling if the other Action can still be done.
+     *
+     * @param actor The actor performing the action.
+     * @param map The map the actor is on.
+     * @return true if the other Action is still valid
+     */
+    @Override
+    public boolean isStillValid(Actor actor, GameMap map) {
+        return action.isStillValid(actor, map);
+    }
+
+    /**
+     * Writes the partner and the other Action, which JurassicParkSnapshot reads back to make one.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeActor(partner);
+        out.writeObjectIfSaveable(action);
+    }
+
+    /**
+     * Everything was read when it was made.
+     *
+     * @param in where to read from
+     */
+    @Override
+    public void restore(SnapshotReader in) {
+    }
+}
@@ -45,7 +45,7 @@ public class PickFruitAction extends Action {
     @Override
     public String execute(Actor actor, GameMap map) {
 
-        if (failed()) {
+        if (failed(actor)) {
             return actor + " searches the " + growable + " for fruit, but can't find any ripe ones.";
         }
 
@@ -74,10 +74,11 @@ public class PickFruitAction extends Action {
 
     /**
      * See whether Player failed to pick fruit
+     * @param actor Player picking fruit
      * @return true Player failed, false otherwise
      */
-    public boolean failed() {
-        double chance = Math.random();
+    public boolean failed(Actor actor) {
+        double chance = actor.getRandom().nextDouble();
         return chance < failChance();
     }
 }
@@ -0,0 +1,66 @@
+package game.action;
+
+import edu.monash.fit2099.engine.Action;
+import edu.monash.fit2099.engine.Actor;
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.World;
+
+import java.nio.file.Path;
+
+/**
+ * Used to let player save the game, to carry on with it later.
+ * The game is saved once everyone has had their turn, so it carries on from the start of the next one.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see World#requestSnapshot(Path)
+ * @see QuitGameAction
+ * @since 18/10/2026
+ */
+public class SaveGameAction extends Action {
+
+    /**
+     * The world being played.
+     */
+    private final World world;
+
+    /**
+     * The file to save the game to.
+     */
+    private final Path file;
+
+    /**
+     * Constructor.
+     *
+     * @param world the world being played
+     * @param file  the file to save the game to
+     */
+    public SaveGameAction(World world, Path file) {
+        this.world = world;
+        this.file = file;
+    }
+
+    /**
+     * Asks the world to save the game at the end of this turn.
+     *
+     * @param actor The actor performing the action.
+     * @param map   The map the actor is on.
+     * @return a description of what happened that can be displayed to the user.
+     */
+    @Override
+    public String execute(Actor actor, GameMap map) {
+        world.requestSnapshot(file);
+        return actor.toString() + " saves the game at the end of the turn";
+    }
+
+    /**
+     * Returns a descriptive string
+     *
+     * @param actor The actor performing the action.
+     * @return the text we put on the menu
+     */
+    @Override
+    public String menuDescription(Actor actor) {
+        return actor.toString() + " saves the game";
+    }
+}
@@ -34,7 +34,7 @@ public abstract class BreedBehaviour implements Behaviour {
         }
 
         // not enough hitpoints or doesn't feel like breeding
-        else if (!(dinosaur.isWellFed() && wantsToBreed())) {
+        else if (!(dinosaur.isWellFed() && wantsToBreed(dinosaur))) {
             flag = false;
         }
 
@@ -128,10 +128,11 @@ public abstract class BreedBehaviour implements Behaviour {
 
     /**
      * See whether Dinosaur feels like breeding
+     * @param dinosaur the dinosaur that might feel like breeding
      * @return true if Dinosaur wants to breed, false otherwise
      */
-    boolean wantsToBreed() {
-        double chance = Math.random();
+    boolean wantsToBreed(Dinosaur dinosaur) {
+        double chance = dinosaur.getRandom().nextDouble();
         return chance < breedChance();
     }
 
@@ -31,6 +31,11 @@ import game.items.ItemStats;
 
 public class CarniHungerBehaviour implements HungerBehaviour {
 
+    /**
+     * The eight ways to look around, kept so looking doesn't make a new array each time.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
     /**
      * Empty Constructor
      */
@@ -55,8 +60,11 @@ public class CarniHungerBehaviour implements HungerBehaviour {
             Enum<DinosaurStatus> capability = ((CarnivoreDinosaur) actor).getAttackableEnum();
 
             // check surroundings if there is food source
-            for (Exit exit : here.getExits()) {
-                Location destination = exit.getDestination();
+            for (Direction direction : DIRECTIONS) {
+                Location destination = here.getNeighbour(direction);
+                if (destination == null) {
+                    continue;
+                }
                 // found prey, immediately attack if havent attack before
                 if (destination.containsAnActor() && destination.getActor().hasCapability(capability)
                         && destination.getActor().hasCapability(DinosaurStatus.ON_LAND)) {
@@ -113,40 +121,40 @@ public class CarniHungerBehaviour implements HungerBehaviour {
         //                      0 -> found Actor to follow
         //                      1 -> found Item to go to
 
-        // go through entire map
-        for (int y : map.getYRange()) {
-            for (int x : map.getXRange()) {
-                // current tile
-                there = map.at(x, y);
-                // if found potential prey
-                if (there.containsAnActor() && there.getActor().hasCapability(capability)
-                        && there.getActor().hasCapability(DinosaurStatus.ON_LAND)) {
-                    // false if Allosaur already attacked this Dinosaur within 20 turns, true otherwise
-                    boolean canAttack = ((CarnivoreDinosaur)dinosaur).canAttack((Dinosaur) there.getActor());
-                    // if canAttack is true means not attacked before
-                    if (canAttack) {
-                        distance = distance(here, there);
-                        // if this prey is nearer than current nearest target, overwrite nearest target to this target
-                        if (distance < closestDist[0]) {
-                            closestDist[0] = distance;
-                            closestDist[1] = 0;
-                            currentClosest = there;
-                        }
+        // go through every actor on the map for potential prey
+        for (Actor actor : map.getActors()) {
+            if (actor.hasCapability(capability) && actor.hasCapability(DinosaurStatus.ON_LAND)) {
+                // false if Allosaur already attacked this Dinosaur within 20 turns, true otherwise
+                boolean canAttack = ((CarnivoreDinosaur)dinosaur).canAttack((Dinosaur) actor);
+                // if canAttack is true means not attacked before
+                if (canAttack) {
+                    there = map.locationOf(actor);
+                    distance = distance(here, there);
+                    // if this prey is nearer than current nearest target, overwrite nearest target to this target
+                    if (distance < closestDist[0]) {
+                        closestDist[0] = distance;
+                        closestDist[1] = 0;
+                        currentClosest = there;
                     }
+                }
+            }
+        }
 
-                } else { // no potential prey on this tile, find potential food Item
-                    for (Item item : there.getItems()) {
-                        if (item.hasCapability(ItemStats.CARNIVORE_CAN_EAT)) {
-                            distance = distance(here, there);
-                            // if this food Item is nearer than current nearest target, overwrite nearest target to this
-                            if (distance < closestDist[0]) {
-                                closestDist[0] = distance;
-                                closestDist[1] = 1;
-                                currentClosest = there;
-                                closestItem = item;
-                            }
-                            break; // found food on this tile, continue to next tile
-                        }
+        // find the closest food Item, skipping tiles that have potential prey on them
+        there = map.nearestItemWithCapability(here, ItemStats.CARNIVORE_CAN_EAT,
+                location -> !(location.containsAnActor() && location.getActor().hasCapability(capability)
+                        && location.getActor().hasCapability(DinosaurStatus.ON_LAND)));
+        if (there != null) {
+            distance = distance(here, there);
+            // if this food Item is nearer than current nearest target, overwrite nearest target to this
+            if (distance < closestDist[0]) {
+                closestDist[0] = distance;
+                closestDist[1] = 1;
+                currentClosest = there;
+                for (Item item : there.getItems()) {
+                    if (item.hasCapability(ItemStats.CARNIVORE_CAN_EAT)) {
+                        closestItem = item;
+                        break;
                     }
                 }
             }
@@ -0,0 +1,130 @@
+package game.behaviour;
+
+import edu.monash.fit2099.engine.*;
+
+import java.io.IOException;
+
+/**
+ * An Action that carries on with a Behaviour: once it has been done, the Behaviour is asked
+ * for the Action to take next turn. This is how a dinosaur keeps following, walking or eating.
+ * <p>
+ * It is saved with the game, so a restored dinosaur carries on where it left off. The Action
+ * being done is only kept if it is Saveable, as one that has already been done only needs the
+ * Behaviour that comes next.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see Action#getNextAction()
+ * @see FollowBehaviour
+ * @see GoToLocation
+ * @see game.JurassicParkSnapshot
+ * @since 18/10/2026
+ */
+public class ContinuingAction extends Action implements Saveable {
+
+    /**
+     * The Action being done.
+     */
+    private final Action action;
+
+    /**
+     * The Behaviour to ask next.
+     */
+    private final Behaviour behaviour;
+
+    /**
+     * The Actor doing it.
+     */
+    private final Actor actor;
+
+    /**
+     * The map the Behaviour is asked about.
+     */
+    private final GameMap map;
+
+    /**
+     * Constructor.
+     *
+     * @param action    the Action being done
+     * @param behaviour the Behaviour to ask for the next Action, or null to stop after this one
+     * @param actor     the Actor doing it
+     * @param map       the map the Behaviour is asked about
+     */
+    public ContinuingAction(Action action, Behaviour behaviour, Actor actor, GameMap map) {
+        this.action = action;
+        this.behaviour = behaviour;
+        this.actor = actor;
+        this.map = map;
+    }
+
+    /**
+     * Does the Action.
+     *
+     * @param actor The actor performing the action.
+     * @param map   The map the actor is on.
+     * @return what the Action says happened
+     */
+    @Override
+    public String execute(Actor actor, GameMap map) {
+        return action.execute(actor, map);
+    }
+
+    /**
+     * @param actor The actor performing the action.
+     * @return the description of the Action
+     */
+    @Override
+    public String menuDescription(Actor actor) {
+        return action.menuDescription(actor);
+    }
+
+    /**
+     * @return the hotkey of the Action
+     */
+    @Override
+    public String hotkey() {
+        return action.hotkey();
+    }
+
+    /**
+     * @param actor The actor performing the action.
+     * @param map   The map the actor is on.
+     * @return true if the Action is still valid
+     */
+    @Override
+    public boolean isStillValid(Actor actor, GameMap map) {
+        return action.isStillValid(actor, map);
+    }
+
+    /**
+     * @return what the Behaviour would do now, or null if there is nothing to carry on with
+     */
+    @Override
+    public Action getNextAction() {
+        return behaviour != null ? behaviour.getAction(actor, map) : null;
+    }
+
+    /**
+     * Writes the Action if it can be saved, the Behaviour, the Actor and the map, which
+     * JurassicParkSnapshot reads back to make one.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeObjectIfSaveable(action);
+        out.writeObjectIfSaveable(behaviour);
+        out.writeActor(actor);
+        out.writeGameMap(map);
+    }
+
+    /**
+     * Everything was read when it was made.
+     *
+     * @param in where to read from
+     */
+    @Override
+    public void restore(SnapshotReader in) {
+    }
+}
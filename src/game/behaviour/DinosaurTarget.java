@@ -0,0 +1,161 @@
+package game.behaviour;
+
+import edu.monash.fit2099.engine.*;
+import game.dinosaur.DinosaurStatus;
+import game.growable.Growable;
+import game.growable.GrowableStatus;
+import game.watertile.WaterTile;
+import game.watertile.WaterTileStatus;
+
+/**
+ * The kinds of place that lots of dinosaurs head for every turn.
+ * <p>
+ * Each one has a DistanceField on the map, worked out once a turn, so a dinosaur looking
+ * for one just reads which way to step instead of searching the map itself.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see DistanceField
+ * @see ThirstBehaviour
+ * @see HerbHungerBehaviour
+ * @see GoToTallGrowableBehaviour
+ * @since 18/10/2026
+ */
+public enum DinosaurTarget implements DistanceTarget {
+
+    /**
+     * Water tiles that still have water in them.
+     */
+    WATER(WaterTileStatus.WATER_TRAVERSE) {
+        @Override
+        public boolean isTarget(Location location) {
+            return ((WaterTile) location.getGround()).getSipCapacity() > 0;
+        }
+    },
+
+    /**
+     * Any tall growable, e.g. to perch on.
+     */
+    TALL_GROWABLE(GrowableStatus.TALL) {
+        @Override
+        public boolean isTarget(Location location) {
+            return true;
+        }
+
+        @Override
+        public boolean changesOnlyWithGround() {
+            return true;
+        }
+    },
+
+    /**
+     * Tall growables with ripe fruit on them.
+     */
+    FRUITING_TALL_GROWABLE(GrowableStatus.TALL) {
+        @Override
+        public boolean isTarget(Location location) {
+            return ((Growable) location.getGround()).getNumberOfRipeFruit() > 0;
+        }
+    },
+
+    /**
+     * Short growables with ripe fruit on them.
+     */
+    FRUITING_SHORT_GROWABLE(GrowableStatus.SHORT) {
+        @Override
+        public boolean isTarget(Location location) {
+            return ((Growable) location.getGround()).getNumberOfRipeFruit() > 0;
+        }
+    };
+
+    /**
+     * Every Direction, as values() makes a new array each time.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The ground capability every target has.
+     */
+    private final Enum<?> capability;
+
+    /**
+     * Constructor.
+     *
+     * @param capability the ground capability every target has
+     */
+    DinosaurTarget(Enum<?> capability) {
+        this.capability = capability;
+    }
+
+    /**
+     * @return the ground capability every target has
+     */
+    @Override
+    public Enum<?> getCapability() {
+        return capability;
+    }
+
+    /**
+     * Gets this turn's distances to this kind of target, for dinosaurs that move like this one.
+     * Flying dinosaurs can cross water, so they have their own field.
+     *
+     * @param actor the dinosaur looking
+     * @param map   the map it is on
+     * @return the DistanceField
+     */
+    public DistanceField fieldFor(Actor actor, GameMap map) {
+        Enum<?> mobility = actor.hasCapability(DinosaurStatus.FLYING) ? DinosaurStatus.FLYING : DinosaurStatus.ON_LAND;
+        return map.getDistanceField(this, mobility, actor);
+    }
+
+    /**
+     * Finds a target the dinosaur can use without moving: the Location it is on, or one next to it.
+     * <p>
+     * The Grounds are looked at as they are now, not through the DistanceField, which is only
+     * worked out once a turn and so still counts a bush another dinosaur has just stripped.
+     *
+     * @param here where the dinosaur is
+     * @return here if it is a target, otherwise the first neighbouring target, or null if there isn't one
+     */
+    public Location targetAtOrNextTo(Location here) {
+        if (isTargetNow(here)) {
+            return here;
+        }
+        for (Direction direction : DIRECTIONS) {
+            Location there = here.getNeighbour(direction);
+            if (there != null && isTargetNow(there)) {
+                return there;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Is a Location one of these targets at the moment?
+     *
+     * @param location the Location
+     * @return true if its Ground has the capability and is a target
+     */
+    private boolean isTargetNow(Location location) {
+        return location.getGround().hasCapability(capability) && isTarget(location);
+    }
+
+    /**
+     * Makes a move one step closer to the nearest target.
+     * The move's next action asks the behaviour again, so the dinosaur keeps going.
+     *
+     * @param here      where the dinosaur is
+     * @param actor     the dinosaur
+     * @param map       the map it is on
+     * @param behaviour the behaviour to ask once the step is taken
+     * @return the move, or null if no step gets any closer
+     */
+    public Action stepTowards(Location here, Actor actor, GameMap map, Behaviour behaviour) {
+        Location next = fieldFor(actor, map).nextStepFrom(here, actor);
+        if (next == null) {
+            return null;
+        }
+        Direction direction = Direction.of(next.x() - here.x(), next.y() - here.y());
+        return new ContinuingAction(new MoveActorAction(next, direction.getName(), direction.getHotKey()), behaviour, actor, map);
+    }
+}
@@ -2,6 +2,7 @@ package game.behaviour;
 
 import edu.monash.fit2099.engine.*;
 import game.action.BreedAction;
+import game.action.MatingCallAction;
 import game.dinosaur.Dinosaur;
 import game.dinosaur.DinosaurStatus;
 import game.dinosaur.Gender;
@@ -114,10 +115,13 @@ public class FlyingBreedBehaviour extends BreedBehaviour {
                     for (Exit exit : there.getExits()) {
                         Location destination = exit.getDestination();
                         if (destination.getGround().hasCapability(GrowableStatus.TALL)) {
-                            // dinosaur makes a mating call, target will now stay in position and wait for dinosaur to breed with
-                            there.getActor().addCapability(DinosaurStatus.WANTS_TO_BREED);
                             approach = new GoToLocation(destination, new BreedAction(there.getActor()));
-                            return approach.getAction(dinosaur, map); // start approaching
+                            Action action = approach.getAction(dinosaur, map); // start approaching
+                            if (action == null) {
+                                return null;
+                            }
+                            // dinosaur makes a mating call, target will now stay in position and wait for dinosaur to breed with
+                            return new MatingCallAction(there.getActor(), action);
                         }
                     }
 
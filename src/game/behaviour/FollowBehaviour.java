@@ -2,6 +2,8 @@ package game.behaviour;
 
 import edu.monash.fit2099.engine.*;
 
+import java.io.IOException;
+
 /**
  * A class that figures out a MoveAction that will move the actor one step 
  * closer to a target Actor, or does something when it reaches the target
@@ -12,9 +14,10 @@ import edu.monash.fit2099.engine.*;
  * @see Action
  * @see GameMap
  * @see Location
+ * @see ContinuingAction
  * @since 03/05/2021
  */
-public class FollowBehaviour extends MovingBehaviour {
+public class FollowBehaviour extends MovingBehaviour implements Saveable {
 
 	/**
 	 * Target we are following
@@ -24,10 +27,6 @@ public class FollowBehaviour extends MovingBehaviour {
 	 * Action we are going to perform after we next to the target.
 	 */
 	private Action action;
-	/**
-	 * Used to refer to this object, used in overwriting getNextAction
-	 */
-	private Behaviour self = this;
 
 	/**
 	 * Constructor.
@@ -56,33 +55,42 @@ public class FollowBehaviour extends MovingBehaviour {
 		Location here = map.locationOf(actor);
 		Location there = map.locationOf(target);
 
-		int currentDistance = distance(here, there);
-		for (Exit exit : here.getExits()) {
-			Location destination = exit.getDestination();
-			if (destination.canActorEnter(actor)) {
-				int newDistance = distance(destination, there);
-				if (newDistance < currentDistance) {
-					// actor not beside target, continue to follow
-					return (new MoveActorAction(destination, exit.getName()) {
-						@Override
-						public Action getNextAction() { // override next action as current action to chain follow
-							return self.getAction(actor, map);
-						}
-					});
-				}
-			}
+		Location next = nextStep(actor, here, there, true);
+		if (next != null) {
+			// actor not beside target, continue to follow
+			return new ContinuingAction(new MoveActorAction(next, directionName(here, next)), this, actor, map);
 		}
 
-		if (currentDistance > 1) {
+		if (!here.isNextTo(there)) {
 			// actor not beside target, continue to follow
-			return (new DoNothingAction() {
-				@Override
-				public Action getNextAction() { // override next action as current action to chain follow
-					return self.getAction(actor, map);
-				}
-			});
+			return new ContinuingAction(new DoNothingAction(), this, actor, map);
 		} else
 			return action; // actor is already beside target, do action
 	}
+
+	/**
+	 * Writes the target and the Action, which JurassicParkSnapshot reads back to make one,
+	 * then the route.
+	 *
+	 * @param out where to write
+	 * @throws IOException when file I/O fails
+	 */
+	@Override
+	public void save(SnapshotWriter out) throws IOException {
+		out.writeActor(target);
+		out.writeObjectIfSaveable(action);
+		saveRoute(out);
+	}
+
+	/**
+	 * Reads back the route.
+	 *
+	 * @param in where to read from
+	 * @throws IOException when the snapshot can't be read
+	 */
+	@Override
+	public void restore(SnapshotReader in) throws IOException {
+		restoreRoute(in);
+	}
 }
 
@@ -5,6 +5,8 @@ import game.dinosaur.DinosaurStatus;
 import game.growable.Growable;
 import game.items.ItemStats;
 
+import java.io.IOException;
+
 /**
  * A class that figures out a MoveAction that will move the actor one step
  * closer to a Location with target Growable/Item, or does something when the actor reaches the Location
@@ -18,11 +20,17 @@ import game.items.ItemStats;
  * @see Action
  * @see GameMap
  * @see Location
+ * @see ContinuingAction
  * @since 16/05/2021
  * @version 1.1
  */
 
-public class GoToLocation extends MovingBehaviour {
+public class GoToLocation extends MovingBehaviour implements Saveable {
+
+    /**
+     * The eight ways to look around, kept so looking doesn't make a new array each time.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
 
     /**
      * The place we are going
@@ -40,10 +48,6 @@ public class GoToLocation extends MovingBehaviour {
      * What we do to the target
      */
     private Action action = null;
-    /**
-     * Used in overriding getNextAction
-     */
-    private Behaviour self = this;
 
     /**
      * Constructor that takes in Growable
@@ -131,15 +135,11 @@ public class GoToLocation extends MovingBehaviour {
             if (item != null && item.hasCapability(ItemStats.MULTI_TURN_EATING)) {
 
                 if (actor.hasCapability(DinosaurStatus.FLYING)) {
-                    for (Exit exit : here.getExits()) {
+                    for (Direction direction : DIRECTIONS) {
+                        Location around = here.getNeighbour(direction);
                         // there is something around the goal, flying dinosaur cannot land
-                        if (exit.getDestination().containsAnActor()) {
-                            return (new DoNothingAction() {
-                                @Override
-                                public Action getNextAction() { // override next action as current action to hover on the item
-                                    return self.getAction(actor, map);
-                                }
-                            });
+                        if (around != null && around.containsAnActor()) {
+                            return new ContinuingAction(new DoNothingAction(), this, actor, map); // hover on the item
                         }
                     }
                 }
@@ -148,24 +148,52 @@ public class GoToLocation extends MovingBehaviour {
             return action; // actor is already at target, do action
         }
 
-        int currentDistance = distance(here, there); // no change
-        for (Exit exit : here.getExits()) {
-            Location destination = exit.getDestination();
-            if (destination.canActorEnter(actor)) {
-                int newDistance = distance(destination, there);
-                // actor hasn't reached its goal yet, keep going
-                if (newDistance < currentDistance) {
-                    return (new MoveActorAction(destination, exit.getName()) {
-                        @Override
-                        public Action getNextAction() { // override next action as current action to chain follow
-                            return self.getAction(actor, map);
-                        }
-                    });
-                }
-            }
+        Location next = nextStep(actor, here, there, false);
+        if (next != null) {
+            // actor hasn't reached its goal yet, keep going
+            return new ContinuingAction(new MoveActorAction(next, directionName(here, next)), this, actor, map);
         }
         return null;
     }
+
+    /**
+     * Writes the place and the Action, which JurassicParkSnapshot reads back to make one,
+     * then the target and the route. A Growable that is still the Ground there is written as such,
+     * and one that is gone is written in full, so that it is still gone once restored.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeLocation(there);
+        out.writeObjectIfSaveable(action);
+        out.writeBoolean(growable != null);
+        if (growable != null) {
+            boolean stillThere = growable == there.getGround();
+            out.writeBoolean(stillThere);
+            if (!stillThere) {
+                out.writeObject(growable);
+            }
+        }
+        out.writeItem(item);
+        saveRoute(out);
+    }
+
+    /**
+     * Reads back the target and the route.
+     *
+     * @param in where to read from
+     * @throws IOException when the snapshot can't be read
+     */
+    @Override
+    public void restore(SnapshotReader in) throws IOException {
+        if (in.readBoolean()) {
+            growable = in.readBoolean() ? (Growable) there.getGround() : in.readObject(Growable.class);
+        }
+        item = in.readItem();
+        restoreRoute(in);
+    }
 }
 
 
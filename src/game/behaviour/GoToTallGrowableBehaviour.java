@@ -4,19 +4,21 @@ import edu.monash.fit2099.engine.*;
 import game.dinosaur.DinosaurStatus;
 import game.growable.GrowableStatus;
 
+import java.io.IOException;
+
 /**
  * Behaviour for Flying Dinosaurs which have no objective and are on the ground, which will then find a
  * Tall Growable to perch on.
  *
  * @author Lin Chen Xiang
- * @see GoToLocation
+ * @see DinosaurTarget
  * @see game.growable.Tree
  * @see Location
  * @since 20/05/2021
  * @version 1.0
  */
 
-public class GoToTallGrowableBehaviour extends MovingBehaviour implements Behaviour {
+public class GoToTallGrowableBehaviour extends MovingBehaviour implements Behaviour, Saveable {
 
     /**
      * Optional action to do when reached Growable, default set to null
@@ -37,10 +39,10 @@ public class GoToTallGrowableBehaviour extends MovingBehaviour implements Behavi
     }
 
     /**
-     * Scans the entire map to find the closest Tall Growable to go to, if actor is on land
+     * Finds the closest Tall Growable to go to, if actor is on land
      * @param actor the Actor acting
      * @param map the GameMap containing the Actor
-     * @return null if no such Growable found, an Action to from GoToLocation if found nearest growable
+     * @return null if no such Growable found, a move towards the nearest growable, or action once on it
      */
     @Override
     public Action getAction(Actor actor, GameMap map) {
@@ -52,33 +54,34 @@ public class GoToTallGrowableBehaviour extends MovingBehaviour implements Behavi
             }
         }
         Location here = map.locationOf(actor);
-        Location there;
-        Location currentClosest = here;  // set current location of actor as default
-        int distance;
-        int closestDistance = Integer.MAX_VALUE;
-        // start scanning map
-        for (int y : map.getYRange()) {
-            for (int x : map.getXRange()) {
-                there = map.at(x, y);
-                // found Tall Growable
-                if (there.getGround().hasCapability(GrowableStatus.TALL)) {
-                    distance = distance(here, there);
-                    // nearer than previously found Growable, set this as current closest Location
-                    if (distance < closestDistance) {
-                        closestDistance = distance;
-                        currentClosest = there;
-                    }
-                }
-            }
-        }
-        if (closestDistance < Integer.MAX_VALUE) {
-            // actor is just moving to that Location, doesn't do anything else when reaching there
-            Behaviour startMoving = new GoToLocation(currentClosest, action);
-            // start moving towards Location
-            return startMoving.getAction(actor, map);
+        // already on a Tall Growable
+        if (DinosaurTarget.TALL_GROWABLE.fieldFor(actor, map).distanceFrom(here) == 0) {
+            return action;
         }
 
-        // actor is still flying, or did not find any of such Growable
-        return null;
+        // step towards the closest Tall Growable, or null if there isn't one to get to
+        return DinosaurTarget.TALL_GROWABLE.stepTowards(here, actor, map, this);
+    }
+
+    /**
+     * Writes the Action to do on the Growable.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeObjectIfSaveable(action);
+    }
+
+    /**
+     * Reads back the Action to do on the Growable.
+     *
+     * @param in where to read from
+     * @throws IOException when the snapshot can't be read
+     */
+    @Override
+    public void restore(SnapshotReader in) throws IOException {
+        action = in.readObject(Action.class);
     }
 }
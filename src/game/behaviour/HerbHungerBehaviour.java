@@ -28,11 +28,17 @@ import game.items.ItemStats;
  * @see EatFromGrowableAction
  * @see EatItemAction
  * @see GoToLocation
+ * @see DinosaurTarget
  * @see GameMap
  * @since 03/05/2021
  */
 
-public class HerbHungerBehaviour implements HungerBehaviour{
+public class HerbHungerBehaviour implements HungerBehaviour, Saveable {
+
+    /**
+     * The eight ways to look around, kept so looking doesn't make a new array each time.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
 
     /**
      * Empty Constructor
@@ -66,8 +72,11 @@ public class HerbHungerBehaviour implements HungerBehaviour{
             Location here = map.locationOf(actor);
 
             // check surroundings if there is food source
-            for (Exit exit : here.getExits()) {
-                Location destination = exit.getDestination();
+            for (Direction direction : DIRECTIONS) {
+                Location destination = here.getNeighbour(direction);
+                if (destination == null) {
+                    continue;
+                }
                 // found food source from growable, immediately feed from that growable
                 if (destination.getGround().hasCapability(capability)) {
                     if (((Growable)destination.getGround()).getNumberOfRipeFruit() > 0) {
@@ -108,7 +117,7 @@ public class HerbHungerBehaviour implements HungerBehaviour{
         Behaviour startMoving; // GoToLocation
         Location there; // targeted location
         Location currentClosest = here; // default set to location of dinosaur
-        Growable closestGrowable = null; // closest found food source
+        DinosaurTarget growableTarget = null; // the kind of growable it eats from
         Item closestItem = null; // closest found food
         int distance; // calculated distance between here and there
         int[] closestDist = {Integer.MAX_VALUE, -1};
@@ -127,39 +136,34 @@ public class HerbHungerBehaviour implements HungerBehaviour{
             capability = GrowableStatus.TALL;
         }
 
-        // go through entire map
-        for (int y : map.getYRange()) {
-            for (int x : map.getXRange()) {
-                // current tile
-                there = map.at(x, y);
-                // if found potential food source
-                if (there.getGround().hasCapability(capability)) {
-                    // check if this growable has any fruit on it
-                    if (((Growable)there.getGround()).getNumberOfRipeFruit() > 0) {
-                        distance = distance(here, there);
-                        // if this growable is nearer than current nearest goal, overwrite nearest goal to this goal
-                        if (distance < closestDist[0]) {
-                            closestDist[0] = distance;
-                            closestDist[1] = 0;
-                            currentClosest = there;
-                            closestGrowable = ((Growable)there.getGround());
-                        }
-                    }
-                }
-                else if (dinosaur.hasCapability(DinosaurStatus.SHORT_NECK)){ // Dinosaur with SHORT NECK can eat Item from ground
-                    for (Item item : there.getItems()) {
-                        if (item.hasCapability(ItemStats.HERBIVORE_CAN_EAT)) {
-                            distance = distance(here, there);
-                            // if this food Item is nearer than current nearest goal, overwrite nearest target to this
-                            if (distance < closestDist[0]) {
-                                closestDist[0] = distance;
-                                closestDist[1] = 1;
-                                currentClosest = there;
-                                closestItem = item;
-                            }
-                            break; // found food on this tile, continue to next tile
-                        }
-                    }
+        // find how far the closest growable that still has fruit on it is, from the map's distance field
+        if (capability == GrowableStatus.SHORT) {
+            growableTarget = DinosaurTarget.FRUITING_SHORT_GROWABLE;
+        } else if (capability == GrowableStatus.TALL) {
+            growableTarget = DinosaurTarget.FRUITING_TALL_GROWABLE;
+        }
+        if (growableTarget != null) {
+            int steps = growableTarget.fieldFor(dinosaur, map).distanceFrom(here);
+            if (steps != DistanceField.UNREACHABLE) {
+                closestDist[0] = steps;
+                closestDist[1] = 0;
+            }
+        }
+
+        // Dinosaur with SHORT NECK can eat Item from ground, see if any is closer
+        if (dinosaur.hasCapability(DinosaurStatus.SHORT_NECK)) {
+            final Enum<GrowableStatus> growableCapability = capability;
+            // fruit on a growable it eats from was already checked above
+            there = map.nearestItemWithCapability(here, ItemStats.HERBIVORE_CAN_EAT,
+                    location -> !location.getGround().hasCapability(growableCapability));
+            if (there != null) {
+                distance = distance(here, there);
+                // if this food Item is nearer than current nearest goal, overwrite nearest target to this
+                if (distance < closestDist[0]) {
+                    closestDist[0] = distance;
+                    closestDist[1] = 1;
+                    currentClosest = there;
+                    closestItem = firstItemWithCapability(there, ItemStats.HERBIVORE_CAN_EAT);
                 }
             }
         }
@@ -169,8 +173,11 @@ public class HerbHungerBehaviour implements HungerBehaviour{
                 return null;
 
             case (0):  // found Growable to go to
-                startMoving = new GoToLocation(currentClosest, closestGrowable, new EatFromGrowableAction(closestGrowable));
-                return startMoving.getAction(dinosaur, map); // start going towards growable
+                Location growable = growableTarget.targetAtOrNextTo(here);
+                if (growable != null) {
+                    return new EatFromGrowableAction((Growable) growable.getGround());
+                }
+                return growableTarget.stepTowards(here, dinosaur, map, this); // start going towards growable
 
             case (1):  // found Item to go to
                 startMoving = new GoToLocation(currentClosest, closestItem, new EatItemAction(closestItem));
@@ -181,14 +188,49 @@ public class HerbHungerBehaviour implements HungerBehaviour{
     }
 
     /**
-     * Compute the Manhattan distance between two locations.
+     * Find the first Item on a Location with the given capability.
+     *
+     * @param location   the Location to look at
+     * @param capability the capability the Item needs
+     * @return the first matching Item, or null if there isn't one
+     */
+    private Item firstItemWithCapability(Location location, Enum<ItemStats> capability) {
+        for (Item item : location.getItems()) {
+            if (item.hasCapability(capability)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Compute the number of steps between two locations, the same way the distance fields count them.
      *
      * @param a the first location
      * @param b the first location
-     * @return the number of steps between a and b if you only move in the four cardinal directions.
+     * @return the number of steps between a and b if you can move diagonally.
      */
     private int distance(Location a, Location b) {
-        return Math.abs(a.x() - b.x()) + Math.abs(a.y() - b.y());
+        return Math.max(Math.abs(a.x() - b.x()), Math.abs(a.y() - b.y()));
     }
 
-}
\ No newline at end of file
+    /**
+     * Nothing to write, as this behaviour keeps nothing from turn to turn. It is saved so that a
+     * dinosaur heading somewhere with it carries on once the game is restored.
+     *
+     * @param out where to write
+     * @see ContinuingAction
+     */
+    @Override
+    public void save(SnapshotWriter out) {
+    }
+
+    /**
+     * Nothing to read.
+     *
+     * @param in where to read from
+     */
+    @Override
+    public void restore(SnapshotReader in) {
+    }
+}
@@ -1,5 +1,13 @@
 package game.behaviour;
+import edu.monash.fit2099.engine.Actor;
+import edu.monash.fit2099.engine.Direction;
 import edu.monash.fit2099.engine.Location;
+import edu.monash.fit2099.engine.Route;
+import edu.monash.fit2099.engine.PathFinder;
+import edu.monash.fit2099.engine.SnapshotReader;
+import edu.monash.fit2099.engine.SnapshotWriter;
+
+import java.io.IOException;
 
 /**
  * Parent class for all moving related Behaviours
@@ -8,12 +16,23 @@ import edu.monash.fit2099.engine.Location;
  * @see FollowBehaviour
  * @see GoToLocation
  * @see Location
+ * @see PathFinder
  * @since 19/05/2021
  * @version 1.1
  */
 
 public abstract class MovingBehaviour implements Behaviour{
 
+    /**
+     * The route being followed. The behaviour is kept from turn to turn by the chained
+     * actions, so the route is only found again when it stops working.
+     */
+    private Route path;
+    /**
+     * Where the route leads.
+     */
+    private Location pathGoal;
+
     /**
      * Compute the Manhattan distance between two locations.
      *
@@ -25,4 +44,85 @@ public abstract class MovingBehaviour implements Behaviour{
         return Math.abs(a.x() - b.x()) + Math.abs(a.y() - b.y());
     }
 
+    /**
+     * Works out the next Location to step to on the way to a goal.
+     * <p>
+     * The route comes from the map's PathFinder, so it goes around walls and water instead of
+     * getting stuck against them. It is found again if the next step is blocked, the actor
+     * has gone off it, or the goal has moved more than one step from where the route leads.
+     * A goal that is being followed usually moves every turn, and the route still gets the
+     * actor next to it, so it isn't worth finding again for that.
+     *
+     * @param actor          the Actor moving
+     * @param here           where the Actor is
+     * @param goal           where the Actor is going
+     * @param nextToIsEnough true to stop next to the goal rather than on it
+     * @return the Location to move to, or null if there is no way to get any closer
+     */
+    Location nextStep(Actor actor, Location here, Location goal, boolean nextToIsEnough) {
+        if (nextToIsEnough && isNextToOrOn(here, goal)) {
+            return null;
+        }
+        if (path != null && isNextToOrOn(goal, pathGoal)) {
+            Location next = path.nextStepFrom(here);
+            if (next != null && next.canActorEnter(actor)) {
+                return next;
+            }
+        }
+
+        pathGoal = goal;
+        path = here.map().getPathFinder().findPath(actor, here, goal, nextToIsEnough);
+        if (path == null) {
+            return null;
+        }
+        Location next = path.nextStepFrom(here);
+        return next != null && next.canActorEnter(actor) ? next : null;
+    }
+
+    /**
+     * Checks whether two Locations are on the same map and at most one step apart.
+     *
+     * @param a the first location
+     * @param b the second location, or null
+     * @return true if b is a or one of the eight Locations around it
+     */
+    private boolean isNextToOrOn(Location a, Location b) {
+        return b != null && a.map() == b.map()
+                && Math.abs(a.x() - b.x()) <= 1 && Math.abs(a.y() - b.y()) <= 1;
+    }
+
+    /**
+     * Writes the route being followed and where it leads, for behaviours that are saved with the game.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    void saveRoute(SnapshotWriter out) throws IOException {
+        out.writeRoute(path);
+        out.writeLocation(pathGoal);
+    }
+
+    /**
+     * Reads back what saveRoute() wrote.
+     *
+     * @param in where to read from
+     * @throws IOException when the snapshot can't be read
+     */
+    void restoreRoute(SnapshotReader in) throws IOException {
+        path = in.readRoute();
+        pathGoal = in.readLocation();
+    }
+
+    /**
+     * Names the way from one Location to the one next to it, for the move's menu description.
+     *
+     * @param here the Location moving from
+     * @param next the Location moving to
+     * @return the name of the direction, e.g. "North"
+     */
+    String directionName(Location here, Location next) {
+        Direction direction = Direction.of(next.x() - here.x(), next.y() - here.y());
+        return direction != null ? direction.getName() : "onwards";
+    }
+
 }
@@ -6,6 +6,8 @@ import game.dinosaur.Dinosaur;
 import game.dinosaur.DinosaurStatus;
 import game.items.EdibleItem;
 
+import java.io.IOException;
+
 /**
  * Special Behaviour class that allows small dinosaurs to keep eating the same item for multiple turns
  *
@@ -15,21 +17,17 @@ import game.items.EdibleItem;
  * @see DinosaurStatus
  * @see Location
  * @see GameMap
+ * @see ContinuingAction
  * @since 20/05/2021
  */
 
-public class SmallBeakFeedingBehaviour implements Behaviour{
+public class SmallBeakFeedingBehaviour implements Behaviour, Saveable {
 
     /**
      * The item to be eaten for multiple turns
      */
     private Item item;
 
-    /**
-     * Used to override getNextAction to action chaining
-     */
-    private Behaviour self = this;
-
     /**
      * Constructor
      * @param item the item to be eaten for multiple turns
@@ -59,16 +57,31 @@ public class SmallBeakFeedingBehaviour implements Behaviour{
             // check if item still present
             for (Item item : here.getItems()) {
                 if (item == this.item) {
-                    return (new EatItemAction(item) {
-                        @Override
-                        public Action getNextAction() { // override next action as current action to keep eating this item
-                            return self.getAction(actor, map);
-                        }
-                    });
+                    return new ContinuingAction(new EatItemAction(item), this, actor, map); // keep eating this item
                 }
             }
         }
         // actor or item missing, or no longer hungry
         return null;
     }
+
+    /**
+     * Writes the item, which JurassicParkSnapshot reads back to make one.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeItem(item);
+    }
+
+    /**
+     * Everything was read when it was made.
+     *
+     * @param in where to read from
+     */
+    @Override
+    public void restore(SnapshotReader in) {
+    }
 }
@@ -15,9 +15,10 @@ import game.watertile.WaterTileStatus;
  * @see Dinosaur
  * @see WaterTile
  * @see WaterTileStatus
+ * @see DinosaurTarget
  * @since 16/05/2021
  */
-public class ThirstBehaviour implements Behaviour {
+public class ThirstBehaviour implements Behaviour, Saveable {
 
     /**
      * A factory for creating actions. Chaining these together can result in an actor performing more complex tasks.
@@ -44,93 +45,50 @@ public class ThirstBehaviour implements Behaviour {
         // check if it's thirsty
         Dinosaur dinosaur = ((Dinosaur) actor);
         if (dinosaur.isThirsty()) {
-
-            Enum<WaterTileStatus> capability = WaterTileStatus.WATER_TRAVERSE;
-            Location here = map.locationOf(actor);
-
-            // check surroundings if there is water source
-            for (Exit exit : here.getExits()) {
-                Location destination = exit.getDestination();
-                // found water immediately drink from that water
-                if (destination.getGround().hasCapability(capability)) {
-                    WaterTile tile = ((WaterTile) destination.getGround());
-                    if (tile.getSipCapacity() > 0) {
-                        return new DrinkFromWaterTileAction(tile);
-                    }
-                }
-
-                // no tile at surrounding
-                return findWater(here, actor, map);
-            }
+            // drink from any water here or around, or start going towards some
+            return findWater(map.locationOf(actor), actor, map);
         }
         return null; // If not thirsty
     }
 
     /**
      * Find water to drink.
+     * Uses the map's distance field to water, shared by every thirsty dinosaur this turn.
      *
      * @param here Location we are at
      * @param dinosaur the Dinosaur we trying to find water for
      * @param map The map we are in
-     * @return a DrinkFromWaterTileAction if we found something to drink, else null
+     * @return a DrinkFromWaterTileAction if there is water right here, a move towards the
+     * closest water if not, or null if there is no water we can get to
      */
     public Action findWater(Location here, Actor dinosaur, GameMap map) {
-        Behaviour startMoving; // GoToLocation
-        Location there; // targeted location
-        Location currentClosest = here; // default set to location of dinosaur
-        WaterTile tile = null; // closest found food source
-        int distance; // calculated distance between here and there
-        int[] closestDist = {Integer.MAX_VALUE, -1};
-        // index 0 represents: the calculated distance
-        // index 1 represents: -1 -> no food source
-        //                      0 -> found Water to go to
-
-        Enum<WaterTileStatus> capability = WaterTileStatus.WATER_TRAVERSE;
-
-        // go through entire map
-        for (int y : map.getYRange()) {
-            for (int x : map.getXRange()) {
-                // current tile
-                there = map.at(x, y);
-                // if found potential water
-                if (there.getGround().hasCapability(capability)) {
-                    // check if this water has any water on it
-                    if (((WaterTile) there.getGround()).getSipCapacity() > 0) {
-                        distance = distance(here, there);
-                        // if this water is nearer than current nearest goal, overwrite nearest goal to this goal
-                        if (distance < closestDist[0]) {
-                            closestDist[0] = distance;
-                            closestDist[1] = 0;
-                            currentClosest = there;
-                            tile = ((WaterTile) there.getGround());
-                        }
-                    }
-                }
-            }
+        // water right here or next to us
+        Location water = DinosaurTarget.WATER.targetAtOrNextTo(here);
+        if (water != null) {
+            return new DrinkFromWaterTileAction((WaterTile) water.getGround());
         }
 
-        switch (closestDist[1]) {
-            case (-1): // no water
-                return null;
-
-            case (0):  // found water
-                startMoving = new GoToLocation(currentClosest, new DrinkFromWaterTileAction(tile));
-                return startMoving.getAction(dinosaur, map); // start going towards growable
-
-        }
-        // backup null
-        return null;
+        // start going towards water
+        return DinosaurTarget.WATER.stepTowards(here, dinosaur, map, this);
     }
 
+    /**
+     * Nothing to write, as this behaviour keeps nothing from turn to turn. It is saved so that a
+     * dinosaur heading somewhere with it carries on once the game is restored.
+     *
+     * @param out where to write
+     * @see ContinuingAction
+     */
+    @Override
+    public void save(SnapshotWriter out) {
+    }
 
     /**
-     * Compute the Manhattan distance between two locations.
+     * Nothing to read.
      *
-     * @param a the first location
-     * @param b the first location
-     * @return the number of steps between a and b if you only move in the four cardinal directions.
+     * @param in where to read from
      */
-    private int distance(Location a, Location b) {
-        return Math.abs(a.x() - b.x()) + Math.abs(a.y() - b.y());
+    @Override
+    public void restore(SnapshotReader in) {
     }
 }
@@ -1,7 +1,6 @@
 package game.behaviour;
 
 import java.util.ArrayList;
-import java.util.Random;
 
 import edu.monash.fit2099.engine.Action;
 import edu.monash.fit2099.engine.Actor;
@@ -11,12 +10,6 @@ import edu.monash.fit2099.engine.Location;
 
 public class WanderBehaviour implements Behaviour {
 
-	/**
-	 * Used in calculating chances
-	 */
-	private Random random = new Random();
-
-
 	/**
 	 * Returns a MoveAction to wander to a random location, if possible.  
 	 * If no movement is possible, returns null.
@@ -37,7 +30,7 @@ public class WanderBehaviour implements Behaviour {
         }
 		
 		if (!actions.isEmpty()) {
-			return actions.get(random.nextInt(actions.size()));
+			return actions.get(actor.getRandom().nextInt(actions.size()));
 		}
 		else {
 			return null;
@@ -0,0 +1,37 @@
+package game.benchmark;
+
+import edu.monash.fit2099.engine.ActorLocations;
+import edu.monash.fit2099.engine.Actor;
+
+/**
+ * Times walking over every Actor in the world, as each turn does.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see ActorLocations
+ * @since 18/10/2026
+ */
+public class ActorIterationBenchmark extends Benchmark {
+
+    private Iterable<Actor> actors;
+
+    /**
+     * @see Benchmark#setUp(BenchmarkState)
+     */
+    @Override
+    public void setUp(BenchmarkState state) {
+        actors = state.getWorld().getActors();
+    }
+
+    /**
+     * @see Benchmark#run()
+     */
+    @Override
+    public Object run() {
+        int count = 0;
+        for (Actor actor : actors) {
+            count += actor.getDisplayChar();
+        }
+        return count;
+    }
+}
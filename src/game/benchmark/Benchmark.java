@@ -0,0 +1,57 @@
+package game.benchmark;
+
+/**
+ * One timed operation.
+ * <p>
+ * The runner builds a fresh BenchmarkState for every map size and dinosaur count, calls
+ * setUp() once, and then times run() over and over. Anything run() returns is consumed
+ * by the runner, so the JIT can't throw the work away.
+ * <p>
+ * A benchmark that changes the state it runs against gives an operation limit. Each time it has
+ * run that many operations, the runner stops the clock, builds the state afresh and calls
+ * setUp() again, so every operation timed is run against much the same state.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see BenchmarkRunner
+ * @see BenchmarkState
+ * @since 18/10/2026
+ */
+public abstract class Benchmark {
+
+    /**
+     * Get the name shown in the results, and matched by the runner's filters.
+     *
+     * @return the name of the benchmark
+     */
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Get ready to run against a new state. Not timed.
+     *
+     * @param state the map, world and actors to run against
+     */
+    public void setUp(BenchmarkState state) {
+    }
+
+    /**
+     * Get the most operations to run against one state. Called after setUp().
+     *
+     * @return the most operations before the state is built afresh, or 0 if run() leaves the
+     * state as it was
+     */
+    public long getOperationLimit() {
+        return 0;
+    }
+
+    /**
+     * Do one operation. This is the part being timed.
+     *
+     * @return the result of the operation, or null if there isn't one
+     * @throws IllegalStateException if the state has nothing left to time, such as when every
+     *                               dinosaur has died
+     */
+    public abstract Object run();
+}
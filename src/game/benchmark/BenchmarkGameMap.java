@@ -0,0 +1,42 @@
+package game.benchmark;
+
+import edu.monash.fit2099.engine.GroundFactory;
+import edu.monash.fit2099.engine.Location;
+import game.JurassicParkGameMap;
+
+import java.util.List;
+
+/**
+ * A JurassicParkGameMap made of BenchmarkLocations.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see BenchmarkLocation
+ * @since 18/10/2026
+ */
+public class BenchmarkGameMap extends JurassicParkGameMap {
+
+    /**
+     * Constructor.
+     *
+     * @param groundFactory Factory to create Ground objects
+     * @param lines         List of Strings representing rows of the map
+     */
+    public BenchmarkGameMap(GroundFactory groundFactory, List<String> lines) {
+        super(groundFactory, lines);
+    }
+
+    /**
+     * Creates a new Location.
+     * <p>
+     * Overridden to use BenchmarkLocation.
+     *
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @return a new Location.
+     */
+    @Override
+    protected Location makeNewLocation(int x, int y) {
+        return new BenchmarkLocation(this, x, y);
+    }
+}
@@ -0,0 +1,36 @@
+package game.benchmark;
+
+import edu.monash.fit2099.engine.GameMap;
+import game.JurassicParkLocation;
+
+/**
+ * A JurassicParkLocation that lets benchmarks roll for bush growth.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see BenchmarkGameMap
+ * @since 18/10/2026
+ */
+public class BenchmarkLocation extends JurassicParkLocation {
+
+    /**
+     * Constructor.
+     *
+     * @param map the map that contains this location
+     * @param x   x coordinate of this location within the map
+     * @param y   y coordinate of this location within the map
+     */
+    public BenchmarkLocation(GameMap map, int x, int y) {
+        super(map, x, y);
+    }
+
+    /**
+     * Works out whether a bush will grow here, without growing it.
+     *
+     * @return true if a bush grows, else false
+     */
+    @Override
+    public boolean rollBushGrowth() {
+        return super.rollBushGrowth();
+    }
+}
@@ -0,0 +1,223 @@
+package game.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the benchmarks and prints how long each operation takes.
+ * <p>
+ * Every benchmark is run against a freshly built BenchmarkState for each map size and dinosaur
+ * count. It gets some untimed warmup iterations so the JIT can settle, followed by the measured
+ * iterations, and the mean time per operation is printed with its standard deviation. Benchmarks
+ * that change the state get it built afresh, untimed, every so many operations.
+ * <p>
+ * Command line arguments are regular expressions, and only benchmarks whose names match one of
+ * them are run. With no arguments, everything is run. The rest is set with system properties:
+ * <ul>
+ * <li>bench.sizes - map sizes, e.g. 80x25,256x256 (default 80x25,256x256,1024x1024,4096x4096)</li>
+ * <li>bench.dinosaurs - dinosaur counts, e.g. 10,100 (default 10,100,1000)</li>
+ * <li>bench.warmup - warmup iterations (default 3)</li>
+ * <li>bench.iterations - measured iterations (default 5)</li>
+ * <li>bench.time - length of each iteration, in milliseconds (default 500)</li>
+ * <li>bench.seed - seed the states are generated from (default 42)</li>
+ * </ul>
+ * Parameter sets that don't fit in memory are reported as skipped. Give the JVM a bigger heap
+ * (e.g. -Xmx8g) to run the largest maps.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see Benchmark
+ * @see BenchmarkState
+ * @since 18/10/2026
+ */
+public class BenchmarkRunner {
+
+    private static final String ROW_FORMAT = "%-28s %10s %12s %4s %14s %14s  %s%n";
+
+    /**
+     * Written once per batch of operations, so their results count as used.
+     */
+    private static volatile Object sink;
+
+    private final int[][] sizes;
+    private final int[] dinosaurCounts;
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final long seed;
+
+    /**
+     * Operations run against the current state since it was built.
+     */
+    private long stateOperations;
+
+    /**
+     * Constructor. Reads the settings from the system properties.
+     */
+    public BenchmarkRunner() {
+        String[] sizeStrings = System.getProperty("bench.sizes", "80x25,256x256,1024x1024,4096x4096").split(",");
+        sizes = new int[sizeStrings.length][];
+        for (int i = 0; i < sizeStrings.length; i++) {
+            String[] parts = sizeStrings[i].trim().split("x");
+            sizes[i] = new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+        }
+        dinosaurCounts = Arrays.stream(System.getProperty("bench.dinosaurs", "10,100,1000").split(","))
+                .mapToInt(count -> Integer.parseInt(count.trim())).toArray();
+        warmupIterations = Integer.getInteger("bench.warmup", 3);
+        measurementIterations = Math.max(Integer.getInteger("bench.iterations", 5), 1);
+        iterationNanos = Integer.getInteger("bench.time", 500) * 1000000L;
+        seed = Long.getLong("bench.seed", 42L);
+    }
+
+    /**
+     * Get every benchmark, in the order they are run.
+     *
+     * @return the benchmarks
+     */
+    public static List<Benchmark> allBenchmarks() {
+        return Arrays.asList(
+                new ProcessActorTurnBenchmark(),
+                new GameMapTickBenchmark(),
+                new BushGrowthBenchmark(),
+                new HerbivoreFindFoodBenchmark(),
+                new CarnivoreFindFoodBenchmark(),
+                new FindWaterBenchmark(),
+                new FindPartnerBenchmark(),
+                new ActorIterationBenchmark(),
+                new NewGroundBenchmark());
+    }
+
+    /**
+     * Run every benchmark over every parameter set.
+     *
+     * @param benchmarks the benchmarks to run
+     */
+    public void run(List<Benchmark> benchmarks) {
+        System.out.printf(ROW_FORMAT, "Benchmark", "(size)", "(dinosaurs)", "Cnt", "Score", "Error", "Units");
+        for (Benchmark benchmark : benchmarks) {
+            for (int[] size : sizes) {
+                for (int dinosaurCount : dinosaurCounts) {
+                    run(benchmark, size[0], size[1], dinosaurCount);
+                }
+            }
+        }
+    }
+
+    /**
+     * Run one benchmark over one parameter set, and print the result.
+     *
+     * @param benchmark     the benchmark to run
+     * @param width         width of the map
+     * @param height        height of the map
+     * @param dinosaurCount how many dinosaurs to place
+     */
+    private void run(Benchmark benchmark, int width, int height, int dinosaurCount) {
+        String size = width + "x" + height;
+        double[] scores = new double[measurementIterations];
+        int placed;
+        try {
+            BenchmarkState state = new BenchmarkState(width, height, dinosaurCount, seed);
+            placed = state.getDinosaurs().size();
+            benchmark.setUp(state);
+            stateOperations = 0;
+
+            int batch = 1;
+            for (int i = 0; i < warmupIterations; i++) {
+                batch = calibrate(iterate(benchmark, batch, width, height, dinosaurCount));
+            }
+            for (int i = 0; i < measurementIterations; i++) {
+                long[] result = iterate(benchmark, batch, width, height, dinosaurCount);
+                scores[i] = (double) result[1] / result[0];
+                batch = calibrate(result);
+            }
+        } catch (OutOfMemoryError e) {
+            System.gc();
+            System.out.printf(ROW_FORMAT, benchmark.getName(), size, dinosaurCount, "", "skipped", "", "out of memory");
+            return;
+        } catch (IllegalStateException e) {
+            System.out.printf(ROW_FORMAT, benchmark.getName(), size, dinosaurCount, "", "failed", "", e.getMessage());
+            return;
+        }
+
+        double mean = 0;
+        for (double score : scores) {
+            mean += score;
+        }
+        mean /= scores.length;
+        double variance = 0;
+        for (double score : scores) {
+            variance += (score - mean) * (score - mean);
+        }
+        double error = scores.length > 1 ? Math.sqrt(variance / (scores.length - 1)) : 0;
+        System.out.printf(ROW_FORMAT, benchmark.getName(), size, placed, scores.length,
+                String.format("%.1f", mean), String.format("+- %.1f", error), "ns/op");
+    }
+
+    /**
+     * Run operations in batches until the iteration time is up. Whenever the benchmark's operation
+     * limit is reached, its state is built afresh without the clock running.
+     *
+     * @param benchmark     the benchmark to run
+     * @param batch         how many operations to run between looking at the clock
+     * @param width         width of the map
+     * @param height        height of the map
+     * @param dinosaurCount how many dinosaurs to place
+     * @return the number of operations run, and the nanoseconds they took
+     */
+    private long[] iterate(Benchmark benchmark, int batch, int width, int height, int dinosaurCount) {
+        long operations = 0;
+        long timed = 0;
+        long start = System.nanoTime();
+        do {
+            long limit = benchmark.getOperationLimit();
+            if (limit > 0 && stateOperations >= limit) {
+                benchmark.setUp(new BenchmarkState(width, height, dinosaurCount, seed));
+                stateOperations = 0;
+                continue;
+            }
+            int size = limit > 0 ? (int) Math.min(batch, limit - stateOperations) : batch;
+            long batchStart = System.nanoTime();
+            Object result = null;
+            for (int i = 0; i < size; i++) {
+                result = benchmark.run();
+            }
+            timed += System.nanoTime() - batchStart;
+            sink = result;
+            operations += size;
+            stateOperations += size;
+        } while (operations == 0 || System.nanoTime() - start < iterationNanos);
+        return new long[]{operations, timed};
+    }
+
+    /**
+     * Work out a batch size that looks at the clock about a hundred times per iteration.
+     *
+     * @param result the operations run and nanoseconds taken by the last iteration
+     * @return the new batch size
+     */
+    private int calibrate(long[] result) {
+        long perIteration = result[0] * iterationNanos / Math.max(result[1], 1);
+        return (int) Math.max(1, Math.min(perIteration / 100, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Run the benchmarks whose names match the arguments.
+     *
+     * @param args regular expressions to pick benchmarks by name. Runs everything if there are none
+     */
+    public static void main(String[] args) {
+        List<Benchmark> benchmarks = new ArrayList<>();
+        for (Benchmark benchmark : allBenchmarks()) {
+            boolean matches = args.length == 0;
+            for (String filter : args) {
+                matches |= Pattern.compile(filter).matcher(benchmark.getName()).find();
+            }
+            if (matches) {
+                benchmarks.add(benchmark);
+            }
+        }
+        new BenchmarkRunner().run(benchmarks);
+    }
+}
@@ -0,0 +1,254 @@
+package game.benchmark;
+
+import edu.monash.fit2099.engine.*;
+import game.Dirt;
+import game.Floor;
+import game.Player;
+import game.VendingMachine;
+import game.Wall;
+import game.dinosaur.*;
+import game.growable.Bush;
+import game.growable.GrowableStatus;
+import game.growable.Tree;
+import game.watertile.Lake;
+import game.watertile.WaterTile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A generated map and world for benchmarks to run against.
+ * <p>
+ * The terrain is mostly dirt, scattered with trees, bushes, lakes and walls, and the dinosaurs
+ * are an even mix of the four species. Everything is drawn from one seed, so the same parameters
+ * always give the same state.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see Benchmark
+ * @see BenchmarkRunner
+ * @since 18/10/2026
+ */
+public class BenchmarkState {
+
+    /**
+     * The most Dirt locations kept as bush growth candidates.
+     */
+    private static final int MAX_DIRT_SAMPLES = 4096;
+
+    private final int width;
+    private final int height;
+    private final GroundFactory groundFactory;
+    private final BenchmarkGameMap map;
+    private final BenchmarkWorld world;
+    private final List<Dinosaur> dinosaurs = new ArrayList<>();
+    private final List<Dinosaur> herbivores = new ArrayList<>();
+    private final List<Dinosaur> carnivores = new ArrayList<>();
+    private final List<BenchmarkLocation> dirtLocations = new ArrayList<>();
+
+    /**
+     * Constructor.
+     *
+     * @param width          width of the map, in tiles
+     * @param height         height of the map, in tiles
+     * @param dinosaurCount  how many dinosaurs to place. Fewer are placed if the map runs out of room
+     * @param seed           the seed to generate everything from
+     */
+    public BenchmarkState(int width, int height, int dinosaurCount, long seed) {
+        this.width = width;
+        this.height = height;
+        RandomService.setSeed(seed);
+        RandomStream random = RandomService.newStream();
+
+        groundFactory = new FlyweightGroundFactory(new Dirt(), new Wall(), new Floor(), new VendingMachine())
+                .addSupplier('+', Tree::new)
+                .addSupplier('w', Bush::new)
+                .addSupplier('~', Lake::new);
+        map = new BenchmarkGameMap(groundFactory, generateTerrain(random));
+        world = new BenchmarkWorld(new Display(new NullSink()));
+        world.addGameMap(map);
+
+        placeActors(random, dinosaurCount);
+        world.prepare();
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                Location location = map.at(x, y);
+                if (location.getGround().hasCapability(GrowableStatus.DIRT) && random.nextInt(16) == 0) {
+                    dirtLocations.add((BenchmarkLocation) location);
+                    if (dirtLocations.size() == MAX_DIRT_SAMPLES) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Make the rows of the map.
+     *
+     * @param random where to draw the terrain from
+     * @return the rows of the map
+     */
+    private List<String> generateTerrain(RandomStream random) {
+        List<String> lines = new ArrayList<>(height);
+        StringBuilder row = new StringBuilder(width);
+        for (int y = 0; y < height; y++) {
+            row.setLength(0);
+            for (int x = 0; x < width; x++) {
+                int roll = random.nextInt(100);
+                if (roll < 3) {
+                    row.append('+');
+                } else if (roll < 6) {
+                    row.append('w');
+                } else if (roll < 8) {
+                    row.append('~');
+                } else if (roll < 9) {
+                    row.append('#');
+                } else {
+                    row.append('.');
+                }
+            }
+            lines.add(row.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Place the player and the dinosaurs on free land.
+     *
+     * @param random        where to draw the positions from
+     * @param dinosaurCount how many dinosaurs to place
+     */
+    private void placeActors(RandomStream random, int dinosaurCount) {
+        Location start = freeLand(random);
+        if (start != null) {
+            world.addPlayer(new Player("Player", '@', 100), start);
+        }
+
+        for (int i = 0; i < dinosaurCount; i++) {
+            Location location = freeLand(random);
+            if (location == null) {
+                return;
+            }
+            Gender gender = i % 2 == 0 ? Gender.MALE : Gender.FEMALE;
+            Dinosaur dinosaur;
+            switch (i % 4) {
+                case 0:
+                    dinosaur = new Stegosaur(gender);
+                    herbivores.add(dinosaur);
+                    break;
+                case 1:
+                    dinosaur = new Brachiosaur(gender);
+                    herbivores.add(dinosaur);
+                    break;
+                case 2:
+                    dinosaur = new Allosaur(gender);
+                    carnivores.add(dinosaur);
+                    break;
+                default:
+                    dinosaur = new Pterodactyl(gender);
+                    carnivores.add(dinosaur);
+            }
+            location.addActor(dinosaur);
+            dinosaurs.add(dinosaur);
+        }
+    }
+
+    /**
+     * Pick a random Location that an Actor could stand on.
+     *
+     * @param random where to draw the position from
+     * @return a free Location, or null if none was found after a fair number of tries
+     */
+    private Location freeLand(RandomStream random) {
+        for (int tries = 0; tries < 100; tries++) {
+            Location location = map.at(random.nextInt(width), random.nextInt(height));
+            if (!(location.getGround() instanceof WaterTile) && location.canActorEnter(null)) {
+                return location;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the width of the map.
+     *
+     * @return width, in tiles
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the height of the map.
+     *
+     * @return height, in tiles
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the factory the map was built with.
+     *
+     * @return the ground factory
+     */
+    public GroundFactory getGroundFactory() {
+        return groundFactory;
+    }
+
+    /**
+     * Get the map.
+     *
+     * @return the map
+     */
+    public BenchmarkGameMap getMap() {
+        return map;
+    }
+
+    /**
+     * Get the world.
+     *
+     * @return the world
+     */
+    public BenchmarkWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Get every dinosaur placed, in the order they were placed.
+     *
+     * @return the dinosaurs
+     */
+    public List<Dinosaur> getDinosaurs() {
+        return dinosaurs;
+    }
+
+    /**
+     * Get the Stegosaurs and Brachiosaurs.
+     *
+     * @return the herbivores
+     */
+    public List<Dinosaur> getHerbivores() {
+        return herbivores;
+    }
+
+    /**
+     * Get the Allosaurs and Pterodactyls.
+     *
+     * @return the carnivores
+     */
+    public List<Dinosaur> getCarnivores() {
+        return carnivores;
+    }
+
+    /**
+     * Get a sample of the Dirt locations, spread over the whole map.
+     *
+     * @return Dirt locations that bushes could grow on
+     */
+    public List<BenchmarkLocation> getDirtLocations() {
+        return dirtLocations;
+    }
+}
@@ -0,0 +1,60 @@
+package game.benchmark;
+
+import edu.monash.fit2099.engine.Actor;
+import edu.monash.fit2099.engine.Display;
+import edu.monash.fit2099.engine.HeadlessWorld;
+
+/**
+ * A HeadlessWorld that lets benchmarks drive single Actor turns.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see BenchmarkState
+ * @since 18/10/2026
+ */
+public class BenchmarkWorld extends HeadlessWorld {
+
+    /**
+     * Constructor.
+     *
+     * @param display the Display that messages will be written to
+     */
+    public BenchmarkWorld(Display display) {
+        super(display, 0);
+    }
+
+    /**
+     * Give every Actor a last action, as run() would before the first turn.
+     */
+    public void prepare() {
+        initialiseLastActions();
+    }
+
+    /**
+     * Play one Actor's turn.
+     *
+     * @param actor the Actor whose turn it is
+     */
+    public void playActorTurn(Actor actor) {
+        processActorTurn(actor);
+    }
+
+    /**
+     * Check whether an Actor is still in the world.
+     *
+     * @param actor the Actor to look for
+     * @return true if the Actor is on a map
+     */
+    public boolean contains(Actor actor) {
+        return actorLocations.contains(actor);
+    }
+
+    /**
+     * Get every Actor in the world, in turn order.
+     *
+     * @return the Actors
+     */
+    public Iterable<Actor> getActors() {
+        return actorLocations;
+    }
+}
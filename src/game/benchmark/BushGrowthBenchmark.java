@@ -0,0 +1,43 @@
+package game.benchmark;
+
+import game.JurassicParkLocation;
+
+import java.util.List;
+
+/**
+ * Times the bush growth check on Dirt.
+ * <p>
+ * Only the roll is timed, not the growing, so the map stays the same for the whole run.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see JurassicParkLocation
+ * @since 18/10/2026
+ */
+public class BushGrowthBenchmark extends Benchmark {
+
+    private List<BenchmarkLocation> locations;
+    private int next;
+
+    /**
+     * @see Benchmark#setUp(BenchmarkState)
+     */
+    @Override
+    public void setUp(BenchmarkState state) {
+        locations = state.getDirtLocations();
+        next = 0;
+    }
+
+    /**
+     * @see Benchmark#run()
+     */
+    @Override
+    public Object run() {
+        if (locations.isEmpty()) {
+            return null;
+        }
+        BenchmarkLocation location = locations.get(next);
+        next = (next + 1) % locations.size();
+        return location.rollBushGrowth();
+    }
+}
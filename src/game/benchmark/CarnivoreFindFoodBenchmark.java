@@ -0,0 +1,38 @@
+package game.benchmark;
+
+import edu.monash.fit2099.engine.Action;
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Location;
+import game.behaviour.CarniHungerBehaviour;
+import game.dinosaur.Dinosaur;
+
+import java.util.List;
+
+/**
+ * Times CarniHungerBehaviour.findFood() for the carnivores.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see CarniHungerBehaviour
+ * @since 18/10/2026
+ */
+public class CarnivoreFindFoodBenchmark extends DinosaurSearchBenchmark {
+
+    private final CarniHungerBehaviour behaviour = new CarniHungerBehaviour();
+
+    /**
+     * @see DinosaurSearchBenchmark#searchers(BenchmarkState)
+     */
+    @Override
+    protected List<Dinosaur> searchers(BenchmarkState state) {
+        return state.getCarnivores();
+    }
+
+    /**
+     * @see DinosaurSearchBenchmark#search(Location, Dinosaur, GameMap)
+     */
+    @Override
+    protected Action search(Location here, Dinosaur dinosaur, GameMap map) {
+        return behaviour.findFood(here, dinosaur, map);
+    }
+}
@@ -0,0 +1,70 @@
+package game.benchmark;
+
+import edu.monash.fit2099.engine.Action;
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Location;
+import game.dinosaur.Dinosaur;
+
+import java.util.List;
+
+/**
+ * Base class for benchmarks that time a dinosaur searching the map from where it stands.
+ * <p>
+ * The dinosaurs search in the order they were placed. Dinosaurs that aren't on the map are skipped.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see Benchmark
+ * @since 18/10/2026
+ */
+public abstract class DinosaurSearchBenchmark extends Benchmark {
+
+    private GameMap map;
+    private List<Dinosaur> dinosaurs;
+    private int next;
+
+    /**
+     * @see Benchmark#setUp(BenchmarkState)
+     */
+    @Override
+    public void setUp(BenchmarkState state) {
+        map = state.getMap();
+        dinosaurs = searchers(state);
+        next = 0;
+    }
+
+    /**
+     * @see Benchmark#run()
+     */
+    @Override
+    public Object run() {
+        for (int tries = 0; tries < dinosaurs.size(); tries++) {
+            Dinosaur dinosaur = dinosaurs.get(next);
+            next = (next + 1) % dinosaurs.size();
+            if (map.contains(dinosaur)) {
+                return search(map.locationOf(dinosaur), dinosaur, map);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pick the dinosaurs that do the searching.
+     *
+     * @param state the state being run against
+     * @return the dinosaurs to search from
+     */
+    protected List<Dinosaur> searchers(BenchmarkState state) {
+        return state.getDinosaurs();
+    }
+
+    /**
+     * Do one search.
+     *
+     * @param here     where the dinosaur is
+     * @param dinosaur the dinosaur searching
+     * @param map      the map the dinosaur is on
+     * @return the Action the search found, or null
+     */
+    protected abstract Action search(Location here, Dinosaur dinosaur, GameMap map);
+}
@@ -0,0 +1,36 @@
+package game.benchmark;
+
+import edu.monash.fit2099.engine.Action;
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Location;
+import game.behaviour.BreedBehaviour;
+import game.behaviour.LandBreedBehaviour;
+import game.dinosaur.Dinosaur;
+import game.dinosaur.Gender;
+
+/**
+ * Times BreedBehaviour.findPartnerInRadius() for every dinosaur, at the widest radius land dinosaurs search.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see BreedBehaviour
+ * @since 18/10/2026
+ */
+public class FindPartnerBenchmark extends DinosaurSearchBenchmark {
+
+    /**
+     * Radius searched, the same as LandBreedBehaviour's outermost ring.
+     */
+    private static final int RADIUS = 3;
+
+    private final LandBreedBehaviour behaviour = new LandBreedBehaviour();
+
+    /**
+     * @see DinosaurSearchBenchmark#search(Location, Dinosaur, GameMap)
+     */
+    @Override
+    protected Action search(Location here, Dinosaur dinosaur, GameMap map) {
+        Gender target = dinosaur.hasCapability(Gender.MALE) ? Gender.FEMALE : Gender.MALE;
+        return behaviour.findPartnerInRadius(here, RADIUS, dinosaur, target, map);
+    }
+}
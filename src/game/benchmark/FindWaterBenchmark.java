@@ -0,0 +1,28 @@
+package game.benchmark;
+
+import edu.monash.fit2099.engine.Action;
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Location;
+import game.behaviour.ThirstBehaviour;
+import game.dinosaur.Dinosaur;
+
+/**
+ * Times ThirstBehaviour.findWater() for every dinosaur.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see ThirstBehaviour
+ * @since 18/10/2026
+ */
+public class FindWaterBenchmark extends DinosaurSearchBenchmark {
+
+    private final ThirstBehaviour behaviour = new ThirstBehaviour();
+
+    /**
+     * @see DinosaurSearchBenchmark#search(Location, Dinosaur, GameMap)
+     */
+    @Override
+    protected Action search(Location here, Dinosaur dinosaur, GameMap map) {
+        return behaviour.findWater(here, dinosaur, map);
+    }
+}
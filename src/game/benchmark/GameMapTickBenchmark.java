@@ -0,0 +1,48 @@
+package game.benchmark;
+
+import edu.monash.fit2099.engine.GameMap;
+
+/**
+ * Times GameMap.tick(), which ages every Ground and Item on the map.
+ * <p>
+ * Ticking grows fruit and rots it, so the map is built afresh every few ticks.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see GameMap#tick()
+ * @since 18/10/2026
+ */
+public class GameMapTickBenchmark extends Benchmark {
+
+    /**
+     * The most ticks before the map is built afresh.
+     */
+    private static final long TICKS = 20;
+
+    private GameMap map;
+
+    /**
+     * @see Benchmark#setUp(BenchmarkState)
+     */
+    @Override
+    public void setUp(BenchmarkState state) {
+        map = state.getMap();
+    }
+
+    /**
+     * @see Benchmark#getOperationLimit()
+     */
+    @Override
+    public long getOperationLimit() {
+        return TICKS;
+    }
+
+    /**
+     * @see Benchmark#run()
+     */
+    @Override
+    public Object run() {
+        map.tick();
+        return map;
+    }
+}
@@ -0,0 +1,38 @@
+package game.benchmark;
+
+import edu.monash.fit2099.engine.Action;
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Location;
+import game.behaviour.HerbHungerBehaviour;
+import game.dinosaur.Dinosaur;
+
+import java.util.List;
+
+/**
+ * Times HerbHungerBehaviour.findFood() for the herbivores.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see HerbHungerBehaviour
+ * @since 18/10/2026
+ */
+public class HerbivoreFindFoodBenchmark extends DinosaurSearchBenchmark {
+
+    private final HerbHungerBehaviour behaviour = new HerbHungerBehaviour();
+
+    /**
+     * @see DinosaurSearchBenchmark#searchers(BenchmarkState)
+     */
+    @Override
+    protected List<Dinosaur> searchers(BenchmarkState state) {
+        return state.getHerbivores();
+    }
+
+    /**
+     * @see DinosaurSearchBenchmark#search(Location, Dinosaur, GameMap)
+     */
+    @Override
+    protected Action search(Location here, Dinosaur dinosaur, GameMap map) {
+        return behaviour.findFood(here, dinosaur, map);
+    }
+}
@@ -0,0 +1,38 @@
+package game.benchmark;
+
+import edu.monash.fit2099.engine.GroundFactory;
+
+/**
+ * Times the map's GroundFactory.newGround(), cycling through every kind of Ground the maps use.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see GroundFactory
+ * @since 18/10/2026
+ */
+public class NewGroundBenchmark extends Benchmark {
+
+    private static final char[] GROUND_CHARS = {'.', '#', '_', '+', 'V', 'w', '~'};
+
+    private GroundFactory groundFactory;
+    private int next;
+
+    /**
+     * @see Benchmark#setUp(BenchmarkState)
+     */
+    @Override
+    public void setUp(BenchmarkState state) {
+        groundFactory = state.getGroundFactory();
+        next = 0;
+    }
+
+    /**
+     * @see Benchmark#run()
+     */
+    @Override
+    public Object run() {
+        char displayChar = GROUND_CHARS[next];
+        next = (next + 1) % GROUND_CHARS.length;
+        return groundFactory.newGround(displayChar);
+    }
+}
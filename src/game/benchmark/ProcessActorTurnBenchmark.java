@@ -0,0 +1,65 @@
+package game.benchmark;
+
+import edu.monash.fit2099.engine.World;
+import game.dinosaur.Dinosaur;
+
+import java.util.List;
+
+/**
+ * Times World.processActorTurn(), one dinosaur at a time.
+ * <p>
+ * The dinosaurs take turns in the order they were placed, so the world moves on as the
+ * benchmark runs. The world is built afresh after a few turns for every dinosaur,
+ * well before they would starve. Dinosaurs that have died are skipped, and
+ * the benchmark fails if none are left.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see World
+ * @since 18/10/2026
+ */
+public class ProcessActorTurnBenchmark extends Benchmark {
+
+    /**
+     * The most turns per dinosaur before the world is built afresh.
+     */
+    private static final long TURNS = 20;
+
+    private BenchmarkWorld world;
+    private List<Dinosaur> dinosaurs;
+    private int next;
+
+    /**
+     * @see Benchmark#setUp(BenchmarkState)
+     */
+    @Override
+    public void setUp(BenchmarkState state) {
+        world = state.getWorld();
+        dinosaurs = state.getDinosaurs();
+        next = 0;
+    }
+
+    /**
+     * @see Benchmark#getOperationLimit()
+     */
+    @Override
+    public long getOperationLimit() {
+        return Math.max(dinosaurs.size(), 1) * TURNS;
+    }
+
+    /**
+     * @see Benchmark#run()
+     */
+    @Override
+    public Object run() {
+        for (int tries = 0; tries < dinosaurs.size(); tries++) {
+            Dinosaur dinosaur = dinosaurs.get(next);
+            next = (next + 1) % dinosaurs.size();
+            if (world.contains(dinosaur)) {
+                world.playActorTurn(dinosaur);
+                return dinosaur;
+            }
+        }
+        throw new IllegalStateException("no dinosaurs are left");
+    }
+}
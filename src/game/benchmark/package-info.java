@@ -0,0 +1,11 @@
+/**
+ * Package of microbenchmarks for the engine and game hot paths.
+ * <p>
+ * Run {@link game.benchmark.BenchmarkRunner} to time every benchmark over each map size
+ * and dinosaur count, so that engine changes can be compared before and after.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @since 18/10/2026
+ */
+package game.benchmark;
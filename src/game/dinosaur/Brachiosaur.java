@@ -1,7 +1,5 @@
 package game.dinosaur;
 
-import java.util.Random;
-
 /**
  * Represents a Herbivore Brachiosaur.
  *
@@ -5,8 +5,9 @@ import game.action.FeedAction;
 import game.behaviour.CarniHungerBehaviour;
 import game.items.ItemStats;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -24,6 +25,7 @@ public abstract class CarnivoreDinosaur extends Dinosaur {
 
     /**
      * Used to store all the Stegosaur that this Allosaur has attacked.
+     * Kept in the order they were attacked, so a snapshot always lists them the same way.
      */
     private final Map<Dinosaur, Integer> attackedDinosaur;
 
@@ -38,7 +40,7 @@ public abstract class CarnivoreDinosaur extends Dinosaur {
      */
     public CarnivoreDinosaur(String name, char displayChar, int hitPoints, Enum<Gender> gender, int thirstMax) {
         super(name, displayChar, hitPoints, gender, thirstMax);
-        attackedDinosaur = new HashMap<>();
+        attackedDinosaur = new LinkedHashMap<>();
         addCapability(DinosaurStatus.TEAM_CARNIVORE);
         behaviourList.add(1, new CarniHungerBehaviour());
     }
@@ -53,7 +55,7 @@ public abstract class CarnivoreDinosaur extends Dinosaur {
      */
     public CarnivoreDinosaur(String name, char displayChar, int hitPoints, int thirstMax) {
         super(name, displayChar, hitPoints, thirstMax);
-        attackedDinosaur = new HashMap<>();
+        attackedDinosaur = new LinkedHashMap<>();
         addCapability(DinosaurStatus.TEAM_CARNIVORE);
         behaviourList.add(2, new CarniHungerBehaviour());
 
@@ -107,7 +109,7 @@ public abstract class CarnivoreDinosaur extends Dinosaur {
     }
 
     /**
-     * Lets a CarnivoreDinosaur have its turn.
+     * Gets a CarnivoreDinosaur ready for its turn.
      * Will iterate through the entire hashmap to make update how long since
      * last attack on a dinosaur it has attacked
      *
@@ -115,10 +117,10 @@ public abstract class CarnivoreDinosaur extends Dinosaur {
      * @param lastAction The Action this Actor took last turn. Can do interesting things in conjunction with Action.getNextAction()
      * @param map        the map containing the Actor
      * @param display    the I/O object to which messages may be written
-     * @return Action to take during this turn, defaults to DoNothingAction if can't find any.
+     * @return Action to take during this turn, or null to find one in playTurn
      */
     @Override
-    public Action playTurn(Actions actions, Action lastAction, GameMap map, Display display) {
+    public Action prepareTurn(Actions actions, Action lastAction, GameMap map, Display display) {
         // Loop through all attacked stegosaur
         // Temp Array: Can't remove while in this loop
         ArrayList<Dinosaur> dinosaurToRemove = new ArrayList<>();
@@ -140,7 +142,42 @@ public abstract class CarnivoreDinosaur extends Dinosaur {
             attackedDinosaur.remove(dinosaur);
         }
 
-        return super.playTurn(actions, lastAction, map, display);
+        return super.prepareTurn(actions, lastAction, map, display);
     }
 
+    /**
+     * Writes the dinosaurs this one has attacked lately, and how long ago.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void saveReferences(SnapshotWriter out) throws IOException {
+        super.saveReferences(out);
+        out.writeVarLong(attackedDinosaur.size());
+        for (Map.Entry<Dinosaur, Integer> entry : attackedDinosaur.entrySet()) {
+            out.writeActor(entry.getKey());
+            out.writeVarLong(entry.getValue());
+        }
+    }
+
+    /**
+     * Reads back the dinosaurs this one has attacked lately.
+     *
+     * @param in where to read from
+     * @throws IOException when the snapshot can't be read
+     */
+    @Override
+    public void restoreReferences(SnapshotReader in) throws IOException {
+        super.restoreReferences(in);
+        attackedDinosaur.clear();
+        int count = in.readCount();
+        for (int i = 0; i < count; i++) {
+            Actor attacked = in.readActor();
+            if (!(attacked instanceof Dinosaur)) {
+                throw new IOException("Expected an attacked dinosaur but found " + attacked);
+            }
+            attackedDinosaur.put((Dinosaur) attacked, in.readCount());
+        }
+    }
 }
@@ -1,15 +1,17 @@
 package game.dinosaur;
 
 import edu.monash.fit2099.engine.*;
+import edu.monash.fit2099.engine.StateHash;
 import game.action.AttackAction;
 import game.action.DieFromNaturalCausesAction;
 import game.action.LayEggAction;
 import game.behaviour.*;
 import game.growable.GrowableStatus;
 import game.watertile.WaterTileStatus;
+import game.weather.Weather;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Random;
 
 /**
  * Represents a dinosaur. This class is abstract and should still be extended into Herbivore and Carnivore dinosaurs.
@@ -70,6 +72,11 @@ public abstract class Dinosaur extends Actor {
      */
     protected int turnsWaited;
 
+    /**
+     * Whether the dinosaur was made as a baby. Babies and adults line their behaviours up differently.
+     */
+    private final boolean hatched;
+
     /**
      * Constructor to initialise a dinosaur to the adult age. Requires gender input
      *
@@ -85,6 +92,7 @@ public abstract class Dinosaur extends Actor {
         super(name, displayChar, hitPoints);
         // Stats
         addCapability(gender);
+        hatched = false;
         age = getAdultAge();
         this.hitPoints = getStartingHP();
         maxThirst = thirstMax;
@@ -125,8 +133,7 @@ public abstract class Dinosaur extends Actor {
         super(name, displayChar, hitPoints);
 
         // Stats
-        Random random = new Random();
-        boolean res = random.nextBoolean();
+        boolean res = getRandom().nextBoolean();
         Enum<Gender> gender;
         if (!res) {
             gender = Gender.MALE;
@@ -135,6 +142,7 @@ public abstract class Dinosaur extends Actor {
         }
 
         addCapability(gender);
+        hatched = true;
         age = 0;
         this.hitPoints = getBabyStartingHP();
         addCapability(DinosaurStatus.BABY);
@@ -433,7 +441,7 @@ public abstract class Dinosaur extends Actor {
     }
 
     /**
-     * Allow the dinosaur to have its turn.
+     * Get the dinosaur ready for its turn.
      * Will decrement its HP (hunger) and increment the age every turn.
      * Will check if it's hungry and print suitable message.
      * Will check if it has fainted from hunger, if yes, check if it has passed the game rule of 20 turns.
@@ -441,19 +449,17 @@ public abstract class Dinosaur extends Actor {
      * But letting death be handled by an action could be better.
      * Will also run pregnancy related code. Lays egg if it is past/equal to incubation period.
      * Will also check if the dinosaur is a baby, if yes, check if it has become an adult and adjust accordingly
-     * Finally, we will find something for the dinosaur to do via behaviour.
-     * This is done by looping through an ArrayList of behaviours, where the position
-     * indicates the priority of the behaviour. Being at the front means highest priority.
-     * If there's no good action to find from the behaviours, just do nothing
+     * A flying dinosaur also decides here, as landing to feed happens while it decides,
+     * and other dinosaurs must see that in turn order.
      *
      * @param actions    collection of possible Actions for this Actor
      * @param lastAction The Action this Actor took last turn. Can do interesting things in conjunction with Action.getNextAction()
      * @param map        the map containing the Actor
      * @param display    the I/O object to which messages may be written
-     * @return Action to take during this turn, defaults to DoNothingAction if can't find any.
+     * @return Action to take during this turn, or null to find one in playTurn
      */
     @Override
-    public Action playTurn(Actions actions, Action lastAction, GameMap map, Display display) {
+    public Action prepareTurn(Actions actions, Action lastAction, GameMap map, Display display) {
         attributeCheck();
 
         // To avoid repeated codes, to reference current location
@@ -517,7 +523,7 @@ public abstract class Dinosaur extends Actor {
             if (thirst <= 0) {
                 unConsciousThirstElapsed++;
                 // If unconscious, and rain, revive them
-                if (here.getGround().hasCapability(WaterTileStatus.RAIN)) {
+                if (Weather.isRaining(here)) {
                     drink(10);
                     display.println(this.toString() + " drinks for 10 water level from the rain.");
                     unConsciousThirstElapsed = 0;
@@ -566,6 +572,29 @@ public abstract class Dinosaur extends Actor {
             }
         }
 
+        // Flying dinosaurs land while deciding, so they can't wait to decide with everyone else
+        if (getMaxFlyingTile() != 0) {
+            return playTurn(actions, lastAction, map, display);
+        }
+        return null;
+    }
+
+    /**
+     * Allow the dinosaur to have its turn, once prepareTurn has got it ready.
+     * We will find something for the dinosaur to do via behaviour.
+     * This is done by looping through an ArrayList of behaviours, where the position
+     * indicates the priority of the behaviour. Being at the front means highest priority.
+     * If there's no good action to find from the behaviours, just do nothing
+     *
+     * @param actions    collection of possible Actions for this Actor
+     * @param lastAction The Action this Actor took last turn. Can do interesting things in conjunction with Action.getNextAction()
+     * @param map        the map containing the Actor
+     * @param display    the I/O object to which messages may be written
+     * @return Action to take during this turn, defaults to DoNothingAction if can't find any.
+     * @see #prepareTurn(Actions, Action, GameMap, Display)
+     */
+    @Override
+    public Action playTurn(Actions actions, Action lastAction, GameMap map, Display display) {
         // If passed everything, find something to do
         for (Behaviour behaviour : behaviourList) {
             Action action = behaviour.getAction(this, map);
@@ -578,4 +607,63 @@ public abstract class Dinosaur extends Actor {
         return new DoNothingAction();
     }
 
+    /**
+     * Writes whether the dinosaur hatched and its gender first, so a dinosaur of the same kind can be
+     * made again, then everything it keeps track of from turn to turn.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeBoolean(hatched);
+        out.writeEnum(hasCapability(Gender.MALE) ? Gender.MALE : Gender.FEMALE);
+        super.save(out);
+        out.writeInt(age);
+        out.writeInt(pregnantAge);
+        out.writeInt(unConsciousHungerElapsed);
+        out.writeInt(unConsciousThirstElapsed);
+        out.writeInt(thirst);
+        out.writeInt(maxThirst);
+        out.writeInt(flyCounter);
+        out.writeInt(turnsWaited);
+    }
+
+    /**
+     * Also adds everything the dinosaur keeps track of from turn to turn.
+     *
+     * @param hash the hash to add to
+     */
+    @Override
+    public void hashState(StateHash hash) {
+        super.hashState(hash);
+        hash.add(hatched);
+        hash.add(age);
+        hash.add(pregnantAge);
+        hash.add(unConsciousHungerElapsed);
+        hash.add(unConsciousThirstElapsed);
+        hash.add(thirst);
+        hash.add(maxThirst);
+        hash.add(flyCounter);
+        hash.add(turnsWaited);
+    }
+
+    /**
+     * Reads back what the dinosaur keeps track of. Its behaviours start afresh.
+     *
+     * @param in where to read from
+     * @throws IOException when the snapshot can't be read
+     */
+    @Override
+    public void restore(SnapshotReader in) throws IOException {
+        super.restore(in);
+        age = in.readInt();
+        pregnantAge = in.readInt();
+        unConsciousHungerElapsed = in.readInt();
+        unConsciousThirstElapsed = in.readInt();
+        thirst = in.readInt();
+        maxThirst = in.readInt();
+        flyCounter = in.readInt();
+        turnsWaited = in.readInt();
+    }
 }
@@ -4,7 +4,6 @@ import edu.monash.fit2099.engine.*;
 import game.watertile.WaterTile;
 import game.watertile.WaterTileStatus;
 
-import java.util.Random;
 
 /**
  * Represents a Carnivore Pterodactyl.
@@ -178,12 +177,12 @@ public class Pterodactyl extends CarnivoreDinosaur{
      * Describes what happens when Pterodactyl is traversing across this Lake tile.
      * Prints a description if Pterodactyl ate fish, drank water, or both
      * @param waterTile the Lake that the Pterodactyl is on
+     * @param display   the I/O object to which the description is written
      */
-    public void traverseLake(WaterTile waterTile) {
+    public void traverseLake(WaterTile waterTile, Display display) {
         String result="";
-        Random random = new Random();
         // Pterodactyl can catch 0, 1 or 2 fish
-        int fishCount = random.nextInt(3);
+        int fishCount = getRandom().nextInt(3);
 
         // if Pterodactyl manages to catch fish, heal by certain amount and add description to be printed
         if (fishCount > 0) {
@@ -205,12 +204,12 @@ public class Pterodactyl extends CarnivoreDinosaur{
 
         // if anything happened, print the description, else don't print
         if (result.length()>0) {
-            System.out.println(result);
+            display.println(result);
         }
     }
 
     /**
-     * Pterodactyl's playTurn. First checks if it is on a Lake to eat and drink, then continue with super's playTurn
+     * Pterodactyl's prepareTurn. First checks if it is on a Lake to eat and drink, then continue with super's prepareTurn
      * @param actions    collection of possible Actions for this Actor
      * @param lastAction The Action this Actor took last turn. Can do interesting things in conjunction with Action.getNextAction()
      * @param map        the map containing the Actor
@@ -218,11 +217,11 @@ public class Pterodactyl extends CarnivoreDinosaur{
      * @return an Action depending on what happens to it.
      */
     @Override
-    public Action playTurn(Actions actions, Action lastAction, GameMap map, Display display) {
+    public Action prepareTurn(Actions actions, Action lastAction, GameMap map, Display display) {
         Location here = map.locationOf(this);
         if (hasCapability(DinosaurStatus.FLYING) && here.getGround().hasCapability(WaterTileStatus.WATER_TRAVERSE)) {
-            traverseLake((WaterTile) here.getGround());
+            traverseLake((WaterTile) here.getGround(), display);
         }
-        return super.playTurn(actions, lastAction, map, display);
+        return super.prepareTurn(actions, lastAction, map, display);
     }
 }
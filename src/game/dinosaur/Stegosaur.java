@@ -1,8 +1,5 @@
 package game.dinosaur;
 
-
-import java.util.Random;
-
 /**
  * A herbivorous dinosaur.
  * Represents a Stegosaur.
@@ -27,22 +27,50 @@ public abstract class DroppableFruitGrowable extends Growable {
      */
     public abstract double dropFruitChance();
 
+    /**
+     * The number of fruits that will drop at the end of this turn, rolled in prepareTick().
+     */
+    private int fruitDropping = 0;
+
     /**
      * Checks each fruit the tree has if it would drop.
      */
     private void canDropFruit(Location location) {
         // RNGesus
-        int temp = getNumberOfRipeFruit(); // use a temp variable since it might change
+        // Count the fruit growing this turn too, it can drop straight away
+        int temp = getNumberOfRipeFruit() + (isFruitGrowing() ? 1 : 0);
+        fruitDropping = 0;
         for (int i = 0; i < temp; i++) {
-            double chance = Math.random();
+            double chance = location.getRandom().nextDouble();
             if (chance < dropFruitChance()) {
-                decrementNumberOfRipeFruit();
-                location.addItem(new Fruit());
+                fruitDropping++;
             }
         }
 
     }
 
+    /**
+     * Drops the fruits that were rolled in prepareTick().
+     */
+    private void dropFruit(Location location) {
+        for (int i = 0; i < fruitDropping; i++) {
+            decrementNumberOfRipeFruit();
+            location.addItem(new Fruit());
+        }
+        fruitDropping = 0;
+    }
+
+    /**
+     * Rolls to see how many fruits will grow and drop this turn.
+     *
+     * @param location The location of the Ground
+     */
+    @Override
+    public void prepareTick(Location location) {
+        super.prepareTick(location);
+        canDropFruit(location);
+    }
+
     /**
      * And now the tree will grow older.
      * Informs the tree the passage of time so that it will run its method every turn.
@@ -52,6 +80,6 @@ public abstract class DroppableFruitGrowable extends Growable {
     @Override
     public void tick(Location location) {
         super.tick(location);
-        canDropFruit(location);
+        dropFruit(location);
     }
 }
@@ -2,23 +2,50 @@ package game.growable;
 
 import edu.monash.fit2099.engine.Ground;
 import edu.monash.fit2099.engine.Location;
+import edu.monash.fit2099.engine.SnapshotReader;
+import edu.monash.fit2099.engine.SnapshotWriter;
+import edu.monash.fit2099.engine.StateHash;
+import game.GroundStore;
+import game.StoredGround;
+import game.VendingMachine;
+
+import java.io.IOException;
 
 /**
  * Represents any ground type that can grow fruits, such as a tree, bush, etc.
+ * <p>
+ * While it is on a JurassicParkGameMap, its counters are kept in the map's GroundStore,
+ * and the map grows every Growable's fruit in one pass once they have all rolled for it.
  *
  * @author NgYuKang
  * @version 1.0
  * @see Ground
  * @see Location
+ * @see GroundStore
  * @since 25/04/2021
  */
-public abstract class Growable extends Ground {
+public abstract class Growable extends Ground implements StoredGround {
 
     /**
-     * The number of fruits this Growable currently holds.
+     * The number of fruits this Growable currently holds, while it isn't in a store.
      */
     private int numberOfRipeFruit = 0;
 
+    /**
+     * Whether a fruit will grow this turn, decided in prepareTick(), while it isn't in a store.
+     */
+    private boolean fruitGrowing = false;
+
+    /**
+     * The store holding this Growable's counters, or null if it isn't in one.
+     */
+    private GroundStore store;
+
+    /**
+     * This Growable's cell in the store.
+     */
+    private int cell;
+
     /**
      * Constructor.
      *
@@ -35,25 +62,50 @@ public abstract class Growable extends Ground {
      */
     public abstract double growFruitChance();
 
+    /**
+     * Override this to earn eco points whenever a fruit grows.
+     *
+     * @return eco points earned for each fruit grown
+     */
+    protected int ecoPointsPerFruit() {
+        return 0;
+    }
+
     /**
      * Used to check if a Fruit would grow.
+     * Whether one does was rolled in prepareTick(), this adds it.
+     * Only used while not in a store; the store grows fruit itself.
      */
     protected boolean checkGrowFruit() {
-        double chance = Math.random();
         boolean res = false;
-        if (chance < growFruitChance()) {
+        if (fruitGrowing) {
             numberOfRipeFruit++;
+            fruitGrowing = false;
+            if (ecoPointsPerFruit() > 0) {
+                VendingMachine.increaseEcoPoint(ecoPointsPerFruit());
+            }
             res = true;
         }
         return res;
     }
 
+    /**
+     * @return true if a fruit is going to grow at the end of this turn.
+     */
+    protected boolean isFruitGrowing() {
+        return store != null ? store.isFruitGrowing(cell) : fruitGrowing;
+    }
+
     /**
      * Used to decrease the number of fruit.
      * Mainly used by actions.
      */
     public void decrementNumberOfRipeFruit() {
-        numberOfRipeFruit--;
+        if (store != null) {
+            store.setRipeFruit(cell, store.getRipeFruit(cell) - 1);
+        } else {
+            numberOfRipeFruit--;
+        }
     }
 
     /**
@@ -61,27 +113,129 @@ public abstract class Growable extends Ground {
      * be allowed in package.
      */
     protected void incrementNumberOfRipeFruit() {
-        numberOfRipeFruit++;
+        if (store != null) {
+            store.setRipeFruit(cell, store.getRipeFruit(cell) + 1);
+        } else {
+            numberOfRipeFruit++;
+        }
     }
 
     /**
      * @return The number of fruits currently held by the Growable.
      */
     public int getNumberOfRipeFruit() {
-        return numberOfRipeFruit;
+        return store != null ? store.getRipeFruit(cell) : numberOfRipeFruit;
+    }
+
+    /**
+     * @return the store holding this Growable's counters, or null if it isn't in one
+     */
+    protected GroundStore getStore() {
+        return store;
+    }
+
+    /**
+     * @return this Growable's cell in its store
+     */
+    protected int getCell() {
+        return cell;
+    }
+
+    /**
+     * Moves the counters into the store. A fruit still waiting to grow grows first,
+     * since the store has already grown this turn's fruit.
+     *
+     * @param store the store of the map the Growable has been placed on
+     * @param cell  the cell of the Location it has been placed on
+     */
+    @Override
+    public void attach(GroundStore store, int cell) {
+        if (this.store != null) {
+            detach();
+        }
+        checkGrowFruit();
+        store.setRipeFruit(cell, numberOfRipeFruit);
+        store.setEcoPointsPerFruit(cell, ecoPointsPerFruit());
+        this.store = store;
+        this.cell = cell;
+    }
+
+    /**
+     * Moves the counters back out of the store.
+     */
+    @Override
+    public void detach() {
+        if (store != null) {
+            numberOfRipeFruit = store.getRipeFruit(cell);
+            fruitGrowing = store.isFruitGrowing(cell);
+            store.clear(cell);
+            store = null;
+        }
+    }
+
+    /**
+     * Rolls to see if a Fruit will grow this turn.
+     *
+     * @param location The location of the Ground
+     */
+    @Override
+    public void prepareTick(Location location) {
+        double chance = location.getRandom().nextDouble();
+        if (store != null) {
+            store.setFruitGrowing(cell, chance < growFruitChance());
+        } else {
+            fruitGrowing = chance < growFruitChance();
+        }
+        super.prepareTick(location);
     }
 
     /**
      * Now even a Growable can experience time!
      * Informs the Growable the time has come and we have a job to do
-     * Runs checkGrowFruit() every turn.
+     * Grows the fruit rolled in prepareTick(), unless the store has done it already.
      *
      * @param location The location of the Ground
      */
     @Override
     public void tick(Location location) {
-        checkGrowFruit();
+        if (store == null) {
+            checkGrowFruit();
+        }
         super.tick(location);
     }
 
+    /**
+     * Also writes how many fruits are ripe.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        super.save(out);
+        out.writeInt(getNumberOfRipeFruit());
+    }
+
+    /**
+     * Also adds how many fruits are ripe.
+     *
+     * @param hash the hash to add to
+     */
+    @Override
+    public void hashState(StateHash hash) {
+        super.hashState(hash);
+        hash.add(getNumberOfRipeFruit());
+    }
+
+    /**
+     * Reads back the ripe fruits, before the Growable goes on the map and into its store.
+     *
+     * @param in where to read from
+     * @throws IOException when the snapshot can't be read
+     */
+    @Override
+    public void restore(SnapshotReader in) throws IOException {
+        super.restore(in);
+        numberOfRipeFruit = in.readInt();
+    }
 }
@@ -1,11 +1,18 @@
 package game.growable;
 
 import edu.monash.fit2099.engine.Location;
+import edu.monash.fit2099.engine.SnapshotReader;
+import edu.monash.fit2099.engine.SnapshotWriter;
+import edu.monash.fit2099.engine.StateHash;
+import edu.monash.fit2099.engine.TimingWheel;
 import game.PortableItem;
-import game.VendingMachine;
 import game.items.EdibleItem;
 import game.items.Fruit;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Represents a Tree.
  *
@@ -16,10 +23,25 @@ import game.items.Fruit;
  */
 public class Tree extends DroppableFruitGrowable {
     /**
-     * Age of a tree.
+     * Age of the tree when it was last planted.
      */
     private int age = 0;
 
+    /**
+     * The TimingWheel of the map the tree is on, or null if it isn't on one.
+     */
+    private TimingWheel wheel;
+
+    /**
+     * When the tree was last planted, by its map's TimingWheel.
+     */
+    private long plantedTime;
+
+    /**
+     * The tree growing taller, while it is on a map.
+     */
+    private final List<TimingWheel.Timer> growingUp = new ArrayList<>();
+
     /**
      * Constructor.
      * New tree starts with character +.
@@ -50,31 +72,66 @@ public class Tree extends DroppableFruitGrowable {
 
 
     /**
-     * Used to check if a Fruit would grow.
+     * Each fruit grown on a tree earns an eco point.
+     *
+     * @return 1
      */
     @Override
-    protected boolean checkGrowFruit() {
-        boolean res = super.checkGrowFruit();
-        if (res) {
-            VendingMachine.increaseEcoPoint(1);
-        }
-        return res;
+    protected int ecoPointsPerFruit() {
+        return 1;
     }
 
     /**
-     * And now the tree will grow older.
-     * Informs the tree the passage of time so that it will run its method every turn.
+     * Schedules the tree to grow taller at 10 and 20 turns old.
      *
-     * @param location The location of the Ground
+     * @param location The location the tree was planted on
      */
     @Override
-    public void tick(Location location) {
-        super.tick(location);
-        age++;
-        if (age == 10)
-            displayChar = 't';
-        if (age == 20)
-            displayChar = 'T';
+    public void addedTo(Location location) {
+        super.addedTo(location);
+        wheel = location.map().getTimingWheel();
+        plantedTime = wheel.getTime();
+        growUpAt(location, 10, 't');
+        growUpAt(location, 20, 'T');
+    }
+
+    /**
+     * Stops the tree ageing when it is taken off the map.
+     *
+     * @param location The location the tree was taken from
+     */
+    @Override
+    public void removedFrom(Location location) {
+        super.removedFrom(location);
+        age = getAge();
+        wheel = null;
+        for (TimingWheel.Timer timer : growingUp) {
+            timer.cancel();
+        }
+        growingUp.clear();
+    }
+
+    /**
+     * Changes how the tree looks once it reaches an age, if it hasn't already.
+     *
+     * @param location    The location of the tree
+     * @param targetAge   The age to change at
+     * @param displayChar What the tree looks like from then on
+     */
+    private void growUpAt(Location location, int targetAge, char displayChar) {
+        if (age < targetAge) {
+            growingUp.add(wheel.schedule(targetAge - age, () -> {
+                this.displayChar = displayChar;
+                location.markChanged();
+            }));
+        }
+    }
+
+    /**
+     * @return how many turns old the tree is
+     */
+    public int getAge() {
+        return wheel != null ? age + (int) (wheel.getTime() - plantedTime) : age;
     }
 
     /**
@@ -85,4 +142,39 @@ public class Tree extends DroppableFruitGrowable {
     public String toString() {
         return "Tree";
     }
+
+    /**
+     * Also writes the tree's age, so it still grows up on time once it is restored.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        super.save(out);
+        out.writeInt(getAge());
+    }
+
+    /**
+     * Also adds the tree's age.
+     *
+     * @param hash the hash to add to
+     */
+    @Override
+    public void hashState(StateHash hash) {
+        super.hashState(hash);
+        hash.add(getAge());
+    }
+
+    /**
+     * Reads back the tree's age.
+     *
+     * @param in where to read from
+     * @throws IOException when the snapshot can't be read
+     */
+    @Override
+    public void restore(SnapshotReader in) throws IOException {
+        super.restore(in);
+        age = in.readInt();
+    }
 }
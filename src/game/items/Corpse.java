@@ -1,8 +1,13 @@
 package game.items;
 
 import edu.monash.fit2099.engine.Actor;
+import edu.monash.fit2099.engine.SnapshotReader;
+import edu.monash.fit2099.engine.SnapshotWriter;
+import edu.monash.fit2099.engine.StateHash;
 import game.dinosaur.DinosaurStatus;
 
+import java.io.IOException;
+
 /**
  * Represents a corpse.
  * Our version of corpse will not rot in inventory. We treat inventory as a portable fridge.
@@ -62,4 +67,39 @@ public class Corpse extends PerishableFoodItem {
     public void decreaseHitPoints(int healAmount) {
         CARCASS_HP -= healAmount;
     }
+
+    /**
+     * Also writes how much of the corpse is left.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        super.save(out);
+        out.writeInt(CARCASS_HP);
+    }
+
+    /**
+     * Also adds how much the corpse heals.
+     *
+     * @param hash the hash to add to
+     */
+    @Override
+    public void hashState(StateHash hash) {
+        super.hashState(hash);
+        hash.add(CARCASS_HP);
+    }
+
+    /**
+     * Reads back how much of the corpse is left.
+     *
+     * @param in where to read from
+     * @throws IOException when the snapshot can't be read
+     */
+    @Override
+    public void restore(SnapshotReader in) throws IOException {
+        super.restore(in);
+        CARCASS_HP = in.readInt();
+    }
 }
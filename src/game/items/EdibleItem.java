@@ -1,8 +1,13 @@
 package game.items;
 
 import edu.monash.fit2099.engine.Actor;
+import edu.monash.fit2099.engine.SnapshotReader;
+import edu.monash.fit2099.engine.SnapshotWriter;
+import edu.monash.fit2099.engine.StateHash;
 import game.PortableItem;
 
+import java.io.IOException;
+
 
 /**
  * Represents a food item.
@@ -55,4 +60,38 @@ public abstract class EdibleItem extends PortableItem {
         hitPoints -= healAmount;
     }
 
+    /**
+     * Also writes how much of the item is left.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        super.save(out);
+        out.writeInt(hitPoints);
+    }
+
+    /**
+     * Also adds how much the food heals.
+     *
+     * @param hash the hash to add to
+     */
+    @Override
+    public void hashState(StateHash hash) {
+        super.hashState(hash);
+        hash.add(hitPoints);
+    }
+
+    /**
+     * Reads back how much of the item is left.
+     *
+     * @param in where to read from
+     * @throws IOException when the snapshot can't be read
+     */
+    @Override
+    public void restore(SnapshotReader in) throws IOException {
+        super.restore(in);
+        hitPoints = in.readInt();
+    }
 }
@@ -2,11 +2,17 @@ package game.items;
 
 import edu.monash.fit2099.engine.Actor;
 import edu.monash.fit2099.engine.Location;
+import edu.monash.fit2099.engine.SnapshotReader;
+import edu.monash.fit2099.engine.SnapshotWriter;
+import edu.monash.fit2099.engine.StateHash;
+import edu.monash.fit2099.engine.TimingWheel;
 import game.PortableItem;
 
 import game.dinosaur.Dinosaur;
 import game.dinosaur.Stegosaur;
 
+import java.io.IOException;
+
 /**
  * Represents en egg
  *
@@ -19,8 +25,23 @@ import game.dinosaur.Stegosaur;
 public class Egg extends EdibleItem implements Purchasable {
 
     private Dinosaur baby;
+
+    /**
+     * Turns spent incubating on the ground before the egg was last put down.
+     */
     private int incubationTime;
 
+    /**
+     * When the egg hatches, while it is on the ground.
+     */
+    private TimingWheel.Timer hatching;
+
+    /**
+     * Where hatching came among the timers due on its turn, when the egg was saved, or -1.
+     * Babies that hatch on the same turn join the map in that order, so it is kept.
+     */
+    private long hatchingSequence = -1;
+
     /**
      * Constructor
      *
@@ -33,22 +54,51 @@ public class Egg extends EdibleItem implements Purchasable {
     }
 
     /**
-     * Inform the egg that time has passed. Time to grow up.
+     * Starts incubating when the egg is put on the ground.
      *
-     * @param currentLocation The location of the ground on which we lie.
+     * @param location The location of the ground on which we lie.
      */
     @Override
-    public void tick(Location currentLocation) {
-        super.tick(currentLocation);
-        incubationTime++;
-        if (incubationTime >= baby.getIncubationPeriod()) {
-            if (!(currentLocation.containsAnActor())) {
-                currentLocation.map().addActor(baby, currentLocation);
-                currentLocation.removeItem(this);
-            }
+    public void addedTo(Location location) {
+        super.addedTo(location);
+        scheduleHatch(location, baby.getIncubationPeriod() - incubationTime);
+    }
 
+    /**
+     * Stops incubating when the egg is taken off the ground, remembering how far it got.
+     *
+     * @param location The location the egg was taken from.
+     */
+    @Override
+    public void removedFrom(Location location) {
+        super.removedFrom(location);
+        if (hatching != null && hatching.cancel()) {
+            long turnsLeft = hatching.getDueTime() - location.map().getTimingWheel().getTime();
+            incubationTime = (int) (baby.getIncubationPeriod() - turnsLeft);
         }
+        hatching = null;
+    }
 
+    /**
+     * Time to grow up. If something is sitting on the egg, it tries again next turn.
+     *
+     * @param location The location of the ground on which we lie.
+     * @param delay    How many turns from now to hatch
+     */
+    private void scheduleHatch(Location location, int delay) {
+        TimingWheel wheel = location.map().getTimingWheel();
+        Runnable hatch = () -> {
+            incubationTime = baby.getIncubationPeriod();
+            if (location.containsAnActor()) {
+                scheduleHatch(location, 1);
+            } else {
+                hatching = null;
+                location.map().addActor(baby, location);
+                location.removeItem(this);
+            }
+        };
+        hatching = hatchingSequence >= 0 ? wheel.schedule(delay, hatchingSequence, hatch) : wheel.schedule(delay, hatch);
+        hatchingSequence = -1;
     }
 
     /**
@@ -79,4 +129,45 @@ public class Egg extends EdibleItem implements Purchasable {
     public int getHealAmount(Actor actor) {
         return 10;
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes the baby first, so the egg can be made around it again, then how far the egg has
+     * incubated and where its hatching comes among the timers due that turn.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeObject(baby);
+        super.save(out);
+        out.writeInt(hatching != null ? (int) (baby.getIncubationPeriod() - hatching.getTurnsLeft()) : incubationTime);
+        out.writeLong(hatching != null ? hatching.getSequence() : -1);
+    }
+
+    /**
+     * Also adds the baby inside and how long it has been incubating.
+     *
+     * @param hash the hash to add to
+     */
+    @Override
+    public void hashState(StateHash hash) {
+        super.hashState(hash);
+        baby.hashState(hash);
+        hash.add(hatching != null ? baby.getIncubationPeriod() - hatching.getTurnsLeft() : incubationTime);
+    }
+
+    /**
+     * Reads back how far the egg has incubated, and where its hatching comes. The baby has already
+     * been read, by whatever made the egg.
+     *
+     * @param in where to read from
+     * @throws IOException when the snapshot can't be read
+     */
+    @Override
+    public void restore(SnapshotReader in) throws IOException {
+        super.restore(in);
+        incubationTime = in.readInt();
+        hatchingSequence = in.readLong();
+    }
+}
@@ -1,9 +1,18 @@
 package game.items;
 
 import edu.monash.fit2099.engine.Location;
+import edu.monash.fit2099.engine.SnapshotReader;
+import edu.monash.fit2099.engine.SnapshotWriter;
+import edu.monash.fit2099.engine.StateHash;
+import edu.monash.fit2099.engine.TimingWheel;
+
+import java.io.IOException;
 
 /**
  * Represents a food that can rot.
+ * <p>
+ * It only rots while it is lying on the ground. When it is put down, it schedules its own
+ * removal on the map's TimingWheel, and cancels it again if it is picked up.
  *
  * @author NgYuKang
  * @version 1.0
@@ -13,14 +22,19 @@ import edu.monash.fit2099.engine.Location;
 public abstract class PerishableFoodItem extends EdibleItem {
 
     /**
-     * Used to represent freshness of the item.
+     * Used to represent freshness of the item: turns spent on the ground before it was last put down.
      */
     private int rotTimer;
 
+    /**
+     * When the item rots, while it is on the ground.
+     */
+    private TimingWheel.Timer rotting;
+
     /**
      * Used to represent how long it takes for it to rot.
      */
-    private final int rotTime;
+    private int rotTime;
 
     /**
      * Constructor.
@@ -35,28 +49,70 @@ public abstract class PerishableFoodItem extends EdibleItem {
     }
 
     /**
-     * Inform an Item on the ground of the passage of time.
-     * This method is called once per turn, if the item rests upon the ground.
-     * Checks the rotting progress of the food.
+     * Starts the food rotting when it is put on the ground.
      *
-     * @param currentLocation The location of the ground on which we lie.
+     * @param location The location of the ground on which we lie.
      */
     @Override
-    public void tick(Location currentLocation) {
-        super.tick(currentLocation);
-        rotTimer++;
-        checkRot(currentLocation);
+    public void addedTo(Location location) {
+        super.addedTo(location);
+        TimingWheel wheel = location.map().getTimingWheel();
+        rotting = wheel.schedule(rotTime - rotTimer, () -> {
+            rotTimer = rotTime;
+            location.removeItem(this);
+        });
     }
 
     /**
-     * Checks if the food has reached its time.
+     * Stops the food rotting when it is taken off the ground, remembering how far it got.
      *
-     * @param location Location the item is in.
+     * @param location The location the food was taken from.
      */
-    private void checkRot(Location location) {
-        if (rotTimer >= rotTime) {
-            location.removeItem(this);
+    @Override
+    public void removedFrom(Location location) {
+        super.removedFrom(location);
+        if (rotting != null && rotting.cancel()) {
+            long turnsLeft = rotting.getDueTime() - location.map().getTimingWheel().getTime();
+            rotTimer = (int) (rotTime - turnsLeft);
         }
+        rotting = null;
+    }
+
+    /**
+     * Also writes how long the food takes to rot, and how far it has got.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        super.save(out);
+        out.writeInt(rotTime);
+        out.writeInt(rotting != null ? (int) (rotTime - rotting.getTurnsLeft()) : rotTimer);
+    }
+
+    /**
+     * Also adds how long the food has been rotting.
+     *
+     * @param hash the hash to add to
+     */
+    @Override
+    public void hashState(StateHash hash) {
+        super.hashState(hash);
+        hash.add(rotTime);
+        hash.add(rotting != null ? rotTime - rotting.getTurnsLeft() : rotTimer);
     }
 
+    /**
+     * Reads back how far the food has rotted. It carries on rotting once it is back on the ground.
+     *
+     * @param in where to read from
+     * @throws IOException when the snapshot can't be read
+     */
+    @Override
+    public void restore(SnapshotReader in) throws IOException {
+        super.restore(in);
+        rotTime = in.readInt();
+        rotTimer = in.readInt();
+    }
 }
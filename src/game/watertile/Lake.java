@@ -1,5 +1,6 @@
 package game.watertile;
 
+import edu.monash.fit2099.engine.Location;
 
 /**
  * Represents a lake.
@@ -19,19 +20,23 @@ public class Lake extends WaterTile {
 
     /**
      * Runs RNG to see how much we sips we can get when it rains
+     *
+     * @param location The location of the tile, for its random numbers
      */
     @Override
-    protected void increaseSipCapacity() {
-        double modifier = Math.random() * (0.6 - 0.2) + 0.2;
-        sipCapacity += (20 * modifier);
+    protected void increaseSipCapacity(Location location) {
+        double modifier = location.getRandom().nextDouble() * (0.6 - 0.2) + 0.2;
+        increaseSipCount((int) (20 * modifier));
     }
 
     /**
      * Runs rng to see if we can get a new fish
+     *
+     * @param location The location of the tile, for its random numbers
      */
     @Override
-    protected void checkFishGrowth() {
-        double chance = Math.random();
+    protected void checkFishGrowth(Location location) {
+        double chance = location.getRandom().nextDouble();
         if (chance < 0.6){
             incrementFishCount();
         }
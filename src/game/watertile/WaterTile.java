@@ -3,32 +3,56 @@ package game.watertile;
 import edu.monash.fit2099.engine.Actor;
 import edu.monash.fit2099.engine.Ground;
 import edu.monash.fit2099.engine.Location;
+import edu.monash.fit2099.engine.SnapshotReader;
+import edu.monash.fit2099.engine.SnapshotWriter;
+import edu.monash.fit2099.engine.StateHash;
+import game.GroundStore;
+import game.StoredGround;
 import game.dinosaur.DinosaurStatus;
+import game.weather.Weather;
+
+import java.io.IOException;
 
 /**
  * Used to represent any ground tiles that has water and bears fish (Lakes, rivers, Seas).
+ * <p>
+ * While it is on a JurassicParkGameMap, its sips and fish are kept in the map's GroundStore.
+ * Rain and new fish rolled in prepareTick() are noted there, and the map adds them for every
+ * water tile in one pass.
+ *
  * @author NgYuKang
  * @version 1.0
  * @see Ground
  * @see Location
+ * @see GroundStore
  * @since 13/05/2021
  */
-public abstract class WaterTile extends Ground {
+public abstract class WaterTile extends Ground implements StoredGround {
 
     /**
-     * How much water capacity this tile holds.
+     * How much water capacity this tile holds, while it isn't in a store.
      */
-    protected int sipCapacity;
+    private int sipCapacity;
 
     /**
-     * How much fish in this tile
+     * How much fish in this tile, while it isn't in a store.
      */
-    protected int fishCount;
+    private int fishCount;
 
     /**
      * Maximum amount of fish the tile can hold
      */
-    protected int maxFishCount;
+    private final int maxFishCount;
+
+    /**
+     * The store holding this tile's counters, or null if it isn't in one.
+     */
+    private GroundStore store;
+
+    /**
+     * This tile's cell in the store.
+     */
+    private int cell;
 
     /**
      * Constructor.
@@ -47,21 +71,25 @@ public abstract class WaterTile extends Ground {
      * Used to calculate how much sips are gained when it rains.
      * Each water tile may have unique ways of doing it, so we leave it to be extended
      * and overriden.
+     *
+     * @param location The location of the tile, for its random numbers
      */
-    protected abstract void increaseSipCapacity();
+    protected abstract void increaseSipCapacity(Location location);
 
     /**
      * Used to check how much fish can grow in this tile.
      * Implement to give each tile its own chance of growth.
+     *
+     * @param location The location of the tile, for its random numbers
      */
-    protected abstract void checkFishGrowth();
+    protected abstract void checkFishGrowth(Location location);
 
     /**
      *
      * @return How much sips this lake has.
      */
     public int getSipCapacity() {
-        return sipCapacity;
+        return store != null ? store.getSipCapacity(cell) : sipCapacity;
     }
 
     /**
@@ -69,7 +97,7 @@ public abstract class WaterTile extends Ground {
      * @return Amount of fish in the water tile.
      */
     public int getFishCount() {
-        return fishCount;
+        return store != null ? store.getFishCount(cell) : fishCount;
     }
 
     /**
@@ -78,24 +106,81 @@ public abstract class WaterTile extends Ground {
      * @param count How much to reduce the fish by
      */
     public void decreaseFishCount(int count) {
-        fishCount -= count;
-        fishCount = Math.max(0, fishCount);
+        int fish = Math.max(0, getFishCount() - count);
+        if (store != null) {
+            store.setFishCount(cell, fish);
+        } else {
+            fishCount = fish;
+        }
     }
 
     /**
      * Increases fish count, according to the max capacity.
+     * While in a store, the fish is added when the map applies this turn's growth.
      */
     protected void incrementFishCount(){
-        fishCount++;
-        fishCount = Math.min(fishCount, maxFishCount);
+        if (store != null) {
+            store.setFishGrowing(cell);
+        } else {
+            fishCount = Math.min(fishCount + 1, maxFishCount);
+        }
+    }
+
+    /**
+     * Adds sips of water to the tile.
+     * While in a store, they are added when the map applies this turn's growth.
+     *
+     * @param sips How many sips to add
+     */
+    protected void increaseSipCount(int sips) {
+        if (store != null) {
+            store.addSipGain(cell, sips);
+        } else {
+            sipCapacity += sips;
+        }
     }
 
     /**
      * Decrements sip count.
      */
     public void decreaseSipCount(){
-        sipCapacity--;
-        sipCapacity = Math.max(0, sipCapacity);
+        int sips = Math.max(0, getSipCapacity() - 1);
+        if (store != null) {
+            store.setSipCapacity(cell, sips);
+        } else {
+            sipCapacity = sips;
+        }
+    }
+
+    /**
+     * Moves the sips and fish into the store.
+     *
+     * @param store the store of the map the tile has been placed on
+     * @param cell  the cell of the Location it has been placed on
+     */
+    @Override
+    public void attach(GroundStore store, int cell) {
+        if (this.store != null) {
+            detach();
+        }
+        store.setSipCapacity(cell, sipCapacity);
+        store.setFishCount(cell, fishCount);
+        store.setMaxFishCount(cell, maxFishCount);
+        this.store = store;
+        this.cell = cell;
+    }
+
+    /**
+     * Moves the sips and fish back out of the store.
+     */
+    @Override
+    public void detach() {
+        if (store != null) {
+            sipCapacity = store.getSipCapacity(cell);
+            fishCount = store.getFishCount(cell);
+            store.clear(cell);
+            store = null;
+        }
     }
 
     /**
@@ -112,15 +197,53 @@ public abstract class WaterTile extends Ground {
 
     /**
      * Ground can also experience the joy of time.
+     * Everything here only changes this tile, so it is all done in the first half of the turn.
      *
      * @param location The location of the Ground
      */
     @Override
-    public void tick(Location location) {
-        if (hasCapability(WaterTileStatus.RAIN)) {
-            increaseSipCapacity();
+    public void prepareTick(Location location) {
+        if (Weather.isRaining(location)) {
+            increaseSipCapacity(location);
         }
-        checkFishGrowth();
+        checkFishGrowth(location);
+    }
+
+    /**
+     * Also writes the sips and fish in the tile.
+     *
+     * @param out where to write
+     * @throws IOException when file I/O fails
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        super.save(out);
+        out.writeInt(getSipCapacity());
+        out.writeInt(getFishCount());
+    }
+
+    /**
+     * Also adds how many sips and fish are left.
+     *
+     * @param hash the hash to add to
+     */
+    @Override
+    public void hashState(StateHash hash) {
+        super.hashState(hash);
+        hash.add(getSipCapacity());
+        hash.add(getFishCount());
     }
 
-}
\ No newline at end of file
+    /**
+     * Reads back the sips and fish, before the tile goes on the map and into its store.
+     *
+     * @param in where to read from
+     * @throws IOException when the snapshot can't be read
+     */
+    @Override
+    public void restore(SnapshotReader in) throws IOException {
+        super.restore(in);
+        sipCapacity = in.readInt();
+        fishCount = in.readInt();
+    }
+}
@@ -10,7 +10,6 @@ package game.watertile;
  * @since 13/05/2021
  */
 public enum WaterTileStatus {
-    WATER_TRAVERSE,
-    RAIN
+    WATER_TRAVERSE
 }
 
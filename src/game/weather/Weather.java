@@ -0,0 +1,155 @@
+package game.weather;
+
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Location;
+import game.JurassicParkGameMap;
+
+/**
+ * The weather over one map.
+ * <p>
+ * The map is split into square weather cells, and each cell is either raining or not.
+ * Asking whether it is raining somewhere is one array read, and changing the weather
+ * never touches the Locations or Grounds themselves. Small maps fit in a single cell,
+ * so the whole map shares the same weather.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @see JurassicParkGameMap
+ * @since 18/10/2026
+ */
+public class Weather {
+
+    /**
+     * Width and height of a weather cell, in tiles.
+     */
+    private final int cellSize;
+
+    /**
+     * Number of cells along the X axis.
+     */
+    private final int cellsAcross;
+
+    /**
+     * Whether each cell is raining, row by row.
+     */
+    private final boolean[] raining;
+
+    /**
+     * How many cells are currently raining.
+     */
+    private int rainingCells;
+
+    /**
+     * Constructor.
+     *
+     * @param width    width of the map, in tiles
+     * @param height   height of the map, in tiles
+     * @param cellSize width and height of a weather cell, in tiles
+     */
+    public Weather(int width, int height, int cellSize) {
+        this.cellSize = cellSize;
+        cellsAcross = (width + cellSize - 1) / cellSize;
+        int cellsDown = (height + cellSize - 1) / cellSize;
+        raining = new boolean[cellsAcross * cellsDown];
+    }
+
+    /**
+     * Checks if it is raining on a Location.
+     * <p>
+     * Only JurassicParkGameMaps have weather, it never rains anywhere else.
+     *
+     * @param location the Location to check
+     * @return true if it is raining there, else false
+     */
+    public static boolean isRaining(Location location) {
+        GameMap map = location.map();
+        if (map instanceof JurassicParkGameMap) {
+            return ((JurassicParkGameMap) map).getWeather().isRaining(location.x(), location.y());
+        }
+        return false;
+    }
+
+    /**
+     * Checks if it is raining on a tile.
+     *
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @return true if it is raining there, else false
+     */
+    public boolean isRaining(int x, int y) {
+        return rainingCells > 0 && raining[cellOf(x, y)];
+    }
+
+    /**
+     * Checks if it is raining anywhere on the map.
+     *
+     * @return true if any cell is raining, else false
+     */
+    public boolean isRainingAnywhere() {
+        return rainingCells > 0;
+    }
+
+    /**
+     * Starts or stops the rain in the cell containing a tile.
+     *
+     * @param x      X coordinate
+     * @param y      Y coordinate
+     * @param isRain true to start the rain, false to stop it
+     */
+    public void setRaining(int x, int y, boolean isRain) {
+        setCell(cellOf(x, y), isRain);
+    }
+
+    /**
+     * @return how many weather cells there are
+     */
+    public int getCellCount() {
+        return raining.length;
+    }
+
+    /**
+     * Checks if it is raining in a cell.
+     *
+     * @param cell the cell number, from 0 to getCellCount() - 1
+     * @return true if it is raining there, else false
+     */
+    public boolean isCellRaining(int cell) {
+        return raining[cell];
+    }
+
+    /**
+     * Starts or stops the rain in a cell.
+     *
+     * @param cell   the cell number, from 0 to getCellCount() - 1
+     * @param isRain true to start the rain, false to stop it
+     */
+    public void setCell(int cell, boolean isRain) {
+        if (raining[cell] != isRain) {
+            raining[cell] = isRain;
+            rainingCells += isRain ? 1 : -1;
+        }
+    }
+
+    /**
+     * Stops the rain everywhere.
+     */
+    public void clear() {
+        if (rainingCells > 0) {
+            for (int cell = 0; cell < raining.length; cell++) {
+                raining[cell] = false;
+            }
+            rainingCells = 0;
+        }
+    }
+
+    /**
+     * Works out which cell a tile belongs to.
+     *
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @return the cell number
+     */
+    private int cellOf(int x, int y) {
+        return (y / cellSize) * cellsAcross + x / cellSize;
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * Package of weather related classes.
+ *
+ * @author NgYuKang
+ * @version 1.0
+ * @since 18/10/2026
+ */
+package game.weather;